@@ -0,0 +1,63 @@
+package com.sid.app.benchmark;
+
+import com.sid.app.config.AESProperties;
+import com.sid.app.entity.EncryptionKey;
+import com.sid.app.repository.EncryptionKeyRepository;
+import com.sid.app.service.EncryptionKeyService;
+import com.sid.app.utils.AESUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Field encryption and decryption; the key lookups are answered from memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AESUtilsBenchmark {
+
+    @Param({"16", "256"})
+    private int payloadLength;
+
+    private AESUtils aesUtils;
+    private String plaintext;
+    private String ciphertext;
+
+    @Setup
+    public void setUp() {
+        AESProperties aesProperties = new AESProperties();
+        aesProperties.setAlgorithm("AES");
+        aesProperties.setSecretKey("Xf9aLp3qzT7vN2sYgW5KbVc6Rm8QJ0dP");
+
+        EncryptionKey key = new EncryptionKey();
+        key.setKeyVersion(1);
+        key.setSecretKey(aesProperties.getSecretKey());
+        EncryptionKeyRepository repository = RepositoryStubs.stub(EncryptionKeyRepository.class, Map.of(
+                "findTopByOrderByKeyVersionDesc", args -> key,
+                "findByKeyVersion", args -> key));
+
+        EncryptionKeyService keyService = new EncryptionKeyService();
+        RepositoryStubs.inject(keyService, "repository", repository);
+        RepositoryStubs.inject(keyService, "aesProperties", aesProperties);
+        keyService.init();
+
+        aesUtils = new AESUtils();
+        RepositoryStubs.inject(aesUtils, "keyService", keyService);
+        RepositoryStubs.inject(aesUtils, "aesProperties", aesProperties);
+
+        plaintext = "x".repeat(payloadLength);
+        ciphertext = aesUtils.encrypt(plaintext);
+    }
+
+    @Benchmark
+    public String encrypt() {
+        return aesUtils.encrypt(plaintext);
+    }
+
+    @Benchmark
+    public String decrypt() {
+        return aesUtils.decrypt(ciphertext, 1);
+    }
+}
@@ -0,0 +1,88 @@
+package com.sid.app.benchmark;
+
+import com.sid.app.entity.Holiday;
+import com.sid.app.entity.OfficeVisit;
+import com.sid.app.entity.UserLeave;
+import com.sid.app.enums.HolidayType;
+import com.sid.app.enums.VisitType;
+import com.sid.app.model.AggregatePeriodDTO;
+import com.sid.app.repository.HolidayRepository;
+import com.sid.app.repository.OfficeVisitRepository;
+import com.sid.app.repository.UserLeaveRepository;
+import com.sid.app.service.AnalyticsService;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Org-wide period aggregation over a year of synthetic visits, leaves and holidays.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AnalyticsServiceBenchmark {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 12, 31);
+
+    @Param({"month", "week"})
+    private String groupBy;
+
+    @Param({"50", "500"})
+    private int users;
+
+    private AnalyticsService analyticsService;
+
+    @Setup
+    public void setUp() {
+        List<OfficeVisit> visits = new ArrayList<>();
+        List<UserLeave> leaves = new ArrayList<>();
+        VisitType[] visitTypes = VisitType.values();
+        for (long userId = 1; userId <= users; userId++) {
+            for (LocalDate day = FROM; !day.isAfter(TO); day = day.plusDays(1)) {
+                if (day.getDayOfWeek().getValue() <= 5) {
+                    visits.add(OfficeVisit.builder()
+                            .userId(userId)
+                            .visitDate(day)
+                            .dayOfWeek(day.getDayOfWeek().getValue())
+                            .visitType(visitTypes[(int) ((userId + day.getDayOfYear()) % visitTypes.length)])
+                            .build());
+                }
+            }
+            // A two-day leave every month, some of them half days
+            for (int month = 1; month <= 12; month++) {
+                LocalDate start = LocalDate.of(2025, month, 10 + (int) (userId % 10));
+                leaves.add(UserLeave.builder()
+                        .userId(userId)
+                        .policyId(1L)
+                        .startDate(start)
+                        .endDate(start.plusDays(1))
+                        .days(userId % 3 == 0 ? new BigDecimal("1.5") : null)
+                        .build());
+            }
+        }
+        List<Holiday> holidays = new ArrayList<>();
+        for (int month = 1; month <= 12; month++) {
+            holidays.add(Holiday.builder()
+                    .holidayDate(LocalDate.of(2025, month, 1))
+                    .name("Holiday " + month)
+                    .holidayType(HolidayType.MANDATORY)
+                    .build());
+        }
+
+        analyticsService = new AnalyticsService(
+                RepositoryStubs.stub(OfficeVisitRepository.class, Map.of("findByVisitDateBetween", args -> visits)),
+                RepositoryStubs.stub(UserLeaveRepository.class, Map.of("findByDateRangeOverlapAllUsers", args -> leaves)),
+                RepositoryStubs.stub(HolidayRepository.class, Map.of("findByHolidayDateBetween", args -> holidays)));
+    }
+
+    @Benchmark
+    public List<AggregatePeriodDTO> aggregateByPeriod() {
+        return analyticsService.aggregateByPeriod(null, FROM, TO, groupBy);
+    }
+}
@@ -0,0 +1,93 @@
+package com.sid.app.benchmark;
+
+import com.sid.app.config.AppProperties;
+import com.sid.app.entity.Holiday;
+import com.sid.app.entity.LeavePolicy;
+import com.sid.app.entity.OfficeVisit;
+import com.sid.app.entity.UserLeave;
+import com.sid.app.enums.HolidayType;
+import com.sid.app.enums.VisitType;
+import com.sid.app.model.DailyViewRecordsDTO;
+import com.sid.app.repository.HolidayRepository;
+import com.sid.app.repository.LeavePolicyRepository;
+import com.sid.app.repository.OfficeVisitRepository;
+import com.sid.app.repository.UserLeaveRepository;
+import com.sid.app.service.DailyViewRecordsService;
+import com.sid.app.service.validation.DailyViewRequestValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the per-day map of one user's year: skeleton, then holidays, leaves and visits applied.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DailyViewRecordsServiceBenchmark {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 12, 31);
+
+    private DailyViewRecordsService dailyViewRecordsService;
+
+    @Setup
+    public void setUp() {
+        List<OfficeVisit> visits = new ArrayList<>();
+        for (LocalDate day = FROM; !day.isAfter(TO); day = day.plusDays(1)) {
+            if (day.getDayOfWeek().getValue() <= 5) {
+                visits.add(OfficeVisit.builder()
+                        .userId(1L)
+                        .visitDate(day)
+                        .visitType(day.getDayOfWeek().getValue() % 2 == 0 ? VisitType.WFO : VisitType.WFH)
+                        .notes("Visit note")
+                        .build());
+            }
+        }
+        List<UserLeave> leaves = new ArrayList<>();
+        for (int month = 1; month <= 12; month++) {
+            LocalDate start = LocalDate.of(2025, month, 15);
+            leaves.add(UserLeave.builder()
+                    .userId(1L)
+                    .policyId((long) (month % 3 + 1))
+                    .startDate(start)
+                    .endDate(start.plusDays(2))
+                    .days(new BigDecimal("3"))
+                    .notes("Leave note")
+                    .build());
+        }
+        List<Holiday> holidays = new ArrayList<>();
+        for (int month = 1; month <= 12; month++) {
+            holidays.add(Holiday.builder()
+                    .holidayDate(LocalDate.of(2025, month, 1))
+                    .name("Holiday " + month)
+                    .holidayType(HolidayType.MANDATORY)
+                    .build());
+        }
+        List<LeavePolicy> policies = List.of(policy(1L, "CL"), policy(2L, "SL"), policy(3L, "PL"));
+
+        AppProperties appProperties = new AppProperties();
+        appProperties.setDailyViewMaxRangeDays(366);
+        dailyViewRecordsService = new DailyViewRecordsService(
+                RepositoryStubs.stub(HolidayRepository.class, Map.of("findByHolidayDateBetween", args -> holidays)),
+                RepositoryStubs.stub(UserLeaveRepository.class, Map.of("findOverlappingLeaves", args -> leaves)),
+                RepositoryStubs.stub(OfficeVisitRepository.class,
+                        Map.of("findByUserIdAndVisitDateBetweenOrderByVisitDate", args -> visits)),
+                RepositoryStubs.stub(LeavePolicyRepository.class, Map.of("findAllById", args -> policies)),
+                new DailyViewRequestValidator(appProperties));
+    }
+
+    @Benchmark
+    public List<DailyViewRecordsDTO> getDailyViewOfYear() {
+        return dailyViewRecordsService.getDailyView(1L, null, null, FROM, TO, true);
+    }
+
+    private static LeavePolicy policy(Long policyId, String policyCode) {
+        return LeavePolicy.builder().policyId(policyId).policyCode(policyCode).build();
+    }
+}
@@ -0,0 +1,85 @@
+package com.sid.app.benchmark;
+
+import com.sid.app.enums.NoteCategory;
+import com.sid.app.enums.NoteColor;
+import com.sid.app.enums.NotePriority;
+import com.sid.app.enums.NoteStatus;
+import com.sid.app.enums.NoteType;
+import com.sid.app.enums.TaskCategory;
+import com.sid.app.enums.TaskPriority;
+import com.sid.app.enums.TaskStatus;
+import com.sid.app.enums.TaskType;
+import com.sid.app.model.UserNotesListResponseDTO;
+import com.sid.app.model.UserTasksListResponseDTO;
+import com.sid.app.repository.UserNotesRepository;
+import com.sid.app.repository.UserTasksRepository;
+import com.sid.app.repository.projection.UserNoteRow;
+import com.sid.app.repository.projection.UserTaskRow;
+import com.sid.app.service.impl.UserNotesServiceImpl;
+import com.sid.app.service.impl.UserTasksServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Row to DTO mapping of a listing page of notes and of tasks (convertToDTO plus the page envelope).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DtoMappingBenchmark {
+
+    @Param({"20", "200"})
+    private int pageSize;
+
+    private Pageable pageable;
+    private UserNotesServiceImpl userNotesService;
+    private UserTasksServiceImpl userTasksService;
+
+    @Setup
+    public void setUp() {
+        pageable = PageRequest.of(0, pageSize);
+        LocalDateTime now = LocalDateTime.of(2025, 6, 1, 9, 0);
+
+        List<UserNoteRow> notes = new ArrayList<>(pageSize);
+        List<UserTaskRow> tasks = new ArrayList<>(pageSize);
+        for (long i = 1; i <= pageSize; i++) {
+            notes.add(new UserNoteRow(i, 1L, "Note " + i, "Content of note " + i + " ".repeat(20),
+                    NoteType.TEXT, NoteColor.DEFAULT, NoteCategory.PERSONAL, NotePriority.MEDIUM, NoteStatus.ACTIVE,
+                    false, false, now.plusDays(i), 1, 0, now, now, now));
+            tasks.add(new UserTaskRow(i, 1L, "Task " + i, "Description of task " + i,
+                    LocalDate.of(2025, 6, 1).plusDays(i), TaskStatus.NOT_STARTED, TaskPriority.MEDIUM, TaskCategory.WORK,
+                    TaskType.TASK, LocalDate.of(2025, 6, 8).plusDays(i), null, new String[]{"work", "sprint-" + (i % 4)},
+                    null, 1L, null, false, null, false, 1, 0, now, now, now));
+        }
+        Page<UserNoteRow> notesPage = new PageImpl<>(notes, pageable, pageSize * 5L);
+        Page<UserTaskRow> tasksPage = new PageImpl<>(tasks, pageable, pageSize * 5L);
+
+        userNotesService = new UserNotesServiceImpl(
+                RepositoryStubs.stub(UserNotesRepository.class, Map.of("findRowsByUserIdAndStatusNot", args -> notesPage)), null);
+        userTasksService = new UserTasksServiceImpl(
+                RepositoryStubs.stub(UserTasksRepository.class,
+                        Map.of("findRowsByUserId", args -> tasksPage)),
+                null, null, null, null, Clock.systemUTC());
+    }
+
+    @Benchmark
+    public UserNotesListResponseDTO notesPage() {
+        return userNotesService.getAllUserNotes(1L, false, pageable);
+    }
+
+    @Benchmark
+    public UserTasksListResponseDTO tasksPage() {
+        return userTasksService.getAllUserTasks(1L, false, pageable);
+    }
+}
@@ -0,0 +1,45 @@
+package com.sid.app.benchmark;
+
+import com.sid.app.auth.JwtUtil;
+import com.sid.app.config.AppProperties;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and the parses the JWT filter runs on every authenticated request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.setJwtSecret("benchmark-secret-key-which-is-at-least-32-characters-long");
+        appProperties.setJwtExpirationMs(3_600_000L);
+        appProperties.setJwtAllowedClockSkewSec(10);
+        jwtUtil = new JwtUtil(appProperties);
+        jwtUtil.init();
+        token = jwtUtil.generateTokenWithUserDetails("user@example.com", 42L, "Benchmark User", "USER");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateTokenWithUserDetails("user@example.com", 42L, "Benchmark User", "USER");
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtUtil.isTokenValid(token);
+    }
+}
@@ -0,0 +1,75 @@
+package com.sid.app.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sid.app.constants.AppConstants;
+import com.sid.app.enums.TaskStatus;
+import com.sid.app.model.PaginationDTO;
+import com.sid.app.model.ResponseDTO;
+import com.sid.app.model.UserTasksDTO;
+import com.sid.app.model.UserTasksListResponseDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialisation of a ResponseDTO envelope around a task listing page, as the controllers return it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseSerializationBenchmark {
+
+    @Param({"20", "200"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ResponseDTO<UserTasksListResponseDTO> response;
+
+    @Setup
+    public void setUp() {
+        // Same settings as the Boot-configured mapper: java.time as ISO strings
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        LocalDateTime now = LocalDateTime.of(2025, 6, 1, 9, 0);
+        List<UserTasksDTO> tasks = new ArrayList<>(pageSize);
+        for (long i = 1; i <= pageSize; i++) {
+            tasks.add(UserTasksDTO.builder()
+                    .userTaskId(i)
+                    .userId(1L)
+                    .taskTitle("Task " + i)
+                    .taskDescription("Description of task " + i)
+                    .taskDate(LocalDate.of(2025, 6, 1).plusDays(i))
+                    .dueDate(LocalDate.of(2025, 6, 8).plusDays(i))
+                    .status(TaskStatus.NOT_STARTED)
+                    .tags(new String[]{"work", "sprint-" + (i % 4)})
+                    .createdDate(now)
+                    .modifiedDate(now)
+                    .build());
+        }
+        UserTasksListResponseDTO page = UserTasksListResponseDTO.builder()
+                .data(tasks)
+                .pagination(PaginationDTO.builder()
+                        .currentPage(0)
+                        .itemsPerPage(pageSize)
+                        .totalItems(pageSize * 5L)
+                        .totalPages(5)
+                        .hasNextPage(true)
+                        .hasPreviousPage(false)
+                        .build())
+                .build();
+        response = new ResponseDTO<>(AppConstants.STATUS_SUCCESS, "Tasks retrieved successfully", page);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
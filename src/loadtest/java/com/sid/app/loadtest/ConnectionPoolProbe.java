@@ -0,0 +1,58 @@
+package com.sid.app.loadtest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How long requests hold pooled connections during the measured phase, from Hikari's
+ * {@code hikaricp.connections.usage} (borrow to return) and {@code hikaricp.connections.acquire} timers.
+ */
+final class ConnectionPoolProbe {
+
+    private static final String USAGE = "hikaricp.connections.usage";
+    private static final String ACQUIRE = "hikaricp.connections.acquire";
+
+    private final MeterRegistry meterRegistry;
+    private long startBorrows;
+    private double startHoldMs;
+    private double startAcquireMs;
+
+    ConnectionPoolProbe(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    void start() {
+        startBorrows = count(USAGE);
+        startHoldMs = totalMs(USAGE);
+        startAcquireMs = totalMs(ACQUIRE);
+    }
+
+    LoadReport.ConnectionUsage stop(long requests) {
+        long borrows = count(USAGE) - startBorrows;
+        if (borrows == 0 || requests == 0) {
+            return null;
+        }
+        double holdMs = totalMs(USAGE) - startHoldMs;
+        return new LoadReport.ConnectionUsage(round((double) borrows / requests), round(holdMs / borrows),
+                round(holdMs / requests), round((totalMs(ACQUIRE) - startAcquireMs) / borrows));
+    }
+
+    private long count(String timer) {
+        return timers(timer).stream().mapToLong(Timer::count).sum();
+    }
+
+    private double totalMs(String timer) {
+        return timers(timer).stream().mapToDouble(t -> t.totalTime(TimeUnit.MILLISECONDS)).sum();
+    }
+
+    private Collection<Timer> timers(String name) {
+        return meterRegistry.find(name).timers();
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,67 @@
+package com.sid.app.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latencies (microseconds), error and server error counts of one endpoint, kept by a single virtual user and merged at the end.
+ */
+final class LatencySamples {
+
+    private long[] values = new long[1024];
+    private int size;
+    private long errors;
+    private long serverErrors;
+    private boolean sorted;
+
+    void record(long micros, boolean error, boolean serverError) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = micros;
+        if (error) {
+            errors++;
+        }
+        if (serverError) {
+            serverErrors++;
+        }
+        sorted = false;
+    }
+
+    void merge(LatencySamples other) {
+        if (size + other.size > values.length) {
+            values = Arrays.copyOf(values, Math.max(values.length * 2, size + other.size));
+        }
+        System.arraycopy(other.values, 0, values, size, other.size);
+        size += other.size;
+        errors += other.errors;
+        serverErrors += other.serverErrors;
+        sorted = false;
+    }
+
+    long count() {
+        return size;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    long serverErrors() {
+        return serverErrors;
+    }
+
+    /**
+     * Nearest-rank percentile in microseconds, {@code percentile} in (0, 100].
+     */
+    long percentile(double percentile) {
+        if (size == 0) {
+            return 0;
+        }
+        if (!sorted) {
+            Arrays.sort(values, 0, size);
+            sorted = true;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * size);
+        return values[Math.min(Math.max(rank, 1), size) - 1];
+    }
+}
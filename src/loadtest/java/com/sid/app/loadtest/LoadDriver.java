@@ -0,0 +1,247 @@
+package com.sid.app.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Closed-loop driver: {@code concurrency} virtual users, each logged in as one of the seeded users, issue a
+ * weighted mix of the dashboard, daily view, profile, statistics, listing, search and bulk-update calls back to back
+ * for the warmup and then the measured duration. Latencies are kept per virtual user and merged at the end.
+ */
+final class LoadDriver {
+
+    private static final String API = "/api/v1/workplace-tracker-service";
+
+    // Virtual users log in again after this many calls, so login stays part of the mix
+    private static final int CALLS_PER_SESSION = 250;
+
+    private final URI baseUri;
+    private final LoadTestSettings settings;
+    private final List<String> emails;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final List<Call> mix;
+    private final int totalWeight;
+
+    LoadDriver(URI baseUri, LoadTestSettings settings, List<String> emails) {
+        this.baseUri = baseUri;
+        this.settings = settings;
+        this.emails = emails;
+        this.mix = callMix();
+        this.totalWeight = mix.stream().mapToInt(Call::weight).sum();
+    }
+
+    LoadReport run(ConnectionPoolProbe connectionPool) throws Exception {
+        System.out.printf("[loadtest] warming up for %ds with %d virtual users%n", settings.warmupSeconds(), settings.concurrency());
+        runPhase(Duration.ofSeconds(settings.warmupSeconds()));
+        System.out.printf("[loadtest] measuring for %ds%n", settings.durationSeconds());
+        connectionPool.start();
+        long started = System.nanoTime();
+        Map<String, LatencySamples> samples = runPhase(Duration.ofSeconds(settings.durationSeconds()));
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+        LoadReport report = LoadReport.of(settings, elapsedSeconds, samples);
+        return report.withConnections(connectionPool.stop(report.requests()));
+    }
+
+    private Map<String, LatencySamples> runPhase(Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Map<String, LatencySamples>>> futures = new ArrayList<>(settings.concurrency());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < settings.concurrency(); i++) {
+                VirtualUser user = new VirtualUser(emails.get(i % emails.size()), new Random(i));
+                futures.add(executor.submit(() -> user.runUntil(deadline)));
+            }
+        }
+        Map<String, LatencySamples> merged = new TreeMap<>();
+        for (Future<Map<String, LatencySamples>> future : futures) {
+            future.get().forEach((name, samples) -> merged.computeIfAbsent(name, key -> new LatencySamples()).merge(samples));
+        }
+        return merged;
+    }
+
+    private List<Call> callMix() {
+        return List.of(
+                new Call("dashboard.visits-leaves-aggregate", 12, session -> {
+                    LocalDate today = LocalDate.now();
+                    return get(API + "/analytics/visits-leaves-aggregate?from=" + today.minusMonths(12) + "&to=" + today
+                            + "&groupBy=month", session);
+                }),
+                new Call("dashboard.special-days-upcoming", 8, session -> get(API + "/special-days/upcoming", session)),
+                new Call("dashboard.notifications-unread-count", 10, session -> get(API + "/notifications/unread-count", session)),
+                new Call("daily-view", 14, session -> {
+                    LocalDate month = LocalDate.now().minusMonths(session.random.nextInt(12));
+                    return get(API + "/fetch-daily-view-records?year=" + month.getYear() + "&month=" + month.getMonthValue(), session);
+                }),
+                new Call("tasks.stats", 8, session -> get(API + "/tasks/stats", session)),
+                new Call("notes.stats", 6, session -> get(API + "/notes/stats", session)),
+                new Call("tasks.list", 12, session -> get(API + "/tasks/user?page=" + session.random.nextInt(2) + "&limit=50", session)),
+                new Call("notes.list", 10, session -> get(API + "/notes/user?page=0&limit=20", session)),
+                new Call("tasks.list.summary", 4, session -> get(API + "/tasks/user?page=0&limit=50&summary=true", session)),
+                new Call("notes.list.summary", 4, session -> get(API + "/notes/user?page=0&limit=20&summary=true", session)),
+                new Call("profile", 4, session -> get(API + "/user/profile", session)),
+                new Call("daily-tasks.month", 4, session -> {
+                    LocalDate end = LocalDate.now().minusMonths(session.random.nextInt(12));
+                    return get(API + "/daily-tasks/user/date-range?startDate=" + end.minusMonths(1) + "&endDate=" + end, session);
+                }),
+                new Call("tasks.search", 6, session -> get(API + "/tasks/search?searchTerm=report", session)),
+                new Call("notes.search", 6, session -> get(API + "/notes/search?query=meeting", session)),
+                new Call("tasks.bulk-update", 3, session -> {
+                    List<Long> ids = session.pickTaskIds(5);
+                    String[] statuses = {"NOT_STARTED", "IN_PROGRESS", "COMPLETED", "ON_HOLD"};
+                    return send("PUT", API + "/tasks/bulk-update", session, Map.of(
+                            "userTaskIds", ids,
+                            "status", statuses[session.random.nextInt(statuses.length)]));
+                }));
+    }
+
+    private HttpRequest get(String path, Session session) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Authorization", "Bearer " + session.token)
+                .header("Accept", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest send(String method, String path, Session session, Object body) {
+        try {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path))
+                    .header("Content-Type", "application/json")
+                    .header("Accept", "application/json")
+                    .timeout(Duration.ofSeconds(30))
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+            if (session != null) {
+                builder.header("Authorization", "Bearer " + session.token);
+            }
+            return builder.build();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialize request body", e);
+        }
+    }
+
+    private record Call(String name, int weight, Function<Session, HttpRequest> request) {
+    }
+
+    private static final class Session {
+
+        private final Random random;
+        private String token;
+        private List<Long> taskIds = List.of();
+
+        private Session(Random random) {
+            this.random = random;
+        }
+
+        private List<Long> pickTaskIds(int count) {
+            if (taskIds.isEmpty()) {
+                return List.of();
+            }
+            List<Long> picked = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                picked.add(taskIds.get(random.nextInt(taskIds.size())));
+            }
+            return picked.stream().distinct().toList();
+        }
+    }
+
+    private final class VirtualUser {
+
+        private final String email;
+        private final Session session;
+        private final Map<String, LatencySamples> samples = new TreeMap<>();
+
+        private VirtualUser(String email, Random random) {
+            this.email = email;
+            this.session = new Session(random);
+        }
+
+        private Map<String, LatencySamples> runUntil(long deadline) {
+            int calls = 0;
+            while (System.nanoTime() < deadline) {
+                if (calls % CALLS_PER_SESSION == 0 && !login()) {
+                    continue;
+                }
+                execute(pick());
+                calls++;
+            }
+            return samples;
+        }
+
+        private boolean login() {
+            HttpResponse<byte[]> response = execute("auth.login",
+                    send("POST", API + "/login", null, Map.of("email", email, "password", SyntheticOrgSeeder.PASSWORD)));
+            if (response == null || response.statusCode() != 200) {
+                return false;
+            }
+            try {
+                session.token = objectMapper.readTree(response.body()).path("token").asText();
+                HttpResponse<byte[]> tasks = httpClient.send(get(API + "/tasks/user?page=0&limit=50", session),
+                        HttpResponse.BodyHandlers.ofByteArray());
+                List<Long> ids = new ArrayList<>();
+                for (JsonNode task : objectMapper.readTree(tasks.body()).path("data").path("data")) {
+                    ids.add(task.path("userTaskId").asLong());
+                }
+                session.taskIds = ids;
+                return true;
+            } catch (IOException e) {
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        private Call pick() {
+            int ticket = session.random.nextInt(totalWeight);
+            for (Call call : mix) {
+                ticket -= call.weight();
+                if (ticket < 0) {
+                    return call;
+                }
+            }
+            return mix.get(mix.size() - 1);
+        }
+
+        private void execute(Call call) {
+            execute(call.name(), call.request().apply(session));
+        }
+
+        private HttpResponse<byte[]> execute(String name, HttpRequest request) {
+            long started = System.nanoTime();
+            HttpResponse<byte[]> response = null;
+            try {
+                response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            } catch (IOException e) {
+                // Counted as an error below
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            long micros = (System.nanoTime() - started) / 1_000;
+            // 404 is how the listing endpoints answer "nothing in this range"
+            boolean error = response == null || (response.statusCode() >= 400 && response.statusCode() != 404);
+            boolean serverError = response != null && response.statusCode() == 500;
+            samples.computeIfAbsent(name, key -> new LatencySamples()).record(micros, error, serverError);
+            return response;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.sid.app.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Per-endpoint throughput and latency percentiles of a measured run, with how long requests held pooled
+ * connections, written as JSON and compared against an earlier run's JSON to catch regressions.
+ */
+record LoadReport(int users,
+                  int concurrency,
+                  double durationSeconds,
+                  double throughputPerSecond,
+                  double errorRatePercent,
+                  long serverErrors,
+                  List<EndpointResult> endpoints,
+                  ConnectionUsage connections) {
+
+    // Differences below this are noise on a shared machine, whatever the percentage
+    private static final double MIN_P95_REGRESSION_MS = 2.0;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    record EndpointResult(String endpoint,
+                          long requests,
+                          long errors,
+                          double throughputPerSecond,
+                          double p50Ms,
+                          double p95Ms,
+                          double p99Ms,
+                          double maxMs) {
+    }
+
+    record ConnectionUsage(double borrowsPerRequest,
+                           double meanHoldMs,
+                           double holdMsPerRequest,
+                           double meanAcquireMs) {
+    }
+
+    static LoadReport of(LoadTestSettings settings, double elapsedSeconds, Map<String, LatencySamples> samples) {
+        List<EndpointResult> endpoints = new ArrayList<>(samples.size());
+        long requests = 0;
+        long errors = 0;
+        long serverErrors = 0;
+        for (Map.Entry<String, LatencySamples> entry : samples.entrySet()) {
+            LatencySamples latencies = entry.getValue();
+            requests += latencies.count();
+            errors += latencies.errors();
+            serverErrors += latencies.serverErrors();
+            endpoints.add(new EndpointResult(entry.getKey(), latencies.count(), latencies.errors(),
+                    round(latencies.count() / elapsedSeconds),
+                    millis(latencies.percentile(50)), millis(latencies.percentile(95)),
+                    millis(latencies.percentile(99)), millis(latencies.percentile(100))));
+        }
+        return new LoadReport(settings.users(), settings.concurrency(), round(elapsedSeconds), round(requests / elapsedSeconds),
+                requests == 0 ? 100.0 : round(100.0 * errors / requests), serverErrors, endpoints, null);
+    }
+
+    long requests() {
+        return endpoints.stream().mapToLong(EndpointResult::requests).sum();
+    }
+
+    LoadReport withConnections(ConnectionUsage usage) {
+        return new LoadReport(users, concurrency, durationSeconds, throughputPerSecond, errorRatePercent, serverErrors,
+                endpoints, usage);
+    }
+
+    static LoadReport read(Path path) throws IOException {
+        return OBJECT_MAPPER.readValue(path.toFile(), LoadReport.class);
+    }
+
+    void write(Path path) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        OBJECT_MAPPER.writeValue(path.toFile(), this);
+    }
+
+    void print() {
+        System.out.printf("%n%-38s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (EndpointResult result : endpoints) {
+            System.out.printf("%-38s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", result.endpoint(), result.requests(),
+                    result.errors(), result.throughputPerSecond(), result.p50Ms(), result.p95Ms(), result.p99Ms(), result.maxMs());
+        }
+        System.out.printf("%ntotal %.1f req/s over %.1fs, %d users, %d virtual users, %.2f%% errors (%d x 500)%n%n",
+                throughputPerSecond, durationSeconds, users, concurrency, errorRatePercent, serverErrors);
+        if (connections != null) {
+            System.out.printf("connections: %.2f borrows/request, held %.2f ms per borrow, %.2f ms per request, "
+                            + "%.2f ms acquire wait per borrow%n%n", connections.borrowsPerRequest(), connections.meanHoldMs(),
+                    connections.holdMsPerRequest(), connections.meanAcquireMs());
+        }
+    }
+
+    /**
+     * Endpoints whose p95 rose, or whose throughput fell, by more than {@code thresholdPercent} against the baseline.
+     * Baselines only compare when recorded with the same users and concurrency.
+     */
+    List<String> regressionsAgainst(LoadReport baseline, double thresholdPercent) {
+        List<String> regressions = new ArrayList<>();
+        if (!comparableWith(baseline)) {
+            System.out.printf("[loadtest] baseline was recorded with %d users / %d virtual users, not compared%n",
+                    baseline.users(), baseline.concurrency());
+            return regressions;
+        }
+        double factor = thresholdPercent / 100.0;
+        Map<String, EndpointResult> before = baseline.endpoints().stream()
+                .collect(Collectors.toMap(EndpointResult::endpoint, Function.identity()));
+        for (EndpointResult result : endpoints) {
+            EndpointResult previous = before.get(result.endpoint());
+            if (previous == null) {
+                continue;
+            }
+            if (result.p95Ms() > previous.p95Ms() * (1 + factor) && result.p95Ms() - previous.p95Ms() > MIN_P95_REGRESSION_MS) {
+                regressions.add(String.format("%s p95 %.2f ms -> %.2f ms", result.endpoint(), previous.p95Ms(), result.p95Ms()));
+            }
+            if (result.throughputPerSecond() < previous.throughputPerSecond() * (1 - factor)) {
+                regressions.add(String.format("%s throughput %.1f -> %.1f req/s", result.endpoint(),
+                        previous.throughputPerSecond(), result.throughputPerSecond()));
+            }
+        }
+        return regressions;
+    }
+
+    boolean comparableWith(LoadReport baseline) {
+        return baseline.users() == users && baseline.concurrency() == concurrency;
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,144 @@
+package com.sid.app.loadtest;
+
+import com.sid.app.WorkplaceTrackerServiceApplication;
+import com.sid.app.service.EncryptionKeyService;
+import com.sid.app.utils.AESUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Boots the service against an embedded PostgreSQL (or {@code loadtest.jdbc-url}), seeds a synthetic organisation,
+ * drives the mixed workload over HTTP and exits non-zero when the error rate exceeds {@value #MAX_ERROR_RATE_PERCENT}%,
+ * any request failed with a 500 or an endpoint regressed against the baseline. Run with {@code gradle loadTest}.
+ */
+public final class LoadTestMain {
+
+    private static final double MAX_ERROR_RATE_PERCENT = 1.0;
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.exit(run(LoadTestSettings.fromSystemProperties()));
+    }
+
+    static int run(LoadTestSettings settings) throws Exception {
+        EmbeddedPostgres postgres = null;
+        String jdbcUrl = settings.jdbcUrl();
+        String username = settings.jdbcUsername();
+        String password = settings.jdbcPassword();
+        if (jdbcUrl == null || jdbcUrl.isBlank()) {
+            postgres = EmbeddedPostgres.builder().start();
+            jdbcUrl = postgres.getJdbcUrl("postgres", "postgres");
+            username = "postgres";
+            password = "";
+        }
+
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, username, password);
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA IF NOT EXISTS dev");
+        }
+
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.datasource.url", jdbcUrl);
+        properties.put("spring.datasource.username", username);
+        properties.put("spring.datasource.password", password);
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.sid", "WARN");
+        // Budget overruns are still metered, one warning per request would drown the report
+        properties.put("logging.level.com.sid.app.metrics.SqlBudgetFilter", "ERROR");
+        properties.put("app.backup.directory", Files.createTempDirectory("loadtest-backups").toString());
+        if (settings.replica()) {
+            properties.put("app.read-replica.enabled", "true");
+            properties.put("app.read-replica.url", jdbcUrl);
+        }
+
+        // As command-line arguments, so they win over application.yaml
+        String[] arguments = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(WorkplaceTrackerServiceApplication.class)
+                .bannerMode(Banner.Mode.OFF)
+                .run(arguments);
+        try {
+            SyntheticOrgSeeder seeder = new SyntheticOrgSeeder(context.getBean(DataSource.class), settings);
+            seeder.seed(context.getBean(AESUtils.class).encrypt(SyntheticOrgSeeder.PASSWORD),
+                    context.getBean(EncryptionKeyService.class).getLatestKey().getKeyVersion());
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadReport report = new LoadDriver(URI.create("http://localhost:" + port), settings, seeder.userEmails())
+                    .run(new ConnectionPoolProbe(context.getBean(MeterRegistry.class)));
+            report.print();
+            if (settings.replica()) {
+                context.getBean(MeterRegistry.class).find("datasource.reads").counters().forEach(reads ->
+                        System.out.printf("[loadtest] read-only connections to %s (%s): %.0f%n",
+                                reads.getId().getTag("target"), reads.getId().getTag("reason"), reads.count()));
+            }
+            report.write(settings.outputDirectory().resolve("results.json"));
+            return evaluate(settings, report);
+        } finally {
+            context.close();
+            if (postgres != null) {
+                postgres.close();
+            }
+        }
+    }
+
+    private static int evaluate(LoadTestSettings settings, LoadReport report) throws Exception {
+        int exitCode = 0;
+        if (report.errorRatePercent() > MAX_ERROR_RATE_PERCENT) {
+            System.out.printf("[loadtest] FAILED: %.2f%% of requests failed%n", report.errorRatePercent());
+            exitCode = 1;
+        }
+        // Never load: an unhandled exception, such as a lazy load outside a transaction now that open-in-view is off
+        if (report.serverErrors() > 0) {
+            System.out.printf("[loadtest] FAILED: %d requests answered 500%n", report.serverErrors());
+            exitCode = 1;
+        }
+        // Re-recording a baseline is the one gated run that may go without a comparable one
+        boolean baselineRequired = settings.gate() && !settings.saveBaseline();
+        if (Files.exists(settings.baseline())) {
+            LoadReport baseline = LoadReport.read(settings.baseline());
+            if (baselineRequired && !report.comparableWith(baseline)) {
+                System.out.printf("[loadtest] FAILED: baseline %s was recorded with %d users / %d virtual users, "
+                                + "this run has %d / %d%n", settings.baseline(), baseline.users(),
+                        baseline.concurrency(), report.users(), report.concurrency());
+                exitCode = 1;
+            } else {
+                List<String> regressions = report.regressionsAgainst(baseline, settings.regressionThresholdPercent());
+                if (!regressions.isEmpty()) {
+                    System.out.printf("[loadtest] FAILED: regressions beyond %.0f%% against %s%n",
+                            settings.regressionThresholdPercent(), settings.baseline());
+                    regressions.forEach(regression -> System.out.println("  " + regression));
+                    exitCode = 1;
+                }
+            }
+        } else if (baselineRequired) {
+            System.out.printf("[loadtest] FAILED: no baseline at %s to gate against; record one with "
+                    + "-Ploadtest.save-baseline=true%n", settings.baseline());
+            exitCode = 1;
+        } else {
+            System.out.printf("[loadtest] no baseline at %s, nothing to compare%n", settings.baseline());
+        }
+        if (settings.saveBaseline() && exitCode == 0) {
+            report.write(settings.baseline());
+            System.out.printf("[loadtest] baseline written to %s%n", settings.baseline());
+        }
+        return exitCode;
+    }
+}
@@ -0,0 +1,68 @@
+package com.sid.app.loadtest;
+
+import java.nio.file.Path;
+
+/**
+ * Harness settings, read from {@code loadtest.*} system properties ({@code gradle loadTest -Ploadtest.users=500}).
+ *
+ * @param users                      synthetic employees seeded, each logged in by one or more virtual users
+ * @param years                      years of visits, leaves and daily tasks seeded, ending today
+ * @param notesPerUser               notes seeded per user
+ * @param tasksPerUser               tasks seeded per user
+ * @param dailyTasksPerDay           daily task entries per user and working day
+ * @param concurrency                virtual users issuing requests back to back
+ * @param warmupSeconds              run before measuring, not reported
+ * @param durationSeconds            measured run
+ * @param jdbcUrl                    an existing (local) Postgres to use instead of the embedded one
+ * @param outputDirectory            where results.json is written
+ * @param baseline                   results of an earlier run to compare against; compared only if the file exists
+ * @param regressionThresholdPercent allowed p95 increase / throughput drop per endpoint before the run fails
+ * @param saveBaseline               write this run's results as the new baseline
+ * @param gate                       run as the performance gate of {@code check}: a baseline that is missing or was
+ *                                   recorded with other users / concurrency fails the run instead of being skipped
+ * @param replica                    route read-only transactions through the replica pool, pointed at the same database
+ */
+record LoadTestSettings(int users,
+                        int years,
+                        int notesPerUser,
+                        int tasksPerUser,
+                        int dailyTasksPerDay,
+                        int concurrency,
+                        int warmupSeconds,
+                        int durationSeconds,
+                        String jdbcUrl,
+                        String jdbcUsername,
+                        String jdbcPassword,
+                        Path outputDirectory,
+                        Path baseline,
+                        double regressionThresholdPercent,
+                        boolean saveBaseline,
+                        boolean gate,
+                        boolean replica) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                intProperty("loadtest.users", 200),
+                intProperty("loadtest.years", 2),
+                intProperty("loadtest.notes-per-user", 50),
+                intProperty("loadtest.tasks-per-user", 100),
+                intProperty("loadtest.daily-tasks-per-day", 2),
+                intProperty("loadtest.concurrency", 32),
+                intProperty("loadtest.warmup-seconds", 20),
+                intProperty("loadtest.duration-seconds", 60),
+                System.getProperty("loadtest.jdbc-url"),
+                System.getProperty("loadtest.jdbc-username", "postgres"),
+                System.getProperty("loadtest.jdbc-password", ""),
+                Path.of(System.getProperty("loadtest.output-dir", "build/reports/loadtest")),
+                Path.of(System.getProperty("loadtest.baseline", "loadtest-baseline.json")),
+                Double.parseDouble(System.getProperty("loadtest.regression-threshold-percent", "20")),
+                Boolean.parseBoolean(System.getProperty("loadtest.save-baseline", "false")),
+                Boolean.parseBoolean(System.getProperty("loadtest.gate", "false")),
+                Boolean.parseBoolean(System.getProperty("loadtest.replica", "false")));
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        String value = System.getProperty(name);
+        return value == null || value.isBlank() ? defaultValue : Integer.parseInt(value.trim());
+    }
+}
@@ -0,0 +1,170 @@
+package com.sid.app.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Seeds a deterministic synthetic organisation straight into the schema with set-based SQL, so a few
+ * hundred users with years of history load in seconds rather than through thousands of API calls.
+ * Users are {@code u<n>@load.test}; re-seeding an external database first removes them (rows cascade)
+ * and the holidays this seeder created.
+ */
+final class SyntheticOrgSeeder {
+
+    static final String PASSWORD = "LoadTest#2024";
+
+    private static final String EMAIL_DOMAIN = "@load.test";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LoadTestSettings settings;
+
+    SyntheticOrgSeeder(DataSource dataSource, LoadTestSettings settings) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.settings = settings;
+    }
+
+    /**
+     * @param encryptedPassword    {@link #PASSWORD} encrypted with the application's current key
+     * @param passwordKeyVersion   version of that key
+     */
+    void seed(String encryptedPassword, int passwordKeyVersion) {
+        long started = System.nanoTime();
+        clear();
+        int users = settings.users();
+        int days = settings.years() * 365;
+
+        jdbcTemplate.update("""
+                INSERT INTO users (name, email, mobile_number, password, password_encryption_key_version, role_id)
+                SELECT 'Load User ' || g, 'u' || g || ?, '7' || lpad(g::text, 9, '0'), ?, ?,
+                       (SELECT role_id FROM user_role WHERE role = 'USER')
+                FROM generate_series(1, ?) g
+                """, EMAIL_DOMAIN, encryptedPassword, passwordKeyVersion, users);
+
+        jdbcTemplate.update("""
+                INSERT INTO user_profile (user_id, date_of_birth, gender, department, position, employee_id, date_of_joining)
+                SELECT u.user_id,
+                       DATE '1975-01-01' + (u.user_id * 137 % 9000)::int,
+                       CASE u.user_id % 2 WHEN 0 THEN 'FEMALE' ELSE 'MALE' END,
+                       (ARRAY['Engineering', 'Finance', 'Sales', 'Operations', 'People'])[u.user_id % 5 + 1],
+                       (ARRAY['Engineer', 'Senior Engineer', 'Analyst', 'Manager'])[u.user_id % 4 + 1],
+                       'LT-' || u.user_id,
+                       CURRENT_DATE - (u.user_id * 53 % 3650)::int
+                FROM users u
+                WHERE u.email LIKE ?
+                """, "%" + EMAIL_DOMAIN);
+
+        // Every third user also keeps a previous, non-primary address
+        jdbcTemplate.update("""
+                INSERT INTO user_address (user_id, address, city, state, country, postal_code, is_primary)
+                SELECT u.user_id, u.user_id || ' Load Street', city, 'Karnataka', 'India', '5600' || lpad((u.user_id % 100)::text, 2, '0'),
+                       primary_address
+                FROM users u
+                CROSS JOIN (VALUES ('Bengaluru', TRUE), ('Mysuru', FALSE)) a(city, primary_address)
+                WHERE u.email LIKE ? AND (primary_address OR u.user_id % 3 = 0)
+                """, "%" + EMAIL_DOMAIN);
+
+        jdbcTemplate.update("""
+                INSERT INTO leave_policy (policy_code, policy_name, default_annual_days, description)
+                VALUES ('LT_ANNUAL', 'Load test annual leave', 24, 'Seeded by the load test'),
+                       ('LT_SICK', 'Load test sick leave', 12, 'Seeded by the load test')
+                ON CONFLICT (policy_code) DO NOTHING
+                """);
+
+        jdbcTemplate.update("""
+                INSERT INTO holiday (holiday_date, name, holiday_type)
+                SELECT m::date, 'Load holiday ' || to_char(m, 'YYYY-MM'), 'MANDATORY'
+                FROM generate_series(date_trunc('month', CURRENT_DATE - ?), CURRENT_DATE + 365, INTERVAL '1 month') m
+                ON CONFLICT (holiday_date, name) DO NOTHING
+                """, days);
+
+        // One two-day leave a month, on the 2nd and 3rd; office visits skip those days and the holidays
+        jdbcTemplate.update("""
+                INSERT INTO user_leave (user_id, policy_id, start_date, end_date, days, day_part, notes)
+                SELECT u.user_id,
+                       (SELECT policy_id FROM leave_policy
+                        WHERE policy_code = CASE WHEN extract(month FROM m)::int % 4 = 0 THEN 'LT_SICK' ELSE 'LT_ANNUAL' END),
+                       m::date + 1, m::date + 2, 2.0, 'FULL', 'Load test leave'
+                FROM users u
+                CROSS JOIN generate_series(date_trunc('month', CURRENT_DATE - ?), CURRENT_DATE, INTERVAL '1 month') m
+                WHERE u.email LIKE ?
+                """, days, "%" + EMAIL_DOMAIN);
+
+        jdbcTemplate.update("""
+                INSERT INTO office_visit (user_id, visit_date, day_of_week, visit_type, notes)
+                SELECT u.user_id, d::date, extract(isodow FROM d)::int,
+                       (ARRAY['WFO', 'WFO', 'WFH', 'WFH', 'HYBRID'])[(u.user_id + extract(doy FROM d)::int) % 5 + 1],
+                       NULL
+                FROM users u
+                CROSS JOIN generate_series(CURRENT_DATE - ?, CURRENT_DATE, INTERVAL '1 day') d
+                WHERE u.email LIKE ?
+                  AND extract(isodow FROM d) < 6
+                  AND extract(day FROM d) NOT IN (1, 2, 3)
+                """, days, "%" + EMAIL_DOMAIN);
+
+        jdbcTemplate.update("""
+                INSERT INTO daily_tasks (user_id, daily_task_date, daily_task_day, task_number, project_code, project_name,
+                                         story_task_bug_number, task_details, remarks)
+                SELECT v.user_id, v.visit_date, trim(to_char(v.visit_date, 'Day')),
+                       'TSK-' || lpad(n::text, 3, '0'),
+                       (ARRAY['CRM', 'WPT', 'OPS'])[(v.user_id + n) % 3 + 1],
+                       (ARRAY['Customer Management', 'Workplace Tracker', 'Operations'])[(v.user_id + n) % 3 + 1],
+                       (ARRAY['CRM', 'WPT', 'OPS'])[(v.user_id + n) % 3 + 1] || '-' || (v.office_visit_id % 900 + 100),
+                       'Worked on load test item ' || n, NULL
+                FROM office_visit v
+                JOIN users u ON u.user_id = v.user_id
+                CROSS JOIN generate_series(1, ?) n
+                WHERE u.email LIKE ?
+                """, settings.dailyTasksPerDay(), "%" + EMAIL_DOMAIN);
+
+        jdbcTemplate.update("""
+                INSERT INTO user_notes (user_id, note_title, note_content, category, priority, status, is_pinned)
+                SELECT u.user_id,
+                       CASE n % 3 WHEN 0 THEN 'Meeting note ' WHEN 1 THEN 'Idea ' ELSE 'Reminder ' END || n,
+                       repeat('Synthetic note content for the load test. ', 1 + n % 8),
+                       (ARRAY['PERSONAL', 'WORK', 'IDEAS', 'MEETING_NOTES', 'PROJECTS'])[n % 5 + 1],
+                       (ARRAY['LOW', 'MEDIUM', 'HIGH', 'URGENT'])[n % 4 + 1],
+                       (ARRAY['ACTIVE', 'ACTIVE', 'ACTIVE', 'ARCHIVED', 'PINNED'])[n % 5 + 1],
+                       n % 5 = 4
+                FROM users u
+                CROSS JOIN generate_series(1, ?) n
+                WHERE u.email LIKE ?
+                """, settings.notesPerUser(), "%" + EMAIL_DOMAIN);
+
+        jdbcTemplate.update("""
+                INSERT INTO user_tasks (user_id, task_title, task_description, task_date, status, priority, category, task_type,
+                                        due_date, tags, created_by, is_recurring, recurring_pattern)
+                SELECT u.user_id,
+                       CASE n % 2 WHEN 0 THEN 'Prepare report ' ELSE 'Follow up ' END || n,
+                       'Synthetic task for the load test',
+                       CURRENT_DATE - (n * 7 % ?),
+                       (ARRAY['NOT_STARTED', 'IN_PROGRESS', 'COMPLETED', 'ON_HOLD', 'CANCELLED'])[n % 5 + 1],
+                       (ARRAY['LOW', 'MEDIUM', 'HIGH', 'URGENT'])[n % 4 + 1],
+                       (ARRAY['WORK', 'PERSONAL', 'PROJECT', 'MEETING', 'LEARNING', 'ADMIN', 'OTHER'])[n % 7 + 1],
+                       (ARRAY['TASK', 'MILESTONE', 'BUG', 'FEATURE'])[n % 4 + 1],
+                       CURRENT_DATE - (n * 7 % ?) + n % 21,
+                       ARRAY['load', 'tag' || n % 10],
+                       u.user_id,
+                       n % 10 = 0,
+                       CASE WHEN n % 10 = 0 THEN 'WEEKLY' END
+                FROM users u
+                CROSS JOIN generate_series(1, ?) n
+                WHERE u.email LIKE ?
+                """, days, days, settings.tasksPerUser(), "%" + EMAIL_DOMAIN);
+
+        jdbcTemplate.execute("ANALYZE");
+        System.out.printf("[loadtest] seeded %d users, %d years of history in %d ms%n",
+                users, settings.years(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    List<String> userEmails() {
+        return IntStream.rangeClosed(1, settings.users()).mapToObj(n -> "u" + n + EMAIL_DOMAIN).toList();
+    }
+
+    private void clear() {
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", "%" + EMAIL_DOMAIN);
+        jdbcTemplate.update("DELETE FROM holiday WHERE name LIKE 'Load holiday %'");
+    }
+}
@@ -0,0 +1,107 @@
+package com.sid.app.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sid.app.config.AdmissionProperties;
+import com.sid.app.constants.AppConstants;
+import com.sid.app.model.ResponseDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admits at most {@code app.admission.max-concurrent-requests} API requests at a time, so thousands of virtual
+ * threads queue on a fair semaphore instead of stampeding the Hikari pool; a request uses at most one
+ * connection at a time, so one permit is one connection. Requests that wait longer than
+ * {@code app.admission.acquire-timeout-ms} get a 503 with {@code Retry-After}. Runs ahead of the security
+ * filters, which load the user from the database. Actuator endpoints are never held back.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@RequiredArgsConstructor
+public class DatabaseAdmissionFilter extends OncePerRequestFilter {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final AdmissionProperties admissionProperties;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+
+    private Semaphore permits;
+    private Timer waitTimer;
+    private Counter rejected;
+
+    @PostConstruct
+    void init() {
+        int maxConcurrentRequests = Math.max(1, admissionProperties.getMaxConcurrentRequests());
+        permits = new Semaphore(maxConcurrentRequests, true);
+        waitTimer = meterRegistry.timer("admission.wait");
+        rejected = meterRegistry.counter("admission.rejected");
+        Gauge.builder("admission.in_flight", permits, semaphore -> maxConcurrentRequests - semaphore.availablePermits())
+                .register(meterRegistry);
+        Gauge.builder("admission.queued", permits, Semaphore::getQueueLength).register(meterRegistry);
+        if (admissionProperties.isEnabled()) {
+            log.info("init() : Admitting {} concurrent requests, waiting up to {}ms", maxConcurrentRequests,
+                    admissionProperties.getAcquireTimeoutMs());
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !admissionProperties.isEnabled() || request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long started = System.nanoTime();
+        boolean admitted;
+        try {
+            admitted = permits.tryAcquire(admissionProperties.getAcquireTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+
+        if (!admitted) {
+            rejected.increment();
+            log.warn("doFilterInternal() : Rejected {} {}, no slot within {}ms", request.getMethod(), request.getRequestURI(),
+                    admissionProperties.getAcquireTimeoutMs());
+            rejectBusy(response);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void rejectBusy(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write(objectMapper.writeValueAsString(
+                new ResponseDTO<>(AppConstants.STATUS_FAILED, AppConstants.ERROR_SERVER_BUSY, null)));
+    }
+}
@@ -4,6 +4,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sid.app.constants.AppConstants;
 import com.sid.app.model.ResponseDTO;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -28,6 +30,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
     private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -52,6 +55,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
+        // Times token parsing and the user lookup, not the rest of the chain
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "skipped";
         try {
             final String jwt = authHeader.substring(7);
             final String username = jwtUtil.extractUsername(jwt);
@@ -68,20 +74,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                     log.debug("Successfully authenticated user: {}", username);
+                    outcome = "authenticated";
                 } else {
                     log.warn("Invalid JWT token for user: {}", username);
+                    outcome = "invalid";
                     handleAuthenticationError(response, "Invalid JWT token");
                     return;
                 }
             }
         } catch (ExpiredJwtException e) {
             log.warn("JWT token expired: {}", e.getMessage());
+            outcome = "expired";
             handleAuthenticationError(response, "JWT token has expired");
             return;
         } catch (Exception e) {
             log.error("JWT authentication error: {}", e.getMessage());
+            outcome = "error";
             handleAuthenticationError(response, "Authentication failed");
             return;
+        } finally {
+            sample.stop(meterRegistry.timer("auth.jwt.filter", "outcome", outcome));
         }
 
         filterChain.doFilter(request, response);
@@ -1,10 +1,13 @@
 package com.sid.app.auth;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
@@ -15,14 +18,17 @@ import java.util.List;
 /**
  * Aspect to handle role-based authorization using @RequiredRole annotation.
  * Intercepts method calls and validates if the current user has the required roles.
+ * Runs outside ConditionalGetAspect, so unauthorised callers never get a 304.
  */
 @Aspect
 @Component
 @Slf4j
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
 @RequiredArgsConstructor
 public class RoleAuthorizationAspect {
 
     private final JwtAuthenticationContext authContext;
+    private final MeterRegistry meterRegistry;
 
     /**
      * Intercepts methods annotated with @RequiredRole and validates user authorization.
@@ -45,6 +51,7 @@ public class RoleAuthorizationAspect {
         String currentUserRole = authContext.getCurrentUserRole();
         if (currentUserRole == null || currentUserRole.trim().isEmpty()) {
             log.warn("RoleAuthorizationAspect: No role found for current user in {}.{}", className, methodName);
+            countCheck("no_role");
             return createForbiddenResponse("Access denied: No role found for current user");
         }
 
@@ -53,16 +60,22 @@ public class RoleAuthorizationAspect {
         if (!requiredRolesList.contains(currentUserRole)) {
             log.warn("RoleAuthorizationAspect: Access denied for {}.{} - User role: {}, Required roles: {}",
                     className, methodName, currentUserRole, Arrays.toString(requiredRoles));
+            countCheck("denied");
             return createForbiddenResponse("Access denied: Insufficient privileges");
         }
 
         log.debug("RoleAuthorizationAspect: Access granted for {}.{} - User role: {}",
                 className, methodName, currentUserRole);
+        countCheck("granted");
 
         // User has required role, proceed with method execution
         return joinPoint.proceed();
     }
 
+    private void countCheck(String outcome) {
+        meterRegistry.counter("auth.role.checks", "outcome", outcome).increment();
+    }
+
     /**
      * Creates a standardized forbidden response for unauthorized access attempts.
      */
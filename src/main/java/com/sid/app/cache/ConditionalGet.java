@@ -0,0 +1,19 @@
+package com.sid.app.cache;
+
+import com.sid.app.enums.DataTable;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a GET endpoint whose response is built only from the listed tables (the current user's rows of the
+ * per-user ones). The response carries an ETag derived from their data versions, and a matching
+ * {@code If-None-Match} is answered 304 before the endpoint runs.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+    DataTable[] value();
+}
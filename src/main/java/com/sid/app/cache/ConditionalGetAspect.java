@@ -0,0 +1,160 @@
+package com.sid.app.cache;
+
+import com.sid.app.auth.JwtAuthenticationContext;
+import com.sid.app.config.HttpCacheProperties;
+import com.sid.app.enums.DataTable;
+import com.sid.app.service.DataVersionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.lang.reflect.UndeclaredThrowableException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * ETags and conditional GETs for {@link ConditionalGet} endpoints. The ETag is made of the data versions of
+ * the endpoint's tables, today's date (stats and overdue flags are relative to it) and a checksum of the
+ * user and request URL, so it is only ever reused for the same response. A match costs one version lookup
+ * instead of the endpoint's queries and JSON rendering. Versions and body are read in one read-only, repeatable
+ * read transaction, so with a read replica both come from the same pool and snapshot and the ETag always
+ * describes the body it is sent with.
+ * Ordered after {@code RoleAuthorizationAspect}, so a 304 only goes to callers allowed to see the resource.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ConditionalGetAspect {
+
+    private static final DateTimeFormatter DAY = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final DataVersionService dataVersionService;
+    private final JwtAuthenticationContext authContext;
+    private final HttpCacheProperties httpCacheProperties;
+    private final MeterRegistry meterRegistry;
+    private final PlatformTransactionManager transactionManager;
+
+    @Around("@annotation(conditionalGet)")
+    public Object handleConditionalGet(ProceedingJoinPoint joinPoint, ConditionalGet conditionalGet) throws Throwable {
+        HttpServletRequest request = currentRequest();
+        if (!httpCacheProperties.isEnabled() || request == null || !HttpMethod.GET.matches(request.getMethod())) {
+            return joinPoint.proceed();
+        }
+
+        List<DataTable> tables = Arrays.asList(conditionalGet.value());
+        TransactionTemplate snapshot = new TransactionTemplate(transactionManager);
+        snapshot.setReadOnly(true);
+        snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        try {
+            return snapshot.execute(status -> {
+                // Nothing to keep; also spares a commit of a transaction a joined service marked rollback-only
+                status.setRollbackOnly();
+                try {
+                    return conditionalGet(joinPoint, request, tables);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new UndeclaredThrowableException(e);
+                }
+            });
+        } catch (UndeclaredThrowableException e) {
+            throw e.getUndeclaredThrowable();
+        }
+    }
+
+    private Object conditionalGet(ProceedingJoinPoint joinPoint, HttpServletRequest request, List<DataTable> tables)
+            throws Throwable {
+        String eTag = eTag(request, tables);
+        CacheControl cacheControl = cacheControl(tables);
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), eTag)) {
+            log.debug("handleConditionalGet() : {} not modified ({})", request.getRequestURI(), eTag);
+            count("not_modified");
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl).build();
+        }
+
+        Object result = joinPoint.proceed();
+        // Only successful responses are tagged; errors and empty results are not worth revalidating
+        if (result instanceof ResponseEntity<?> response && response.getStatusCode().isSameCodeAs(HttpStatus.OK)) {
+            count("modified");
+            return ResponseEntity.status(response.getStatusCode())
+                    .headers(response.getHeaders())
+                    .eTag(eTag)
+                    .cacheControl(cacheControl)
+                    .body(response.getBody());
+        }
+        return result;
+    }
+
+    private String eTag(HttpServletRequest request, List<DataTable> tables) {
+        Long userId = authContext.getCurrentUserId();
+        StringBuilder tag = new StringBuilder("W/\"");
+        for (long version : dataVersionService.currentVersions(tables, userId)) {
+            tag.append(Long.toString(version, 36)).append('-');
+        }
+        tag.append(LocalDate.now().format(DAY)).append('-');
+
+        CRC32 request32 = new CRC32();
+        String query = request.getQueryString();
+        request32.update((userId + " " + request.getRequestURI() + (query == null ? "" : "?" + query))
+                .getBytes(StandardCharsets.UTF_8));
+        return tag.append(Long.toHexString(request32.getValue())).append('"').toString();
+    }
+
+    private CacheControl cacheControl(List<DataTable> tables) {
+        if (tables.stream().allMatch(DataTable::isShared)) {
+            return CacheControl.maxAge(httpCacheProperties.getSharedMaxAgeSeconds(), TimeUnit.SECONDS).cachePrivate();
+        }
+        return CacheControl.noCache().cachePrivate();
+    }
+
+    // Weak comparison, as for any If-None-Match
+    private boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String opaqueTag = opaque(eTag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            if (opaque(candidate.trim()).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String opaque(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("http.conditional.get", "outcome", outcome).increment();
+    }
+
+    private HttpServletRequest currentRequest() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? attributes.getRequest() : null;
+    }
+}
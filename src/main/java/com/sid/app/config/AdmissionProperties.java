@@ -0,0 +1,24 @@
+package com.sid.app.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caps the API requests in flight at the size of the connection pool. Meant for virtual-thread mode, where
+ * Tomcat no longer bounds concurrency and every waiting request would otherwise queue inside Hikari.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = false;
+    // Requests allowed past the filter at once; defaults to the Hikari maximum-pool-size
+    private int maxConcurrentRequests = 25;
+    // How long a request waits for a slot before it is answered 503
+    private long acquireTimeoutMs = 5000;
+
+}
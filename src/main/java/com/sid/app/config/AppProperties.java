@@ -30,6 +30,109 @@ public class AppProperties {
     @Value("${app.daily-view.max-range-days}")
     private int dailyViewMaxRangeDays;
 
+    /**
+     * Lifetime of a user's in-memory tag dictionary in seconds (default 300 = 5 minutes)
+     */
+    @Value("${app.tasks.tags.cache-ttl-seconds:300}")
+    private long taskTagsCacheTtlSeconds;
+
+    /**
+     * Maximum number of users whose tag dictionary is kept in memory (default 10000)
+     */
+    @Value("${app.tasks.tags.cache-max-users:10000}")
+    private int taskTagsCacheMaxUsers;
+
+    /**
+     * Widest date range recurring tasks are expanded over in one request (default 366 days)
+     */
+    @Value("${app.tasks.recurrence.max-range-days:366}")
+    private int taskRecurrenceMaxRangeDays;
+
+    /**
+     * How far back overdue occurrences of recurring tasks are reported (default 30 days)
+     */
+    @Value("${app.tasks.recurrence.overdue-lookback-days:30}")
+    private int taskRecurrenceOverdueLookbackDays;
+
+    /**
+     * Days of past due dates the overdue sweeper re-checks, covering sweeps missed during downtime (default 7)
+     */
+    @Value("${app.tasks.overdue.sweep-lookback-days:7}")
+    private int taskOverdueSweepLookbackDays;
+
+    /**
+     * Tasks flagged per overdue sweeper transaction (default 1000)
+     */
+    @Value("${app.tasks.overdue.sweep-batch-size:1000}")
+    private int taskOverdueSweepBatchSize;
+
+    /**
+     * Characters of note content and task description returned by list endpoints in summary mode (default 200)
+     */
+    @Value("${app.lists.summary-preview-length:200}")
+    private int listSummaryPreviewLength;
+
+    /**
+     * Whether birthdays and work anniversaries are served from the in-memory calendar (default true)
+     */
+    @Value("${app.special-days.calendar.enabled:true}")
+    private boolean specialDaysCalendarEnabled;
+
+    /**
+     * Most employees the in-memory special days calendar holds, at roughly 350 bytes each
+     * (default 100000, about 35 MB); beyond it special days are read from the database
+     */
+    @Value("${app.special-days.calendar.max-members:100000}")
+    private int specialDaysCalendarMaxMembers;
+
+    /**
+     * Whether this instance dispatches note and task reminders (default true)
+     */
+    @Value("${app.reminders.enabled:true}")
+    private boolean remindersEnabled;
+
+    /**
+     * Delay between polls of the reminder queue in milliseconds (default 10000 = 10 seconds)
+     */
+    @Value("${app.reminders.poll-interval-ms:10000}")
+    private long reminderPollIntervalMs;
+
+    /**
+     * How far ahead each poll leases due reminders in seconds (default 60); must exceed the poll interval
+     */
+    @Value("${app.reminders.horizon-seconds:60}")
+    private long reminderHorizonSeconds;
+
+    /**
+     * Extra lease time past the horizon before another instance may take a reminder over (default 60 seconds)
+     */
+    @Value("${app.reminders.lease-grace-seconds:60}")
+    private long reminderLeaseGraceSeconds;
+
+    /**
+     * Reminders leased or fired per database round trip (default 500)
+     */
+    @Value("${app.reminders.batch-size:500}")
+    private int reminderBatchSize;
+
+    /**
+     * Timing wheel resolution in milliseconds (default 100)
+     */
+    @Value("${app.reminders.tick-ms:100}")
+    private long reminderTickMs;
+
+    /**
+     * Reminders missed by more than this many minutes are expired instead of fired (default 1440 = 1 day)
+     */
+    @Value("${app.reminders.misfire-grace-minutes:1440}")
+    private long reminderMisfireGraceMinutes;
+
+    /**
+     * Lifetime of a notification stream (SSE) connection in milliseconds (default 1800000 = 30 minutes)
+     */
+    @Value("${app.notifications.stream-timeout-ms:1800000}")
+    private long notificationStreamTimeoutMs;
+
     /**
      * Allowed clock skew in seconds (default 10 seconds)
      */
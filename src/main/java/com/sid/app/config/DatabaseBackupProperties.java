@@ -17,5 +17,19 @@ public class DatabaseBackupProperties {
     private String directory;
     private String prefix;
     private String defaultDb;
+    // Tables copied at once by logical backups and restores; each uses one pooled connection
+    private int logicalParallelism = 4;
+    // Incremental backups re-read this much before the previous high-water mark, covering clock skew
+    private int incrementalOverlapSeconds = 300;
+    // Hard-delete tombstones kept for incremental backups; increments cannot continue from older backups
+    private int tombstoneRetentionDays = 35;
+    // Backup jobs running at once, and how many more may wait for a worker before submissions are rejected
+    private int maxConcurrentJobs = 1;
+    private int jobQueueCapacity = 4;
+    // Finished jobs kept for status polling
+    private int jobHistorySize = 50;
+    // Backups older than this are removed after each successful backup, except the newest keepLast
+    private int retentionDays = 30;
+    private int keepLast = 5;
 
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.sid.app.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * ETags and Cache-Control of the {@code @ConditionalGet} endpoints.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.http-cache")
+public class HttpCacheProperties {
+
+    private boolean enabled = true;
+    // Browsers reuse holidays and leave policies this long without asking; per-user data is always revalidated
+    private long sharedMaxAgeSeconds = 300;
+
+}
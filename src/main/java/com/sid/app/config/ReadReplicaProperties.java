@@ -0,0 +1,35 @@
+package com.sid.app.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Replica pool that serves {@code @Transactional(readOnly = true)} work. Settings left blank are taken
+ * from the primary pool ({@code spring.datasource.*}), so pointing {@code url} at the primary itself works
+ * for local runs.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.read-replica")
+public class ReadReplicaProperties {
+
+    private boolean enabled = false;
+    private String url;
+    private String username;
+    private String password;
+    private String poolName = "HikariCP-replica";
+    // 0 keeps the primary pool's maximum-pool-size
+    private int maximumPoolSize = 0;
+    // A replica that cannot hand out a connection this fast is skipped for the primary
+    private long connectionTimeoutMs = 1000;
+    // Reads go back to the primary while the replica is further behind than this, or cannot be asked
+    private long maxLagMs = 5000;
+    private long lagCheckIntervalMs = 1000;
+    // After a user's own write their reads stay on the primary until the replica has replayed it, at most this long;
+    // never less than max lag plus one check
+    private long readYourWritesMs = 10000;
+
+}
@@ -2,6 +2,7 @@ package com.sid.app.config;
 
 import com.sid.app.auth.JwtAuthenticationFilter;
 import com.sid.app.constants.AppConstants;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -35,6 +36,8 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches (SSE streams) belong to a request that was already authorised
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // Allow documentation endpoints without authentication
                         .requestMatchers(
                                 "/swagger-ui.html",
@@ -42,6 +45,12 @@ public class SecurityConfig {
                                 "/v3/api-docs/**",
                                 "/webjars/**"
                         ).permitAll()
+                        // Probes and Prometheus scrapes carry no token
+                        .requestMatchers(
+                                "/actuator/health/**",
+                                "/actuator/info",
+                                "/actuator/prometheus"
+                        ).permitAll()
                         // Allow public authentication endpoints without JWT
                         .requestMatchers(
                                 AppConstants.USER_REGISTER_ENDPOINT,
@@ -63,7 +72,7 @@ public class SecurityConfig {
         corsConfig.setAllowedOrigins(properties.getAllowedOrigins());
         corsConfig.setAllowedMethods(Arrays.asList(HttpMethod.GET.name(), HttpMethod.POST.name(), HttpMethod.PUT.name(), HttpMethod.PATCH.name(), HttpMethod.DELETE.name(), HttpMethod.OPTIONS.name()));
         corsConfig.setAllowedHeaders(List.of("*"));
-        corsConfig.setExposedHeaders(List.of("Authorization"));
+        corsConfig.setExposedHeaders(List.of("Authorization", "ETag"));
         corsConfig.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
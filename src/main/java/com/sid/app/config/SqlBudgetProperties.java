@@ -0,0 +1,28 @@
+package com.sid.app.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-request SQL budgets. Requests over any of them are logged and counted in {@code sql.budget.exceeded}.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.sql-budget")
+public class SqlBudgetProperties {
+
+    // Wraps the DataSource to count statements; read at startup
+    private boolean enabled = true;
+    // Also count rows read through result sets, which proxies every ResultSet.next(); read at startup.
+    // Off, rows are only those reported by updates
+    private boolean countRows = false;
+    private int maxStatements = 25;
+    private long maxRows = 5000;
+    private long maxTimeMs = 500;
+    // The same statement run this often in one request is reported as a likely N+1
+    private int repeatedStatementThreshold = 5;
+
+}
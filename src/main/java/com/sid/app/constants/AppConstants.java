@@ -13,6 +13,8 @@ public class AppConstants {
 
     // User endpoints
     public static final String FETCH_ALL_USERS_ENDPOINT = "/api/v1/workplace-tracker-service/user/fetch";
+    public static final String USERS_LIST_ENDPOINT = "/api/v1/workplace-tracker-service/user/list";
+    public static final String USERS_EXPORT_ENDPOINT = "/api/v1/workplace-tracker-service/user/export";
     public static final String USER_ENDPOINT = "/api/v1/workplace-tracker-service/user";
     public static final String USER_STATUS_ENDPOINT = "/api/v1/workplace-tracker-service/user/status";
     public static final String USER_SETTINGS_ENDPOINT = "/api/v1/workplace-tracker-service/user/settings";
@@ -20,6 +22,15 @@ public class AppConstants {
 
     // DB endpoints
     public static final String DB_BACKUP_ENDPOINT = "/api/v1/workplace-tracker-service/db-backup";
+    public static final String DB_BACKUP_STREAM_ENDPOINT = "/api/v1/workplace-tracker-service/db-backup/stream";
+    public static final String DB_BACKUP_FILES_ENDPOINT = "/api/v1/workplace-tracker-service/db-backup/files";
+    public static final String DB_BACKUP_FILE_DOWNLOAD_ENDPOINT = "/api/v1/workplace-tracker-service/db-backup/files/download";
+    public static final String DB_BACKUP_LOGICAL_ENDPOINT = "/api/v1/workplace-tracker-service/db-backup/logical";
+    public static final String DB_BACKUP_LOGICAL_INCREMENTAL_ENDPOINT = "/api/v1/workplace-tracker-service/db-backup/logical/incremental";
+    public static final String DB_BACKUP_LOGICAL_RESTORE_ENDPOINT = "/api/v1/workplace-tracker-service/db-backup/logical/restore";
+    public static final String DB_BACKUP_JOBS_ENDPOINT = "/api/v1/workplace-tracker-service/db-backup/jobs";
+    public static final String DB_BACKUP_JOB_STATUS_ENDPOINT = "/api/v1/workplace-tracker-service/db-backup/jobs/status";
+    public static final String DB_BACKUP_JOB_CANCEL_ENDPOINT = "/api/v1/workplace-tracker-service/db-backup/jobs/cancel";
 
     // Auth refresh
     public static final String AUTH_REFRESH_ENDPOINT = "/api/v1/workplace-tracker-service/auth/refresh";
@@ -29,6 +40,7 @@ public class AppConstants {
     public static final String SPECIAL_DAYS_CURRENT_MONTH_ENDPOINT = "/api/v1/workplace-tracker-service/special-days/current-month";
     public static final String SPECIAL_DAYS_BIRTHDAYS_ENDPOINT = "/api/v1/workplace-tracker-service/special-days/birthdays";
     public static final String SPECIAL_DAYS_ANNIVERSARIES_ENDPOINT = "/api/v1/workplace-tracker-service/special-days/anniversaries";
+    public static final String SPECIAL_DAYS_UPCOMING_ENDPOINT = "/api/v1/workplace-tracker-service/special-days/upcoming";
 
     // Leave / holiday / visits endpoints (full paths, no base concatenation)
     public static final String LEAVE_POLICY_ENDPOINT = "/api/v1/workplace-tracker-service/leave-policies";
@@ -81,6 +93,18 @@ public class AppConstants {
     public static final String TASKS_BULK_UPDATE_ENDPOINT = "/api/v1/workplace-tracker-service/tasks/bulk-update";
     public static final String TASKS_BULK_DELETE_ENDPOINT = "/api/v1/workplace-tracker-service/tasks/bulk-delete";
     public static final String TASKS_DUPLICATE_ENDPOINT = "/api/v1/workplace-tracker-service/tasks/duplicate";
+    public static final String TASKS_TREE_ENDPOINT = "/api/v1/workplace-tracker-service/tasks/tree";
+    public static final String TASKS_TAGS_ENDPOINT = "/api/v1/workplace-tracker-service/tasks/tags";
+    public static final String TASKS_TAGS_AUTOCOMPLETE_ENDPOINT = "/api/v1/workplace-tracker-service/tasks/tags/autocomplete";
+    public static final String TASKS_CALENDAR_ENDPOINT = "/api/v1/workplace-tracker-service/tasks/calendar";
+    public static final String TASKS_OCCURRENCE_STATUS_UPDATE_ENDPOINT = "/api/v1/workplace-tracker-service/tasks/occurrences/status/update";
+
+    // Notifications / reminder endpoints
+    public static final String NOTIFICATIONS_ENDPOINT = "/api/v1/workplace-tracker-service/notifications";
+    public static final String NOTIFICATIONS_UNREAD_COUNT_ENDPOINT = "/api/v1/workplace-tracker-service/notifications/unread-count";
+    public static final String NOTIFICATIONS_READ_ENDPOINT = "/api/v1/workplace-tracker-service/notifications/read";
+    public static final String NOTIFICATIONS_STREAM_ENDPOINT = "/api/v1/workplace-tracker-service/notifications/stream";
+    public static final String REMINDERS_METRICS_ENDPOINT = "/api/v1/workplace-tracker-service/reminders/metrics";
 
     // Holidays messages
     public static final String SUCCESS_HOLIDAYS_RETRIEVED = "Holidays retrieved";
@@ -96,6 +120,7 @@ public class AppConstants {
     public static final String ERROR_NO_LEAVE_POLICIES_FOUND = "No leave policies found";
     public static final String ERROR_INVALID_POLICY_ID = "policyId must be provided and greater than 0";
     public static final String ERROR_INTERNAL_SERVER = "Internal server error";
+    public static final String ERROR_SERVER_BUSY = "Server is busy, please retry shortly";
 
     // Visits messages & errors
     public static final String SUCCESS_VISITS_RETRIEVED = "Visits retrieved";
@@ -2,7 +2,9 @@ package com.sid.app.controller;
 
 import com.sid.app.auth.JwtAuthenticationContext;
 import com.sid.app.auth.RequiredRole;
+import com.sid.app.cache.ConditionalGet;
 import com.sid.app.constants.AppConstants;
+import com.sid.app.enums.DataTable;
 import com.sid.app.model.AggregatePeriodDTO;
 import com.sid.app.model.ResponseDTO;
 import com.sid.app.service.AnalyticsService;
@@ -40,6 +42,7 @@ public class AnalyticsController {
      */
     @GetMapping
     @RequiredRole({"USER", "ADMIN", "SUPER_ADMIN"})
+    @ConditionalGet({DataTable.OFFICE_VISIT, DataTable.USER_LEAVE, DataTable.HOLIDAY})
     public ResponseEntity<ResponseDTO<List<AggregatePeriodDTO>>> getVisitsLeavesAggregate(@RequestParam(value = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
                                                                                           @RequestParam(value = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
                                                                                           @RequestParam(value = "groupBy") String groupBy) {
@@ -2,7 +2,9 @@ package com.sid.app.controller;
 
 import com.sid.app.auth.JwtAuthenticationContext;
 import com.sid.app.auth.RequiredRole;
+import com.sid.app.cache.ConditionalGet;
 import com.sid.app.constants.AppConstants;
+import com.sid.app.enums.DataTable;
 import com.sid.app.model.DailyViewRecordsDTO;
 import com.sid.app.model.ResponseDTO;
 import com.sid.app.service.DailyViewRecordsService;
@@ -33,6 +35,7 @@ public class DailyViewRecordsController {
 
     @GetMapping
     @RequiredRole({"USER", "ADMIN", "SUPER_ADMIN"})
+    @ConditionalGet({DataTable.OFFICE_VISIT, DataTable.USER_LEAVE, DataTable.HOLIDAY, DataTable.LEAVE_POLICY})
     public ResponseEntity<ResponseDTO<List<DailyViewRecordsDTO>>> fetchDailyViewRecords(@RequestParam(value = "year", required = false) Integer year,
                                                                                         @RequestParam(value = "month", required = false) Integer month,
                                                                                         @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
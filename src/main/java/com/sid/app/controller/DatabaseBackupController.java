@@ -3,16 +3,34 @@ package com.sid.app.controller;
 import com.sid.app.auth.RequiredRole;
 import com.sid.app.constants.AppConstants;
 import com.sid.app.exception.SchemaNotFoundException;
+import com.sid.app.model.BackupFileDTO;
+import com.sid.app.model.BackupJobDTO;
 import com.sid.app.model.ResponseDTO;
 import com.sid.app.service.DatabaseBackupService;
+import com.sid.app.service.backup.LogicalBackupEngine;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.Map;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 
 @Slf4j
 @RestController
@@ -25,50 +43,272 @@ public class DatabaseBackupController {
         this.backupService = backupService;
     }
 
+    /**
+     * Queues a pg_dump backup into the backup directory and answers 202 with the job to poll.
+     * Endpoint: GET /db-backup?type=sql&db=&schema=
+     */
     @GetMapping(AppConstants.DB_BACKUP_ENDPOINT)
     @RequiredRole({"ADMIN", "SUPER_ADMIN"})
-    public ResponseEntity<ResponseDTO<Map<String, String>>> createBackup(
+    public ResponseEntity<ResponseDTO<BackupJobDTO>> createBackup(
             @RequestParam(name = "type", defaultValue = "sql") String type,
             @RequestParam(name = "db", required = false) String databaseName,
             @RequestParam(name = "schema", required = false) String schemaName) {
 
         log.info("Received backup request - Type: {}, DB: {}, Schema: {}", type, databaseName, schemaName);
 
+        DatabaseBackupService.BackupType backupType;
         try {
-            String backupPath = backupService.createBackup(type, databaseName, schemaName);
+            backupType = DatabaseBackupService.BackupType.valueOf(type.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid backup type", e);
+            return jobError(HttpStatus.BAD_REQUEST, "Invalid backup type. Use 'sql' or 'dump'");
+        }
+        return submitJob(() -> backupService.submitBackup(backupType, databaseName, schemaName), "Backup");
+    }
+
+    /**
+     * Streams a backup straight from pg_dump to the client, gzip-compressed by default; nothing is written to disk.
+     * Endpoint: GET /db-backup/stream?type=sql&db=&schema=&compression=gzip
+     */
+    @GetMapping(AppConstants.DB_BACKUP_STREAM_ENDPOINT)
+    @RequiredRole({"ADMIN", "SUPER_ADMIN"})
+    public ResponseEntity<StreamingResponseBody> streamBackup(
+            @RequestParam(name = "type", defaultValue = "sql") String type,
+            @RequestParam(name = "db", required = false) String databaseName,
+            @RequestParam(name = "schema", required = false) String schemaName,
+            @RequestParam(name = "compression", defaultValue = "gzip") String compression) {
+
+        log.info("Received streaming backup request - Type: {}, DB: {}, Schema: {}, Compression: {}",
+                type, databaseName, schemaName, compression);
 
-            log.info("Backup created successfully at: {}", backupPath);
+        DatabaseBackupService.BackupType backupType;
+        boolean gzip;
+        String dbName;
+        try {
+            backupType = DatabaseBackupService.BackupType.valueOf(type.toUpperCase());
+            gzip = switch (compression.toLowerCase()) {
+                case "gzip" -> true;
+                case "none" -> false;
+                default -> throw new IllegalArgumentException("Invalid compression. Use 'gzip' or 'none'");
+            };
+            dbName = databaseName != null ? databaseName : backupService.getDefaultDatabase();
+            // Checked before streaming: once bytes are sent the status cannot change
+            backupService.validateStreamTarget(dbName, schemaName);
+        } catch (IllegalArgumentException | SchemaNotFoundException e) {
+            log.error("Invalid streaming backup request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Streaming backup validation failed", e);
+            return ResponseEntity.internalServerError().build();
+        }
+
+        String fileName = backupService.streamFileName(backupType, dbName, schemaName, gzip);
+        StreamingResponseBody body = outputStream -> {
+            try {
+                backupService.streamBackup(backupType, dbName, schemaName, gzip, outputStream);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Backup stream interrupted", e);
+            }
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.APPLICATION_OCTET_STREAM)
+                .body(body);
+    }
+
+    /**
+     * Lists the backup files stored in the backup directory, newest first.
+     * Endpoint: GET /db-backup/files
+     */
+    @GetMapping(AppConstants.DB_BACKUP_FILES_ENDPOINT)
+    @RequiredRole({"ADMIN", "SUPER_ADMIN"})
+    public ResponseEntity<ResponseDTO<List<BackupFileDTO>>> listBackupFiles() {
+        log.info("Received request to list backup files");
+        try {
             return ResponseEntity.ok(
-                    ResponseDTO.<Map<String, String>>builder()
+                    ResponseDTO.<List<BackupFileDTO>>builder()
                             .status("SUCCESS")
-                            .message("Backup completed successfully")
-                            .data(Map.of("backupPath", backupPath))
+                            .message("Backup files retrieved successfully")
+                            .data(backupService.listBackupFiles())
                             .build()
             );
-        } catch (IllegalArgumentException e) {
-            log.error("Invalid backup type", e);
-            return ResponseEntity.badRequest().body(
-                    ResponseDTO.<Map<String, String>>builder()
-                            .status("ERROR")
-                            .message("Invalid backup type. Use 'sql' or 'dump'")
-                            .build()
-            );
-        } catch (SchemaNotFoundException e) {
-            log.error("Schema validation failed", e);
-            return ResponseEntity.badRequest().body(
-                    ResponseDTO.<Map<String, String>>builder()
+        } catch (Exception e) {
+            log.error("Listing backup files failed", e);
+            return ResponseEntity.internalServerError().body(
+                    ResponseDTO.<List<BackupFileDTO>>builder()
                             .status("ERROR")
-                            .message(e.getMessage())
+                            .message("Failed to list backup files: " + e.getMessage())
                             .build()
             );
+        }
+    }
+
+    /**
+     * Downloads a stored backup file. Supports Range requests, so interrupted downloads can resume,
+     * and carries the SHA-256 recorded when the backup was made.
+     * Endpoint: GET /db-backup/files/download?fileName=
+     */
+    @GetMapping(AppConstants.DB_BACKUP_FILE_DOWNLOAD_ENDPOINT)
+    @RequiredRole({"ADMIN", "SUPER_ADMIN"})
+    public ResponseEntity<Resource> downloadBackupFile(@RequestParam String fileName) {
+        log.info("Received request to download backup file: {}", fileName);
+        try {
+            Path file = backupService.resolveBackupFile(fileName);
+            // Spring answers Range headers on Resource bodies with 206 partial content
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFileName() + "\"")
+                    .header(HttpHeaders.ACCEPT_RANGES, "bytes");
+            // Digest of the whole file (RFC 9530), so clients can verify a resumed download end to end
+            backupService.readChecksum(file).ifPresent(checksum -> response.header("Repr-Digest",
+                    "sha-256=:" + Base64.getEncoder().encodeToString(HexFormat.of().parseHex(checksum)) + ":"));
+            return response
+                    .lastModified(Files.getLastModifiedTime(file).toMillis())
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .body(new FileSystemResource(file));
+        } catch (IllegalArgumentException e) {
+            log.error("Backup file download rejected: {}", e.getMessage());
+            return ResponseEntity.notFound().build();
         } catch (Exception e) {
-            log.error("Backup failed", e);
-            return ResponseEntity.internalServerError().body(
-                    ResponseDTO.<Map<String, String>>builder()
-                            .status("ERROR")
-                            .message("Backup failed: " + e.getMessage())
+            log.error("Backup file download failed", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Queues a logical backup of every table through JDBC COPY, all tables read from one snapshot.
+     * Endpoint: POST /db-backup/logical?format=binary|csv
+     */
+    @PostMapping(AppConstants.DB_BACKUP_LOGICAL_ENDPOINT)
+    @RequiredRole({"ADMIN", "SUPER_ADMIN"})
+    public ResponseEntity<ResponseDTO<BackupJobDTO>> createLogicalBackup(
+            @RequestParam(name = "format", defaultValue = "binary") String format) {
+        log.info("createLogicalBackup() : Received logical backup request - Format: {}", format);
+        LogicalBackupEngine.CopyFormat copyFormat = parseCopyFormat(format);
+        if (copyFormat == null) {
+            return jobError(HttpStatus.BAD_REQUEST, "Invalid format. Use 'binary' or 'csv'");
+        }
+        return submitJob(() -> backupService.submitLogicalBackup(copyFormat), "Logical backup");
+    }
+
+    /**
+     * Queues an incremental logical backup: rows changed and deleted since the parent (default: the latest logical backup).
+     * Endpoint: POST /db-backup/logical/incremental?format=binary|csv&parentBackupName=
+     */
+    @PostMapping(AppConstants.DB_BACKUP_LOGICAL_INCREMENTAL_ENDPOINT)
+    @RequiredRole({"ADMIN", "SUPER_ADMIN"})
+    public ResponseEntity<ResponseDTO<BackupJobDTO>> createIncrementalBackup(
+            @RequestParam(name = "format", defaultValue = "binary") String format,
+            @RequestParam(name = "parentBackupName", required = false) String parentBackupName) {
+        log.info("createIncrementalBackup() : Received incremental backup request - Format: {}, Parent: {}",
+                format, parentBackupName);
+        LogicalBackupEngine.CopyFormat copyFormat = parseCopyFormat(format);
+        if (copyFormat == null) {
+            return jobError(HttpStatus.BAD_REQUEST, "Invalid format. Use 'binary' or 'csv'");
+        }
+        return submitJob(() -> backupService.submitIncrementalBackup(copyFormat, parentBackupName), "Incremental backup");
+    }
+
+    /**
+     * Queues the restore of a logical backup over the current data, after checking it against its manifest;
+     * an incremental backup restores its full base and every increment up to it.
+     * Endpoint: POST /db-backup/logical/restore?backupName=
+     */
+    @PostMapping(AppConstants.DB_BACKUP_LOGICAL_RESTORE_ENDPOINT)
+    @RequiredRole({"SUPER_ADMIN"})
+    public ResponseEntity<ResponseDTO<BackupJobDTO>> restoreLogicalBackup(@RequestParam String backupName) {
+        log.info("restoreLogicalBackup() : Received logical restore request - Backup: {}", backupName);
+        return submitJob(() -> backupService.submitRestore(backupName), "Restore");
+    }
+
+    /**
+     * Lists known backup jobs, newest first.
+     * Endpoint: GET /db-backup/jobs
+     */
+    @GetMapping(AppConstants.DB_BACKUP_JOBS_ENDPOINT)
+    @RequiredRole({"ADMIN", "SUPER_ADMIN"})
+    public ResponseEntity<ResponseDTO<List<BackupJobDTO>>> listJobs() {
+        log.info("listJobs() : Received request to list backup jobs");
+        return ResponseEntity.ok(
+                ResponseDTO.<List<BackupJobDTO>>builder()
+                        .status("SUCCESS")
+                        .message("Backup jobs retrieved successfully")
+                        .data(backupService.listJobs())
+                        .build()
+        );
+    }
+
+    /**
+     * Status and progress of a backup job.
+     * Endpoint: GET /db-backup/jobs/status?jobId=
+     */
+    @GetMapping(AppConstants.DB_BACKUP_JOB_STATUS_ENDPOINT)
+    @RequiredRole({"ADMIN", "SUPER_ADMIN"})
+    public ResponseEntity<ResponseDTO<BackupJobDTO>> getJob(@RequestParam String jobId) {
+        return backupService.getJob(jobId)
+                .map(job -> ResponseEntity.ok(
+                        ResponseDTO.<BackupJobDTO>builder()
+                                .status("SUCCESS")
+                                .message("Backup job retrieved successfully")
+                                .data(job)
+                                .build()))
+                .orElseGet(() -> jobError(HttpStatus.NOT_FOUND, "Backup job not found: " + jobId));
+    }
+
+    /**
+     * Cancels a queued or running backup job.
+     * Endpoint: POST /db-backup/jobs/cancel?jobId=
+     */
+    @PostMapping(AppConstants.DB_BACKUP_JOB_CANCEL_ENDPOINT)
+    @RequiredRole({"ADMIN", "SUPER_ADMIN"})
+    public ResponseEntity<ResponseDTO<BackupJobDTO>> cancelJob(@RequestParam String jobId) {
+        log.info("cancelJob() : Received request to cancel backup job {}", jobId);
+        try {
+            return ResponseEntity.ok(
+                    ResponseDTO.<BackupJobDTO>builder()
+                            .status("SUCCESS")
+                            .message("Backup job cancellation requested")
+                            .data(backupService.cancelJob(jobId))
                             .build()
             );
+        } catch (IllegalArgumentException e) {
+            return jobError(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    private ResponseEntity<ResponseDTO<BackupJobDTO>> submitJob(Supplier<BackupJobDTO> submission, String what) {
+        try {
+            BackupJobDTO job = submission.get();
+            return ResponseEntity.accepted()
+                    .location(URI.create(AppConstants.DB_BACKUP_JOB_STATUS_ENDPOINT + "?jobId=" + job.getJobId()))
+                    .body(ResponseDTO.<BackupJobDTO>builder()
+                            .status("SUCCESS")
+                            .message(what + " job queued")
+                            .data(job)
+                            .build());
+        } catch (RejectedExecutionException e) {
+            log.warn("submitJob() : {} rejected, backup job queue is full", what);
+            return jobError(HttpStatus.TOO_MANY_REQUESTS, "Too many backup jobs in progress, try again later");
+        } catch (IllegalArgumentException e) {
+            log.error("submitJob() : {} rejected: {}", what, e.getMessage());
+            return jobError(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private ResponseEntity<ResponseDTO<BackupJobDTO>> jobError(HttpStatus status, String message) {
+        return ResponseEntity.status(status).body(
+                ResponseDTO.<BackupJobDTO>builder()
+                        .status("ERROR")
+                        .message(message)
+                        .build()
+        );
+    }
+
+    private LogicalBackupEngine.CopyFormat parseCopyFormat(String format) {
+        try {
+            return LogicalBackupEngine.CopyFormat.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
         }
     }
 }
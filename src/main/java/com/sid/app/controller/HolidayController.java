@@ -1,7 +1,9 @@
 package com.sid.app.controller;
 
 import com.sid.app.auth.RequiredRole;
+import com.sid.app.cache.ConditionalGet;
 import com.sid.app.constants.AppConstants;
+import com.sid.app.enums.DataTable;
 import com.sid.app.model.HolidayDTO;
 import com.sid.app.model.ResponseDTO;
 import com.sid.app.service.HolidayService;
@@ -27,6 +29,7 @@ public class HolidayController {
 
     @GetMapping
     @RequiredRole({"USER", "ADMIN", "SUPER_ADMIN"})
+    @ConditionalGet(DataTable.HOLIDAY)
     public ResponseEntity<ResponseDTO<List<HolidayDTO>>> getHolidays(@RequestParam(value = "from", required = false) String from,
                                                                      @RequestParam(value = "to", required = false) String to) {
 
@@ -1,7 +1,9 @@
 package com.sid.app.controller;
 
 import com.sid.app.auth.RequiredRole;
+import com.sid.app.cache.ConditionalGet;
 import com.sid.app.constants.AppConstants;
+import com.sid.app.enums.DataTable;
 import com.sid.app.model.LeavePolicyDTO;
 import com.sid.app.model.ResponseDTO;
 import com.sid.app.service.LeavePolicyService;
@@ -24,6 +26,7 @@ public class LeavePolicyController {
 
     @GetMapping(AppConstants.LEAVE_POLICY_ENDPOINT)
     @RequiredRole({"USER", "ADMIN", "SUPER_ADMIN"})
+    @ConditionalGet(DataTable.LEAVE_POLICY)
     public ResponseEntity<ResponseDTO<List<LeavePolicyDTO>>> getAllPolicies() {
         log.info("getAllPolicies() - request");
         List<LeavePolicyDTO> list = policyService.getAllPolicies();
@@ -40,6 +43,7 @@ public class LeavePolicyController {
 
     @GetMapping(AppConstants.EXACT_LEAVE_POLICY_ENDPOINT)
     @RequiredRole({"USER", "ADMIN", "SUPER_ADMIN"})
+    @ConditionalGet(DataTable.LEAVE_POLICY)
     public ResponseEntity<ResponseDTO<LeavePolicyDTO>> getPolicy(@RequestParam("policyId") Long policyId) {
         log.info("getPolicy() - policyId={}", policyId);
 
@@ -2,7 +2,9 @@ package com.sid.app.controller;
 
 import com.sid.app.auth.RequiredRole;
 import com.sid.app.auth.JwtAuthenticationContext;
+import com.sid.app.cache.ConditionalGet;
 import com.sid.app.constants.AppConstants;
+import com.sid.app.enums.DataTable;
 import com.sid.app.model.OfficeVisitDTO;
 import com.sid.app.model.ResponseDTO;
 import com.sid.app.service.OfficeVisitService;
@@ -38,6 +40,7 @@ public class OfficeVisitController {
      */
     @GetMapping
     @RequiredRole({"USER", "ADMIN", "SUPER_ADMIN"})
+    @ConditionalGet(DataTable.OFFICE_VISIT)
     public ResponseEntity<ResponseDTO<List<OfficeVisitDTO>>> getVisitsForMonth(@RequestParam("year") int year,
                                                                                @RequestParam("month") int month) {
 
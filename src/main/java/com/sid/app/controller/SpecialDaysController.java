@@ -8,10 +8,13 @@ import com.sid.app.model.SpecialDaysDataDTO;
 import com.sid.app.service.SpecialDaysService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+
 /**
  * Controller for Special Days API endpoints with role-based authorization (birthdays and work anniversaries)
  */
@@ -105,4 +108,27 @@ public class SpecialDaysController {
 
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Get birthdays and work anniversaries in the coming days (default: the 7 days from today, max 31).
+     * For a calendar week pass its first day as {@code from}.
+     * All authenticated users can view special days.
+     */
+    @GetMapping(value = AppConstants.SPECIAL_DAYS_UPCOMING_ENDPOINT, produces = MediaType.APPLICATION_JSON_VALUE)
+    @RequiredRole({"USER", "ADMIN", "SUPER_ADMIN"})
+    public ResponseEntity<ResponseDTO<SpecialDaysDataDTO>> getUpcomingSpecialDays(@RequestParam(required = false)
+                                                                                  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                                  @RequestParam(required = false) Integer days,
+                                                                                  @RequestParam(required = false) String type,
+                                                                                  @RequestParam(required = false) String department,
+                                                                                  @RequestParam(required = false) String location) {
+
+        log.info("GET {} - from: {}, days: {}, type: {}, department: {}, location: {}",
+                AppConstants.SPECIAL_DAYS_UPCOMING_ENDPOINT, from, days, type, department, location);
+
+        ResponseDTO<SpecialDaysDataDTO> response = specialDaysService.getUpcomingSpecialDays(
+                from, days, type, department, location);
+
+        return ResponseEntity.ok(response);
+    }
 }
@@ -3,20 +3,25 @@ package com.sid.app.controller;
 import com.sid.app.auth.JwtAuthenticationContext;
 import com.sid.app.auth.RequiredRole;
 import com.sid.app.constants.AppConstants;
+import com.sid.app.enums.UserSortField;
 import com.sid.app.model.ResponseDTO;
 import com.sid.app.model.UserDTO;
 import com.sid.app.model.UserStatusUpdateRequest;
+import com.sid.app.model.UsersListResponseDTO;
 import com.sid.app.service.UserService;
 import com.sid.app.utils.ApplicationUtils;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
 
@@ -59,6 +64,79 @@ public class UserController {
         return ResponseEntity.ok(new ResponseDTO<>("SUCCESS", "Users retrieved successfully.", users));
     }
 
+    /**
+     * Fetches one page of users, with search and sort done in the database.
+     * Endpoint: GET /user/list?search=&role=&isActive=&sort=name&direction=asc&size=50&cursor=
+     *
+     * @param search    Matches name, email or mobile number (contains, case-insensitive)
+     * @param role      Role filter (USER, ADMIN, SUPER_ADMIN)
+     * @param isActive  Active filter
+     * @param sort      name, email, userId or lastLoginTime (default: name)
+     * @param direction asc or desc (default: asc)
+     * @param cursor    nextCursor of the previous page; omit for the first page
+     * @param size      Page size (default: 50, max: 200)
+     * @return ResponseEntity with the page, the cursor of the next page and, on the first page, the total
+     */
+    @GetMapping(AppConstants.USERS_LIST_ENDPOINT)
+    @RequiredRole({"ADMIN", "SUPER_ADMIN"})
+    public ResponseEntity<ResponseDTO<UsersListResponseDTO>> listUsers(@RequestParam(required = false) String search,
+                                                                       @RequestParam(required = false) String role,
+                                                                       @RequestParam(required = false) Boolean isActive,
+                                                                       @RequestParam(required = false) String sort,
+                                                                       @RequestParam(required = false) String direction,
+                                                                       @RequestParam(required = false) String cursor,
+                                                                       @RequestParam(defaultValue = "50") int size) {
+        log.info("listUsers() : Received request (search={}, role={}, isActive={}, sort={}, direction={}, size={})",
+                search, role, isActive, sort, direction, size);
+        try {
+            UsersListResponseDTO users = userService.listUsers(search, role, isActive, sort, direction, cursor, size);
+            return ResponseEntity.ok(new ResponseDTO<>("SUCCESS", "Users retrieved successfully.", users));
+        } catch (IllegalArgumentException e) {
+            log.warn("listUsers() : Invalid request: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ResponseDTO<>("FAILED", e.getMessage(), null));
+        } catch (Exception e) {
+            log.error("listUsers() error: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ResponseDTO<>("FAILED", "Failed to retrieve users.", null));
+        }
+    }
+
+    /**
+     * Streams every user matching the filters as a CSV download, in the order of the listing.
+     * Endpoint: GET /user/export?search=&role=&isActive=&sort=name&direction=asc
+     *
+     * @return ResponseEntity streaming users.csv
+     */
+    @GetMapping(AppConstants.USERS_EXPORT_ENDPOINT)
+    @RequiredRole({"ADMIN", "SUPER_ADMIN"})
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(required = false) String search,
+                                                             @RequestParam(required = false) String role,
+                                                             @RequestParam(required = false) Boolean isActive,
+                                                             @RequestParam(required = false) String sort,
+                                                             @RequestParam(required = false) String direction) {
+        log.info("exportUsers() : Received request (search={}, role={}, isActive={}, sort={}, direction={})",
+                search, role, isActive, sort, direction);
+        // Check the sort up front so a bad parameter fails before the download starts
+        try {
+            UserSortField.fromFieldName(sort);
+        } catch (IllegalArgumentException e) {
+            log.warn("exportUsers() : Invalid request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        if (direction != null && !direction.isBlank() && !direction.trim().matches("(?i)asc|desc")) {
+            log.warn("exportUsers() : Invalid sort direction: {}", direction);
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody body = outputStream ->
+                userService.exportUsersCsv(search, role, isActive, sort, direction, outputStream);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.csv\"")
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .body(body);
+    }
+
     /**
      * Fetches a user by their ID.
      *
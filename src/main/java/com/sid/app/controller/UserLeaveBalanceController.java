@@ -2,7 +2,9 @@ package com.sid.app.controller;
 
 import com.sid.app.auth.JwtAuthenticationContext;
 import com.sid.app.auth.RequiredRole;
+import com.sid.app.cache.ConditionalGet;
 import com.sid.app.constants.AppConstants;
+import com.sid.app.enums.DataTable;
 import com.sid.app.model.ResponseDTO;
 import com.sid.app.model.UserLeaveBalanceDTO;
 import com.sid.app.repository.LeavePolicyRepository;
@@ -40,6 +42,7 @@ public class UserLeaveBalanceController {
      */
     @GetMapping(AppConstants.USER_LEAVE_BALANCE_ENDPOINT)
     @RequiredRole({"USER", "ADMIN", "SUPER_ADMIN"})
+    @ConditionalGet({DataTable.USER_LEAVE_BALANCE, DataTable.LEAVE_POLICY})
     public ResponseEntity<ResponseDTO<UserLeaveBalanceDTO>> getBalance(@RequestParam("policyId") Long policyId,
                                                                        @RequestParam("year") Integer year) {
 
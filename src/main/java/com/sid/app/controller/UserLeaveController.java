@@ -2,7 +2,9 @@ package com.sid.app.controller;
 
 import com.sid.app.auth.RequiredRole;
 import com.sid.app.auth.JwtAuthenticationContext;
+import com.sid.app.cache.ConditionalGet;
 import com.sid.app.constants.AppConstants;
+import com.sid.app.enums.DataTable;
 import com.sid.app.model.ResponseDTO;
 import com.sid.app.model.UserLeaveDTO;
 import com.sid.app.service.UserLeaveService;
@@ -37,6 +39,7 @@ public class UserLeaveController {
      */
     @GetMapping
     @RequiredRole({"USER", "ADMIN", "SUPER_ADMIN"})
+    @ConditionalGet({DataTable.USER_LEAVE, DataTable.LEAVE_POLICY})
     public ResponseEntity<ResponseDTO<List<UserLeaveDTO>>> getUserLeaves() {
         Long userId = authContext.getCurrentUserId();
         log.info("getUserLeaves() - userId={}", userId);
@@ -2,9 +2,11 @@ package com.sid.app.controller;
 
 import com.sid.app.auth.JwtAuthenticationContext;
 import com.sid.app.auth.RequiredRole;
+import com.sid.app.cache.ConditionalGet;
 import com.sid.app.constants.AppConstants;
 import com.sid.app.enums.*;
 import com.sid.app.model.*;
+import com.sid.app.repository.specification.UserNotesSpecifications;
 import com.sid.app.service.UserNotesService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
@@ -109,10 +111,13 @@ public class UserNotesController {
      * @param sortOrder  Sort order (default: desc)
      * @param startDate  Filter by created date range start
      * @param endDate    Filter by created date range end
+     * @param includeFacets Also return counts per type, color, category and priority for the current filters
+     * @param summary       Cut long text to the configured preview length and flag the cut
      * @return ResponseEntity with paginated notes
      */
     @GetMapping(AppConstants.NOTES_USER_ENDPOINT)
     @RequiredRole({"USER"})
+    @ConditionalGet(DataTable.USER_NOTES)
     public ResponseEntity<ResponseDTO<UserNotesListResponseDTO>> getAllUserNotes(@RequestParam(defaultValue = "0") int page,
                                                                                  @RequestParam(defaultValue = "20") int limit,
                                                                                  @RequestParam(required = false) NoteType noteType,
@@ -126,21 +131,23 @@ public class UserNotesController {
                                                                                  @RequestParam(defaultValue = "modifiedDate") String sortBy,
                                                                                  @RequestParam(defaultValue = "desc") String sortOrder,
                                                                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-                                                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+                                                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+                                                                                 @RequestParam(defaultValue = "false") boolean includeFacets,
+                                                                                 @RequestParam(defaultValue = "false") boolean summary) {
 
         Long userId = jwtAuthenticationContext.getCurrentUserId();
         log.info("getAllUserNotes() : Fetching notes for user {} with filters", userId);
 
         try {
             Sort.Direction direction = sortOrder.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
-            Pageable pageable = PageRequest.of(page, limit, Sort.by(direction, sortBy));
+            Pageable pageable = PageRequest.of(page, limit, UserNotesSpecifications.sort(sortBy, direction));
 
             UserNotesListResponseDTO response;
-            if (hasFilters(noteType, color, category, priority, status, isPinned, isShared, searchTerm, startDate, endDate)) {
+            if (includeFacets || hasFilters(noteType, color, category, priority, status, isPinned, isShared, searchTerm, startDate, endDate)) {
                 response = userNotesService.getNotesWithFilters(userId, noteType, color, category, priority,
-                        status, isPinned, isShared, startDate, endDate, searchTerm, pageable);
+                        status, isPinned, isShared, startDate, endDate, searchTerm, includeFacets, summary, pageable);
             } else {
-                response = userNotesService.getAllUserNotes(userId, pageable);
+                response = userNotesService.getAllUserNotes(userId, summary, pageable);
             }
 
             if (response.getData().isEmpty()) {
@@ -149,6 +156,10 @@ public class UserNotesController {
             }
 
             return ResponseEntity.ok(new ResponseDTO<>(AppConstants.STATUS_SUCCESS, AppConstants.SUCCESS_NOTES_RETRIEVED, response));
+        } catch (IllegalArgumentException e) {
+            log.warn("getAllUserNotes() : Invalid request for user {}: {}", userId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ResponseDTO<>(AppConstants.STATUS_FAILED, e.getMessage(), null));
         } catch (Exception e) {
             log.error("getAllUserNotes() : Error fetching notes for user {}: {}", userId, e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -222,6 +233,7 @@ public class UserNotesController {
      * @param limit     Page size (default: 20)
      * @param sortBy    Sort field (default: modifiedDate)
      * @param sortOrder Sort order (default: desc)
+     * @param summary   Cut long text to the configured preview length and flag the cut
      * @return ResponseEntity with filtered notes
      */
     @GetMapping(AppConstants.NOTES_BY_TYPE_ENDPOINT)
@@ -230,7 +242,8 @@ public class UserNotesController {
                                                                                 @RequestParam(defaultValue = "0") int page,
                                                                                 @RequestParam(defaultValue = "20") int limit,
                                                                                 @RequestParam(defaultValue = "modifiedDate") String sortBy,
-                                                                                @RequestParam(defaultValue = "desc") String sortOrder) {
+                                                                                @RequestParam(defaultValue = "desc") String sortOrder,
+                                                                                @RequestParam(defaultValue = "false") boolean summary) {
 
         Long userId = jwtAuthenticationContext.getCurrentUserId();
         log.info("getNotesByType() : Fetching notes by type {} for user {}", noteType, userId);
@@ -239,7 +252,7 @@ public class UserNotesController {
             Sort.Direction direction = sortOrder.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
             Pageable pageable = PageRequest.of(page, limit, Sort.by(direction, sortBy));
 
-            UserNotesListResponseDTO response = userNotesService.getNotesByType(userId, noteType, pageable);
+            UserNotesListResponseDTO response = userNotesService.getNotesByType(userId, noteType, summary, pageable);
 
             if (response.getData().isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -262,6 +275,7 @@ public class UserNotesController {
      * @param limit     Page size (default: 20)
      * @param sortBy    Sort field (default: modifiedDate)
      * @param sortOrder Sort order (default: desc)
+     * @param summary   Cut long text to the configured preview length and flag the cut
      * @return ResponseEntity with filtered notes
      */
     @GetMapping(AppConstants.NOTES_BY_CATEGORY_ENDPOINT)
@@ -270,7 +284,8 @@ public class UserNotesController {
                                                                                     @RequestParam(defaultValue = "0") int page,
                                                                                     @RequestParam(defaultValue = "20") int limit,
                                                                                     @RequestParam(defaultValue = "modifiedDate") String sortBy,
-                                                                                    @RequestParam(defaultValue = "desc") String sortOrder) {
+                                                                                    @RequestParam(defaultValue = "desc") String sortOrder,
+                                                                                    @RequestParam(defaultValue = "false") boolean summary) {
 
         Long userId = jwtAuthenticationContext.getCurrentUserId();
         log.info("getNotesByCategory() : Fetching notes by category {} for user {}", category, userId);
@@ -279,7 +294,7 @@ public class UserNotesController {
             Sort.Direction direction = sortOrder.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
             Pageable pageable = PageRequest.of(page, limit, Sort.by(direction, sortBy));
 
-            UserNotesListResponseDTO response = userNotesService.getNotesByCategory(userId, category, pageable);
+            UserNotesListResponseDTO response = userNotesService.getNotesByCategory(userId, category, summary, pageable);
 
             if (response.getData().isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -301,6 +316,7 @@ public class UserNotesController {
      * @param limit     Page size (default: 20)
      * @param sortBy    Sort field (default: modifiedDate)
      * @param sortOrder Sort order (default: desc)
+     * @param summary   Cut long text to the configured preview length and flag the cut
      * @return ResponseEntity with pinned notes
      */
     @GetMapping(AppConstants.NOTES_PINNED_ENDPOINT)
@@ -308,7 +324,8 @@ public class UserNotesController {
     public ResponseEntity<ResponseDTO<UserNotesListResponseDTO>> getPinnedNotes(@RequestParam(defaultValue = "0") int page,
                                                                                 @RequestParam(defaultValue = "20") int limit,
                                                                                 @RequestParam(defaultValue = "modifiedDate") String sortBy,
-                                                                                @RequestParam(defaultValue = "desc") String sortOrder) {
+                                                                                @RequestParam(defaultValue = "desc") String sortOrder,
+                                                                                @RequestParam(defaultValue = "false") boolean summary) {
 
         Long userId = jwtAuthenticationContext.getCurrentUserId();
         log.info("getPinnedNotes() : Fetching pinned notes for user {}", userId);
@@ -317,7 +334,7 @@ public class UserNotesController {
             Sort.Direction direction = sortOrder.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
             Pageable pageable = PageRequest.of(page, limit, Sort.by(direction, sortBy));
 
-            UserNotesListResponseDTO response = userNotesService.getPinnedNotes(userId, pageable);
+            UserNotesListResponseDTO response = userNotesService.getPinnedNotes(userId, summary, pageable);
 
             if (response.getData().isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -339,6 +356,7 @@ public class UserNotesController {
      * @param limit     Page size (default: 20)
      * @param sortBy    Sort field (default: modifiedDate)
      * @param sortOrder Sort order (default: desc)
+     * @param summary   Cut long text to the configured preview length and flag the cut
      * @return ResponseEntity with archived notes
      */
     @GetMapping(AppConstants.NOTES_ARCHIVED_ENDPOINT)
@@ -346,7 +364,8 @@ public class UserNotesController {
     public ResponseEntity<ResponseDTO<UserNotesListResponseDTO>> getArchivedNotes(@RequestParam(defaultValue = "0") int page,
                                                                                   @RequestParam(defaultValue = "20") int limit,
                                                                                   @RequestParam(defaultValue = "modifiedDate") String sortBy,
-                                                                                  @RequestParam(defaultValue = "desc") String sortOrder) {
+                                                                                  @RequestParam(defaultValue = "desc") String sortOrder,
+                                                                                  @RequestParam(defaultValue = "false") boolean summary) {
 
         Long userId = jwtAuthenticationContext.getCurrentUserId();
         log.info("getArchivedNotes() : Fetching archived notes for user {}", userId);
@@ -355,7 +374,7 @@ public class UserNotesController {
             Sort.Direction direction = sortOrder.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
             Pageable pageable = PageRequest.of(page, limit, Sort.by(direction, sortBy));
 
-            UserNotesListResponseDTO response = userNotesService.getArchivedNotes(userId, pageable);
+            UserNotesListResponseDTO response = userNotesService.getArchivedNotes(userId, summary, pageable);
 
             if (response.getData().isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -378,6 +397,7 @@ public class UserNotesController {
      * @param limit     Page size (default: 20)
      * @param sortBy    Sort field (default: modifiedDate)
      * @param sortOrder Sort order (default: desc)
+     * @param summary   Cut long text to the configured preview length and flag the cut
      * @return ResponseEntity with search results
      */
     @GetMapping(AppConstants.NOTES_SEARCH_ENDPOINT)
@@ -386,7 +406,8 @@ public class UserNotesController {
                                                                              @RequestParam(defaultValue = "0") int page,
                                                                              @RequestParam(defaultValue = "20") int limit,
                                                                              @RequestParam(defaultValue = "modifiedDate") String sortBy,
-                                                                             @RequestParam(defaultValue = "desc") String sortOrder) {
+                                                                             @RequestParam(defaultValue = "desc") String sortOrder,
+                                                                             @RequestParam(defaultValue = "false") boolean summary) {
 
         Long userId = jwtAuthenticationContext.getCurrentUserId();
         log.info("searchNotes() : Searching notes for user {} with query: {}", userId, query);
@@ -400,7 +421,7 @@ public class UserNotesController {
             Sort.Direction direction = sortOrder.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
             Pageable pageable = PageRequest.of(page, limit, Sort.by(direction, sortBy));
 
-            UserNotesListResponseDTO response = userNotesService.searchNotes(userId, query, pageable);
+            UserNotesListResponseDTO response = userNotesService.searchNotes(userId, query, summary, pageable);
 
             if (response.getData().isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -508,6 +529,7 @@ public class UserNotesController {
      */
     @GetMapping(AppConstants.NOTES_STATS_ENDPOINT)
     @RequiredRole({"USER"})
+    @ConditionalGet(DataTable.USER_NOTES)
     public ResponseEntity<ResponseDTO<UserNotesStatsDTO>> getNoteStats() {
         Long userId = jwtAuthenticationContext.getCurrentUserId();
         log.info("getNoteStats() : Fetching note statistics for user {}", userId);
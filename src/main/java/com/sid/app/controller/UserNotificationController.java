@@ -0,0 +1,155 @@
+package com.sid.app.controller;
+
+import com.sid.app.auth.JwtAuthenticationContext;
+import com.sid.app.auth.RequiredRole;
+import com.sid.app.cache.ConditionalGet;
+import com.sid.app.constants.AppConstants;
+import com.sid.app.enums.DataTable;
+import com.sid.app.model.ReminderMetricsDTO;
+import com.sid.app.model.ResponseDTO;
+import com.sid.app.model.UserNotificationsListResponseDTO;
+import com.sid.app.service.ReminderService;
+import com.sid.app.service.UserNotificationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+/**
+ * Controller for in-app notifications raised by note and task reminders.
+ * Notifications can be listed and marked read, or received live over a Server-Sent Events stream.
+ *
+ * <p>Author: Siddhant Patni</p>
+ */
+@RestController
+@Slf4j
+@CrossOrigin
+@RequiredArgsConstructor
+public class UserNotificationController {
+
+    private final UserNotificationService userNotificationService;
+    private final ReminderService reminderService;
+
+    @Autowired
+    private JwtAuthenticationContext jwtAuthenticationContext;
+
+    /**
+     * Get notifications of the authenticated user, latest first.
+     * Endpoint: GET /notifications?unreadOnly=false&page=0&size=20
+     *
+     * @param unreadOnly Only unread notifications (default: false)
+     * @param page       Page number (default: 0)
+     * @param size       Page size (default: 20, max: 100)
+     * @return ResponseEntity with paginated notifications and the unread count
+     */
+    @GetMapping(AppConstants.NOTIFICATIONS_ENDPOINT)
+    @RequiredRole({"USER"})
+    public ResponseEntity<ResponseDTO<UserNotificationsListResponseDTO>> getNotifications(
+            @RequestParam(defaultValue = "false") boolean unreadOnly,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Long userId = jwtAuthenticationContext.getCurrentUserId();
+        log.info("getNotifications() : Fetching notifications for user {} (unreadOnly={})", userId, unreadOnly);
+
+        try {
+            UserNotificationsListResponseDTO notifications = userNotificationService.getNotifications(userId, unreadOnly,
+                    PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), 100)));
+            return ResponseEntity.ok(new ResponseDTO<>(AppConstants.STATUS_SUCCESS, "Notifications retrieved successfully.", notifications));
+        } catch (Exception e) {
+            log.error("getNotifications() : Error fetching notifications for user {}: {}", userId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ResponseDTO<>(AppConstants.STATUS_FAILED, "Failed to retrieve notifications: " + e.getMessage(), null));
+        }
+    }
+
+    /**
+     * Get the number of unread notifications of the authenticated user.
+     * Endpoint: GET /notifications/unread-count
+     *
+     * @return ResponseEntity with the unread count
+     */
+    @GetMapping(AppConstants.NOTIFICATIONS_UNREAD_COUNT_ENDPOINT)
+    @RequiredRole({"USER"})
+    @ConditionalGet(DataTable.USER_NOTIFICATIONS)
+    public ResponseEntity<ResponseDTO<Long>> getUnreadCount() {
+        Long userId = jwtAuthenticationContext.getCurrentUserId();
+        log.info("getUnreadCount() : Counting unread notifications for user {}", userId);
+
+        try {
+            long unreadCount = userNotificationService.getUnreadCount(userId);
+            return ResponseEntity.ok(new ResponseDTO<>(AppConstants.STATUS_SUCCESS, "Unread count retrieved successfully.", unreadCount));
+        } catch (Exception e) {
+            log.error("getUnreadCount() : Error counting unread notifications for user {}: {}", userId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ResponseDTO<>(AppConstants.STATUS_FAILED, "Failed to retrieve unread count: " + e.getMessage(), null));
+        }
+    }
+
+    /**
+     * Mark notifications of the authenticated user as read.
+     * Endpoint: PUT /notifications/read?userNotificationIds=1,2 (omit the ids to mark all as read)
+     *
+     * @param userNotificationIds Notifications to mark as read
+     * @return ResponseEntity with the number of notifications marked as read
+     */
+    @PutMapping(AppConstants.NOTIFICATIONS_READ_ENDPOINT)
+    @RequiredRole({"USER"})
+    public ResponseEntity<ResponseDTO<Integer>> markRead(@RequestParam(required = false) List<Long> userNotificationIds) {
+        Long userId = jwtAuthenticationContext.getCurrentUserId();
+        log.info("markRead() : Marking notifications {} as read for user {}",
+                userNotificationIds == null ? "all" : userNotificationIds, userId);
+
+        try {
+            int updated = userNotificationService.markRead(userId, userNotificationIds);
+            return ResponseEntity.ok(new ResponseDTO<>(AppConstants.STATUS_SUCCESS, "Notifications marked as read.", updated));
+        } catch (Exception e) {
+            log.error("markRead() : Error marking notifications as read for user {}: {}", userId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ResponseDTO<>(AppConstants.STATUS_FAILED, "Failed to mark notifications as read: " + e.getMessage(), null));
+        }
+    }
+
+    /**
+     * Open a Server-Sent Events stream of the authenticated user's new notifications ("reminder" events,
+     * id = userNotificationId). A reconnecting client sends Last-Event-ID to receive what it missed.
+     * Endpoint: GET /notifications/stream
+     *
+     * @param lastEventId Id of the last notification received
+     * @return The event stream
+     */
+    @GetMapping(value = AppConstants.NOTIFICATIONS_STREAM_ENDPOINT, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @RequiredRole({"USER"})
+    public SseEmitter streamNotifications(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        Long userId = jwtAuthenticationContext.getCurrentUserId();
+        log.info("streamNotifications() : Opening notification stream for user {}", userId);
+        return userNotificationService.subscribe(userId, lastEventId);
+    }
+
+    /**
+     * Get reminder dispatch metrics of the serving instance (firing lag, counters, backlog).
+     * Endpoint: GET /reminders/metrics
+     *
+     * @return ResponseEntity with the reminder metrics
+     */
+    @GetMapping(AppConstants.REMINDERS_METRICS_ENDPOINT)
+    @RequiredRole({"ADMIN", "SUPER_ADMIN"})
+    public ResponseEntity<ResponseDTO<ReminderMetricsDTO>> getReminderMetrics() {
+        log.info("getReminderMetrics() : Fetching reminder dispatch metrics");
+
+        try {
+            ReminderMetricsDTO metrics = reminderService.getMetrics();
+            return ResponseEntity.ok(new ResponseDTO<>(AppConstants.STATUS_SUCCESS, "Reminder metrics retrieved successfully.", metrics));
+        } catch (Exception e) {
+            log.error("getReminderMetrics() : Error fetching reminder metrics: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ResponseDTO<>(AppConstants.STATUS_FAILED, "Failed to retrieve reminder metrics: " + e.getMessage(), null));
+        }
+    }
+}
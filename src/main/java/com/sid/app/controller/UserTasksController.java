@@ -2,9 +2,12 @@ package com.sid.app.controller;
 
 import com.sid.app.auth.JwtAuthenticationContext;
 import com.sid.app.auth.RequiredRole;
+import com.sid.app.cache.ConditionalGet;
 import com.sid.app.constants.AppConstants;
 import com.sid.app.enums.*;
 import com.sid.app.model.*;
+import com.sid.app.repository.specification.UserTasksSpecifications;
+import com.sid.app.service.UserTaskTagService;
 import com.sid.app.service.UserTasksService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
@@ -37,6 +40,7 @@ import java.util.Map;
 public class UserTasksController {
 
     private final UserTasksService userTasksService;
+    private final UserTaskTagService userTaskTagService;
 
     @Autowired
     private JwtAuthenticationContext jwtAuthenticationContext;
@@ -60,6 +64,10 @@ public class UserTasksController {
             log.info("createTask() : Task created successfully with ID: {}", createdTask.getUserTaskId());
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(new ResponseDTO<>(AppConstants.STATUS_SUCCESS, "Task created successfully.", createdTask));
+        } catch (IllegalArgumentException e) {
+            log.warn("createTask() : Invalid task for user {}: {}", userId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ResponseDTO<>(AppConstants.STATUS_FAILED, e.getMessage(), null));
         } catch (Exception e) {
             log.error("createTask() : Error creating task for user {}: {}", userId, e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -111,12 +119,16 @@ public class UserTasksController {
      * @param isOverdue    Filter overdue tasks
      * @param searchTerm   Search in title, description, and tags
      * @param tags         Filter by tags (comma-separated)
+     * @param includeFacets Also return counts per status, priority, category and task type for the current filters
+     * @param includeTagFacets Also return tag counts over all matching tasks
      * @param sortBy       Sort field
      * @param sortOrder    Sort direction
+     * @param summary      Cut long text to the configured preview length and flag the cut
      * @return ResponseEntity with the list of tasks
      */
     @GetMapping(AppConstants.TASKS_USER_ENDPOINT)
     @RequiredRole({"USER"})
+    @ConditionalGet(DataTable.USER_TASKS)
     public ResponseEntity<ResponseDTO<UserTasksListResponseDTO>> getUserTasks(@RequestParam(defaultValue = "0") int page,
                                                                               @RequestParam(defaultValue = "50") int limit,
                                                                               @RequestParam(required = false) TaskStatus status,
@@ -130,8 +142,11 @@ public class UserTasksController {
                                                                               @RequestParam(required = false) Boolean isOverdue,
                                                                               @RequestParam(required = false) String searchTerm,
                                                                               @RequestParam(required = false) String tags,
+                                                                              @RequestParam(defaultValue = "false") boolean includeFacets,
+                                                                              @RequestParam(defaultValue = "false") boolean includeTagFacets,
                                                                               @RequestParam(defaultValue = "createdDate") String sortBy,
-                                                                              @RequestParam(defaultValue = "ASC") String sortOrder) {
+                                                                              @RequestParam(defaultValue = "ASC") String sortOrder,
+                                                                              @RequestParam(defaultValue = "false") boolean summary) {
 
         Long userId = jwtAuthenticationContext.getCurrentUserId();
         log.info("getUserTasks() : Fetching tasks for user {} with filters", userId);
@@ -139,20 +154,24 @@ public class UserTasksController {
         try {
             // Create pageable object
             Sort.Direction direction = "DESC".equalsIgnoreCase(sortOrder) ? Sort.Direction.DESC : Sort.Direction.ASC;
-            Pageable pageable = PageRequest.of(page, Math.min(limit, 100), Sort.by(direction, sortBy));
+            Pageable pageable = PageRequest.of(page, Math.min(limit, 100), UserTasksSpecifications.sort(sortBy, direction));
 
             // Parse tags if provided
             String[] tagArray = tags != null ? tags.split(",") : null;
 
             UserTasksListResponseDTO result;
-            if (hasFilters(status, priority, category, taskType, startDate, endDate, dueDateStart, dueDateEnd, searchTerm, tagArray)) {
+            if (includeFacets || includeTagFacets || isOverdue != null || hasFilters(status, priority, category, taskType, startDate, endDate, dueDateStart, dueDateEnd, searchTerm, tagArray)) {
                 result = userTasksService.getTasksWithFilters(userId, status, priority, category, taskType,
-                        startDate, endDate, dueDateStart, dueDateEnd, null, searchTerm, tagArray, pageable);
+                        startDate, endDate, dueDateStart, dueDateEnd, null, isOverdue, searchTerm, tagArray, includeFacets, includeTagFacets, summary, pageable);
             } else {
-                result = userTasksService.getAllUserTasks(userId, pageable);
+                result = userTasksService.getAllUserTasks(userId, summary, pageable);
             }
 
             return ResponseEntity.ok(new ResponseDTO<>(AppConstants.STATUS_SUCCESS, "Tasks retrieved successfully.", result));
+        } catch (IllegalArgumentException e) {
+            log.warn("getUserTasks() : Invalid request for user {}: {}", userId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ResponseDTO<>(AppConstants.STATUS_FAILED, e.getMessage(), null));
         } catch (Exception e) {
             log.error("getUserTasks() : Error fetching tasks for user {}: {}", userId, e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -182,6 +201,10 @@ public class UserTasksController {
             log.warn("updateTask() : Task {} not found for user {}", userTaskId, userId);
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(new ResponseDTO<>(AppConstants.STATUS_FAILED, "Task not found", null));
+        } catch (IllegalArgumentException e) {
+            log.warn("updateTask() : Invalid update for task {} of user {}: {}", userTaskId, userId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ResponseDTO<>(AppConstants.STATUS_FAILED, e.getMessage(), null));
         } catch (Exception e) {
             log.error("updateTask() : Error updating task {} for user {}: {}", userTaskId, userId, e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -302,6 +325,7 @@ public class UserTasksController {
      * @param category   Filter by category
      * @param sortBy     Sort field
      * @param sortOrder  Sort direction
+     * @param summary    Cut long text to the configured preview length and flag the cut
      * @return ResponseEntity with search results
      */
     @GetMapping(AppConstants.TASKS_SEARCH_ENDPOINT)
@@ -313,7 +337,8 @@ public class UserTasksController {
                                                                              @RequestParam(required = false) TaskPriority priority,
                                                                              @RequestParam(required = false) TaskCategory category,
                                                                              @RequestParam(defaultValue = "createdDate") String sortBy,
-                                                                             @RequestParam(defaultValue = "ASC") String sortOrder) {
+                                                                             @RequestParam(defaultValue = "ASC") String sortOrder,
+                                                                             @RequestParam(defaultValue = "false") boolean summary) {
 
         Long userId = jwtAuthenticationContext.getCurrentUserId();
         log.info("searchTasks() : Searching tasks for user {} with term: {}", userId, searchTerm);
@@ -322,7 +347,7 @@ public class UserTasksController {
             Sort.Direction direction = "DESC".equalsIgnoreCase(sortOrder) ? Sort.Direction.DESC : Sort.Direction.ASC;
             Pageable pageable = PageRequest.of(page, Math.min(limit, 100), Sort.by(direction, sortBy));
 
-            UserTasksListResponseDTO result = userTasksService.searchTasks(userId, searchTerm, pageable);
+            UserTasksListResponseDTO result = userTasksService.searchTasks(userId, searchTerm, summary, pageable);
             return ResponseEntity.ok(new ResponseDTO<>(AppConstants.STATUS_SUCCESS, "Search completed successfully.", result));
         } catch (Exception e) {
             log.error("searchTasks() : Error searching tasks for user {}: {}", userId, e.getMessage(), e);
@@ -339,6 +364,7 @@ public class UserTasksController {
      * @param limit     Page size (default: 50)
      * @param sortBy    Sort field
      * @param sortOrder Sort direction
+     * @param summary   Cut long text to the configured preview length and flag the cut
      * @return ResponseEntity with overdue tasks
      */
     @GetMapping(AppConstants.TASKS_OVERDUE_ENDPOINT)
@@ -346,7 +372,8 @@ public class UserTasksController {
     public ResponseEntity<ResponseDTO<UserTasksListResponseDTO>> getOverdueTasks(@RequestParam(defaultValue = "0") int page,
                                                                                  @RequestParam(defaultValue = "50") int limit,
                                                                                  @RequestParam(defaultValue = "dueDate") String sortBy,
-                                                                                 @RequestParam(defaultValue = "ASC") String sortOrder) {
+                                                                                 @RequestParam(defaultValue = "ASC") String sortOrder,
+                                                                                 @RequestParam(defaultValue = "false") boolean summary) {
 
         Long userId = jwtAuthenticationContext.getCurrentUserId();
         log.info("getOverdueTasks() : Fetching overdue tasks for user {}", userId);
@@ -355,7 +382,7 @@ public class UserTasksController {
             Sort.Direction direction = "DESC".equalsIgnoreCase(sortOrder) ? Sort.Direction.DESC : Sort.Direction.ASC;
             Pageable pageable = PageRequest.of(page, Math.min(limit, 100), Sort.by(direction, sortBy));
 
-            UserTasksListResponseDTO result = userTasksService.getOverdueTasks(userId, pageable);
+            UserTasksListResponseDTO result = userTasksService.getOverdueTasks(userId, summary, pageable);
             return ResponseEntity.ok(new ResponseDTO<>(AppConstants.STATUS_SUCCESS, "Overdue tasks retrieved successfully.", result));
         } catch (Exception e) {
             log.error("getOverdueTasks() : Error fetching overdue tasks for user {}: {}", userId, e.getMessage(), e);
@@ -373,6 +400,7 @@ public class UserTasksController {
      * @param limit     Page size (default: 50)
      * @param sortBy    Sort field
      * @param sortOrder Sort direction
+     * @param summary   Cut long text to the configured preview length and flag the cut
      * @return ResponseEntity with tasks filtered by status
      */
     @GetMapping(AppConstants.TASKS_BY_STATUS_ENDPOINT)
@@ -381,7 +409,8 @@ public class UserTasksController {
                                                                                   @RequestParam(defaultValue = "0") int page,
                                                                                   @RequestParam(defaultValue = "50") int limit,
                                                                                   @RequestParam(defaultValue = "createdDate") String sortBy,
-                                                                                  @RequestParam(defaultValue = "ASC") String sortOrder) {
+                                                                                  @RequestParam(defaultValue = "ASC") String sortOrder,
+                                                                                  @RequestParam(defaultValue = "false") boolean summary) {
 
         Long userId = jwtAuthenticationContext.getCurrentUserId();
         log.info("getTasksByStatus() : Fetching tasks by status {} for user {}", status, userId);
@@ -390,7 +419,7 @@ public class UserTasksController {
             Sort.Direction direction = "DESC".equalsIgnoreCase(sortOrder) ? Sort.Direction.DESC : Sort.Direction.ASC;
             Pageable pageable = PageRequest.of(page, Math.min(limit, 100), Sort.by(direction, sortBy));
 
-            UserTasksListResponseDTO result = userTasksService.getTasksByStatus(userId, status, pageable);
+            UserTasksListResponseDTO result = userTasksService.getTasksByStatus(userId, status, summary, pageable);
             return ResponseEntity.ok(new ResponseDTO<>(AppConstants.STATUS_SUCCESS, "Tasks retrieved by status successfully.", result));
         } catch (Exception e) {
             log.error("getTasksByStatus() : Error fetching tasks by status for user {}: {}", userId, e.getMessage(), e);
@@ -408,6 +437,7 @@ public class UserTasksController {
      * @param limit     Page size (default: 50)
      * @param sortBy    Sort field
      * @param sortOrder Sort direction
+     * @param summary   Cut long text to the configured preview length and flag the cut
      * @return ResponseEntity with tasks filtered by priority
      */
     @GetMapping(AppConstants.TASKS_BY_PRIORITY_ENDPOINT)
@@ -416,7 +446,8 @@ public class UserTasksController {
                                                                                     @RequestParam(defaultValue = "0") int page,
                                                                                     @RequestParam(defaultValue = "50") int limit,
                                                                                     @RequestParam(defaultValue = "createdDate") String sortBy,
-                                                                                    @RequestParam(defaultValue = "ASC") String sortOrder) {
+                                                                                    @RequestParam(defaultValue = "ASC") String sortOrder,
+                                                                                    @RequestParam(defaultValue = "false") boolean summary) {
 
         Long userId = jwtAuthenticationContext.getCurrentUserId();
         log.info("getTasksByPriority() : Fetching tasks by priority {} for user {}", priority, userId);
@@ -425,7 +456,7 @@ public class UserTasksController {
             Sort.Direction direction = "DESC".equalsIgnoreCase(sortOrder) ? Sort.Direction.DESC : Sort.Direction.ASC;
             Pageable pageable = PageRequest.of(page, Math.min(limit, 100), Sort.by(direction, sortBy));
 
-            UserTasksListResponseDTO result = userTasksService.getTasksByPriority(userId, priority, pageable);
+            UserTasksListResponseDTO result = userTasksService.getTasksByPriority(userId, priority, summary, pageable);
             return ResponseEntity.ok(new ResponseDTO<>(AppConstants.STATUS_SUCCESS, "Tasks retrieved by priority successfully.", result));
         } catch (Exception e) {
             log.error("getTasksByPriority() : Error fetching tasks by priority for user {}: {}", userId, e.getMessage(), e);
@@ -444,6 +475,7 @@ public class UserTasksController {
      */
     @GetMapping(AppConstants.TASKS_STATS_ENDPOINT)
     @RequiredRole({"USER"})
+    @ConditionalGet(DataTable.USER_TASKS)
     public ResponseEntity<ResponseDTO<UserTasksStatsDTO>> getTaskStats() {
         Long userId = jwtAuthenticationContext.getCurrentUserId();
         log.info("getTaskStats() : Fetching task statistics for user {}", userId);
@@ -536,6 +568,150 @@ public class UserTasksController {
         }
     }
 
+    /**
+     * Get the task hierarchy for the authenticated user in a single call.
+     * Endpoint: GET /tasks/tree?userTaskId=1
+     *
+     * @param userTaskId Optional root task; when omitted, all top-level tasks and their subtasks are returned
+     * @return ResponseEntity with the task tree, including descendant counts and completion roll-up per node
+     */
+    @GetMapping(AppConstants.TASKS_TREE_ENDPOINT)
+    @RequiredRole({"USER"})
+    public ResponseEntity<ResponseDTO<List<UserTaskTreeNodeDTO>>> getTaskTree(@RequestParam(required = false) Long userTaskId) {
+        Long userId = jwtAuthenticationContext.getCurrentUserId();
+        log.info("getTaskTree() : Fetching task tree for user {} (root: {})", userId, userTaskId);
+
+        try {
+            List<UserTaskTreeNodeDTO> tree = userTasksService.getTaskTree(userId, userTaskId);
+            return ResponseEntity.ok(new ResponseDTO<>(AppConstants.STATUS_SUCCESS, "Task tree retrieved successfully.", tree));
+        } catch (EntityNotFoundException e) {
+            log.warn("getTaskTree() : Task {} not found for user {}", userTaskId, userId);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ResponseDTO<>(AppConstants.STATUS_FAILED, "Task not found", null));
+        } catch (Exception e) {
+            log.error("getTaskTree() : Error fetching task tree for user {}: {}", userId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ResponseDTO<>(AppConstants.STATUS_FAILED, "Failed to retrieve task tree: " + e.getMessage(), null));
+        }
+    }
+
+    /**
+     * Get the tasks of the authenticated user within a date range, with recurring tasks expanded into
+     * one entry per occurrence (marked by occurrenceDate).
+     * Endpoint: GET /tasks/calendar?startDate=2025-10-01&endDate=2025-10-31&dateField=dueDate
+     *
+     * @param startDate First day of the range (inclusive)
+     * @param endDate   Last day of the range (inclusive)
+     * @param dateField Date the range applies to: taskDate (default) or dueDate
+     * @return ResponseEntity with the tasks and occurrences, ordered by that date
+     */
+    @GetMapping(AppConstants.TASKS_CALENDAR_ENDPOINT)
+    @RequiredRole({"USER"})
+    public ResponseEntity<ResponseDTO<List<UserTasksDTO>>> getTasksInRange(@RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
+                                                                           @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate,
+                                                                           @RequestParam(defaultValue = "taskDate") String dateField) {
+        Long userId = jwtAuthenticationContext.getCurrentUserId();
+        log.info("getTasksInRange() : Fetching tasks between {} and {} for user {}", startDate, endDate, userId);
+
+        try {
+            if (!"taskDate".equals(dateField) && !"dueDate".equals(dateField)) {
+                throw new IllegalArgumentException("dateField must be taskDate or dueDate");
+            }
+            List<UserTasksDTO> tasks = userTasksService.getTasksInRange(userId, startDate, endDate, "dueDate".equals(dateField));
+            return ResponseEntity.ok(new ResponseDTO<>(AppConstants.STATUS_SUCCESS, "Tasks retrieved successfully.", tasks));
+        } catch (IllegalArgumentException e) {
+            log.warn("getTasksInRange() : Invalid request for user {}: {}", userId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ResponseDTO<>(AppConstants.STATUS_FAILED, e.getMessage(), null));
+        } catch (Exception e) {
+            log.error("getTasksInRange() : Error fetching tasks for user {}: {}", userId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ResponseDTO<>(AppConstants.STATUS_FAILED, "Failed to retrieve tasks: " + e.getMessage(), null));
+        }
+    }
+
+    /**
+     * Update the status of a single occurrence of a recurring task; the series and other occurrences are unchanged.
+     * Endpoint: PUT /tasks/occurrences/status/update?userTaskId=1&occurrenceDate=2025-10-20&status=COMPLETED
+     *
+     * @param userTaskId     The recurring task
+     * @param occurrenceDate The occurrence to update
+     * @param status         The new status of that occurrence
+     * @return ResponseEntity with the updated occurrence
+     */
+    @PutMapping(AppConstants.TASKS_OCCURRENCE_STATUS_UPDATE_ENDPOINT)
+    @RequiredRole({"USER"})
+    public ResponseEntity<ResponseDTO<UserTasksDTO>> updateOccurrenceStatus(@RequestParam Long userTaskId,
+                                                                            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate occurrenceDate,
+                                                                            @RequestParam TaskStatus status) {
+        Long userId = jwtAuthenticationContext.getCurrentUserId();
+        log.info("updateOccurrenceStatus() : Updating occurrence {} of task {} for user {}", occurrenceDate, userTaskId, userId);
+
+        try {
+            UserTasksDTO occurrence = userTasksService.updateOccurrenceStatus(userId, userTaskId, occurrenceDate, status);
+            return ResponseEntity.ok(new ResponseDTO<>(AppConstants.STATUS_SUCCESS, "Occurrence status updated successfully.", occurrence));
+        } catch (EntityNotFoundException e) {
+            log.warn("updateOccurrenceStatus() : Task {} not found for user {}", userTaskId, userId);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ResponseDTO<>(AppConstants.STATUS_FAILED, "Task not found", null));
+        } catch (IllegalArgumentException e) {
+            log.warn("updateOccurrenceStatus() : Invalid request for task {}: {}", userTaskId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ResponseDTO<>(AppConstants.STATUS_FAILED, e.getMessage(), null));
+        } catch (Exception e) {
+            log.error("updateOccurrenceStatus() : Error updating occurrence of task {} for user {}: {}", userTaskId, userId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ResponseDTO<>(AppConstants.STATUS_FAILED, "Failed to update occurrence: " + e.getMessage(), null));
+        }
+    }
+
+    /**
+     * Get the tag dictionary of the authenticated user with the number of tasks using each tag.
+     * Endpoint: GET /tasks/tags
+     *
+     * @return ResponseEntity with all tags, most used first
+     */
+    @GetMapping(AppConstants.TASKS_TAGS_ENDPOINT)
+    @RequiredRole({"USER"})
+    public ResponseEntity<ResponseDTO<List<UserTaskTagDTO>>> getTaskTags() {
+        Long userId = jwtAuthenticationContext.getCurrentUserId();
+        log.info("getTaskTags() : Fetching tag dictionary for user {}", userId);
+
+        try {
+            List<UserTaskTagDTO> tags = userTaskTagService.getTags(userId);
+            return ResponseEntity.ok(new ResponseDTO<>(AppConstants.STATUS_SUCCESS, "Tags retrieved successfully.", tags));
+        } catch (Exception e) {
+            log.error("getTaskTags() : Error fetching tags for user {}: {}", userId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ResponseDTO<>(AppConstants.STATUS_FAILED, "Failed to retrieve tags: " + e.getMessage(), null));
+        }
+    }
+
+    /**
+     * Suggest tags of the authenticated user starting with the given prefix (case-insensitive).
+     * Endpoint: GET /tasks/tags/autocomplete?prefix=wo&limit=10
+     *
+     * @param prefix Tag prefix typed so far
+     * @param limit  Maximum number of suggestions (default: 10, max: 50)
+     * @return ResponseEntity with matching tags, most used first
+     */
+    @GetMapping(AppConstants.TASKS_TAGS_AUTOCOMPLETE_ENDPOINT)
+    @RequiredRole({"USER"})
+    public ResponseEntity<ResponseDTO<List<UserTaskTagDTO>>> autocompleteTaskTags(@RequestParam(defaultValue = "") String prefix,
+                                                                                  @RequestParam(defaultValue = "10") int limit) {
+        Long userId = jwtAuthenticationContext.getCurrentUserId();
+        log.info("autocompleteTaskTags() : Suggesting tags for user {} with prefix '{}'", userId, prefix);
+
+        try {
+            List<UserTaskTagDTO> suggestions = userTaskTagService.autocomplete(userId, prefix, Math.min(limit, 50));
+            return ResponseEntity.ok(new ResponseDTO<>(AppConstants.STATUS_SUCCESS, "Tag suggestions retrieved successfully.", suggestions));
+        } catch (Exception e) {
+            log.error("autocompleteTaskTags() : Error suggesting tags for user {}: {}", userId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ResponseDTO<>(AppConstants.STATUS_FAILED, "Failed to retrieve tag suggestions: " + e.getMessage(), null));
+        }
+    }
+
     // Helper Methods
 
     /**
@@ -0,0 +1,73 @@
+package com.sid.app.datasource;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * Read-your-writes position carried by the client: the primary's WAL position after the user's last write and
+ * when the claim expires, signed for that user so it cannot be forged, moved to another user or extended.
+ * Format {@code <lsn hex>.<expires epoch ms>.<signature>}; every instance holding the same secret accepts it.
+ */
+final class ReadAfterToken {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+
+    ReadAfterToken(String secret) {
+        // A key of its own, so these signatures are never valid as anything else signed with the secret
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            key = new SecretKeySpec(mac.doFinal("read-after".getBytes(StandardCharsets.UTF_8)), ALGORITHM);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+
+    record Position(long lsn, long expiresAtMs) {
+    }
+
+    String encode(String user, Position position) {
+        String payload = Long.toHexString(position.lsn()) + "." + position.expiresAtMs();
+        return payload + "." + sign(user, payload);
+    }
+
+    /**
+     * @return the position, or null when the token is malformed, not signed for {@code user} or expired
+     */
+    Position decode(String user, String token, long nowMs) {
+        int signatureStart = token.lastIndexOf('.');
+        int expiresStart = token.indexOf('.');
+        if (expiresStart <= 0 || signatureStart <= expiresStart) {
+            return null;
+        }
+        String payload = token.substring(0, signatureStart);
+        byte[] expected = sign(user, payload).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, token.substring(signatureStart + 1).getBytes(StandardCharsets.US_ASCII))) {
+            return null;
+        }
+        try {
+            Position position = new Position(Long.parseUnsignedLong(payload.substring(0, expiresStart), 16),
+                    Long.parseLong(payload.substring(expiresStart + 1)));
+            return position.expiresAtMs() > nowMs ? position : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private String sign(String user, String payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            byte[] signature = mac.doFinal((user + "\n" + payload).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.sid.app.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts the DataSource behind a {@link LazyConnectionDataSourceProxy} whose read-only side is routed by
+ * {@link ReadReplicaRouter}. The proxy is what makes routing possible with JPA: the transaction manager asks for
+ * a connection before the transaction is marked read-only, and the proxy hands out a placeholder that only picks a
+ * pool, primary or replica, when the first statement runs. Ordered ahead of
+ * {@code SqlStatementDataSourcePostProcessor}, so statements on either pool are tracked.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.read-replica.enabled", havingValue = "true")
+public class ReadReplicaDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+    private final ObjectProvider<ReadReplicaRouter> router;
+
+    public ReadReplicaDataSourcePostProcessor(ObjectProvider<ReadReplicaRouter> router) {
+        this.router = router;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || bean instanceof LazyConnectionDataSourceProxy) {
+            return bean;
+        }
+        log.info("postProcessAfterInitialization() : Routing read-only transactions of DataSource '{}' to the replica", beanName);
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(dataSource);
+        proxy.setReadOnlyDataSource(new ReplicaRoutingDataSource(dataSource, router));
+        return proxy;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,319 @@
+package com.sid.app.datasource;
+
+import com.sid.app.config.AppProperties;
+import com.sid.app.config.ReadReplicaProperties;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Owns the replica pool and decides, per physical connection, where a read-only transaction runs. The replica is
+ * used only inside a Spring {@code readOnly} transaction (connections flagged read-only by hand, like the backup
+ * snapshot, stay on the primary), only while its last measured lag is within {@code app.read-replica.max-lag-ms},
+ * and not for a user whose own write it has not replayed yet. On commit of a read-write transaction the primary's
+ * WAL position is handed to the client in a signed {@code read-after} cookie, so any instance behind the load
+ * balancer keeps that user's reads on the primary until the replica has replayed that position, for at most
+ * {@code read-your-writes-ms}. The position is also remembered per instance, by authenticated user name, for
+ * clients that do not send the cookie back.
+ * <p>
+ * Meters: {@code datasource.replica.lag} (ms, NaN while unknown) and {@code datasource.reads} tagged with the
+ * {@code target} pool and the {@code reason} a read stayed on the primary.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.read-replica.enabled", havingValue = "true")
+public class ReadReplicaRouter implements TransactionExecutionListener {
+
+    private static final long UNKNOWN_LAG = -1;
+
+    static final String READ_AFTER_COOKIE = "read-after";
+
+    // Lag: zero on a primary, and on a standby that has replayed everything it received (an idle primary sends
+    // nothing, so the replay timestamp alone would grow forever); NULL before the standby replayed anything.
+    // Replayed WAL position: everything the replica can see, as a byte offset; NULL before it replayed anything
+    private static final String LAG_SQL = "SELECT CASE WHEN NOT pg_is_in_recovery() "
+            + "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE CAST(EXTRACT(EPOCH FROM CURRENT_TIMESTAMP - pg_last_xact_replay_timestamp()) * 1000 AS BIGINT) END, "
+            + "CAST((CASE WHEN pg_is_in_recovery() THEN pg_last_wal_replay_lsn() ELSE pg_current_wal_lsn() END) "
+            + "- '0/0' AS BIGINT)";
+
+    private static final String COMMIT_LSN_SQL = "SELECT CAST(pg_current_wal_lsn() - '0/0' AS BIGINT)";
+
+    private final ReadReplicaProperties properties;
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+    private final AppProperties appProperties;
+
+    private final Map<String, ReadAfterToken.Position> readAfter = new ConcurrentHashMap<>();
+    private volatile long replicationLagMs = UNKNOWN_LAG;
+    private volatile long replayedLsn = -1;
+
+    private HikariDataSource replica;
+    private ReadAfterToken readAfterToken;
+    private long readYourWritesMs;
+    private Counter replicaReads;
+    private Counter laggingReads;
+    private Counter unavailableReads;
+    private Counter stickyReads;
+
+    @PostConstruct
+    void init() throws SQLException {
+        if (!StringUtils.hasText(properties.getUrl())) {
+            throw new IllegalStateException("app.read-replica.url is required when app.read-replica.enabled is true");
+        }
+        // Schema, driver and pool settings follow the primary
+        HikariConfig config = new HikariConfig();
+        dataSource.unwrap(HikariDataSource.class).copyStateTo(config);
+        config.setPoolName(properties.getPoolName());
+        config.setJdbcUrl(properties.getUrl());
+        if (StringUtils.hasText(properties.getUsername())) {
+            config.setUsername(properties.getUsername());
+        }
+        if (StringUtils.hasText(properties.getPassword())) {
+            config.setPassword(properties.getPassword());
+        }
+        if (properties.getMaximumPoolSize() > 0) {
+            config.setMaximumPoolSize(properties.getMaximumPoolSize());
+        }
+        config.setConnectionTimeout(properties.getConnectionTimeoutMs());
+        config.setReadOnly(true);
+        config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        // Start even when the replica is down; reads stay on the primary until the lag check reaches it
+        config.setInitializationFailTimeout(-1);
+        replica = new HikariDataSource(config);
+
+        readAfterToken = new ReadAfterToken(appProperties.getJwtSecret());
+        readYourWritesMs = Math.max(properties.getReadYourWritesMs(),
+                properties.getMaxLagMs() + properties.getLagCheckIntervalMs());
+        replicaReads = readsCounter("replica", "none");
+        laggingReads = readsCounter("primary", "lag");
+        unavailableReads = readsCounter("primary", "unavailable");
+        stickyReads = readsCounter("primary", "read-your-writes");
+        Gauge.builder("datasource.replica.lag", this, router -> router.replicationLagMs == UNKNOWN_LAG
+                        ? Double.NaN : router.replicationLagMs)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+
+        checkLag();
+        log.info("init() : Read-only transactions go to replica pool {} while it is within {} ms of the primary",
+                properties.getPoolName(), properties.getMaxLagMs());
+    }
+
+    @PreDestroy
+    void close() {
+        replica.close();
+    }
+
+    @Scheduled(fixedDelayString = "${app.read-replica.lag-check-interval-ms:1000}")
+    public void checkLag() {
+        long previousLagMs = replicationLagMs;
+        try (Connection connection = replica.getConnection();
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(LAG_SQL)) {
+            rs.next();
+            long lagMs = rs.getLong(1);
+            boolean lagKnown = !rs.wasNull();
+            long lsn = rs.getLong(2);
+            replayedLsn = rs.wasNull() ? -1 : lsn;
+            replicationLagMs = lagKnown ? Math.max(lagMs, 0) : UNKNOWN_LAG;
+        } catch (SQLException e) {
+            replicationLagMs = UNKNOWN_LAG;
+            replayedLsn = -1;
+            if (previousLagMs != UNKNOWN_LAG) {
+                log.warn("checkLag() : Replica {} unavailable, reads go to the primary: {}", properties.getPoolName(),
+                        e.getMessage());
+            }
+        }
+        if (replicationLagMs != previousLagMs && isUsable(replicationLagMs) != isUsable(previousLagMs)) {
+            log.info("checkLag() : Replica lag {} ms, reads go to the {}", replicationLagMs,
+                    isUsable(replicationLagMs) ? "replica" : "primary");
+        }
+
+        long now = System.currentTimeMillis();
+        readAfter.values().removeIf(position -> position.expiresAtMs() <= now);
+    }
+
+    /**
+     * A connection for the read-only side of the lazy proxy: from the replica when this is a read-only transaction
+     * the replica may serve, otherwise from {@code primary}. A replica that fails to hand one out is marked
+     * unavailable until the next lag check.
+     */
+    Connection getReadOnlyConnection(DataSource primary) throws SQLException {
+        if (!routeToReplica()) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLException e) {
+            replicationLagMs = UNKNOWN_LAG;
+            unavailableReads.increment();
+            log.warn("getReadOnlyConnection() : Replica {} unavailable, reads go to the primary: {}",
+                    properties.getPoolName(), e.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    /**
+     * Read-your-writes: once a read-write transaction of the current user commits, their reads stay on the primary
+     * until the replica has replayed the primary's WAL position after that commit.
+     */
+    @Override
+    public void afterCommit(TransactionExecution transaction, @Nullable Throwable commitFailure) {
+        if (commitFailure != null || transaction.isReadOnly()) {
+            return;
+        }
+        String user = currentUser();
+        if (user == null) {
+            return;
+        }
+        ReadAfterToken.Position position = new ReadAfterToken.Position(commitLsn(),
+                System.currentTimeMillis() + readYourWritesMs);
+        readAfter.put(user, position);
+
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletResponse response = attributes.getResponse();
+            if (response != null && !response.isCommitted()) {
+                ResponseCookie cookie = ResponseCookie.from(READ_AFTER_COOKIE, readAfterToken.encode(user, position))
+                        .httpOnly(true)
+                        .secure(attributes.getRequest().isSecure())
+                        .path("/")
+                        .maxAge(Duration.ofMillis(readYourWritesMs))
+                        .sameSite("Lax")
+                        .build();
+                response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+            }
+        }
+    }
+
+    // Asked on the transaction's own connection, still bound until completion, so no second one is borrowed.
+    // Unknown positions are never treated as replayed
+    private long commitLsn() {
+        Connection connection = null;
+        try {
+            connection = DataSourceUtils.getConnection(dataSource);
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery(COMMIT_LSN_SQL)) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        } catch (SQLException | RuntimeException e) {
+            log.debug("commitLsn() : WAL position unavailable, reads stay on the primary: {}", e.getMessage());
+            return Long.MAX_VALUE;
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private boolean routeToReplica() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return false;
+        }
+        long lagMs = replicationLagMs;
+        if (lagMs == UNKNOWN_LAG) {
+            unavailableReads.increment();
+            return false;
+        }
+        if (!isUsable(lagMs)) {
+            laggingReads.increment();
+            return false;
+        }
+        if (readAfterLsn() > replayedLsn) {
+            stickyReads.increment();
+            return false;
+        }
+        replicaReads.increment();
+        return true;
+    }
+
+    // The furthest unexpired position of the current user's own writes, from this instance or the client's cookie
+    private long readAfterLsn() {
+        String user = currentUser();
+        if (user == null) {
+            return -1;
+        }
+        long now = System.currentTimeMillis();
+        long lsn = -1;
+        ReadAfterToken.Position remembered = readAfter.get(user);
+        if (remembered != null && remembered.expiresAtMs() > now) {
+            lsn = remembered.lsn();
+        }
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            ReadAfterToken.Position carried = readAfterCookie(attributes.getRequest(), user, now);
+            if (carried != null) {
+                lsn = Math.max(lsn, carried.lsn());
+            }
+        }
+        return lsn;
+    }
+
+    private ReadAfterToken.Position readAfterCookie(HttpServletRequest request, String user, long now) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (READ_AFTER_COOKIE.equals(cookie.getName()) && cookie.getValue() != null) {
+                return readAfterToken.decode(user, cookie.getValue(), now);
+            }
+        }
+        return null;
+    }
+
+    private boolean isUsable(long lagMs) {
+        return lagMs != UNKNOWN_LAG && lagMs <= properties.getMaxLagMs();
+    }
+
+    private String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private Counter readsCounter(String target, String reason) {
+        return Counter.builder("datasource.reads")
+                .description("Physical connections of read-only transactions, by pool")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
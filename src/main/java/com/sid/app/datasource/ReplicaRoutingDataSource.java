@@ -0,0 +1,33 @@
+package com.sid.app.datasource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * The read-only side of the lazy connection proxy: asks {@link ReadReplicaRouter} on every physical connection,
+ * so the decision is made when the first statement of a read-only transaction runs.
+ */
+class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final ObjectProvider<ReadReplicaRouter> router;
+
+    ReplicaRoutingDataSource(DataSource primary, ObjectProvider<ReadReplicaRouter> router) {
+        this.primary = primary;
+        this.router = router;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return router.getObject().getReadOnlyConnection(primary);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+}
@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDate;
 
@@ -27,8 +28,11 @@ public class DailyTask extends Auditable {
     @Column(name = "daily_task_id")
     private Long dailyTaskId;
 
-    @ManyToOne
+    // Lazy: the DTO only needs the id, which the proxy answers without a query
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User user;
 
     @Column(name = "daily_task_date", nullable = false)
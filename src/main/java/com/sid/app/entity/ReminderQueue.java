@@ -0,0 +1,57 @@
+package com.sid.app.entity;
+
+import com.sid.app.audit.Auditable;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pending or fired reminder of a note or task. Rows are maintained by the trg_user_tasks_sync_reminder and
+ * trg_user_notes_sync_reminder triggers; dispatchers only lease and fire them.
+ */
+@Entity
+@Table(name = "reminder_queue",
+        uniqueConstraints = {@UniqueConstraint(name = "uk_reminder_queue_source",
+                columnNames = {"source_type", "source_id"})})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(callSuper = true)
+public class ReminderQueue extends Auditable {
+
+    public static final String SOURCE_NOTE = "NOTE";
+    public static final String SOURCE_TASK = "TASK";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "reminder_queue_id")
+    private Long reminderQueueId;
+
+    @Column(name = "source_type", length = 10, nullable = false)
+    private String sourceType;
+
+    @Column(name = "source_id", nullable = false)
+    private Long sourceId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "fire_at", nullable = false)
+    private LocalDateTime fireAt;
+
+    // PENDING, FIRED or EXPIRED
+    @Column(name = "status", length = 10, nullable = false)
+    private String status;
+
+    @Column(name = "lease_owner", length = 100)
+    private String leaseOwner;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "fired_at")
+    private LocalDateTime firedAt;
+}
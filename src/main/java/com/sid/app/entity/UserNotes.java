@@ -95,5 +95,6 @@ public class UserNotes extends Auditable {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", insertable = false, updatable = false,
             foreignKey = @ForeignKey(name = "fk_user_notes_user_id"))
+    @EqualsAndHashCode.Exclude
     private User user;
 }
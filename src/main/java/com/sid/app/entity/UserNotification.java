@@ -0,0 +1,55 @@
+package com.sid.app.entity;
+
+import com.sid.app.audit.Auditable;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * In-app notification raised when a note or task reminder fires.
+ */
+@Entity
+@Table(name = "user_notifications",
+        indexes = {
+                @Index(name = "idx_user_notifications_user_id", columnList = "user_id")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(callSuper = true)
+public class UserNotification extends Auditable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "user_notification_id")
+    private Long userNotificationId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // NOTE or TASK
+    @Column(name = "source_type", length = 10, nullable = false)
+    private String sourceType;
+
+    @Column(name = "source_id", nullable = false)
+    private Long sourceId;
+
+    @Column(name = "title", length = 500, nullable = false)
+    private String title;
+
+    @Column(name = "message", columnDefinition = "TEXT")
+    private String message;
+
+    @Column(name = "reminder_date", nullable = false)
+    private LocalDateTime reminderDate;
+
+    @Column(name = "is_read", nullable = false)
+    @Builder.Default
+    private Boolean isRead = false;
+
+    @Column(name = "read_date")
+    private LocalDateTime readDate;
+}
@@ -63,11 +63,6 @@ public class UserProfile extends Auditable {
     @Column(name = "emergency_contact_relation", length = 50)
     private String emergencyContactRelation;
 
-    /**
-     * One-to-one mapping to the user's primary address.
-     * insertable = false, updatable = false ensures writes happen via UserAddressRepository.
-     */
-    @OneToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id", referencedColumnName = "user_id", insertable = false, updatable = false)
-    private UserAddress primaryAddress;
+    // No association to user_address: a user can have several addresses, so a join on user_id is not one-to-one.
+    // The primary address is read with UserAddressRepository.findByUserIdAndIsPrimaryTrue.
 }
@@ -0,0 +1,43 @@
+package com.sid.app.entity;
+
+import com.sid.app.audit.Auditable;
+import com.sid.app.enums.TaskStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Exception recorded for a single occurrence of a recurring task (e.g. completed or cancelled).
+ * Occurrences without a row take their values from the series.
+ */
+@Entity
+@Table(name = "user_task_occurrences",
+        uniqueConstraints = {@UniqueConstraint(name = "uk_user_task_occurrences_task_date",
+                columnNames = {"user_task_id", "occurrence_date"})})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(callSuper = true)
+public class UserTaskOccurrence extends Auditable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "user_task_occurrence_id")
+    private Long userTaskOccurrenceId;
+
+    @Column(name = "user_task_id", nullable = false)
+    private Long userTaskId;
+
+    @Column(name = "occurrence_date", nullable = false)
+    private LocalDate occurrenceDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private TaskStatus status;
+
+    @Column(name = "remarks", columnDefinition = "TEXT")
+    private String remarks;
+}
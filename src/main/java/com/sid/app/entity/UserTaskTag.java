@@ -0,0 +1,36 @@
+package com.sid.app.entity;
+
+import com.sid.app.audit.Auditable;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Per-user tag dictionary entry. Rows are maintained by the trg_user_tasks_sync_tags trigger on user_tasks,
+ * so the application only ever reads this table.
+ */
+@Entity
+@Table(name = "user_task_tags",
+        uniqueConstraints = {@UniqueConstraint(name = "uk_user_task_tags_user_tag", columnNames = {"user_id", "tag"})})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(callSuper = true)
+public class UserTaskTag extends Auditable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "user_task_tag_id")
+    private Long userTaskTagId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "tag", columnDefinition = "TEXT", nullable = false)
+    private String tag;
+
+    @Column(name = "usage_count", nullable = false)
+    @Builder.Default
+    private Integer usageCount = 0;
+}
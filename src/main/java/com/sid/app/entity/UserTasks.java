@@ -7,6 +7,8 @@ import com.sid.app.enums.TaskStatus;
 import com.sid.app.enums.TaskType;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Generated;
+import org.hibernate.generator.EventType;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -82,6 +84,18 @@ public class UserTasks extends Auditable {
     @Column(name = "parent_task_id")
     private Long parentTaskId;
 
+    // Materialised ancestor path ('/root/.../self/'), maintained by the trg_user_tasks_set_path trigger and
+    // re-read after every write, so a moved task carries its new path
+    @Generated(event = {EventType.INSERT, EventType.UPDATE})
+    @Column(name = "task_path", insertable = false, updatable = false)
+    private String taskPath;
+
+    // Due before today in the owner's timezone and still open; maintained by the trg_user_tasks_set_overdue
+    // trigger and the overdue sweeper, and re-read after every write
+    @Generated(event = {EventType.INSERT, EventType.UPDATE})
+    @Column(name = "is_overdue", insertable = false, updatable = false)
+    private Boolean isOverdue;
+
     @Column(name = "created_by")
     private Long createdBy;
 
@@ -110,17 +124,20 @@ public class UserTasks extends Auditable {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", insertable = false, updatable = false,
             foreignKey = @ForeignKey(name = "fk_user_tasks_user"))
+    @EqualsAndHashCode.Exclude
     private User user;
 
     // Self-referencing relationship for parent tasks
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "parent_task_id", insertable = false, updatable = false,
             foreignKey = @ForeignKey(name = "fk_user_tasks_parent"))
+    @EqualsAndHashCode.Exclude
     private UserTasks parentTask;
 
     // Creator relationship
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by", insertable = false, updatable = false,
             foreignKey = @ForeignKey(name = "fk_user_tasks_created_by"))
+    @EqualsAndHashCode.Exclude
     private User creator;
 }
@@ -0,0 +1,16 @@
+package com.sid.app.enums;
+
+/**
+ * Lifecycle of a queued backup or restore job
+ */
+public enum BackupJobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED,
+    CANCELLED;
+
+    public boolean isFinished() {
+        return this == SUCCEEDED || this == FAILED || this == CANCELLED;
+    }
+}
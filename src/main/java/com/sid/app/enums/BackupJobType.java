@@ -0,0 +1,11 @@
+package com.sid.app.enums;
+
+/**
+ * Kinds of work the backup job queue runs
+ */
+public enum BackupJobType {
+    PG_DUMP,
+    LOGICAL,
+    INCREMENTAL,
+    RESTORE
+}
@@ -0,0 +1,33 @@
+package com.sid.app.enums;
+
+import java.util.Locale;
+
+/**
+ * Tables with a version in data_versions (see add-data-versions.sql); shared tables have one version,
+ * the others one per user
+ */
+public enum DataTable {
+    HOLIDAY(true),
+    LEAVE_POLICY(true),
+    OFFICE_VISIT(false),
+    USER_LEAVE(false),
+    USER_LEAVE_BALANCE(false),
+    USER_NOTES(false),
+    // Includes user_task_occurrences
+    USER_TASKS(false),
+    USER_NOTIFICATIONS(false);
+
+    private final boolean shared;
+
+    DataTable(boolean shared) {
+        this.shared = shared;
+    }
+
+    public boolean isShared() {
+        return shared;
+    }
+
+    public String getTableName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
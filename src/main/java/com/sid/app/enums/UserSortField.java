@@ -0,0 +1,36 @@
+package com.sid.app.enums;
+
+import java.util.Arrays;
+
+/**
+ * Sort keys of the admin user listing; every sort is keyset-paginated with userId as tie-breaker
+ */
+public enum UserSortField {
+    NAME("name"),
+    EMAIL("email"),
+    USER_ID("userId"),
+    LAST_LOGIN_TIME("lastLoginTime");
+
+    private final String fieldName;
+
+    UserSortField(String fieldName) {
+        this.fieldName = fieldName;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    /**
+     * Resolves a request parameter such as "name" or "lastLoginTime" (case-insensitive); defaults to NAME.
+     */
+    public static UserSortField fromFieldName(String value) {
+        if (value == null || value.isBlank()) {
+            return NAME;
+        }
+        return Arrays.stream(values())
+                .filter(field -> field.fieldName.equalsIgnoreCase(value.trim()) || field.name().equalsIgnoreCase(value.trim()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Invalid sort field: " + value));
+    }
+}
@@ -0,0 +1,106 @@
+package com.sid.app.metrics;
+
+import com.sid.app.config.SqlBudgetProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the SQL of each request, security filters included, per controller method
+ * ({@code sql.request.statements}, {@code sql.request.rows}, {@code sql.request.time}) and logs requests
+ * over the {@code app.sql-budget} limits, with the statements they repeated.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private static final int MAX_LOGGED_SQL_LENGTH = 300;
+
+    private final SqlBudgetProperties sqlBudgetProperties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !sqlBudgetProperties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementStats stats = SqlStatementTracker.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementTracker.end(stats);
+            if (stats.getStatements() > 0) {
+                report(request, stats);
+            }
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlStatementStats stats) {
+        String handler = handlerName(request);
+        DistributionSummary.builder("sql.request.statements").tag("handler", handler)
+                .register(meterRegistry).record(stats.getStatements());
+        DistributionSummary.builder("sql.request.rows").tag("handler", handler)
+                .register(meterRegistry).record(stats.getRows());
+        meterRegistry.timer("sql.request.time", "handler", handler).record(stats.getTimeMs(), TimeUnit.MILLISECONDS);
+
+        List<String> exceeded = new ArrayList<>(4);
+        if (stats.getStatements() > sqlBudgetProperties.getMaxStatements()) {
+            exceeded.add("statements");
+        }
+        if (stats.getRows() > sqlBudgetProperties.getMaxRows()) {
+            exceeded.add("rows");
+        }
+        if (stats.getTimeMs() > sqlBudgetProperties.getMaxTimeMs()) {
+            exceeded.add("time");
+        }
+        Map<String, Integer> repeated = stats.getRepeatedStatements(sqlBudgetProperties.getRepeatedStatementThreshold());
+        if (!repeated.isEmpty()) {
+            exceeded.add("repeated");
+        }
+        if (exceeded.isEmpty()) {
+            return;
+        }
+
+        exceeded.forEach(budget -> meterRegistry.counter("sql.budget.exceeded", "handler", handler, "budget", budget)
+                .increment());
+        StringBuilder repeatedSql = new StringBuilder();
+        repeated.forEach((sql, count) -> repeatedSql.append("\n  ").append(count).append("x ").append(abbreviate(sql)));
+        log.warn("report() : {} {} ({}) exceeded SQL budget {}: {}{}", request.getMethod(), request.getRequestURI(),
+                handler, exceeded, stats, repeatedSql);
+    }
+
+    private String handlerName(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        }
+        return "none";
+    }
+
+    private String abbreviate(String sql) {
+        String singleLine = sql.replaceAll("\\s+", " ").trim();
+        return singleLine.length() <= MAX_LOGGED_SQL_LENGTH ? singleLine : singleLine.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+    }
+}
@@ -0,0 +1,45 @@
+package com.sid.app.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps DataSource beans in a datasource-proxy that reports to {@link SqlStatementListener}, unless
+ * {@code app.sql-budget.enabled} is false. Result sets are only proxied, to count the rows read, with
+ * {@code app.sql-budget.count-rows}. unwrap() still reaches the pool and the driver connection,
+ * so pool metrics and COPY keep working.
+ */
+@Slf4j
+@Component
+public class SqlStatementDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final boolean enabled;
+    private final boolean countRows;
+
+    public SqlStatementDataSourcePostProcessor(@Value("${app.sql-budget.enabled:true}") boolean enabled,
+                                               @Value("${app.sql-budget.count-rows:false}") boolean countRows) {
+        this.enabled = enabled;
+        this.countRows = countRows;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!enabled || !(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+            return bean;
+        }
+        SqlStatementListener listener = new SqlStatementListener();
+        log.info("postProcessAfterInitialization() : Tracking SQL statements{} of DataSource '{}'",
+                countRows ? " and rows read" : "", beanName);
+        ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(beanName, dataSource).listener(listener);
+        if (countRows) {
+            builder.proxyResultSet().methodListener(listener);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.sid.app.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * Feeds executed statements and fetched rows into the thread's {@link SqlStatementTracker} scope.
+ * A batch counts as one statement per distinct SQL string, since it is one round trip each.
+ */
+class SqlStatementListener implements QueryExecutionListener, MethodExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStatementStats stats = SqlStatementTracker.current();
+        if (stats == null) {
+            return;
+        }
+        long updated = updatedRows(execInfo.getResult());
+        for (int i = 0; i < queryInfoList.size(); i++) {
+            // Time and update counts belong to the execution, not to each query of a batch
+            stats.recordStatement(queryInfoList.get(i).getQuery(), i == 0 ? execInfo.getElapsedTime() : 0,
+                    i == 0 ? updated : 0);
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && Boolean.TRUE.equals(executionContext.getResult())
+                && "next".equals(executionContext.getMethod().getName())) {
+            SqlStatementStats stats = SqlStatementTracker.current();
+            if (stats != null) {
+                stats.recordRow();
+            }
+        }
+    }
+
+    private long updatedRows(Object result) {
+        if (result instanceof Number count) {
+            return Math.max(count.longValue(), 0);
+        }
+        long total = 0;
+        if (result instanceof int[] counts) {
+            for (int count : counts) {
+                total += Math.max(count, 0);
+            }
+        } else if (result instanceof long[] counts) {
+            for (long count : counts) {
+                total += Math.max(count, 0);
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,95 @@
+package com.sid.app.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Statements, rows and JDBC time of one tracked scope (an HTTP request, or a block of test code),
+ * with how often each distinct SQL string ran. Written only by the thread that owns the scope.
+ */
+public class SqlStatementStats {
+
+    // Distinct statements remembered per scope; later ones are still counted, just not by text
+    private static final int MAX_DISTINCT_STATEMENTS = 256;
+
+    private final SqlStatementStats parent;
+    private final Map<String, Integer> executionsBySql = new LinkedHashMap<>();
+    private int statements;
+    private long rows;
+    private long timeMs;
+
+    SqlStatementStats(SqlStatementStats parent) {
+        this.parent = parent;
+    }
+
+    SqlStatementStats getParent() {
+        return parent;
+    }
+
+    void recordStatement(String sql, long elapsedMs, long affectedRows) {
+        for (SqlStatementStats stats = this; stats != null; stats = stats.parent) {
+            stats.statements++;
+            stats.timeMs += elapsedMs;
+            stats.rows += affectedRows;
+            if (stats.executionsBySql.containsKey(sql) || stats.executionsBySql.size() < MAX_DISTINCT_STATEMENTS) {
+                stats.executionsBySql.merge(sql, 1, Integer::sum);
+            }
+        }
+    }
+
+    void recordRow() {
+        for (SqlStatementStats stats = this; stats != null; stats = stats.parent) {
+            stats.rows++;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    /**
+     * Rows reported by updates, plus rows read through result sets when {@code app.sql-budget.count-rows} is on.
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    public long getTimeMs() {
+        return timeMs;
+    }
+
+    /**
+     * Statements run at least {@code threshold} times, most frequent first; the usual shape of an N+1.
+     */
+    public Map<String, Integer> getRepeatedStatements(int threshold) {
+        return executionsBySql.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
+
+    /**
+     * For integration tests: fails with the statements that ran when there were more than {@code maxStatements}.
+     *
+     * @throws AssertionError when over the limit
+     */
+    public SqlStatementStats assertAtMost(int maxStatements) {
+        if (statements > maxStatements) {
+            throw new AssertionError("Expected at most " + maxStatements + " SQL statements but " + statements
+                    + " ran:\n" + describeStatements());
+        }
+        return this;
+    }
+
+    String describeStatements() {
+        return executionsBySql.entrySet().stream()
+                .map(entry -> entry.getValue() + "x " + entry.getKey())
+                .collect(Collectors.joining("\n"));
+    }
+
+    @Override
+    public String toString() {
+        return statements + " statements, " + rows + " rows, " + timeMs + " ms";
+    }
+}
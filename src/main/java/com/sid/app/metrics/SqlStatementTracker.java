@@ -0,0 +1,57 @@
+package com.sid.app.metrics;
+
+/**
+ * Thread-bound tracking scopes fed by {@link SqlStatementListener}. Scopes nest: a statement counts
+ * towards every open scope of the thread, so a test can wrap a MockMvc call that is itself tracked
+ * by {@link SqlBudgetFilter}.
+ * <pre>
+ * SqlStatementTracker.track(() -> mockMvc.perform(get(...))).assertAtMost(3);
+ * </pre>
+ * Work handed to other threads (async requests, backup jobs) is not tracked.
+ */
+public final class SqlStatementTracker {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementTracker() {
+    }
+
+    /**
+     * Opens a scope on this thread; close it with {@link #end(SqlStatementStats)}.
+     */
+    public static SqlStatementStats begin() {
+        SqlStatementStats stats = new SqlStatementStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void end(SqlStatementStats stats) {
+        if (stats.getParent() == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(stats.getParent());
+        }
+    }
+
+    /**
+     * Runs {@code work} in its own scope and returns what it executed.
+     */
+    public static SqlStatementStats track(TrackedWork work) throws Exception {
+        SqlStatementStats stats = begin();
+        try {
+            work.run();
+        } finally {
+            end(stats);
+        }
+        return stats;
+    }
+
+    static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    @FunctionalInterface
+    public interface TrackedWork {
+        void run() throws Exception;
+    }
+}
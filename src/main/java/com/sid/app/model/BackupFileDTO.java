@@ -0,0 +1,32 @@
+package com.sid.app.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A backup file stored in the backup directory, downloadable (with Range support) by name.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class BackupFileDTO {
+
+    @JsonProperty("fileName")
+    private String fileName;
+
+    @JsonProperty("sizeBytes")
+    private Long sizeBytes;
+
+    @JsonProperty("lastModified")
+    private LocalDateTime lastModified;
+
+    /**
+     * SHA-256 (hex) recorded when the backup was verified; absent for files from before checksums
+     */
+    @JsonProperty("sha256")
+    private String sha256;
+}
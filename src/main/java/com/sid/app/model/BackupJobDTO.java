@@ -0,0 +1,64 @@
+package com.sid.app.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.sid.app.enums.BackupJobStatus;
+import com.sid.app.enums.BackupJobType;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * State of a backup job as seen by the status endpoint. Progress is bytes written so far for pg_dump jobs
+ * and tables done out of tables planned for logical backups and restores.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BackupJobDTO {
+
+    @JsonProperty("jobId")
+    private String jobId;
+
+    @JsonProperty("type")
+    private BackupJobType type;
+
+    @JsonProperty("status")
+    private BackupJobStatus status;
+
+    /**
+     * What the job works on: the database, or the logical backup being restored
+     */
+    @JsonProperty("target")
+    private String target;
+
+    @JsonProperty("submittedAt")
+    private LocalDateTime submittedAt;
+
+    @JsonProperty("startedAt")
+    private LocalDateTime startedAt;
+
+    @JsonProperty("finishedAt")
+    private LocalDateTime finishedAt;
+
+    @JsonProperty("bytesWritten")
+    private Long bytesWritten;
+
+    @JsonProperty("tablesDone")
+    private Integer tablesDone;
+
+    @JsonProperty("tablesTotal")
+    private Integer tablesTotal;
+
+    /**
+     * Backup file or logical backup name once the job succeeded
+     */
+    @JsonProperty("result")
+    private String result;
+
+    @JsonProperty("message")
+    private String message;
+}
@@ -0,0 +1,110 @@
+package com.sid.app.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * manifest.json of a logical (COPY-based) backup: one gzip file per table, all read from one snapshot.
+ * Written last, so a backup directory without it is incomplete.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LogicalBackupManifestDTO {
+
+    @JsonProperty("backupName")
+    private String backupName;
+
+    @JsonProperty("formatVersion")
+    private Integer formatVersion;
+
+    /**
+     * FULL or INCREMENTAL
+     */
+    @JsonProperty("type")
+    private String type;
+
+    /**
+     * Backup an incremental backup continues from
+     */
+    @JsonProperty("parentBackupName")
+    private String parentBackupName;
+
+    /**
+     * Incremental backups hold the rows modified and deleted from this point on (the parent's watermark)
+     */
+    @JsonProperty("since")
+    private LocalDateTime since;
+
+    /**
+     * High-water mark the next incremental backup starts from
+     */
+    @JsonProperty("watermark")
+    private LocalDateTime watermark;
+
+    /**
+     * COPY format of the table files: BINARY or CSV
+     */
+    @JsonProperty("format")
+    private String format;
+
+    @JsonProperty("schema")
+    private String schema;
+
+    @JsonProperty("createdAt")
+    private LocalDateTime createdAt;
+
+    @JsonProperty("durationMs")
+    private Long durationMs;
+
+    @JsonProperty("tables")
+    private List<TableEntry> tables;
+
+    /**
+     * Primary keys of the rows deleted since {@code since}; incremental backups only
+     */
+    @JsonProperty("tombstones")
+    private TableEntry tombstones;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class TableEntry {
+
+        @JsonProperty("table")
+        private String table;
+
+        @JsonProperty("fileName")
+        private String fileName;
+
+        @JsonProperty("rows")
+        private Long rows;
+
+        /**
+         * Size of the compressed file
+         */
+        @JsonProperty("bytes")
+        private Long bytes;
+
+        /**
+         * SHA-256 of the compressed file, hex
+         */
+        @JsonProperty("sha256")
+        private String sha256;
+
+        /**
+         * In an incremental backup, whether the file holds the whole table rather than its changed rows
+         */
+        @JsonProperty("fullCopy")
+        private Boolean fullCopy;
+    }
+}
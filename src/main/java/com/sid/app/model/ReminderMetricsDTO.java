@@ -0,0 +1,74 @@
+package com.sid.app.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Reminder dispatch health of this instance. Lag is the time between a reminder's due time and its firing.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class ReminderMetricsDTO {
+
+    @JsonProperty("dispatcherId")
+    private String dispatcherId;
+
+    @JsonProperty("enabled")
+    private Boolean enabled;
+
+    /**
+     * Leased reminders waiting in the timing wheel
+     */
+    @JsonProperty("scheduledCount")
+    private Integer scheduledCount;
+
+    @JsonProperty("firedCount")
+    private Long firedCount;
+
+    /**
+     * Wheel entries dropped at fire time because the reminder was rescheduled, removed or re-leased
+     */
+    @JsonProperty("staleCount")
+    private Long staleCount;
+
+    @JsonProperty("expiredCount")
+    private Long expiredCount;
+
+    @JsonProperty("failedBatchCount")
+    private Long failedBatchCount;
+
+    @JsonProperty("lastLagMs")
+    private Long lastLagMs;
+
+    @JsonProperty("maxLagMs")
+    private Long maxLagMs;
+
+    @JsonProperty("averageLagMs")
+    private Long averageLagMs;
+
+    /**
+     * Fired reminders per lag bucket (upper bound label, e.g. "le_1000ms")
+     */
+    @JsonProperty("lagHistogram")
+    private Map<String, Long> lagHistogram;
+
+    /**
+     * How long the oldest due, unfired reminder (across all instances) has been waiting; 0 when none is overdue
+     */
+    @JsonProperty("backlogLagMs")
+    private Long backlogLagMs;
+
+    @JsonProperty("lastPollDate")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime lastPollDate;
+
+    @JsonProperty("lastPollClaimed")
+    private Integer lastPollClaimed;
+}
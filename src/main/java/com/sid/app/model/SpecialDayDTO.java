@@ -13,7 +13,7 @@ import java.time.LocalDate;
  * DTO for Special Day data (birthdays and work anniversaries)
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -42,4 +42,11 @@ public class SpecialDayDTO {
 
     @JsonProperty("dateOfJoining")
     private LocalDate dateOfJoining;
+
+    // Set by the upcoming endpoint only: "birthday" or "work-anniversary", and the date it falls on
+    @JsonProperty("type")
+    private String type;
+
+    @JsonProperty("occursOn")
+    private LocalDate occursOn;
 }
@@ -1,6 +1,7 @@
 package com.sid.app.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.sid.app.enums.NoteCategory;
 import com.sid.app.enums.NoteColor;
@@ -35,6 +36,13 @@ public class UserNotesDTO {
     @NotBlank(message = "Note content is required")
     private String noteContent;
 
+    /**
+     * Set by list endpoints called with {@code summary=true}: whether {@code noteContent} was cut to the preview length.
+     */
+    @JsonProperty("contentTruncated")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean contentTruncated;
+
     @JsonProperty("noteType")
     @Builder.Default
     private NoteType noteType = NoteType.TEXT;
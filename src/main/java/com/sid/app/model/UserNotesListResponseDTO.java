@@ -1,8 +1,10 @@
 package com.sid.app.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
 import java.util.List;
+import java.util.Map;
 
 @Data
 @Builder
@@ -11,4 +13,10 @@ import java.util.List;
 public class UserNotesListResponseDTO {
     private List<UserNotesDTO> data;
     private PaginationDTO pagination;
+
+    /**
+     * Counts per noteType, color, category and priority value for the current filters; only present when requested.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, Map<String, Long>> facets;
 }
@@ -0,0 +1,59 @@
+package com.sid.app.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * In-app notification raised by a fired note or task reminder.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserNotificationDTO {
+
+    @JsonProperty("userNotificationId")
+    private Long userNotificationId;
+
+    @JsonProperty("userId")
+    private Long userId;
+
+    /**
+     * NOTE or TASK
+     */
+    @JsonProperty("sourceType")
+    private String sourceType;
+
+    /**
+     * userNoteId or userTaskId of the reminder's source
+     */
+    @JsonProperty("sourceId")
+    private Long sourceId;
+
+    @JsonProperty("title")
+    private String title;
+
+    @JsonProperty("message")
+    private String message;
+
+    @JsonProperty("reminderDate")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime reminderDate;
+
+    @JsonProperty("isRead")
+    private Boolean isRead;
+
+    @JsonProperty("readDate")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime readDate;
+
+    @JsonProperty("createdDate")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime createdDate;
+}
@@ -0,0 +1,23 @@
+package com.sid.app.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class UserNotificationsListResponseDTO {
+
+    @JsonProperty("data")
+    private List<UserNotificationDTO> data;
+
+    @JsonProperty("pagination")
+    private PaginationDTO pagination;
+
+    @JsonProperty("unreadCount")
+    private Long unreadCount;
+}
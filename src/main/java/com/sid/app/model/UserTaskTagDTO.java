@@ -0,0 +1,21 @@
+package com.sid.app.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+/**
+ * A tag from the user's tag dictionary together with the number of tasks using it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class UserTaskTagDTO {
+
+    @JsonProperty("tag")
+    private String tag;
+
+    @JsonProperty("usageCount")
+    private Long usageCount;
+}
@@ -0,0 +1,65 @@
+package com.sid.app.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.sid.app.enums.TaskPriority;
+import com.sid.app.enums.TaskStatus;
+import com.sid.app.enums.TaskType;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A node of a task hierarchy with descendant counts and completion roll-up for its subtree.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class UserTaskTreeNodeDTO {
+
+    @JsonProperty("userTaskId")
+    private Long userTaskId;
+
+    @JsonProperty("parentTaskId")
+    private Long parentTaskId;
+
+    @JsonProperty("taskTitle")
+    private String taskTitle;
+
+    @JsonProperty("status")
+    private TaskStatus status;
+
+    @JsonProperty("priority")
+    private TaskPriority priority;
+
+    @JsonProperty("taskType")
+    private TaskType taskType;
+
+    @JsonProperty("dueDate")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate dueDate;
+
+    @JsonProperty("depth")
+    private Integer depth;
+
+    @JsonProperty("descendantCount")
+    private Long descendantCount;
+
+    @JsonProperty("completedCount")
+    private Long completedCount;
+
+    /**
+     * Percentage of completed tasks in this subtree (node included), ignoring cancelled tasks.
+     */
+    @JsonProperty("completionRate")
+    private BigDecimal completionRate;
+
+    @JsonProperty("children")
+    @Builder.Default
+    private List<UserTaskTreeNodeDTO> children = new ArrayList<>();
+}
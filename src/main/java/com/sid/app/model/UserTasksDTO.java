@@ -1,6 +1,7 @@
 package com.sid.app.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.sid.app.enums.TaskCategory;
 import com.sid.app.enums.TaskPriority;
@@ -35,6 +36,13 @@ public class UserTasksDTO {
     @JsonProperty("taskDescription")
     private String taskDescription;
 
+    /**
+     * Set by list endpoints called with {@code summary=true}: whether {@code taskDescription} was cut to the preview length.
+     */
+    @JsonProperty("descriptionTruncated")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean descriptionTruncated;
+
     @JsonProperty("taskDate")
     @NotNull(message = "Task date is required")
     @JsonFormat(pattern = "yyyy-MM-dd")
@@ -83,6 +91,22 @@ public class UserTasksDTO {
     @JsonProperty("recurringPattern")
     private String recurringPattern;
 
+    /**
+     * Due before today in the user's timezone and not completed or cancelled (read-only).
+     */
+    @JsonProperty("isOverdue")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean isOverdue;
+
+    /**
+     * Set only on expanded occurrences of a recurring task; taskDate, dueDate, reminderDate and status
+     * then describe that occurrence.
+     */
+    @JsonProperty("occurrenceDate")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate occurrenceDate;
+
     @JsonProperty("version")
     @Builder.Default
     private Integer version = 1;
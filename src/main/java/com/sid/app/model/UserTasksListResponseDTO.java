@@ -1,9 +1,11 @@
 package com.sid.app.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.*;
 
 import java.util.List;
+import java.util.Map;
 
 @Data
 @Builder
@@ -35,4 +37,18 @@ public class UserTasksListResponseDTO {
 
     @JsonProperty("hasPrevious")
     private Boolean hasPrevious;
+
+    /**
+     * Tag to number of matching tasks across all pages, most used first; only present when requested.
+     */
+    @JsonProperty("tagFacets")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, Long> tagFacets;
+
+    /**
+     * Counts per status, priority, category and taskType value for the current filters; only present when requested.
+     */
+    @JsonProperty("facets")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, Map<String, Long>> facets;
 }
@@ -0,0 +1,31 @@
+package com.sid.app.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * One keyset page of the admin user listing. Pass nextCursor back to get the following page;
+ * totalItems is only counted for the first page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UsersListResponseDTO {
+
+    @JsonProperty("data")
+    private List<UserDTO> data;
+
+    @JsonProperty("nextCursor")
+    private String nextCursor;
+
+    @JsonProperty("hasMore")
+    private Boolean hasMore;
+
+    @JsonProperty("totalItems")
+    private Long totalItems;
+}
@@ -0,0 +1,84 @@
+package com.sid.app.repository;
+
+import com.sid.app.entity.ReminderQueue;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ReminderQueueRepository extends JpaRepository<ReminderQueue, Long> {
+
+    /**
+     * Leases the next batch of pending reminders due before the horizon that no other dispatcher holds.
+     * Rows locked by a concurrent claim are skipped rather than waited on.
+     * Rows: reminder_queue_id, source_type, source_id, user_id, fire_at (ordered by fire_at).
+     */
+    @Query(value = "WITH due AS ( " +
+                   "    SELECT reminder_queue_id FROM reminder_queue " +
+                   "    WHERE status = 'PENDING' AND fire_at <= :horizon " +
+                   "      AND (lease_until IS NULL OR lease_until < :now) " +
+                   "    ORDER BY fire_at " +
+                   "    LIMIT :batchSize " +
+                   "    FOR UPDATE SKIP LOCKED " +
+                   "), claimed AS ( " +
+                   "    UPDATE reminder_queue q SET lease_owner = :owner, lease_until = :leaseUntil, modified_date = :now " +
+                   "    FROM due WHERE q.reminder_queue_id = due.reminder_queue_id " +
+                   "    RETURNING q.reminder_queue_id, q.source_type, q.source_id, q.user_id, q.fire_at " +
+                   ") " +
+                   "SELECT reminder_queue_id, source_type, source_id, user_id, fire_at FROM claimed ORDER BY fire_at",
+           nativeQuery = true)
+    List<Object[]> claimDue(@Param("owner") String owner,
+                            @Param("now") LocalDateTime now,
+                            @Param("horizon") LocalDateTime horizon,
+                            @Param("leaseUntil") LocalDateTime leaseUntil,
+                            @Param("batchSize") int batchSize);
+
+    /**
+     * Marks leased reminders as fired and raises their notifications in one statement. Reminders no longer
+     * leased by the owner (rescheduled, removed or re-leased after expiry) or not yet due are left untouched.
+     * Rows: user_notification_id, user_id, source_type, source_id, title, message, reminder_date, created_date.
+     */
+    @Query(value = "WITH fired AS ( " +
+                   "    UPDATE reminder_queue SET status = 'FIRED', fired_at = :now, lease_owner = NULL, lease_until = NULL, " +
+                   "           modified_date = :now " +
+                   "    WHERE reminder_queue_id = ANY(CAST(:reminderQueueIds AS BIGINT[])) " +
+                   "      AND lease_owner = :owner AND status = 'PENDING' AND fire_at <= :now " +
+                   "    RETURNING source_type, source_id, user_id, fire_at " +
+                   "), notified AS ( " +
+                   "    INSERT INTO user_notifications (user_id, source_type, source_id, title, message, reminder_date, " +
+                   "                                    created_date, modified_date) " +
+                   "    SELECT f.user_id, f.source_type, f.source_id, COALESCE(t.task_title, n.note_title, 'Reminder'), " +
+                   "           'Due ' || to_char(t.due_date, 'YYYY-MM-DD'), f.fire_at, :now, :now " +
+                   "    FROM fired f " +
+                   "    LEFT JOIN user_tasks t ON f.source_type = 'TASK' AND t.user_task_id = f.source_id " +
+                   "    LEFT JOIN user_notes n ON f.source_type = 'NOTE' AND n.user_note_id = f.source_id " +
+                   "    RETURNING user_notification_id, user_id, source_type, source_id, title, message, reminder_date, created_date " +
+                   ") " +
+                   "SELECT user_notification_id, user_id, source_type, source_id, title, message, reminder_date, created_date " +
+                   "FROM notified",
+           nativeQuery = true)
+    List<Object[]> fire(@Param("owner") String owner,
+                        @Param("reminderQueueIds") Long[] reminderQueueIds,
+                        @Param("now") LocalDateTime now);
+
+    // Reminders missed by more than the grace period (e.g. while no dispatcher was running) are not replayed
+    @Modifying
+    @Query(value = "UPDATE reminder_queue SET status = 'EXPIRED', lease_owner = NULL, lease_until = NULL, modified_date = :now " +
+                   "WHERE status = 'PENDING' AND fire_at < :cutoff",
+           nativeQuery = true)
+    int expireMissed(@Param("cutoff") LocalDateTime cutoff, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "UPDATE reminder_queue SET lease_owner = NULL, lease_until = NULL " +
+                   "WHERE lease_owner = :owner AND status = 'PENDING'",
+           nativeQuery = true)
+    int releaseLeases(@Param("owner") String owner);
+
+    @Query("SELECT MIN(r.fireAt) FROM ReminderQueue r WHERE r.status = 'PENDING'")
+    LocalDateTime findOldestPendingFireAt();
+}
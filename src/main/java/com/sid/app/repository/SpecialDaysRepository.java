@@ -0,0 +1,26 @@
+package com.sid.app.repository;
+
+import java.util.List;
+
+/**
+ * Birthday and work anniversary lookups over active USER-role users, their profile and primary address,
+ * each answered by a single query. Month matching uses the expression indexes on user_profile.
+ */
+public interface SpecialDaysRepository {
+
+    // Rows of (user_id, name, email, position, city, country, date_of_birth, date_of_joining, total_count),
+    // ordered by name; total_count is the number of matches before paging
+    List<Object[]> findSpecialDays(boolean birthdays, boolean anniversaries, Integer month, int year,
+                                   String department, String location, int offset, int limit);
+
+    long countSpecialDays(boolean birthdays, boolean anniversaries, Integer month, int year,
+                          String department, String location);
+
+    // Rows of (kind, user_id, name, email, position, city, country, date_of_birth, date_of_joining, total_count)
+    // with the first {@code limit} birthdays and anniversaries of the month by name; total_count is per kind
+    List<Object[]> findTopSpecialDaysOfMonth(int month, int year, int limit);
+
+    // Rows of (user_id, name, email, position, city, country, date_of_birth, date_of_joining, department, state)
+    // for everyone with a birth or joining date, or only the given user when userId is set
+    List<Object[]> findSpecialDayMembers(Long userId, int limit);
+}
@@ -0,0 +1,137 @@
+package com.sid.app.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public class SpecialDaysRepositoryImpl implements SpecialDaysRepository {
+
+    private static final String COLUMNS = "u.user_id, u.name, u.email, p.position, a.city, a.country, " +
+            "p.date_of_birth, p.date_of_joining";
+
+    // Primary address is unique per user (ux_user_address_user_primary), so the join keeps one row per user
+    private static final String FROM = "FROM users u " +
+            "JOIN user_role r ON r.role_id = u.role_id " +
+            "JOIN user_profile p ON p.user_id = u.user_id " +
+            "LEFT JOIN user_address a ON a.user_id = u.user_id AND a.is_primary = TRUE " +
+            "WHERE u.is_active = TRUE AND r.role = 'USER'";
+
+    // Same expressions as idx_user_profile_birth_month / idx_user_profile_joining_month
+    private static final String BIRTH_MONTH = "EXTRACT(MONTH FROM p.date_of_birth)";
+    private static final String JOINING_MONTH = "EXTRACT(MONTH FROM p.date_of_joining)";
+    // Anniversaries need at least one completed year of service
+    private static final String SERVED_A_YEAR = "EXTRACT(YEAR FROM p.date_of_joining) < :year";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object[]> findSpecialDays(boolean birthdays, boolean anniversaries, Integer month, int year,
+                                          String department, String location, int offset, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        String where = buildWhere(params, birthdays, anniversaries, month, year, department, location);
+        params.put("offset", offset);
+        params.put("limit", limit);
+
+        String sql = "SELECT " + COLUMNS + ", COUNT(*) OVER () AS total_count " +
+                FROM + where +
+                " ORDER BY u.name, u.user_id " +
+                "OFFSET :offset LIMIT :limit";
+        return bind(entityManager.createNativeQuery(sql), params).getResultList();
+    }
+
+    @Override
+    public long countSpecialDays(boolean birthdays, boolean anniversaries, Integer month, int year,
+                                 String department, String location) {
+        Map<String, Object> params = new HashMap<>();
+        String where = buildWhere(params, birthdays, anniversaries, month, year, department, location);
+
+        String sql = "SELECT COUNT(*) " + FROM + where;
+        return ((Number) bind(entityManager.createNativeQuery(sql), params).getSingleResult()).longValue();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object[]> findTopSpecialDaysOfMonth(int month, int year, int limit) {
+        String sql = "WITH matches AS (" +
+                "SELECT 'BIRTHDAY' AS kind, " + COLUMNS + " " + FROM + " AND " + BIRTH_MONTH + " = :month " +
+                "UNION ALL " +
+                "SELECT 'ANNIVERSARY' AS kind, " + COLUMNS + " " + FROM + " AND " + JOINING_MONTH + " = :month" +
+                " AND " + SERVED_A_YEAR +
+                "), ranked AS (" +
+                "SELECT m.*, " +
+                "ROW_NUMBER() OVER (PARTITION BY m.kind ORDER BY m.name, m.user_id) AS rn, " +
+                "COUNT(*) OVER (PARTITION BY m.kind) AS total_count " +
+                "FROM matches m) " +
+                "SELECT kind, user_id, name, email, position, city, country, date_of_birth, date_of_joining, total_count " +
+                "FROM ranked WHERE rn <= :limit " +
+                "ORDER BY kind, rn";
+        return entityManager.createNativeQuery(sql)
+                .setParameter("month", month)
+                .setParameter("year", year)
+                .setParameter("limit", limit)
+                .getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object[]> findSpecialDayMembers(Long userId, int limit) {
+        String sql = "SELECT " + COLUMNS + ", p.department, a.state " + FROM +
+                " AND (p.date_of_birth IS NOT NULL OR p.date_of_joining IS NOT NULL)" +
+                (userId != null ? " AND u.user_id = :userId" : "") +
+                " LIMIT :limit";
+        Query query = entityManager.createNativeQuery(sql).setParameter("limit", limit);
+        if (userId != null) {
+            query.setParameter("userId", userId);
+        }
+        return query.getResultList();
+    }
+
+    private String buildWhere(Map<String, Object> params, boolean birthdays, boolean anniversaries,
+                              Integer month, int year, String department, String location) {
+        StringBuilder where = new StringBuilder();
+
+        List<String> matches = new ArrayList<>(2);
+        if (birthdays) {
+            matches.add(month != null
+                    ? BIRTH_MONTH + " = :month"
+                    : "p.date_of_birth IS NOT NULL");
+        }
+        if (anniversaries) {
+            matches.add((month != null
+                    ? JOINING_MONTH + " = :month"
+                    : "p.date_of_joining IS NOT NULL") + " AND " + SERVED_A_YEAR);
+            params.put("year", year);
+        }
+        if (matches.isEmpty()) {
+            where.append(" AND FALSE");
+        } else {
+            where.append(" AND ((").append(String.join(") OR (", matches)).append("))");
+        }
+        if (month != null && !matches.isEmpty()) {
+            params.put("month", month);
+        }
+
+        if (department != null && !department.isBlank()) {
+            where.append(" AND LOWER(p.department) = :department");
+            params.put("department", department.trim().toLowerCase(Locale.ROOT));
+        }
+        if (location != null && !location.isBlank()) {
+            where.append(" AND (LOWER(a.city) = :location OR LOWER(a.state) = :location OR LOWER(a.country) = :location)");
+            params.put("location", location.trim().toLowerCase(Locale.ROOT));
+        }
+        return where.toString();
+    }
+
+    private Query bind(Query query, Map<String, Object> params) {
+        params.forEach(query::setParameter);
+        return query;
+    }
+}
@@ -0,0 +1,105 @@
+package com.sid.app.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Facet counts over the rows a {@link Specification} selects, so they are filtered by exactly the predicates of
+ * the list they describe. Each is one grouped query; the rows per distinct combination are folded into per-facet
+ * counts here, which stays small since facets are low-cardinality enums (or tag sets of one user).
+ */
+final class SpecificationFacets {
+
+    private SpecificationFacets() {
+    }
+
+    /**
+     * @return rows of (facet, facet_value, facet_count), by facet name and then most frequent value first;
+     * the facet name is the attribute name and null values are left out
+     */
+    static <T> List<Object[]> count(EntityManager entityManager, Class<T> entityType, Specification<T> specification,
+                                    List<String> attributes) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<T> root = query.from(entityType);
+        List<Expression<?>> groups = new ArrayList<>(attributes.size());
+        attributes.forEach(attribute -> groups.add(root.get(attribute)));
+        List<Selection<?>> selections = new ArrayList<>(groups);
+        selections.add(cb.count(root));
+        query.multiselect(selections);
+        where(query, specification.toPredicate(root, query, cb));
+        query.groupBy(groups);
+
+        Map<String, Map<String, Long>> counts = new TreeMap<>();
+        for (Object[] row : entityManager.createQuery(query).getResultList()) {
+            long count = ((Number) row[attributes.size()]).longValue();
+            for (int i = 0; i < attributes.size(); i++) {
+                if (row[i] != null) {
+                    counts.computeIfAbsent(attributes.get(i), facet -> new HashMap<>())
+                            .merge(row[i] instanceof Enum<?> value ? value.name() : row[i].toString(), count, Long::sum);
+                }
+            }
+        }
+
+        List<Object[]> rows = new ArrayList<>();
+        counts.forEach((facet, values) -> mostFrequentFirst(values).forEach(value ->
+                rows.add(new Object[]{facet, value.getKey(), value.getValue()})));
+        return rows;
+    }
+
+    /**
+     * Counts the rows containing each element of an array attribute, an element counted once per row.
+     *
+     * @return rows of (element, row_count), most frequent first, at most {@code limit}
+     */
+    static <T> List<Object[]> countElements(EntityManager entityManager, Class<T> entityType,
+                                            Specification<T> specification, String attribute, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<T> root = query.from(entityType);
+        Expression<Object[]> elements = root.get(attribute);
+        query.multiselect(elements, cb.count(root));
+        where(query, specification.toPredicate(root, query, cb));
+        query.groupBy(elements);
+
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : entityManager.createQuery(query).getResultList()) {
+            if (row[0] instanceof Object[] array) {
+                long count = ((Number) row[1]).longValue();
+                Arrays.stream(array).distinct().forEach(element -> counts.merge(element.toString(), count, Long::sum));
+            }
+        }
+        return mostFrequentFirst(counts).stream()
+                .limit(limit)
+                .map(entry -> new Object[]{entry.getKey(), entry.getValue()})
+                .toList();
+    }
+
+    private static void where(CriteriaQuery<?> query, Predicate predicate) {
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+
+    // Ties by value, so the order is stable
+    private static List<Map.Entry<String, Long>> mostFrequentFirst(Map<String, Long> counts) {
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .toList();
+    }
+}
@@ -0,0 +1,20 @@
+package com.sid.app.repository;
+
+import com.sid.app.enums.UserSortField;
+
+import java.util.List;
+
+/**
+ * Admin user listing read straight into rows: users joined with their role in one query, without the password
+ * columns. Pages are keyset-based; the WHERE clause contains only the supplied filters.
+ */
+public interface UserListingRepository {
+
+    // Rows of (user_id, name, email, mobile_number, role, last_login_time, login_attempts, account_locked,
+    // is_active, sort_value) in sort order, starting after (afterValue, afterUserId) when afterUserId is set
+    List<Object[]> findUserRows(String search, String role, Boolean isActive,
+                                UserSortField sort, boolean descending,
+                                Object afterValue, Long afterUserId, int limit);
+
+    long countUsers(String search, String role, Boolean isActive);
+}
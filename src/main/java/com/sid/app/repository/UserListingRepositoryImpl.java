@@ -0,0 +1,100 @@
+package com.sid.app.repository;
+
+import com.sid.app.enums.UserSortField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public class UserListingRepositoryImpl implements UserListingRepository {
+
+    private static final String FROM = "FROM users u JOIN user_role r ON r.role_id = u.role_id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object[]> findUserRows(String search, String role, Boolean isActive,
+                                       UserSortField sort, boolean descending,
+                                       Object afterValue, Long afterUserId, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        StringBuilder where = new StringBuilder(buildWhere(params, search, role, isActive));
+        String sortExpression = sortExpression(sort);
+        String comparison = descending ? "<" : ">";
+        String direction = descending ? "DESC" : "ASC";
+
+        if (afterUserId != null) {
+            where.append(where.isEmpty() ? "WHERE " : " AND ");
+            if (sort == UserSortField.USER_ID) {
+                where.append("u.user_id ").append(comparison).append(" :afterUserId");
+            } else {
+                // Row comparison lets the (sort key, user_id) index seek straight to the next page
+                where.append("(").append(sortExpression).append(", u.user_id) ").append(comparison)
+                        .append(" (:afterValue, :afterUserId)");
+                params.put("afterValue", afterValue);
+            }
+            params.put("afterUserId", afterUserId);
+        }
+        params.put("limit", limit);
+
+        String sql = "SELECT u.user_id, u.name, u.email, u.mobile_number, r.role, u.last_login_time, " +
+                "u.login_attempts, u.account_locked, u.is_active, " + sortExpression + " AS sort_value " +
+                FROM + " " + where +
+                " ORDER BY " + sortExpression + " " + direction +
+                (sort == UserSortField.USER_ID ? "" : ", u.user_id " + direction) +
+                " LIMIT :limit";
+        return bind(entityManager.createNativeQuery(sql), params).getResultList();
+    }
+
+    @Override
+    public long countUsers(String search, String role, Boolean isActive) {
+        Map<String, Object> params = new HashMap<>();
+        String sql = "SELECT COUNT(*) " + FROM + " " + buildWhere(params, search, role, isActive);
+        return ((Number) bind(entityManager.createNativeQuery(sql), params).getSingleResult()).longValue();
+    }
+
+    // Same expressions as the users listing indexes
+    private String sortExpression(UserSortField sort) {
+        return switch (sort) {
+            case NAME -> "u.name";
+            case EMAIL -> "u.email";
+            case USER_ID -> "u.user_id";
+            // Never-logged-in users sort first ascending; a NULL would break the row comparison
+            case LAST_LOGIN_TIME -> "COALESCE(u.last_login_time, TIMESTAMPTZ '1970-01-01 00:00:00+00')";
+        };
+    }
+
+    private String buildWhere(Map<String, Object> params, String search, String role, Boolean isActive) {
+        StringBuilder where = new StringBuilder();
+        if (search != null && !search.isBlank()) {
+            where.append(" AND (LOWER(u.name) LIKE :searchPattern ESCAPE '\\'" +
+                    " OR LOWER(u.email) LIKE :searchPattern ESCAPE '\\'" +
+                    " OR u.mobile_number LIKE :searchPattern ESCAPE '\\')");
+            params.put("searchPattern", "%" + escapeLike(search.trim().toLowerCase(Locale.ROOT)) + "%");
+        }
+        if (role != null && !role.isBlank()) {
+            where.append(" AND r.role = :role");
+            params.put("role", role.trim().toUpperCase(Locale.ROOT));
+        }
+        if (isActive != null) {
+            where.append(" AND u.is_active = :isActive");
+            params.put("isActive", isActive);
+        }
+        return where.isEmpty() ? "" : "WHERE" + where.substring(" AND".length());
+    }
+
+    // The search term matches literally; '_' and '%' in it are not wildcards
+    private String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private Query bind(Query query, Map<String, Object> params) {
+        params.forEach(query::setParameter);
+        return query;
+    }
+}
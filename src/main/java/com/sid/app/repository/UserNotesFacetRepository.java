@@ -0,0 +1,16 @@
+package com.sid.app.repository;
+
+import com.sid.app.entity.UserNotes;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Facet counts for the filtered note list, over the same {@link Specification} as the list itself
+ * (UserNotesSpecifications.withFilters), so counts and list never disagree about the filters.
+ */
+public interface UserNotesFacetRepository {
+
+    // Rows of (facet, facet_value, facet_count) for noteType, color, category and priority in one grouped query
+    List<Object[]> countFacets(Specification<UserNotes> filter);
+}
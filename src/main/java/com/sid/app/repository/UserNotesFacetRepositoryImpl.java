@@ -0,0 +1,21 @@
+package com.sid.app.repository;
+
+import com.sid.app.entity.UserNotes;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public class UserNotesFacetRepositoryImpl implements UserNotesFacetRepository {
+
+    private static final List<String> FACETS = List.of("noteType", "color", "category", "priority");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Object[]> countFacets(Specification<UserNotes> filter) {
+        return SpecificationFacets.count(entityManager, UserNotes.class, filter, FACETS);
+    }
+}
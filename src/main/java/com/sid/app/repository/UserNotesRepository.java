@@ -4,9 +4,11 @@ import com.sid.app.entity.UserNotes;
 import com.sid.app.enums.NoteCategory;
 import com.sid.app.enums.NoteStatus;
 import com.sid.app.enums.NoteType;
+import com.sid.app.repository.projection.UserNoteRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -17,57 +19,64 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserNotesRepository extends JpaRepository<UserNotes, Long> {
+public interface UserNotesRepository extends JpaRepository<UserNotes, Long>, JpaSpecificationExecutor<UserNotes>,
+        UserNotesFacetRepository, UserNotesRowRepository {
+
+    // List rows; note content is cut to :contentLength characters by the database
+    String NOTE_ROWS = "SELECT new com.sid.app.repository.projection.UserNoteRow(n.userNoteId, n.userId, n.noteTitle, " +
+            "SUBSTRING(n.noteContent, 1, :contentLength), n.noteType, n.color, n.category, n.priority, n.status, " +
+            "n.isPinned, n.isShared, n.reminderDate, n.version, n.accessCount, n.lastAccessedDate, " +
+            "n.createdDate, n.modifiedDate) FROM UserNotes n ";
 
     // Find notes by user ID with pagination
-    Page<UserNotes> findByUserIdAndStatusNot(Long userId, NoteStatus status, Pageable pageable);
+    @Query(NOTE_ROWS + "WHERE n.userId = :userId AND n.status <> :excludeStatus")
+    Page<UserNoteRow> findRowsByUserIdAndStatusNot(@Param("userId") Long userId,
+                                                  @Param("excludeStatus") NoteStatus excludeStatus,
+                                                  @Param("contentLength") int contentLength,
+                                                  Pageable pageable);
 
     // Find specific note by ID and user ID
     Optional<UserNotes> findByUserNoteIdAndUserId(Long userNoteId, Long userId);
 
     // Find notes by user ID and type
-    Page<UserNotes> findByUserIdAndNoteTypeAndStatusNot(Long userId, NoteType noteType, NoteStatus status, Pageable pageable);
+    @Query(NOTE_ROWS + "WHERE n.userId = :userId AND n.noteType = :noteType AND n.status <> :excludeStatus")
+    Page<UserNoteRow> findRowsByUserIdAndNoteTypeAndStatusNot(@Param("userId") Long userId,
+                                                             @Param("noteType") NoteType noteType,
+                                                             @Param("excludeStatus") NoteStatus excludeStatus,
+                                                             @Param("contentLength") int contentLength,
+                                                             Pageable pageable);
 
     // Find notes by user ID and category
-    Page<UserNotes> findByUserIdAndCategoryAndStatusNot(Long userId, NoteCategory category, NoteStatus status, Pageable pageable);
+    @Query(NOTE_ROWS + "WHERE n.userId = :userId AND n.category = :category AND n.status <> :excludeStatus")
+    Page<UserNoteRow> findRowsByUserIdAndCategoryAndStatusNot(@Param("userId") Long userId,
+                                                             @Param("category") NoteCategory category,
+                                                             @Param("excludeStatus") NoteStatus excludeStatus,
+                                                             @Param("contentLength") int contentLength,
+                                                             Pageable pageable);
 
     // Find pinned notes
-    Page<UserNotes> findByUserIdAndIsPinnedTrueAndStatusNot(Long userId, NoteStatus status, Pageable pageable);
+    @Query(NOTE_ROWS + "WHERE n.userId = :userId AND n.isPinned = true AND n.status <> :excludeStatus")
+    Page<UserNoteRow> findPinnedRows(@Param("userId") Long userId,
+                                     @Param("excludeStatus") NoteStatus excludeStatus,
+                                     @Param("contentLength") int contentLength,
+                                     Pageable pageable);
 
     // Find archived notes
-    Page<UserNotes> findByUserIdAndStatus(Long userId, NoteStatus status, Pageable pageable);
+    @Query(NOTE_ROWS + "WHERE n.userId = :userId AND n.status = :status")
+    Page<UserNoteRow> findRowsByUserIdAndStatus(@Param("userId") Long userId,
+                                                @Param("status") NoteStatus status,
+                                                @Param("contentLength") int contentLength,
+                                                Pageable pageable);
 
     // Search notes by title and content
-    @Query("SELECT n FROM UserNotes n WHERE n.userId = :userId AND n.status != :excludeStatus AND " +
+    @Query(NOTE_ROWS + "WHERE n.userId = :userId AND n.status != :excludeStatus AND " +
            "(LOWER(n.noteTitle) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
            "LOWER(n.noteContent) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
-    Page<UserNotes> searchNotes(@Param("userId") Long userId,
-                          @Param("searchTerm") String searchTerm,
-                          @Param("excludeStatus") NoteStatus excludeStatus,
-                          Pageable pageable);
-
-    // Complex filtering query
-    @Query("SELECT n FROM UserNotes n WHERE n.userId = :userId " +
-           "AND (:noteType IS NULL OR n.noteType = :noteType) " +
-           "AND (:color IS NULL OR n.color = :color) " +
-           "AND (:category IS NULL OR n.category = :category) " +
-           "AND (:priority IS NULL OR n.priority = :priority) " +
-           "AND (:status IS NULL OR n.status = :status) " +
-           "AND (:isPinned IS NULL OR n.isPinned = :isPinned) " +
-           "AND (:isShared IS NULL OR n.isShared = :isShared) " +
-           "AND (:startDate IS NULL OR n.createdDate >= :startDate) " +
-           "AND (:endDate IS NULL OR n.createdDate <= :endDate)")
-    Page<UserNotes> findNotesWithFilters(@Param("userId") Long userId,
-                                   @Param("noteType") NoteType noteType,
-                                   @Param("color") com.sid.app.enums.NoteColor color,
-                                   @Param("category") NoteCategory category,
-                                   @Param("priority") com.sid.app.enums.NotePriority priority,
-                                   @Param("status") NoteStatus status,
-                                   @Param("isPinned") Boolean isPinned,
-                                   @Param("isShared") Boolean isShared,
-                                   @Param("startDate") LocalDateTime startDate,
-                                   @Param("endDate") LocalDateTime endDate,
-                                   Pageable pageable);
+    Page<UserNoteRow> searchNoteRows(@Param("userId") Long userId,
+                                     @Param("searchTerm") String searchTerm,
+                                     @Param("excludeStatus") NoteStatus excludeStatus,
+                                     @Param("contentLength") int contentLength,
+                                     Pageable pageable);
 
     // Statistics queries
     @Query("SELECT COUNT(n) FROM UserNotes n WHERE n.userId = :userId AND n.status != :excludeStatus")
@@ -98,13 +107,51 @@ public interface UserNotesRepository extends JpaRepository<UserNotes, Long> {
     Long countNotesWithReminders(@Param("userId") Long userId, @Param("excludeStatus") NoteStatus excludeStatus);
 
     // Recently modified notes
-    @Query("SELECT n FROM UserNotes n WHERE n.userId = :userId AND n.status != :excludeStatus ORDER BY n.modifiedDate DESC")
-    List<UserNotes> findRecentlyModified(@Param("userId") Long userId, @Param("excludeStatus") NoteStatus excludeStatus, Pageable pageable);
+    @Query(NOTE_ROWS + "WHERE n.userId = :userId AND n.status != :excludeStatus ORDER BY n.modifiedDate DESC")
+    List<UserNoteRow> findRecentlyModifiedRows(@Param("userId") Long userId,
+                                               @Param("excludeStatus") NoteStatus excludeStatus,
+                                               @Param("contentLength") int contentLength,
+                                               Pageable pageable);
 
     // Bulk operations
     @Query("SELECT n FROM UserNotes n WHERE n.userNoteId IN :userNoteIds AND n.userId = :userId")
     List<UserNotes> findByUserNoteIdsAndUserId(@Param("userNoteIds") List<Long> userNoteIds, @Param("userId") Long userId);
 
+    // Set-based bulk update: null arguments leave the column untouched, updated rows are returned in the same round trip
+    @Query(value = "UPDATE user_notes SET " +
+           "color = COALESCE(CAST(:color AS VARCHAR), color), " +
+           "category = COALESCE(CAST(:category AS VARCHAR), category), " +
+           "priority = COALESCE(CAST(:priority AS VARCHAR), priority), " +
+           "status = COALESCE(CAST(:status AS VARCHAR), status), " +
+           "is_pinned = COALESCE(CAST(:isPinned AS BOOLEAN), is_pinned), " +
+           "version = version + 1, " +
+           "modified_date = :modifiedDate " +
+           "WHERE user_note_id = ANY(CAST(:userNoteIds AS BIGINT[])) AND user_id = :userId " +
+           "RETURNING *",
+           nativeQuery = true)
+    List<UserNotes> bulkUpdateNotes(@Param("userNoteIds") Long[] userNoteIds,
+                                    @Param("userId") Long userId,
+                                    @Param("color") String color,
+                                    @Param("category") String category,
+                                    @Param("priority") String priority,
+                                    @Param("status") String status,
+                                    @Param("isPinned") Boolean isPinned,
+                                    @Param("modifiedDate") LocalDateTime modifiedDate);
+
+    @Modifying
+    @Query(value = "UPDATE user_notes SET status = :status, modified_date = :modifiedDate " +
+           "WHERE user_note_id = ANY(CAST(:userNoteIds AS BIGINT[])) AND user_id = :userId",
+           nativeQuery = true)
+    int bulkUpdateStatus(@Param("userNoteIds") Long[] userNoteIds,
+                         @Param("userId") Long userId,
+                         @Param("status") String status,
+                         @Param("modifiedDate") LocalDateTime modifiedDate);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_notes WHERE user_note_id = ANY(CAST(:userNoteIds AS BIGINT[])) AND user_id = :userId",
+           nativeQuery = true)
+    int bulkDeleteNotes(@Param("userNoteIds") Long[] userNoteIds, @Param("userId") Long userId);
+
     // Update access count and last accessed date
     @Modifying
     @Query("UPDATE UserNotes n SET n.accessCount = n.accessCount + 1, n.lastAccessedDate = :accessTime WHERE n.userNoteId = :userNoteId AND n.userId = :userId")
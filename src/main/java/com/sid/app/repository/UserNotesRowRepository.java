@@ -0,0 +1,15 @@
+package com.sid.app.repository;
+
+import com.sid.app.entity.UserNotes;
+import com.sid.app.repository.projection.UserNoteRow;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * The filtered note list as {@link UserNoteRow}s, with note content cut to {@code contentLength} characters.
+ */
+public interface UserNotesRowRepository {
+
+    Page<UserNoteRow> findRows(Specification<UserNotes> specification, int contentLength, Pageable pageable);
+}
@@ -0,0 +1,28 @@
+package com.sid.app.repository;
+
+import com.sid.app.entity.UserNotes;
+import com.sid.app.repository.projection.UserNoteRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+public class UserNotesRowRepositoryImpl implements UserNotesRowRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<UserNoteRow> findRows(Specification<UserNotes> specification, int contentLength, Pageable pageable) {
+        // Same columns, in the same order, as UserNotesRepository.NOTE_ROWS
+        return SpecificationRows.page(entityManager, UserNotes.class, UserNoteRow.class, specification, pageable,
+                (n, cb) -> new Selection<?>[]{
+                        n.get("userNoteId"), n.get("userId"), n.get("noteTitle"),
+                        cb.substring(n.get("noteContent"), 1, contentLength),
+                        n.get("noteType"), n.get("color"), n.get("category"), n.get("priority"), n.get("status"),
+                        n.get("isPinned"), n.get("isShared"), n.get("reminderDate"), n.get("version"),
+                        n.get("accessCount"), n.get("lastAccessedDate"), n.get("createdDate"), n.get("modifiedDate")});
+    }
+}
@@ -0,0 +1,42 @@
+package com.sid.app.repository;
+
+import com.sid.app.entity.UserNotification;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UserNotificationRepository extends JpaRepository<UserNotification, Long> {
+
+    Page<UserNotification> findByUserIdOrderByUserNotificationIdDesc(Long userId, Pageable pageable);
+
+    Page<UserNotification> findByUserIdAndIsReadFalseOrderByUserNotificationIdDesc(Long userId, Pageable pageable);
+
+    long countByUserIdAndIsReadFalse(Long userId);
+
+    // Replay for a reconnecting stream (SSE Last-Event-ID)
+    List<UserNotification> findTop50ByUserIdAndUserNotificationIdGreaterThanOrderByUserNotificationIdAsc(Long userId,
+                                                                                                           Long userNotificationId);
+
+    @Modifying
+    @Query(value = "UPDATE user_notifications SET is_read = TRUE, read_date = :readDate, modified_date = :readDate " +
+                   "WHERE user_notification_id = ANY(CAST(:userNotificationIds AS BIGINT[])) " +
+                   "AND user_id = :userId AND is_read = FALSE",
+           nativeQuery = true)
+    int markRead(@Param("userId") Long userId,
+                 @Param("userNotificationIds") Long[] userNotificationIds,
+                 @Param("readDate") LocalDateTime readDate);
+
+    @Modifying
+    @Query(value = "UPDATE user_notifications SET is_read = TRUE, read_date = :readDate, modified_date = :readDate " +
+                   "WHERE user_id = :userId AND is_read = FALSE",
+           nativeQuery = true)
+    int markAllRead(@Param("userId") Long userId, @Param("readDate") LocalDateTime readDate);
+}
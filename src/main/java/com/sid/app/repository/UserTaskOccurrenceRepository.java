@@ -0,0 +1,25 @@
+package com.sid.app.repository;
+
+import com.sid.app.entity.UserTaskOccurrence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UserTaskOccurrenceRepository extends JpaRepository<UserTaskOccurrence, Long> {
+
+    Optional<UserTaskOccurrence> findByUserTaskIdAndOccurrenceDate(Long userTaskId, LocalDate occurrenceDate);
+
+    // Exceptions of several series within one expansion window
+    @Query("SELECT o FROM UserTaskOccurrence o WHERE o.userTaskId IN :userTaskIds " +
+           "AND o.occurrenceDate BETWEEN :startDate AND :endDate")
+    List<UserTaskOccurrence> findExceptions(@Param("userTaskIds") Collection<Long> userTaskIds,
+                                            @Param("startDate") LocalDate startDate,
+                                            @Param("endDate") LocalDate endDate);
+}
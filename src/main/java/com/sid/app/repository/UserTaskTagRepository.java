@@ -0,0 +1,13 @@
+package com.sid.app.repository;
+
+import com.sid.app.entity.UserTaskTag;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface UserTaskTagRepository extends JpaRepository<UserTaskTag, Long> {
+
+    List<UserTaskTag> findByUserId(Long userId);
+}
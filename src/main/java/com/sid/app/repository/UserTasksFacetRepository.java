@@ -0,0 +1,19 @@
+package com.sid.app.repository;
+
+import com.sid.app.entity.UserTasks;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Facet counts for the filtered task list, over the same {@link Specification} as the list itself
+ * (UserTasksSpecifications.withFilters), so counts and list never disagree about the filters.
+ */
+public interface UserTasksFacetRepository {
+
+    // Rows of (facet, facet_value, facet_count) for status, priority, category and taskType in one grouped query
+    List<Object[]> countFacets(Specification<UserTasks> filter);
+
+    // Rows of (tag, task_count), most used first
+    List<Object[]> countTagFacets(Specification<UserTasks> filter, int limit);
+}
@@ -0,0 +1,26 @@
+package com.sid.app.repository;
+
+import com.sid.app.entity.UserTasks;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public class UserTasksFacetRepositoryImpl implements UserTasksFacetRepository {
+
+    private static final List<String> FACETS = List.of("status", "priority", "category", "taskType");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Object[]> countFacets(Specification<UserTasks> filter) {
+        return SpecificationFacets.count(entityManager, UserTasks.class, filter, FACETS);
+    }
+
+    @Override
+    public List<Object[]> countTagFacets(Specification<UserTasks> filter, int limit) {
+        return SpecificationFacets.countElements(entityManager, UserTasks.class, filter, "tags", limit);
+    }
+}
@@ -5,9 +5,11 @@ import com.sid.app.enums.TaskCategory;
 import com.sid.app.enums.TaskPriority;
 import com.sid.app.enums.TaskStatus;
 import com.sid.app.enums.TaskType;
+import com.sid.app.repository.projection.UserTaskRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -19,75 +21,116 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserTasksRepository extends JpaRepository<UserTasks, Long> {
+public interface UserTasksRepository extends JpaRepository<UserTasks, Long>, JpaSpecificationExecutor<UserTasks>,
+        UserTasksFacetRepository, UserTasksRowRepository {
+
+    // List rows; the task description is cut to :descriptionLength characters by the database
+    String TASK_ROWS = "SELECT new com.sid.app.repository.projection.UserTaskRow(t.userTaskId, t.userId, t.taskTitle, " +
+            "SUBSTRING(t.taskDescription, 1, :descriptionLength), t.taskDate, t.status, t.priority, t.category, " +
+            "t.taskType, t.dueDate, t.reminderDate, t.tags, t.parentTaskId, t.createdBy, t.remarks, t.isRecurring, " +
+            "t.recurringPattern, t.isOverdue, t.version, t.accessCount, t.lastAccessedDate, " +
+            "t.createdDate, t.modifiedDate) FROM UserTasks t ";
 
     // Basic CRUD operations
     Optional<UserTasks> findByUserTaskIdAndUserId(Long userTaskId, Long userId);
 
-    Page<UserTasks> findByUserIdOrderByCreatedDateDesc(Long userId, Pageable pageable);
+    @Query(TASK_ROWS + "WHERE t.userId = :userId ORDER BY t.createdDate DESC")
+    Page<UserTaskRow> findRowsByUserId(@Param("userId") Long userId,
+                                       @Param("descriptionLength") int descriptionLength,
+                                       Pageable pageable);
 
     // Status-based queries
-    Page<UserTasks> findByUserIdAndStatus(Long userId, TaskStatus status, Pageable pageable);
+    @Query(TASK_ROWS + "WHERE t.userId = :userId AND t.status = :status")
+    Page<UserTaskRow> findRowsByUserIdAndStatus(@Param("userId") Long userId,
+                                                @Param("status") TaskStatus status,
+                                                @Param("descriptionLength") int descriptionLength,
+                                                Pageable pageable);
 
     List<UserTasks> findByUserIdAndStatus(Long userId, TaskStatus status);
 
     // Priority-based queries
-    Page<UserTasks> findByUserIdAndPriority(Long userId, TaskPriority priority, Pageable pageable);
+    @Query(TASK_ROWS + "WHERE t.userId = :userId AND t.priority = :priority")
+    Page<UserTaskRow> findRowsByUserIdAndPriority(@Param("userId") Long userId,
+                                                  @Param("priority") TaskPriority priority,
+                                                  @Param("descriptionLength") int descriptionLength,
+                                                  Pageable pageable);
 
     // Category-based queries
-    Page<UserTasks> findByUserIdAndCategory(Long userId, TaskCategory category, Pageable pageable);
+    @Query(TASK_ROWS + "WHERE t.userId = :userId AND t.category = :category")
+    Page<UserTaskRow> findRowsByUserIdAndCategory(@Param("userId") Long userId,
+                                                  @Param("category") TaskCategory category,
+                                                  @Param("descriptionLength") int descriptionLength,
+                                                  Pageable pageable);
 
     // Type-based queries
-    Page<UserTasks> findByUserIdAndTaskType(Long userId, TaskType taskType, Pageable pageable);
+    @Query(TASK_ROWS + "WHERE t.userId = :userId AND t.taskType = :taskType")
+    Page<UserTaskRow> findRowsByUserIdAndTaskType(@Param("userId") Long userId,
+                                                  @Param("taskType") TaskType taskType,
+                                                  @Param("descriptionLength") int descriptionLength,
+                                                  Pageable pageable);
+
+    // Date-based queries for one-off tasks; recurring series are expanded into occurrences separately
+    @Query(TASK_ROWS + "WHERE t.userId = :userId " +
+           "AND (t.isRecurring = false OR t.recurringPattern IS NULL) " +
+           "AND t.taskDate BETWEEN :startDate AND :endDate ORDER BY t.taskDate, t.userTaskId")
+    List<UserTaskRow> findOneOffRowsByTaskDateBetween(@Param("userId") Long userId,
+                                                      @Param("startDate") LocalDate startDate,
+                                                      @Param("endDate") LocalDate endDate,
+                                                      @Param("descriptionLength") int descriptionLength);
+
+    @Query(TASK_ROWS + "WHERE t.userId = :userId " +
+           "AND (t.isRecurring = false OR t.recurringPattern IS NULL) " +
+           "AND t.dueDate BETWEEN :startDate AND :endDate ORDER BY t.dueDate, t.userTaskId")
+    List<UserTaskRow> findOneOffRowsByDueDateBetween(@Param("userId") Long userId,
+                                                     @Param("startDate") LocalDate startDate,
+                                                     @Param("endDate") LocalDate endDate,
+                                                     @Param("descriptionLength") int descriptionLength);
 
-    // Date-based queries
-    Page<UserTasks> findByUserIdAndTaskDateBetween(Long userId, LocalDate startDate, LocalDate endDate, Pageable pageable);
+    // Recurring series that can have occurrences up to endDate
+    @Query("SELECT t FROM UserTasks t WHERE t.userId = :userId AND t.isRecurring = true " +
+           "AND t.recurringPattern IS NOT NULL AND t.taskDate <= :endDate")
+    List<UserTasks> findRecurringSeries(@Param("userId") Long userId, @Param("endDate") LocalDate endDate);
 
-    Page<UserTasks> findByUserIdAndDueDateBetween(Long userId, LocalDate startDate, LocalDate endDate, Pageable pageable);
+    @Query("SELECT COUNT(t) > 0 FROM UserTasks t WHERE t.userId = :userId AND t.isRecurring = true " +
+           "AND t.recurringPattern IS NOT NULL")
+    boolean existsRecurringSeries(@Param("userId") Long userId);
 
-    // Overdue tasks
-    @Query("SELECT t FROM UserTasks t WHERE t.userId = :userId AND t.dueDate < :currentDate AND t.status NOT IN (:excludeStatuses)")
-    Page<UserTasks> findOverdueTasks(@Param("userId") Long userId,
-                                    @Param("currentDate") LocalDate currentDate,
-                                    @Param("excludeStatuses") List<TaskStatus> excludeStatuses,
-                                    Pageable pageable);
+    // Overdue one-off tasks, served from the precomputed is_overdue flag
+    // (overdue occurrences of recurring series are expanded separately)
+    @Query(TASK_ROWS + "WHERE t.userId = :userId AND t.isOverdue = true")
+    Page<UserTaskRow> findOverdueRows(@Param("userId") Long userId,
+                                      @Param("descriptionLength") int descriptionLength,
+                                      Pageable pageable);
 
-    @Query("SELECT t FROM UserTasks t WHERE t.userId = :userId AND t.dueDate < :currentDate AND t.status NOT IN (:excludeStatuses)")
-    List<UserTasks> findOverdueTasks(@Param("userId") Long userId,
-                                   @Param("currentDate") LocalDate currentDate,
-                                   @Param("excludeStatuses") List<TaskStatus> excludeStatuses);
+    @Query("SELECT COUNT(t) FROM UserTasks t WHERE t.userId = :userId AND t.isOverdue = true")
+    long countOverdueTasks(@Param("userId") Long userId);
+
+    // Flags one batch of open one-off tasks whose due date has passed in their owner's timezone.
+    // Only the last lookbackDays of due dates are scanned (idx_user_tasks_due_date_status); older ones
+    // were flagged when written or by earlier sweeps. Rows locked by concurrent writers are left for the next batch.
+    @Modifying
+    @Query(value = "UPDATE user_tasks SET is_overdue = TRUE " +
+                   "WHERE user_task_id IN ( " +
+                   "    SELECT user_task_id FROM user_tasks " +
+                   "    WHERE due_date BETWEEN CAST(CURRENT_TIMESTAMP AT TIME ZONE 'UTC' AS DATE) - :lookbackDays " +
+                   "                       AND CAST(CURRENT_TIMESTAMP AT TIME ZONE 'UTC' AS DATE) " +
+                   "      AND status NOT IN ('COMPLETED', 'CANCELLED') " +
+                   "      AND is_overdue = FALSE " +
+                   "      AND user_tasks_is_overdue(user_id, due_date, status, is_recurring, recurring_pattern) " +
+                   "    LIMIT :batchSize " +
+                   "    FOR UPDATE SKIP LOCKED)",
+           nativeQuery = true)
+    int flagOverdueTasks(@Param("lookbackDays") int lookbackDays, @Param("batchSize") int batchSize);
 
     // Search functionality
-    @Query("SELECT t FROM UserTasks t WHERE t.userId = :userId AND " +
+    @Query(TASK_ROWS + "WHERE t.userId = :userId AND " +
            "(LOWER(t.taskTitle) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
            "LOWER(t.taskDescription) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
            "LOWER(t.remarks) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
-    Page<UserTasks> searchTasks(@Param("userId") Long userId,
-                               @Param("searchTerm") String searchTerm,
-                               Pageable pageable);
-
-    // Complex filtering with multiple criteria
-    @Query("SELECT t FROM UserTasks t WHERE t.userId = :userId " +
-           "AND (:status IS NULL OR t.status = :status) " +
-           "AND (:priority IS NULL OR t.priority = :priority) " +
-           "AND (:category IS NULL OR t.category = :category) " +
-           "AND (:taskType IS NULL OR t.taskType = :taskType) " +
-           "AND (:startDate IS NULL OR t.taskDate >= :startDate) " +
-           "AND (:endDate IS NULL OR t.taskDate <= :endDate) " +
-           "AND (:dueDateStart IS NULL OR t.dueDate >= :dueDateStart) " +
-           "AND (:dueDateEnd IS NULL OR t.dueDate <= :dueDateEnd) " +
-           "AND (:isRecurring IS NULL OR t.isRecurring = :isRecurring)")
-    Page<UserTasks> findTasksWithFilters(@Param("userId") Long userId,
-                                        @Param("status") TaskStatus status,
-                                        @Param("priority") TaskPriority priority,
-                                        @Param("category") TaskCategory category,
-                                        @Param("taskType") TaskType taskType,
-                                        @Param("startDate") LocalDate startDate,
-                                        @Param("endDate") LocalDate endDate,
-                                        @Param("dueDateStart") LocalDate dueDateStart,
-                                        @Param("dueDateEnd") LocalDate dueDateEnd,
-                                        @Param("isRecurring") Boolean isRecurring,
-                                        Pageable pageable);
+    Page<UserTaskRow> searchTaskRows(@Param("userId") Long userId,
+                                     @Param("searchTerm") String searchTerm,
+                                     @Param("descriptionLength") int descriptionLength,
+                                     Pageable pageable);
 
     // Statistics queries
     @Query("SELECT COUNT(t) FROM UserTasks t WHERE t.userId = :userId")
@@ -109,38 +152,114 @@ public interface UserTasksRepository extends JpaRepository<UserTasks, Long> {
     List<Object[]> countByTaskType(@Param("userId") Long userId);
 
     // Recently modified tasks
-    @Query("SELECT t FROM UserTasks t WHERE t.userId = :userId ORDER BY t.modifiedDate DESC")
-    List<UserTasks> findRecentlyModified(@Param("userId") Long userId, Pageable pageable);
-
-    // Upcoming deadlines
-    @Query("SELECT t FROM UserTasks t WHERE t.userId = :userId AND t.dueDate BETWEEN :startDate AND :endDate " +
-           "AND t.status NOT IN (:excludeStatuses) ORDER BY t.dueDate ASC")
-    List<UserTasks> findUpcomingDeadlines(@Param("userId") Long userId,
-                                         @Param("startDate") LocalDate startDate,
-                                         @Param("endDate") LocalDate endDate,
-                                         @Param("excludeStatuses") List<TaskStatus> excludeStatuses,
-                                         Pageable pageable);
+    @Query(TASK_ROWS + "WHERE t.userId = :userId ORDER BY t.modifiedDate DESC")
+    List<UserTaskRow> findRecentlyModifiedRows(@Param("userId") Long userId,
+                                               @Param("descriptionLength") int descriptionLength,
+                                               Pageable pageable);
+
+    // Upcoming deadlines of one-off tasks
+    @Query(TASK_ROWS + "WHERE t.userId = :userId AND t.dueDate BETWEEN :startDate AND :endDate " +
+           "AND t.status NOT IN (:excludeStatuses) AND (t.isRecurring = false OR t.recurringPattern IS NULL) " +
+           "ORDER BY t.dueDate ASC")
+    List<UserTaskRow> findUpcomingDeadlineRows(@Param("userId") Long userId,
+                                               @Param("startDate") LocalDate startDate,
+                                               @Param("endDate") LocalDate endDate,
+                                               @Param("excludeStatuses") List<TaskStatus> excludeStatuses,
+                                               @Param("descriptionLength") int descriptionLength,
+                                               Pageable pageable);
 
     // Bulk operations
     @Query("SELECT t FROM UserTasks t WHERE t.userTaskId IN :userTaskIds AND t.userId = :userId")
     List<UserTasks> findByUserTaskIdsAndUserId(@Param("userTaskIds") List<Long> userTaskIds, @Param("userId") Long userId);
 
+    @Query(value = "SELECT COUNT(*) FROM user_tasks WHERE user_task_id = ANY(CAST(:userTaskIds AS BIGINT[])) AND user_id = :userId",
+           nativeQuery = true)
+    long countByUserTaskIdsAndUserId(@Param("userTaskIds") Long[] userTaskIds, @Param("userId") Long userId);
+
+    // Set-based bulk update: null arguments leave the column untouched, updated rows are returned in the same round trip
+    @Query(value = "UPDATE user_tasks SET " +
+           "status = COALESCE(CAST(:status AS VARCHAR), status), " +
+           "priority = COALESCE(CAST(:priority AS VARCHAR), priority), " +
+           "category = COALESCE(CAST(:category AS VARCHAR), category), " +
+           "task_type = COALESCE(CAST(:taskType AS VARCHAR), task_type), " +
+           "remarks = COALESCE(CAST(:remarks AS TEXT), remarks), " +
+           "version = version + 1, " +
+           "modified_date = :modifiedDate " +
+           "WHERE user_task_id = ANY(CAST(:userTaskIds AS BIGINT[])) AND user_id = :userId " +
+           "RETURNING *",
+           nativeQuery = true)
+    List<UserTasks> bulkUpdateTasks(@Param("userTaskIds") Long[] userTaskIds,
+                                    @Param("userId") Long userId,
+                                    @Param("status") String status,
+                                    @Param("priority") String priority,
+                                    @Param("category") String category,
+                                    @Param("taskType") String taskType,
+                                    @Param("remarks") String remarks,
+                                    @Param("modifiedDate") LocalDateTime modifiedDate);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_tasks WHERE user_task_id = ANY(CAST(:userTaskIds AS BIGINT[])) AND user_id = :userId",
+           nativeQuery = true)
+    int bulkDeleteTasks(@Param("userTaskIds") Long[] userTaskIds, @Param("userId") Long userId);
+
     // Parent-child relationship queries
-    List<UserTasks> findByUserIdAndParentTaskId(Long userId, Long parentTaskId);
+    @Query(TASK_ROWS + "WHERE t.userId = :userId AND t.parentTaskId = :parentTaskId")
+    List<UserTaskRow> findSubtaskRows(@Param("userId") Long userId,
+                                      @Param("parentTaskId") Long parentTaskId,
+                                      @Param("descriptionLength") int descriptionLength);
 
     @Query("SELECT COUNT(t) FROM UserTasks t WHERE t.parentTaskId = :parentTaskId")
     Long countSubtasks(@Param("parentTaskId") Long parentTaskId);
 
+    // Parents (among the given ids) that still have subtasks, resolved in one grouped query
+    @Query("SELECT t.parentTaskId FROM UserTasks t WHERE t.parentTaskId IN :parentTaskIds " +
+           "GROUP BY t.parentTaskId ORDER BY t.parentTaskId")
+    List<Long> findParentIdsWithSubtasks(@Param("parentTaskIds") List<Long> parentTaskIds);
+
+    // Whole hierarchy in one round trip: the recursive CTE walks parent_task_id, the rollup CTE
+    // credits every row to each of its ancestors (and itself) via the lineage array.
+    // Columns: user_task_id, parent_task_id, task_title, status, priority, task_type, due_date,
+    //          depth, descendant_count, completed_count, countable_count
+    @Query(value = "WITH RECURSIVE tree AS (" +
+           "    SELECT t.user_task_id, t.parent_task_id, t.task_title, t.status, t.priority, t.task_type, t.due_date, " +
+           "           0 AS depth, ARRAY[t.user_task_id] AS lineage " +
+           "    FROM user_tasks t " +
+           "    WHERE t.user_id = :userId " +
+           "      AND ((CAST(:rootTaskId AS BIGINT) IS NULL AND t.parent_task_id IS NULL) " +
+           "           OR t.user_task_id = CAST(:rootTaskId AS BIGINT)) " +
+           "    UNION ALL " +
+           "    SELECT c.user_task_id, c.parent_task_id, c.task_title, c.status, c.priority, c.task_type, c.due_date, " +
+           "           p.depth + 1, p.lineage || c.user_task_id " +
+           "    FROM user_tasks c " +
+           "    JOIN tree p ON c.parent_task_id = p.user_task_id " +
+           "    WHERE c.user_id = :userId AND c.user_task_id <> ALL(p.lineage)" +
+           "), rollup AS (" +
+           "    SELECT a.ancestor_id, " +
+           "           COUNT(*) AS subtree_size, " +
+           "           COUNT(*) FILTER (WHERE tr.status = 'COMPLETED') AS completed_count, " +
+           "           COUNT(*) FILTER (WHERE tr.status <> 'CANCELLED') AS countable_count " +
+           "    FROM tree tr CROSS JOIN LATERAL unnest(tr.lineage) AS a(ancestor_id) " +
+           "    GROUP BY a.ancestor_id" +
+           ") " +
+           "SELECT tr.user_task_id, tr.parent_task_id, tr.task_title, tr.status, tr.priority, tr.task_type, tr.due_date, " +
+           "       tr.depth, r.subtree_size - 1 AS descendant_count, r.completed_count, r.countable_count " +
+           "FROM tree tr JOIN rollup r ON r.ancestor_id = tr.user_task_id " +
+           "ORDER BY tr.depth, tr.user_task_id",
+           nativeQuery = true)
+    List<Object[]> findTaskTree(@Param("userId") Long userId, @Param("rootTaskId") Long rootTaskId);
+
+    // O(1) ancestor check against the materialised path of the candidate descendant
+    @Query(value = "SELECT COUNT(*) > 0 FROM user_tasks " +
+           "WHERE user_task_id = :taskId AND task_path LIKE CONCAT('%/', :ancestorTaskId, '/%')",
+           nativeQuery = true)
+    boolean isAncestorOrSelf(@Param("ancestorTaskId") Long ancestorTaskId, @Param("taskId") Long taskId);
+
     // Update access info
     @Modifying
     @Query("UPDATE UserTasks t SET t.accessCount = t.accessCount + 1, t.lastAccessedDate = :accessTime " +
            "WHERE t.userTaskId = :userTaskId AND t.userId = :userId")
     void updateAccessInfo(@Param("userTaskId") Long userTaskId, @Param("userId") Long userId, @Param("accessTime") LocalDateTime accessTime);
 
-    // Tag-based search (PostgreSQL array operations)
-    @Query(value = "SELECT * FROM user_tasks WHERE user_id = :userId AND tags && CAST(:tags AS TEXT[])", nativeQuery = true)
-    Page<UserTasks> findByUserIdAndTagsContaining(@Param("userId") Long userId, @Param("tags") String[] tags, Pageable pageable);
-
     // Completion rate calculation
     @Query("SELECT " +
            "CASE WHEN COUNT(t) = 0 THEN 0.0 " +
@@ -0,0 +1,15 @@
+package com.sid.app.repository;
+
+import com.sid.app.entity.UserTasks;
+import com.sid.app.repository.projection.UserTaskRow;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * The filtered task list as {@link UserTaskRow}s, with task descriptions cut to {@code descriptionLength} characters.
+ */
+public interface UserTasksRowRepository {
+
+    Page<UserTaskRow> findRows(Specification<UserTasks> specification, int descriptionLength, Pageable pageable);
+}
@@ -0,0 +1,30 @@
+package com.sid.app.repository;
+
+import com.sid.app.entity.UserTasks;
+import com.sid.app.repository.projection.UserTaskRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+public class UserTasksRowRepositoryImpl implements UserTasksRowRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<UserTaskRow> findRows(Specification<UserTasks> specification, int descriptionLength, Pageable pageable) {
+        // Same columns, in the same order, as UserTasksRepository.TASK_ROWS
+        return SpecificationRows.page(entityManager, UserTasks.class, UserTaskRow.class, specification, pageable,
+                (t, cb) -> new Selection<?>[]{
+                        t.get("userTaskId"), t.get("userId"), t.get("taskTitle"),
+                        cb.substring(t.get("taskDescription"), 1, descriptionLength),
+                        t.get("taskDate"), t.get("status"), t.get("priority"), t.get("category"), t.get("taskType"),
+                        t.get("dueDate"), t.get("reminderDate"), t.get("tags"), t.get("parentTaskId"),
+                        t.get("createdBy"), t.get("remarks"), t.get("isRecurring"), t.get("recurringPattern"),
+                        t.get("isOverdue"), t.get("version"), t.get("accessCount"), t.get("lastAccessedDate"),
+                        t.get("createdDate"), t.get("modifiedDate")});
+    }
+}
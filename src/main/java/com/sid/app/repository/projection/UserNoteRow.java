@@ -0,0 +1,32 @@
+package com.sid.app.repository.projection;
+
+import com.sid.app.enums.NoteCategory;
+import com.sid.app.enums.NoteColor;
+import com.sid.app.enums.NotePriority;
+import com.sid.app.enums.NoteStatus;
+import com.sid.app.enums.NoteType;
+
+import java.time.LocalDateTime;
+
+/**
+ * A note as list views read it: selected column by column into a record, so no managed entity or
+ * dirty-checking snapshot is created. {@code noteContent} holds at most the length the query asked for.
+ */
+public record UserNoteRow(Long userNoteId,
+                          Long userId,
+                          String noteTitle,
+                          String noteContent,
+                          NoteType noteType,
+                          NoteColor color,
+                          NoteCategory category,
+                          NotePriority priority,
+                          NoteStatus status,
+                          Boolean isPinned,
+                          Boolean isShared,
+                          LocalDateTime reminderDate,
+                          Integer version,
+                          Integer accessCount,
+                          LocalDateTime lastAccessedDate,
+                          LocalDateTime createdDate,
+                          LocalDateTime modifiedDate) {
+}
@@ -0,0 +1,38 @@
+package com.sid.app.repository.projection;
+
+import com.sid.app.enums.TaskCategory;
+import com.sid.app.enums.TaskPriority;
+import com.sid.app.enums.TaskStatus;
+import com.sid.app.enums.TaskType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A task as list views read it, selected column by column like {@link UserNoteRow}.
+ * {@code taskDescription} holds at most the length the query asked for.
+ */
+public record UserTaskRow(Long userTaskId,
+                          Long userId,
+                          String taskTitle,
+                          String taskDescription,
+                          LocalDate taskDate,
+                          TaskStatus status,
+                          TaskPriority priority,
+                          TaskCategory category,
+                          TaskType taskType,
+                          LocalDate dueDate,
+                          LocalDateTime reminderDate,
+                          String[] tags,
+                          Long parentTaskId,
+                          Long createdBy,
+                          String remarks,
+                          Boolean isRecurring,
+                          String recurringPattern,
+                          Boolean isOverdue,
+                          Integer version,
+                          Integer accessCount,
+                          LocalDateTime lastAccessedDate,
+                          LocalDateTime createdDate,
+                          LocalDateTime modifiedDate) {
+}
@@ -0,0 +1,76 @@
+package com.sid.app.repository.specification;
+
+import com.sid.app.entity.UserNotes;
+import com.sid.app.enums.NoteCategory;
+import com.sid.app.enums.NoteColor;
+import com.sid.app.enums.NotePriority;
+import com.sid.app.enums.NoteStatus;
+import com.sid.app.enums.NoteType;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Builds note list queries from the filters actually supplied; search and attribute filters compose with AND.
+ * Deleted notes are excluded unless the DELETED status is asked for explicitly.
+ */
+public final class UserNotesSpecifications {
+
+    private static final Set<String> SORTABLE_FIELDS = Set.of(
+            "createdDate", "modifiedDate", "reminderDate", "noteTitle",
+            "noteType", "color", "category", "priority", "status", "isPinned");
+
+    private UserNotesSpecifications() {
+    }
+
+    public static Specification<UserNotes> withFilters(Long userId, NoteType noteType, NoteColor color,
+                                                       NoteCategory category, NotePriority priority,
+                                                       NoteStatus status, Boolean isPinned, Boolean isShared,
+                                                       LocalDateTime startDate, LocalDateTime endDate,
+                                                       String searchTerm) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("userId"), userId));
+            predicates.add(status != null
+                    ? cb.equal(root.get("status"), status)
+                    : cb.notEqual(root.get("status"), NoteStatus.DELETED));
+
+            if (noteType != null) predicates.add(cb.equal(root.get("noteType"), noteType));
+            if (color != null) predicates.add(cb.equal(root.get("color"), color));
+            if (category != null) predicates.add(cb.equal(root.get("category"), category));
+            if (priority != null) predicates.add(cb.equal(root.get("priority"), priority));
+            if (isPinned != null) predicates.add(cb.equal(root.get("isPinned"), isPinned));
+            if (isShared != null) predicates.add(cb.equal(root.get("isShared"), isShared));
+            if (startDate != null) predicates.add(cb.greaterThanOrEqualTo(root.get("createdDate"), startDate));
+            if (endDate != null) predicates.add(cb.lessThanOrEqualTo(root.get("createdDate"), endDate));
+
+            if (searchTerm != null && !searchTerm.isBlank()) {
+                String pattern = "%" + searchTerm.trim().toLowerCase(Locale.ROOT) + "%";
+                predicates.add(cb.or(
+                        cb.like(cb.lower(root.get("noteTitle")), pattern),
+                        cb.like(cb.lower(root.get("noteContent")), pattern)));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Resolves a client supplied sort key against the whitelist, with the note id as a tie-breaker
+     * so that pages stay stable.
+     *
+     * @throws IllegalArgumentException if the key is not sortable
+     */
+    public static Sort sort(String sortBy, Sort.Direction direction) {
+        if (!SORTABLE_FIELDS.contains(sortBy)) {
+            throw new IllegalArgumentException("Unsupported sort field: " + sortBy + ". Allowed: " + SORTABLE_FIELDS);
+        }
+        return Sort.by(direction, sortBy).and(Sort.by(direction, "userNoteId"));
+    }
+}
@@ -0,0 +1,100 @@
+package com.sid.app.repository.specification;
+
+import com.sid.app.entity.UserTasks;
+import com.sid.app.enums.TaskCategory;
+import com.sid.app.enums.TaskPriority;
+import com.sid.app.enums.TaskStatus;
+import com.sid.app.enums.TaskType;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Builds task list queries from the filters actually supplied, so Postgres plans each
+ * combination on its own instead of one generic "(:x IS NULL OR ...)" plan.
+ * Search, tag and attribute filters compose with AND.
+ */
+public final class UserTasksSpecifications {
+
+    private static final Set<String> SORTABLE_FIELDS = Set.of(
+            "createdDate", "modifiedDate", "taskDate", "dueDate", "reminderDate",
+            "taskTitle", "status", "priority", "category", "taskType");
+
+    private UserTasksSpecifications() {
+    }
+
+    public static Specification<UserTasks> withFilters(Long userId, TaskStatus status, TaskPriority priority,
+                                                       TaskCategory category, TaskType taskType,
+                                                       LocalDate startDate, LocalDate endDate,
+                                                       LocalDate dueDateStart, LocalDate dueDateEnd,
+                                                       Boolean isRecurring, Boolean isOverdue, String searchTerm, String[] tags) {
+        String[] normalizedTags = normalizeTags(tags);
+
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("userId"), userId));
+
+            if (status != null) predicates.add(cb.equal(root.get("status"), status));
+            if (priority != null) predicates.add(cb.equal(root.get("priority"), priority));
+            if (category != null) predicates.add(cb.equal(root.get("category"), category));
+            if (taskType != null) predicates.add(cb.equal(root.get("taskType"), taskType));
+            if (startDate != null) predicates.add(cb.greaterThanOrEqualTo(root.get("taskDate"), startDate));
+            if (endDate != null) predicates.add(cb.lessThanOrEqualTo(root.get("taskDate"), endDate));
+            if (dueDateStart != null) predicates.add(cb.greaterThanOrEqualTo(root.get("dueDate"), dueDateStart));
+            if (dueDateEnd != null) predicates.add(cb.lessThanOrEqualTo(root.get("dueDate"), dueDateEnd));
+            if (isRecurring != null) predicates.add(cb.equal(root.get("isRecurring"), isRecurring));
+            if (isOverdue != null) predicates.add(cb.equal(root.get("isOverdue"), isOverdue));
+
+            if (searchTerm != null && !searchTerm.isBlank()) {
+                String pattern = "%" + searchTerm.trim().toLowerCase(Locale.ROOT) + "%";
+                predicates.add(cb.or(
+                        cb.like(cb.lower(root.get("taskTitle")), pattern),
+                        cb.like(cb.lower(root.get("taskDescription")), pattern),
+                        cb.like(cb.lower(root.get("remarks")), pattern)));
+            }
+
+            // Rendered as "tags && ?" on PostgreSQL, which is served by idx_user_tasks_tags (GIN)
+            if (normalizedTags != null) {
+                predicates.add(cb.isTrue(cb.function("array_intersects", Boolean.class,
+                        root.get("tags"), cb.literal(normalizedTags))));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Resolves a client supplied sort key against the whitelist, with the task id as a tie-breaker
+     * so that pages stay stable.
+     *
+     * @throws IllegalArgumentException if the key is not sortable
+     */
+    public static Sort sort(String sortBy, Sort.Direction direction) {
+        if (!SORTABLE_FIELDS.contains(sortBy)) {
+            throw new IllegalArgumentException("Unsupported sort field: " + sortBy + ". Allowed: " + SORTABLE_FIELDS);
+        }
+        return Sort.by(direction, sortBy).and(Sort.by(direction, "userTaskId"));
+    }
+
+    /**
+     * Trims the tags and drops blank ones; returns null when nothing is left.
+     */
+    public static String[] normalizeTags(String[] tags) {
+        if (tags == null) {
+            return null;
+        }
+        String[] normalized = Arrays.stream(tags)
+                .filter(tag -> tag != null && !tag.isBlank())
+                .map(String::trim)
+                .distinct()
+                .toArray(String[]::new);
+        return normalized.length > 0 ? normalized : null;
+    }
+}
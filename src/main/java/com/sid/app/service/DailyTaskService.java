@@ -124,6 +124,7 @@ public class DailyTaskService {
      * @return the task DTO
      * @throws EntityNotFoundException if the task is not found
      */
+    @Transactional(readOnly = true)
     public DailyTaskDTO getDailyTaskById(Long taskId) {
         log.info("getDailyTaskById() : Retrieving daily task with ID: {}", taskId);
 
@@ -140,6 +141,7 @@ public class DailyTaskService {
      * @return list of task DTOs
      * @throws EntityNotFoundException if the user is not found
      */
+    @Transactional(readOnly = true)
     public List<DailyTaskDTO> getUserDailyTasks(Long userId) {
         log.info("getUserDailyTasks() : Fetching daily tasks for user ID: {}", userId);
 
@@ -161,6 +163,7 @@ public class DailyTaskService {
      * @return list of task DTOs
      * @throws EntityNotFoundException if the user is not found
      */
+    @Transactional(readOnly = true)
     public List<DailyTaskDTO> getDailyTasksByUserIdAndDateRange(Long userId, LocalDate startDate, LocalDate endDate) {
         log.info("getDailyTasksByUserIdAndDateRange() : Retrieving daily tasks for user ID: {} between {} and {}",
                 userId, startDate, endDate);
@@ -182,6 +185,7 @@ public class DailyTaskService {
      * @return list of task DTOs
      * @throws EntityNotFoundException if the user is not found
      */
+    @Transactional(readOnly = true)
     public List<DailyTaskDTO> getDailyTasksByUserIdAndDate(Long userId, LocalDate date) {
         log.info("getDailyTasksByUserIdAndDate() : Retrieving daily tasks for user ID: {} on date: {}", userId, date);
 
@@ -0,0 +1,58 @@
+package com.sid.app.service;
+
+import com.sid.app.enums.DataTable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the data versions the database triggers keep per table and per user (add-data-versions.sql).
+ * Versions are drawn from one sequence and only ever move forward, so equal versions mean unchanged data,
+ * on every instance.
+ */
+@Service
+@RequiredArgsConstructor
+public class DataVersionService {
+
+    static final String EPOCH_TABLE = "*";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * The epoch followed by the version of each table, in the given order; one primary key lookup.
+     * Tables never written yet are version 0.
+     *
+     * Read-only; {@code ConditionalGetAspect} calls it inside the transaction that also reads the response body,
+     * so with a read replica both are answered by the same pool and snapshot.
+     *
+     * @param userId owner of the per-user tables
+     */
+    @Transactional(readOnly = true)
+    public long[] currentVersions(List<DataTable> tables, Long userId) {
+        List<String> names = new ArrayList<>(tables.size() + 1);
+        names.add(EPOCH_TABLE);
+        tables.forEach(table -> names.add(table.getTableName()));
+
+        Map<String, Long> versions = new HashMap<>();
+        jdbcTemplate.query("SELECT table_name, version FROM data_versions "
+                        + "WHERE table_name = ANY (?) AND user_id IN (0, ?)",
+                // Shared tables only have user 0 and per-user tables never do, so the name identifies the row
+                rs -> {
+                    versions.put(rs.getString("table_name"), rs.getLong("version"));
+                },
+                names.toArray(String[]::new), userId == null ? 0L : userId);
+
+        long[] result = new long[tables.size() + 1];
+        result[0] = versions.getOrDefault(EPOCH_TABLE, 0L);
+        for (int i = 0; i < tables.size(); i++) {
+            result[i + 1] = versions.getOrDefault(tables.get(i).getTableName(), 0L);
+        }
+        return result;
+    }
+}
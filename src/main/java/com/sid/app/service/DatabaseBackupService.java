@@ -3,59 +3,149 @@ package com.sid.app.service;
 import com.sid.app.config.DatabaseBackupProperties;
 import com.sid.app.exception.DatabaseOperationException;
 import com.sid.app.exception.SchemaNotFoundException;
+import com.sid.app.enums.BackupJobType;
+import com.sid.app.model.BackupFileDTO;
+import com.sid.app.model.BackupJobDTO;
+import com.sid.app.model.LogicalBackupManifestDTO;
+import com.sid.app.service.backup.BackupJobQueue;
+import com.sid.app.service.backup.BackupProgress;
+import com.sid.app.service.backup.LogicalBackupEngine;
 import lombok.extern.slf4j.Slf4j;
+import org.postgresql.Driver;
+import org.postgresql.PGProperty;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.stereotype.Service;
 
+import javax.sql.DataSource;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.*;
 import java.text.SimpleDateFormat;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 @Slf4j
 @Service
 public class DatabaseBackupService {
 
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+    private static final long TRANSFER_CHUNK_SIZE = 1024 * 1024;
+    private static final Pattern SAFE_FILE_NAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]*");
+    private static final String CHECKSUM_SUFFIX = ".sha256";
+    // Last comment of a complete plain dump, and the first bytes of a custom-format archive
+    private static final String SQL_DUMP_END_MARKER = "PostgreSQL database dump complete";
+    private static final String CUSTOM_DUMP_MAGIC = "PGDMP";
+
     private final DatabaseBackupProperties databaseBackupProperties;
-    private Connection adminConnection;
+    private final LogicalBackupEngine logicalBackupEngine;
+    private final BackupJobQueue backupJobQueue;
+    // pg_database and CREATE DATABASE work from any database of the cluster, so the application pool serves them
+    private final DataSource dataSource;
+    // Server and credentials of the application database, for pg_dump and other databases of the same cluster
+    private final DataSourceProperties dataSourceProperties;
 
     @Autowired
-    public DatabaseBackupService(DatabaseBackupProperties databaseBackupProperties) {
+    public DatabaseBackupService(DatabaseBackupProperties databaseBackupProperties,
+                                 LogicalBackupEngine logicalBackupEngine,
+                                 BackupJobQueue backupJobQueue,
+                                 DataSource dataSource,
+                                 DataSourceProperties dataSourceProperties) {
         this.databaseBackupProperties = databaseBackupProperties;
-        initializeAdminConnection();
+        this.logicalBackupEngine = logicalBackupEngine;
+        this.backupJobQueue = backupJobQueue;
+        this.dataSource = dataSource;
+        this.dataSourceProperties = dataSourceProperties;
     }
 
-    private void initializeAdminConnection() {
-        try {
-            this.adminConnection = DriverManager.getConnection(
-                    "jdbc:postgresql://localhost:5432/postgres",
-                    System.getenv("PGUSER") != null ? System.getenv("PGUSER") : "postgres",
-                    System.getenv("PGPASSWORD") != null ? System.getenv("PGPASSWORD") : "root"
-            );
-            log.info("Admin database connection initialized successfully");
-        } catch (SQLException e) {
-            log.error("Failed to initialize admin database connection", e);
-            throw new DatabaseOperationException("Failed to initialize admin connection", e);
+    /**
+     * Queues a pg_dump backup; the job reports the dump's size so far while it runs.
+     */
+    public BackupJobDTO submitBackup(BackupType type, String databaseName, String schemaName) {
+        String dbName = databaseName != null ? databaseName : databaseBackupProperties.getDefaultDb();
+        return backupJobQueue.submit(BackupJobType.PG_DUMP, dbName, job -> {
+            String backupPath = createBackup(type, dbName, schemaName, job::setOutput);
+            rotateBackups();
+            return Path.of(backupPath).getFileName().toString();
+        });
+    }
+
+    public BackupJobDTO submitLogicalBackup(LogicalBackupEngine.CopyFormat format) {
+        return backupJobQueue.submit(BackupJobType.LOGICAL, databaseBackupProperties.getDefaultDb(), job -> {
+            String backupName = createLogicalBackup(format, job).getBackupName();
+            rotateBackups();
+            return backupName;
+        });
+    }
+
+    public BackupJobDTO submitIncrementalBackup(LogicalBackupEngine.CopyFormat format, String parentBackupName) {
+        if (parentBackupName != null) {
+            resolveLogicalBackup(parentBackupName);
         }
+        return backupJobQueue.submit(BackupJobType.INCREMENTAL, databaseBackupProperties.getDefaultDb(), job -> {
+            String backupName = createIncrementalBackup(format, parentBackupName, job).getBackupName();
+            rotateBackups();
+            return backupName;
+        });
     }
 
-    public String createBackup(String type, String databaseName, String schemaName)
-            throws IOException, InterruptedException, SQLException, SchemaNotFoundException {
+    public BackupJobDTO submitRestore(String backupName) {
+        resolveLogicalBackup(backupName);
+        return backupJobQueue.submit(BackupJobType.RESTORE, backupName,
+                job -> restoreLogicalBackup(backupName, job).getBackupName());
+    }
 
-        BackupType backupType = BackupType.valueOf(type.toUpperCase());
-        String dbName = databaseName != null ? databaseName : databaseBackupProperties.getDefaultDb();
+    public Optional<BackupJobDTO> getJob(String jobId) {
+        return backupJobQueue.find(jobId);
+    }
 
-        boolean dbCreated = ensureDatabaseExists(dbName);
-        validateSchemaExists(dbName, schemaName);
+    public List<BackupJobDTO> listJobs() {
+        return backupJobQueue.list();
+    }
 
-        String backupPath = runBackup(backupType, dbName, schemaName);
+    public BackupJobDTO cancelJob(String jobId) {
+        return backupJobQueue.cancel(jobId);
+    }
 
-        if (dbCreated && backupType == BackupType.SQL) {
-            addDatabaseCreationToBackup(dbName, backupPath);
-        }
+    /**
+     * Runs pg_dump into the backup directory; {@code outputListener} learns the file name before the dump starts.
+     */
+    public String createBackup(BackupType backupType, String dbName, String schemaName, Consumer<Path> outputListener)
+            throws IOException, InterruptedException, SQLException, SchemaNotFoundException {
 
-        return backupPath;
+        boolean dbCreated = ensureDatabaseExists(dbName);
+        validateSchemaExists(dbName, schemaName);
+
+        String preamble = dbCreated && backupType == BackupType.SQL ? databaseCreationPreamble(dbName) : null;
+        return runBackup(backupType, dbName, schemaName, preamble, outputListener);
     }
 
     private boolean ensureDatabaseExists(String databaseName) throws SQLException {
@@ -65,7 +155,8 @@ public class DatabaseBackupService {
         }
 
         log.info("Creating database: {}", databaseName);
-        try (Statement stmt = adminConnection.createStatement()) {
+        try (Connection connection = dataSource.getConnection();
+             Statement stmt = connection.createStatement()) {
             stmt.executeUpdate(String.format("CREATE DATABASE %s", databaseName));
             log.info("Database {} created successfully", databaseName);
             return true;
@@ -75,34 +166,18 @@ public class DatabaseBackupService {
         }
     }
 
-    private void addDatabaseCreationToBackup(String databaseName, String backupPath) throws IOException {
-        File backupFile = new File(backupPath);
-        File tempFile = new File(backupPath + ".tmp");
-
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(tempFile));
-             BufferedReader reader = new BufferedReader(new FileReader(backupFile))) {
-
-            writer.write(String.format("-- Database creation commands added by backup service%n"));
-            writer.write(String.format("CREATE DATABASE %s;%n%n", databaseName));
-
-            String line;
-            while ((line = reader.readLine()) != null) {
-                writer.write(line + "%n");
-            }
-        }
-
-        if (!backupFile.delete() || !tempFile.renameTo(backupFile)) {
-            throw new IOException("Failed to update backup file with database creation commands");
-        }
-
-        log.info("Added database creation commands to backup file");
+    private String databaseCreationPreamble(String databaseName) {
+        return "-- Database creation commands added by backup service\n" +
+                "CREATE DATABASE " + databaseName + ";\n\n";
     }
 
     private boolean databaseExists(String databaseName) throws SQLException {
-        try (PreparedStatement stmt = adminConnection.prepareStatement(
-                "SELECT 1 FROM pg_database WHERE datname = ?")) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement stmt = connection.prepareStatement("SELECT 1 FROM pg_database WHERE datname = ?")) {
             stmt.setString(1, databaseName);
-            return stmt.executeQuery().next();
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
         }
     }
 
@@ -127,26 +202,54 @@ public class DatabaseBackupService {
         }
     }
 
+    /**
+     * A pooled connection for the application database; any other database of the cluster is connected to
+     * directly, on the application database's server and with its credentials.
+     */
     private Connection getDatabaseConnection(String databaseName) throws SQLException {
-        return DriverManager.getConnection(
-                "jdbc:postgresql://localhost:5432/" + databaseName,
-                System.getenv("PGUSER") != null ? System.getenv("PGUSER") : "postgres",
-                System.getenv("PGPASSWORD") != null ? System.getenv("PGPASSWORD") : "root"
-        );
+        Properties server = serverProperties();
+        if (databaseName.equals(PGProperty.PG_DBNAME.getOrDefault(server))) {
+            return dataSource.getConnection();
+        }
+        StringJoiner servers = new StringJoiner(",", "jdbc:postgresql://", "/" + databaseName);
+        String[] hosts = PGProperty.PG_HOST.getOrDefault(server).split(",");
+        String[] ports = PGProperty.PG_PORT.getOrDefault(server).split(",");
+        for (int i = 0; i < hosts.length; i++) {
+            servers.add(hosts[i] + ":" + ports[Math.min(i, ports.length - 1)]);
+        }
+        return DriverManager.getConnection(servers.toString(), dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword());
+    }
+
+    // Comma-separated, as both the JDBC URL and libpq take them
+    private String serverHosts() {
+        return PGProperty.PG_HOST.getOrDefault(serverProperties());
+    }
+
+    private String serverPorts() {
+        return PGProperty.PG_PORT.getOrDefault(serverProperties());
     }
 
-    private String runBackup(BackupType type, String databaseName, String schemaName)
-            throws IOException, InterruptedException {
+    private Properties serverProperties() {
+        String url = dataSourceProperties.determineUrl();
+        Properties properties = Driver.parseURL(url, null);
+        if (properties == null) {
+            throw new IllegalStateException("Not a PostgreSQL JDBC URL: " + url);
+        }
+        return properties;
+    }
+
+    /**
+     * Runs pg_dump into the backup directory. With a preamble, pg_dump writes to stdout and its output is
+     * appended to the file right behind the preamble, so the dump is written once and never rewritten.
+     * The finished file is checked for pg_dump's end marker and its SHA-256 stored next to it.
+     */
+    private String runBackup(BackupType type, String databaseName, String schemaName, String preamble,
+                             Consumer<Path> outputListener) throws IOException, InterruptedException {
 
         log.info("Starting backup for database: {}, schema: {}", databaseName, schemaName);
 
-        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
-        String fileName = String.format("%s_%s_%s_%s.%s",
-                databaseBackupProperties.getPrefix(),
-                databaseName,
-                schemaName != null ? schemaName : "full",
-                timestamp,
-                type.getExtension());
+        String fileName = backupFileName(type, databaseName, schemaName);
 
         File backupDir = new File(databaseBackupProperties.getDirectory());
         if (!backupDir.exists() && !backupDir.mkdirs()) {
@@ -154,29 +257,431 @@ public class DatabaseBackupService {
         }
 
         String backupPath = backupDir.getAbsolutePath() + File.separator + fileName;
+        Path backupFile = Path.of(backupPath);
         log.info("Creating backup at: {}", backupPath);
+        outputListener.accept(backupFile);
 
-        ProcessBuilder processBuilder = buildProcess(type, databaseName, schemaName, backupPath);
+        boolean piped = preamble != null;
+        ProcessBuilder processBuilder = buildProcess(type, databaseName, schemaName, piped ? null : backupPath);
         Process process = processBuilder.start();
+        Thread outputDrain = Thread.ofVirtual().name("pg_dump-output")
+                .start(() -> logProcessOutput(piped ? process.getErrorStream() : process.getInputStream()));
 
-        logProcessOutput(process);
-
-        int exitCode = process.waitFor();
-        if (exitCode != 0) {
-            throw new RuntimeException("Backup failed with exit code " + exitCode);
+        boolean completed = false;
+        try {
+            if (piped) {
+                writeAfterPreamble(preamble, process.getInputStream(), backupFile);
+            }
+            // Interruptible, so a cancelled job stops waiting and kills pg_dump below
+            int exitCode = process.waitFor();
+            if (exitCode != 0) {
+                throw new IOException("Backup failed with exit code " + exitCode);
+            }
+            verifyBackupFile(type, backupFile);
+            String checksum = writeChecksum(backupFile);
+            log.info("Backup {} verified, sha256 {}", fileName, checksum);
+            completed = true;
+        } finally {
+            if (process.isAlive()) {
+                log.warn("Stopping pg_dump for {}", backupPath);
+                process.destroyForcibly();
+            }
+            outputDrain.join(TimeUnit.SECONDS.toMillis(5));
+            if (!completed) {
+                Files.deleteIfExists(backupFile);
+                Files.deleteIfExists(checksumFile(backupFile));
+            }
         }
 
         log.info("Backup completed successfully");
         return backupPath;
     }
 
+    private void writeAfterPreamble(String preamble, InputStream dump, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+             ReadableByteChannel source = Channels.newChannel(dump)) {
+            ByteBuffer header = ByteBuffer.wrap(preamble.getBytes(StandardCharsets.UTF_8));
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            long position = channel.position();
+            long transferred;
+            while ((transferred = channel.transferFrom(source, position, TRANSFER_CHUNK_SIZE)) > 0) {
+                position += transferred;
+            }
+        }
+    }
+
+    // A zero exit code with a truncated file (full disk, killed pipe) must not pass as a backup
+    private void verifyBackupFile(BackupType type, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            boolean valid;
+            if (type == BackupType.SQL) {
+                ByteBuffer tail = ByteBuffer.allocate((int) Math.min(size, 512));
+                channel.read(tail, size - tail.capacity());
+                valid = new String(tail.array(), StandardCharsets.UTF_8).contains(SQL_DUMP_END_MARKER);
+            } else {
+                ByteBuffer head = ByteBuffer.allocate(CUSTOM_DUMP_MAGIC.length());
+                channel.read(head, 0);
+                valid = new String(head.array(), StandardCharsets.US_ASCII).equals(CUSTOM_DUMP_MAGIC);
+            }
+            if (!valid) {
+                throw new IOException("Backup file " + file.getFileName() + " is incomplete");
+            }
+        }
+    }
+
+    // Written in sha256sum format, so "sha256sum -c" verifies a downloaded copy
+    private String writeChecksum(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        String checksum = HexFormat.of().formatHex(digest.digest());
+        Files.writeString(checksumFile(file), checksum + "  " + file.getFileName() + "\n");
+        return checksum;
+    }
+
+    /**
+     * SHA-256 (hex) of a stored backup file, when it was recorded.
+     */
+    public Optional<String> readChecksum(Path file) throws IOException {
+        Path checksumFile = checksumFile(file);
+        if (!Files.isRegularFile(checksumFile)) {
+            return Optional.empty();
+        }
+        String content = Files.readString(checksumFile).trim();
+        int end = content.indexOf(' ');
+        return Optional.of(end > 0 ? content.substring(0, end) : content);
+    }
+
+    private Path checksumFile(Path file) {
+        return file.resolveSibling(file.getFileName() + CHECKSUM_SUFFIX);
+    }
+
+    /**
+     * Pipes pg_dump's output straight into {@code outputStream}, gzip-compressed when asked, without touching
+     * local disk. Memory use is one copy buffer whatever the database size: when the client reads slowly the
+     * writes block, the pipe fills and pg_dump pauses.
+     *
+     * <p>Errors after the first bytes cannot change the response status; a failed gzip stream lacks its
+     * trailer and a failed plain dump lacks pg_dump's closing comment, so clients can tell it is incomplete.</p>
+     */
+    public void streamBackup(BackupType type, String databaseName, String schemaName, boolean gzip,
+                             OutputStream outputStream) throws IOException, InterruptedException {
+        log.info("Streaming {} backup for database: {}, schema: {}, gzip: {}", type, databaseName, schemaName, gzip);
+
+        Process process = buildProcess(type, databaseName, schemaName, null).start();
+        Thread stderrDrain = Thread.ofVirtual().name("pg_dump-stderr").start(() -> logProcessOutput(process.getErrorStream()));
+        long bytes = 0;
+        try (InputStream dump = process.getInputStream()) {
+            OutputStream target = gzip ? new GZIPOutputStream(outputStream, STREAM_BUFFER_SIZE) : outputStream;
+            byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+            int read;
+            while ((read = dump.read(buffer)) != -1) {
+                target.write(buffer, 0, read);
+                bytes += read;
+            }
+
+            int exitCode = process.waitFor();
+            if (exitCode != 0) {
+                throw new IOException("Backup failed with exit code " + exitCode);
+            }
+            // Only a complete dump gets the gzip trailer
+            if (target instanceof GZIPOutputStream gzipStream) {
+                gzipStream.finish();
+            }
+            target.flush();
+            log.info("Streamed backup of {} completed ({} bytes before compression)", databaseName, bytes);
+        } finally {
+            // Client gone or dump failed: stop pg_dump rather than let it block on a full pipe
+            if (process.isAlive()) {
+                log.warn("Stopping pg_dump after {} bytes", bytes);
+                process.destroyForcibly();
+            }
+            stderrDrain.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /**
+     * Checks that the database (and schema, when given) exist before a streamed backup starts,
+     * as the response status cannot change once bytes have been sent.
+     */
+    public void validateStreamTarget(String databaseName, String schemaName) throws SQLException, SchemaNotFoundException {
+        if (!databaseExists(databaseName)) {
+            throw new IllegalArgumentException("Database does not exist: " + databaseName);
+        }
+        validateSchemaExists(databaseName, schemaName);
+    }
+
+    /**
+     * Logical backup of the application schema through the JDBC COPY engine, into its own directory
+     * under the backup directory.
+     */
+    public LogicalBackupManifestDTO createLogicalBackup(LogicalBackupEngine.CopyFormat format, BackupProgress progress)
+            throws IOException {
+        Path directory = logicalBackupDirectory("logical");
+        LogicalBackupManifestDTO manifest;
+        try {
+            manifest = logicalBackupEngine.export(directory, format, databaseBackupProperties.getLogicalParallelism(),
+                    incrementalOverlap(), progress);
+        } catch (IOException | RuntimeException e) {
+            deleteRecursively(directory);
+            throw e;
+        }
+        pruneTombstones();
+        return manifest;
+    }
+
+    /**
+     * Logical backup of what changed since {@code parentBackupName}, or since the latest logical backup
+     * when none is given. Restoring it replays the chain back to its full backup.
+     */
+    public LogicalBackupManifestDTO createIncrementalBackup(LogicalBackupEngine.CopyFormat format, String parentBackupName,
+                                                            BackupProgress progress) throws IOException {
+        LogicalBackupManifestDTO parent = parentBackupName != null
+                ? logicalBackupEngine.readManifest(resolveLogicalBackup(parentBackupName))
+                : latestLogicalBackup();
+        // Older tombstones are pruned, so deletes since then can no longer be told apart
+        if (parent.getWatermark() != null && parent.getWatermark().isBefore(tombstoneCutoff())) {
+            throw new IllegalArgumentException("Backup " + parent.getBackupName() + " is older than the tombstone retention; "
+                    + "take a full backup first");
+        }
+        Path directory = logicalBackupDirectory("incremental");
+        LogicalBackupManifestDTO manifest;
+        try {
+            manifest = logicalBackupEngine.exportIncrement(directory, parent, format,
+                    databaseBackupProperties.getLogicalParallelism(), incrementalOverlap(), progress);
+        } catch (IOException | RuntimeException e) {
+            deleteRecursively(directory);
+            throw e;
+        }
+        pruneTombstones();
+        return manifest;
+    }
+
+    /**
+     * Replaces the application schema's data with a logical backup taken by {@link #createLogicalBackup}
+     * or {@link #createIncrementalBackup}.
+     */
+    public LogicalBackupManifestDTO restoreLogicalBackup(String backupName, BackupProgress progress) throws IOException {
+        return logicalBackupEngine.restore(resolveLogicalBackup(backupName), databaseBackupProperties.getLogicalParallelism(),
+                progress);
+    }
+
+    private Path logicalBackupDirectory(String kind) {
+        String name = String.format("%s_%s_%s_%s", databaseBackupProperties.getPrefix(),
+                databaseBackupProperties.getDefaultDb(), kind, backupTimestamp());
+        return Path.of(databaseBackupProperties.getDirectory()).toAbsolutePath().normalize().resolve(name);
+    }
+
+    /**
+     * A logical backup directory by name. Only plain names inside the backup directory resolve.
+     */
+    public Path resolveLogicalBackup(String backupName) {
+        if (backupName == null || !SAFE_FILE_NAME.matcher(backupName).matches()) {
+            throw new IllegalArgumentException("Invalid backup name");
+        }
+        Path directory = Path.of(databaseBackupProperties.getDirectory()).toAbsolutePath().normalize();
+        Path backup = directory.resolve(backupName).normalize();
+        if (!backup.getParent().equals(directory) || !Files.isDirectory(backup)) {
+            throw new IllegalArgumentException("Logical backup not found: " + backupName);
+        }
+        return backup;
+    }
+
+    // Newest complete logical backup with a high-water mark
+    private LogicalBackupManifestDTO latestLogicalBackup() throws IOException {
+        Path directory = Path.of(databaseBackupProperties.getDirectory());
+        if (!Files.isDirectory(directory)) {
+            throw new IllegalArgumentException("No logical backup to continue from; take a full backup first");
+        }
+        List<Path> backups;
+        try (Stream<Path> entries = Files.list(directory)) {
+            backups = entries.filter(path -> Files.isRegularFile(path.resolve(LogicalBackupEngine.MANIFEST_FILE))).toList();
+        }
+        LogicalBackupManifestDTO latest = null;
+        for (Path backup : backups) {
+            LogicalBackupManifestDTO manifest = logicalBackupEngine.readManifest(backup);
+            if (manifest.getWatermark() != null
+                    && (latest == null || manifest.getWatermark().isAfter(latest.getWatermark()))) {
+                latest = manifest;
+            }
+        }
+        if (latest == null) {
+            throw new IllegalArgumentException("No logical backup to continue from; take a full backup first");
+        }
+        return latest;
+    }
+
+    private void pruneTombstones() {
+        int pruned = logicalBackupEngine.pruneTombstones(tombstoneCutoff());
+        if (pruned > 0) {
+            log.info("Pruned {} backup tombstones", pruned);
+        }
+    }
+
+    private LocalDateTime tombstoneCutoff() {
+        return LocalDateTime.now().minusDays(databaseBackupProperties.getTombstoneRetentionDays());
+    }
+
+    private Duration incrementalOverlap() {
+        return Duration.ofSeconds(databaseBackupProperties.getIncrementalOverlapSeconds());
+    }
+
+    /**
+     * Deletes backups older than {@code app.backup.retention-days}, always keeping the newest
+     * {@code app.backup.keep-last}. A logical backup stays while a kept incremental backup builds on it.
+     */
+    public void rotateBackups() throws IOException {
+        Path directory = Path.of(databaseBackupProperties.getDirectory());
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        List<Path> backups;
+        try (Stream<Path> entries = Files.list(directory)) {
+            backups = entries.filter(path -> !path.getFileName().toString().endsWith(CHECKSUM_SUFFIX))
+                    .sorted(Comparator.comparing(this::lastModified).reversed())
+                    .toList();
+        }
+        long cutoff = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(databaseBackupProperties.getRetentionDays());
+        int keepLast = databaseBackupProperties.getKeepLast();
+
+        Set<Path> kept = new HashSet<>();
+        for (int i = 0; i < backups.size(); i++) {
+            if (i < keepLast || lastModified(backups.get(i)) >= cutoff) {
+                kept.add(backups.get(i));
+            }
+        }
+        // Walk the parents of every kept incremental backup
+        Deque<Path> pending = new ArrayDeque<>(kept);
+        while (!pending.isEmpty()) {
+            Path backup = pending.pop();
+            if (!Files.isRegularFile(backup.resolve(LogicalBackupEngine.MANIFEST_FILE))) {
+                continue;
+            }
+            String parentName = logicalBackupEngine.readManifest(backup).getParentBackupName();
+            if (parentName != null && SAFE_FILE_NAME.matcher(parentName).matches()) {
+                Path parent = directory.resolve(parentName);
+                if (kept.add(parent)) {
+                    pending.push(parent);
+                }
+            }
+        }
+
+        for (Path backup : backups) {
+            if (!kept.contains(backup)) {
+                log.info("Removing expired backup {}", backup.getFileName());
+                deleteRecursively(backup);
+                Files.deleteIfExists(checksumFile(backup));
+            }
+        }
+    }
+
+    private long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void deleteRecursively(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(path)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    public String getDefaultDatabase() {
+        return databaseBackupProperties.getDefaultDb();
+    }
+
+    public String streamFileName(BackupType type, String databaseName, String schemaName, boolean gzip) {
+        return backupFileName(type, databaseName, schemaName) + (gzip ? ".gz" : "");
+    }
+
+    /**
+     * Backup files in the backup directory, newest first.
+     */
+    public List<BackupFileDTO> listBackupFiles() throws IOException {
+        Path directory = Path.of(databaseBackupProperties.getDirectory());
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(file -> !file.getFileName().toString().endsWith(CHECKSUM_SUFFIX))
+                    .map(this::toBackupFileDTO)
+                    .sorted(Comparator.comparing(BackupFileDTO::getLastModified).reversed())
+                    .toList();
+        }
+    }
+
+    /**
+     * A stored backup file by name. Only plain file names inside the backup directory resolve.
+     */
+    public Path resolveBackupFile(String fileName) {
+        if (fileName == null || !SAFE_FILE_NAME.matcher(fileName).matches()) {
+            throw new IllegalArgumentException("Invalid backup file name");
+        }
+        Path directory = Path.of(databaseBackupProperties.getDirectory()).toAbsolutePath().normalize();
+        Path file = directory.resolve(fileName).normalize();
+        if (!file.getParent().equals(directory) || !Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("Backup file not found: " + fileName);
+        }
+        return file;
+    }
+
+    private BackupFileDTO toBackupFileDTO(Path file) {
+        try {
+            return BackupFileDTO.builder()
+                    .fileName(file.getFileName().toString())
+                    .sizeBytes(Files.size(file))
+                    .lastModified(LocalDateTime.ofInstant(Files.getLastModifiedTime(file).toInstant(), ZoneId.systemDefault()))
+                    .sha256(readChecksum(file).orElse(null))
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String backupFileName(BackupType type, String databaseName, String schemaName) {
+        return String.format("%s_%s_%s_%s.%s",
+                databaseBackupProperties.getPrefix(),
+                databaseName,
+                schemaName != null ? schemaName : "full",
+                backupTimestamp(),
+                type.getExtension());
+    }
+
+    // Milliseconds and a random suffix, so jobs running side by side never pick the same name
+    private static String backupTimestamp() {
+        return new SimpleDateFormat("yyyyMMdd_HHmmss_SSS").format(new Date()) + "_"
+                + HexFormat.of().toHexDigits((short) ThreadLocalRandom.current().nextInt());
+    }
+
+    // backupPath null: the dump goes to stdout
     private ProcessBuilder buildProcess(BackupType type, String databaseName, String schemaName, String backupPath) {
         List<String> command = new java.util.ArrayList<>();
         command.add("pg_dump");
         command.add("-U");
-        command.add(System.getenv("PGUSER") != null ? System.getenv("PGUSER") : "postgres");
+        command.add(dataSourceProperties.determineUsername());
         command.add("-h");
-        command.add("localhost");
+        command.add(serverHosts());
+        command.add("-p");
+        command.add(serverPorts());
         command.add("-d");
         command.add(databaseName);
 
@@ -185,39 +690,34 @@ public class DatabaseBackupService {
             command.add(schemaName);
         }
 
-        command.add("-f");
-        command.add(backupPath);
+        if (backupPath != null) {
+            command.add("-f");
+            command.add(backupPath);
+        }
         command.add("--format=" + (type == BackupType.SQL ? "plain" : "custom"));
 
         log.debug("Executing command: {}", String.join(" ", command));
 
         ProcessBuilder processBuilder = new ProcessBuilder(command);
 
-        if (System.getenv("PGPASSWORD") == null) {
-            processBuilder.environment().put("PGPASSWORD", "root");
+        String password = dataSourceProperties.determinePassword();
+        if (password != null) {
+            processBuilder.environment().put("PGPASSWORD", password);
         }
 
-        processBuilder.redirectErrorStream(true);
+        // Writing to stdout, stderr must stay out of the dump
+        processBuilder.redirectErrorStream(backupPath != null);
         return processBuilder;
     }
 
-    private void logProcessOutput(Process process) throws IOException {
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+    private void logProcessOutput(InputStream output) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(output))) {
             String line;
             while ((line = reader.readLine()) != null) {
                 log.debug("pg_dump: {}", line);
             }
-        }
-    }
-
-    public void cleanup() {
-        try {
-            if (adminConnection != null && !adminConnection.isClosed()) {
-                adminConnection.close();
-                log.info("Admin connection closed successfully");
-            }
-        } catch (SQLException e) {
-            log.error("Error closing admin connection", e);
+        } catch (IOException e) {
+            log.debug("pg_dump output closed: {}", e.getMessage());
         }
     }
 
@@ -11,6 +11,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Slf4j
 @Service
@@ -25,6 +26,9 @@ public class EncryptionKeyService {
     @Getter
     private volatile EncryptionKey latestKey;
 
+    // A lock rather than synchronized: the update does database I/O, which would pin a virtual thread's carrier
+    private final ReentrantLock updateLock = new ReentrantLock();
+
     @PostConstruct
     public void init() {
         updateLatestKey();
@@ -33,18 +37,23 @@ public class EncryptionKeyService {
     /**
      * Ensures that the latest encryption key is properly managed.
      */
-    private synchronized void updateLatestKey() {
-        latestKey = repository.findTopByOrderByKeyVersionDesc();
+    private void updateLatestKey() {
+        updateLock.lock();
+        try {
+            latestKey = repository.findTopByOrderByKeyVersionDesc();
 
-        if (latestKey == null || !latestKey.getSecretKey().equals(aesProperties.getSecretKey())) {
-            log.info("Creating new encryption key. Previous key version: {}", latestKey == null ? "None" : latestKey.getKeyVersion());
+            if (latestKey == null || !latestKey.getSecretKey().equals(aesProperties.getSecretKey())) {
+                log.info("Creating new encryption key. Previous key version: {}", latestKey == null ? "None" : latestKey.getKeyVersion());
 
-            EncryptionKey newKey = new EncryptionKey();
-            newKey.setKeyVersion(latestKey == null ? 1 : latestKey.getKeyVersion() + 1);
-            newKey.setSecretKey(aesProperties.getSecretKey());
+                EncryptionKey newKey = new EncryptionKey();
+                newKey.setKeyVersion(latestKey == null ? 1 : latestKey.getKeyVersion() + 1);
+                newKey.setSecretKey(aesProperties.getSecretKey());
 
-            latestKey = repository.save(newKey);
-            log.info("New encryption key stored with version: {}", latestKey.getKeyVersion());
+                latestKey = repository.save(newKey);
+                log.info("New encryption key stored with version: {}", latestKey.getKeyVersion());
+            }
+        } finally {
+            updateLock.unlock();
         }
     }
 
@@ -0,0 +1,26 @@
+package com.sid.app.service;
+
+import com.sid.app.model.ReminderMetricsDTO;
+import com.sid.app.model.UserNotificationDTO;
+import com.sid.app.service.reminder.ClaimedReminder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ReminderService {
+
+    // Lease the next batch of pending reminders due before the horizon for the given dispatcher
+    List<ClaimedReminder> claimDueReminders(String dispatcherId, LocalDateTime now, LocalDateTime horizon,
+                                            LocalDateTime leaseUntil, int batchSize);
+
+    // Fire reminders still leased by the dispatcher and return the notifications raised for them
+    List<UserNotificationDTO> fireReminders(String dispatcherId, List<Long> reminderQueueIds);
+
+    // Give up on reminders that were due before the cutoff and never fired
+    int expireMissedReminders(LocalDateTime cutoff);
+
+    // Hand the dispatcher's unfired leases back to the other instances
+    int releaseLeases(String dispatcherId);
+
+    ReminderMetricsDTO getMetrics();
+}
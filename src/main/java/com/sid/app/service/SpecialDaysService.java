@@ -2,43 +2,41 @@ package com.sid.app.service;
 
 
 import com.sid.app.constants.AppConstants;
-import com.sid.app.entity.User;
-import com.sid.app.entity.UserAddress;
-import com.sid.app.entity.UserProfile;
 import com.sid.app.model.CurrentMonthSpecialDaysDTO;
 import com.sid.app.model.PaginationDTO;
 import com.sid.app.model.ResponseDTO;
 import com.sid.app.model.SpecialDayDTO;
 import com.sid.app.model.SpecialDaysDataDTO;
-import com.sid.app.repository.UserRepository;
 import com.sid.app.repository.UserProfileRepository;
-import com.sid.app.repository.UserAddressRepository;
+import com.sid.app.service.specialdays.SpecialDayMember;
+import com.sid.app.service.specialdays.SpecialDaysCalendar;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.Year;
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Locale;
 
 /**
- * Service for handling Special Days operations (birthdays and work anniversaries)
+ * Service for handling Special Days operations (birthdays and work anniversaries).
+ * Served from the in-memory SpecialDaysCalendar when it is loaded, otherwise from the database.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class SpecialDaysService {
 
-    private final UserRepository userRepository;
+    private static final String KIND_BIRTHDAY = "BIRTHDAY";
+    private static final String TYPE_BIRTHDAY = "birthday";
+    private static final String TYPE_ANNIVERSARY = "work-anniversary";
+    private static final int MAX_UPCOMING_DAYS = 31;
+
     private final UserProfileRepository userProfileRepository;
-    private final UserAddressRepository userAddressRepository;
+    private final SpecialDaysCalendar specialDaysCalendar;
 
     /**
      * Get special days with filtering and pagination
@@ -53,55 +51,52 @@ public class SpecialDaysService {
 
             // Set defaults
             if (year == null) year = Year.now().getValue();
-            if (page == null) page = 1;
-            if (limit == null) limit = 50;
-            if (type == null) type = "all";
-            if (department == null) department = "all";
-            if (location == null) location = "all";
-
-            // Create pageable
-            Pageable pageable = PageRequest.of(page - 1, limit, Sort.by("name").ascending());
+            if (page == null || page < 1) page = 1;
+            if (limit == null || limit < 1) limit = 50;
+            validateMonth(month);
 
-            // Get users with USER role only
-            Page<User> usersPage = getUsersWithFilters(department, location, pageable);
-            log.info("Found {} active users with USER role for special days processing", usersPage.getTotalElements());
+            boolean birthdays = includesBirthdays(type);
+            boolean anniversaries = includesAnniversaries(type);
+            String departmentFilter = isAll(department) ? null : department;
+            String locationFilter = isAll(location) ? null : location;
+            int offset = (page - 1) * limit;
 
             List<SpecialDayDTO> specialDays = new ArrayList<>();
+            long totalItems;
+            if (specialDaysCalendar.isReady()) {
+                SpecialDaysCalendar.Page result = specialDaysCalendar.find(birthdays, anniversaries, month, year,
+                        departmentFilter, locationFilter, offset, limit);
+                result.members().forEach(member -> specialDays.add(toSpecialDayDTO(member)));
+                totalItems = result.total();
+            } else {
+                // One query: month filtering and pagination happen in the database, the total rides along
+                List<Object[]> rows = userProfileRepository.findSpecialDays(birthdays, anniversaries, month, year,
+                        departmentFilter, locationFilter, offset, limit);
+                for (Object[] row : rows) {
+                    specialDays.add(toSpecialDayDTO(row, 0));
+                }
 
-            for (User user : usersPage.getContent()) {
-                // Fetch user profile and address separately
-                Optional<UserProfile> profileOpt = userProfileRepository.findByUserId(user.getUserId());
-                Optional<UserAddress> addressOpt = userAddressRepository.findByUserIdAndIsPrimaryTrue(user.getUserId());
-
-                if (profileOpt.isPresent()) {
-                    UserProfile profile = profileOpt.get();
-                    UserAddress address = addressOpt.orElse(null);
-
-                    // Add birthday if criteria matches
-                    if (shouldIncludeBirthday(type, month, profile.getDateOfBirth())) {
-                        SpecialDayDTO employeeData = createEmployeeDTO(user, profile, address);
-                        specialDays.add(employeeData);
-                        log.debug("Added birthday for USER role - user ID {}: {}", user.getUserId(), user.getName());
-                    }
-                    // For work anniversary, we'll include the same employee data
-                    else if (shouldIncludeAnniversary(type, month, profile.getDateOfJoining(), year)) {
-                        SpecialDayDTO employeeData = createEmployeeDTO(user, profile, address);
-                        specialDays.add(employeeData);
-                        log.debug("Added anniversary for USER role - user ID {}: {}", user.getUserId(), user.getName());
-                    }
+                if (!rows.isEmpty()) {
+                    totalItems = ((Number) rows.get(0)[8]).longValue();
+                } else if (page > 1) {
+                    // Past the last page the window total is not available
+                    totalItems = userProfileRepository.countSpecialDays(birthdays, anniversaries, month, year,
+                            departmentFilter, locationFilter);
                 } else {
-                    log.debug("Skipping user ID {} - no profile found", user.getUserId());
+                    totalItems = 0;
                 }
             }
+            int totalPages = (int) ((totalItems + limit - 1) / limit);
+            log.info("Found {} special days matching the filters", totalItems);
 
             // Create pagination
             PaginationDTO pagination = PaginationDTO.builder()
                     .currentPage(page)
                     .itemsPerPage(limit)
-                    .totalItems(usersPage.getTotalElements())
-                    .totalPages(usersPage.getTotalPages())
+                    .totalItems(totalItems)
+                    .totalPages(totalPages)
                     .hasPreviousPage(page > 1)
-                    .hasNextPage(page < usersPage.getTotalPages())
+                    .hasNextPage(page < totalPages)
                     .build();
 
             SpecialDaysDataDTO data = SpecialDaysDataDTO.builder()
@@ -134,55 +129,44 @@ public class SpecialDaysService {
             if (month == null) month = LocalDate.now().getMonthValue();
             if (year == null) year = Year.now().getValue();
             if (limit == null) limit = 10;
+            validateMonth(month);
 
             log.info("Fetching current month special days for month={}, year={}, limit={}", month, year, limit);
 
-            List<User> users = userRepository.findActiveUsersWithProfiles();
-
             List<SpecialDayDTO> birthdays = new ArrayList<>();
             List<SpecialDayDTO> anniversaries = new ArrayList<>();
-
-            for (User user : users) {
-                // Fetch user profile and address separately
-                Optional<UserProfile> profileOpt = userProfileRepository.findByUserId(user.getUserId());
-                Optional<UserAddress> addressOpt = userAddressRepository.findByUserIdAndIsPrimaryTrue(user.getUserId());
-
-                if (profileOpt.isPresent()) {
-                    UserProfile profile = profileOpt.get();
-                    UserAddress address = addressOpt.orElse(null);
-
-                    // Check birthdays
-                    if (profile.getDateOfBirth() != null &&
-                        profile.getDateOfBirth().getMonthValue() == month) {
-                        birthdays.add(createEmployeeDTO(user, profile, address));
-                        log.debug("Added birthday for user ID {}: {}", user.getUserId(), user.getName());
-                    }
-
-                    // Check anniversaries (only if 1+ years of service)
-                    if (profile.getDateOfJoining() != null &&
-                        profile.getDateOfJoining().getMonthValue() == month &&
-                        profile.getDateOfJoining().getYear() < year) {
-                        anniversaries.add(createEmployeeDTO(user, profile, address));
-                        log.debug("Added anniversary for user ID {}: {}", user.getUserId(), user.getName());
+            long birthdayCount = 0;
+            long anniversaryCount = 0;
+
+            if (specialDaysCalendar.isReady()) {
+                SpecialDaysCalendar.Page birthdayPage = specialDaysCalendar.find(true, false, month, year,
+                        null, null, 0, limit);
+                SpecialDaysCalendar.Page anniversaryPage = specialDaysCalendar.find(false, true, month, year,
+                        null, null, 0, limit);
+                birthdayPage.members().forEach(member -> birthdays.add(toSpecialDayDTO(member)));
+                anniversaryPage.members().forEach(member -> anniversaries.add(toSpecialDayDTO(member)));
+                birthdayCount = birthdayPage.total();
+                anniversaryCount = anniversaryPage.total();
+            } else {
+                // One query regardless of headcount: the first `limit` of each kind by name, plus per-kind totals
+                List<Object[]> rows = userProfileRepository.findTopSpecialDaysOfMonth(month, year, limit);
+
+                for (Object[] row : rows) {
+                    long kindTotal = ((Number) row[9]).longValue();
+                    if (KIND_BIRTHDAY.equals(row[0])) {
+                        birthdays.add(toSpecialDayDTO(row, 1));
+                        birthdayCount = kindTotal;
+                    } else {
+                        anniversaries.add(toSpecialDayDTO(row, 1));
+                        anniversaryCount = kindTotal;
                     }
                 }
             }
 
-            // Limit results and sort by name
-            birthdays = birthdays.stream()
-                    .sorted((a, b) -> a.getName().compareTo(b.getName()))
-                    .limit(limit)
-                    .collect(Collectors.toList());
-
-            anniversaries = anniversaries.stream()
-                    .sorted((a, b) -> a.getName().compareTo(b.getName()))
-                    .limit(limit)
-                    .collect(Collectors.toList());
-
             CurrentMonthSpecialDaysDTO.CountsDTO counts = CurrentMonthSpecialDaysDTO.CountsDTO.builder()
-                    .birthdays((long) birthdays.size())
-                    .anniversaries((long) anniversaries.size())
-                    .total((long) (birthdays.size() + anniversaries.size()))
+                    .birthdays(birthdayCount)
+                    .anniversaries(anniversaryCount)
+                    .total(birthdayCount + anniversaryCount)
                     .build();
 
             CurrentMonthSpecialDaysDTO data = CurrentMonthSpecialDaysDTO.builder()
@@ -210,37 +194,148 @@ public class SpecialDaysService {
         }
     }
 
-    private Page<User> getUsersWithFilters(String department, String location, Pageable pageable) {
-        // For now, returning all active users with profiles and addresses
-        // This can be enhanced with actual filtering logic when needed
-        return userRepository.findActiveUsersWithProfilesAndAddresses(pageable);
+    /**
+     * Get birthdays and work anniversaries falling within the next days (e.g. this week), by date then name.
+     * Each record carries its type and the date it falls on; Feb 29 dates fall on Feb 28 in other years.
+     */
+    public ResponseDTO<SpecialDaysDataDTO> getUpcomingSpecialDays(LocalDate from, Integer days, String type,
+                                                                  String department, String location) {
+        try {
+            if (from == null) from = LocalDate.now();
+            if (days == null) days = 7;
+            days = Math.min(Math.max(days, 1), MAX_UPCOMING_DAYS);
+
+            log.info("Fetching upcoming special days from={}, days={}, type={}, department={}, location={}",
+                    from, days, type, department, location);
+
+            boolean birthdays = includesBirthdays(type);
+            boolean anniversaries = includesAnniversaries(type);
+            String departmentFilter = isAll(department) ? null : department;
+            String locationFilter = isAll(location) ? null : location;
+
+            List<SpecialDayDTO> specialDays = new ArrayList<>();
+            if (specialDaysCalendar.isReady()) {
+                for (SpecialDaysCalendar.Occurrence occurrence : specialDaysCalendar.upcoming(from, days,
+                        birthdays, anniversaries, departmentFilter, locationFilter)) {
+                    SpecialDayDTO dto = toSpecialDayDTO(occurrence.member());
+                    dto.setType(occurrence.anniversary() ? TYPE_ANNIVERSARY : TYPE_BIRTHDAY);
+                    dto.setOccursOn(occurrence.date());
+                    specialDays.add(dto);
+                }
+            } else {
+                specialDays = findUpcomingInDatabase(from, days, birthdays, anniversaries, departmentFilter, locationFilter);
+            }
+
+            SpecialDaysDataDTO data = SpecialDaysDataDTO.builder()
+                    .records(specialDays)
+                    .build();
+
+            log.info("Successfully retrieved {} upcoming special days", specialDays.size());
+            return ResponseDTO.<SpecialDaysDataDTO>builder()
+                    .status(AppConstants.STATUS_SUCCESS)
+                    .message(AppConstants.SUCCESS_SPECIAL_DAYS_RETRIEVED)
+                    .data(data)
+                    .build();
+
+        } catch (Exception e) {
+            log.error("Error retrieving upcoming special days", e);
+            return ResponseDTO.<SpecialDaysDataDTO>builder()
+                    .status(AppConstants.STATUS_FAILED)
+                    .message(AppConstants.ERROR_SPECIAL_DAYS_RETRIEVAL_FAILED)
+                    .data(null)
+                    .build();
+        }
+    }
+
+    // Without the calendar: load the (at most two) months the range touches and place each date in it
+    private List<SpecialDayDTO> findUpcomingInDatabase(LocalDate from, int days, boolean birthdays, boolean anniversaries,
+                                                       String department, String location) {
+        LocalDate to = from.plusDays(days - 1L);
+        List<SpecialDayDTO> candidates = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(YearMonth.from(to)); month = month.plusMonths(1)) {
+            for (Object[] row : userProfileRepository.findSpecialDays(birthdays, anniversaries, month.getMonthValue(),
+                    to.getYear(), department, location, 0, Integer.MAX_VALUE)) {
+                candidates.add(toSpecialDayDTO(row, 0));
+            }
+        }
+
+        List<SpecialDayDTO> specialDays = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            for (SpecialDayDTO candidate : candidates) {
+                if (birthdays && fallsOn(candidate.getDateOfBirth(), date)) {
+                    specialDays.add(candidate.toBuilder().type(TYPE_BIRTHDAY).occursOn(date).build());
+                }
+                if (anniversaries && fallsOn(candidate.getDateOfJoining(), date)
+                        && candidate.getDateOfJoining().getYear() < date.getYear()) {
+                    specialDays.add(candidate.toBuilder().type(TYPE_ANNIVERSARY).occursOn(date).build());
+                }
+            }
+        }
+        return specialDays;
     }
 
-    private boolean shouldIncludeBirthday(String type, Integer month, LocalDate dateOfBirth) {
-        if (dateOfBirth == null) return false;
-        if (!"all".equals(type) && !"birthday".equals(type)) return false;
-        if (month != null && dateOfBirth.getMonthValue() != month) return false;
-        return true;
+    private boolean fallsOn(LocalDate anniversaryOf, LocalDate date) {
+        if (anniversaryOf == null) return false;
+        // withYear moves Feb 29 to Feb 28 in non-leap years
+        return anniversaryOf.withYear(date.getYear()).equals(date);
     }
 
-    private boolean shouldIncludeAnniversary(String type, Integer month, LocalDate dateOfJoining, Integer year) {
-        if (dateOfJoining == null) return false;
-        if (!"all".equals(type) && !"work-anniversary".equals(type)) return false;
-        if (month != null && dateOfJoining.getMonthValue() != month) return false;
-        // Only include if employee has at least 1 year of service
-        return dateOfJoining.getYear() < year;
+    // Accepts "birthday" / "work-anniversary" as well as the BIRTHDAY / ANNIVERSARY used by the typed endpoints
+    private boolean includesBirthdays(String type) {
+        String normalized = normalizeType(type);
+        return normalized.equals("all") || normalized.equals(TYPE_BIRTHDAY);
     }
 
-    private SpecialDayDTO createEmployeeDTO(User user, UserProfile profile, UserAddress address) {
+    private boolean includesAnniversaries(String type) {
+        String normalized = normalizeType(type);
+        return normalized.equals("all") || normalized.equals(TYPE_ANNIVERSARY) || normalized.equals("anniversary");
+    }
+
+    private String normalizeType(String type) {
+        return type == null || type.isBlank() ? "all" : type.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private void validateMonth(Integer month) {
+        if (month != null && (month < 1 || month > 12)) {
+            throw new IllegalArgumentException("Month must be between 1 and 12");
+        }
+    }
+
+    private boolean isAll(String filter) {
+        return filter == null || filter.isBlank() || "all".equalsIgnoreCase(filter);
+    }
+
+    private SpecialDayDTO toSpecialDayDTO(SpecialDayMember member) {
+        return SpecialDayDTO.builder()
+                .userId(member.userId())
+                .name(member.name())
+                .email(member.email())
+                .designation(member.designation())
+                .city(member.city())
+                .country(member.country())
+                .dateOfBirth(member.dateOfBirth())
+                .dateOfJoining(member.dateOfJoining())
+                .build();
+    }
+
+    // Maps (user_id, name, email, position, city, country, date_of_birth, date_of_joining) starting at {@code from}
+    private SpecialDayDTO toSpecialDayDTO(Object[] row, int from) {
         return SpecialDayDTO.builder()
-                .userId(user.getUserId())
-                .name(user.getName())
-                .email(user.getEmail())
-                .designation(profile.getPosition())
-                .city(address != null ? address.getCity() : null)
-                .country(address != null ? address.getCountry() : null)
-                .dateOfBirth(profile.getDateOfBirth())
-                .dateOfJoining(profile.getDateOfJoining())
+                .userId(((Number) row[from]).longValue())
+                .name((String) row[from + 1])
+                .email((String) row[from + 2])
+                .designation((String) row[from + 3])
+                .city((String) row[from + 4])
+                .country((String) row[from + 5])
+                .dateOfBirth(toLocalDate(row[from + 6]))
+                .dateOfJoining(toLocalDate(row[from + 7]))
                 .build();
     }
+
+    private LocalDate toLocalDate(Object value) {
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate();
+        }
+        return (LocalDate) value;
+    }
 }
@@ -16,7 +16,7 @@ public interface UserNotesService {
     // Core CRUD operations
     UserNotesDTO createNote(Long userId, UserNotesDTO noteDTO);
     UserNotesDTO getNoteById(Long userId, Long noteId);
-    UserNotesListResponseDTO getAllUserNotes(Long userId, Pageable pageable);
+    UserNotesListResponseDTO getAllUserNotes(Long userId, boolean summary, Pageable pageable);
     UserNotesDTO updateNote(Long userId, Long noteId, UserNotesDTO noteDTO);
     void deleteNote(Long userId, Long noteId, boolean permanent);
 
@@ -25,13 +25,14 @@ public interface UserNotesService {
                                           NoteCategory category, NotePriority priority,
                                           NoteStatus status, Boolean isPinned, Boolean isShared,
                                           LocalDateTime startDate, LocalDateTime endDate,
-                                          String searchTerm, Pageable pageable);
-
-    UserNotesListResponseDTO getNotesByType(Long userId, NoteType noteType, Pageable pageable);
-    UserNotesListResponseDTO getNotesByCategory(Long userId, NoteCategory category, Pageable pageable);
-    UserNotesListResponseDTO getPinnedNotes(Long userId, Pageable pageable);
-    UserNotesListResponseDTO getArchivedNotes(Long userId, Pageable pageable);
-    UserNotesListResponseDTO searchNotes(Long userId, String searchTerm, Pageable pageable);
+                                          String searchTerm, boolean includeFacets, boolean summary,
+                                          Pageable pageable);
+
+    UserNotesListResponseDTO getNotesByType(Long userId, NoteType noteType, boolean summary, Pageable pageable);
+    UserNotesListResponseDTO getNotesByCategory(Long userId, NoteCategory category, boolean summary, Pageable pageable);
+    UserNotesListResponseDTO getPinnedNotes(Long userId, boolean summary, Pageable pageable);
+    UserNotesListResponseDTO getArchivedNotes(Long userId, boolean summary, Pageable pageable);
+    UserNotesListResponseDTO searchNotes(Long userId, String searchTerm, boolean summary, Pageable pageable);
 
     // Status and property updates
     UserNotesDTO updateNoteStatus(Long userId, Long noteId, NoteStatus status);
@@ -0,0 +1,25 @@
+package com.sid.app.service;
+
+import com.sid.app.model.UserNotificationDTO;
+import com.sid.app.model.UserNotificationsListResponseDTO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+public interface UserNotificationService {
+
+    // Latest notifications first, with the user's unread count
+    UserNotificationsListResponseDTO getNotifications(Long userId, boolean unreadOnly, Pageable pageable);
+
+    long getUnreadCount(Long userId);
+
+    // Mark the given notifications as read, or all unread ones when no ids are given
+    int markRead(Long userId, List<Long> userNotificationIds);
+
+    // Open a notification stream, replaying notifications after lastEventId when reconnecting
+    SseEmitter subscribe(Long userId, Long lastEventId);
+
+    // Push notifications to the open streams of their users on this instance
+    void publish(List<UserNotificationDTO> notifications);
+}
@@ -2,8 +2,10 @@ package com.sid.app.service;
 
 import com.sid.app.entity.User;
 import com.sid.app.entity.UserRole;
+import com.sid.app.enums.UserSortField;
 import com.sid.app.model.UserDTO;
 import com.sid.app.model.UserStatusUpdateRequest;
+import com.sid.app.model.UsersListResponseDTO;
 import com.sid.app.repository.UserRepository;
 import com.sid.app.repository.UserRoleRepository;
 import jakarta.persistence.EntityNotFoundException;
@@ -12,7 +14,20 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -28,17 +43,106 @@ public class UserService {
     private final UserRepository userRepository;
     private final UserRoleRepository userRoleRepository;
 
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int EXPORT_BATCH_SIZE = 1000;
+
     public List<UserDTO> getAllUsers() {
         log.info("Fetching all users from the database.");
-        List<User> users = userRepository.findAll();
-        if (users.isEmpty()) {
+        // One query with the role joined in; no entities, no password columns
+        List<Object[]> rows = userRepository.findUserRows(null, null, null, UserSortField.USER_ID, false,
+                null, null, Integer.MAX_VALUE);
+        if (rows.isEmpty()) {
             log.warn("No users found in the database.");
         }
-        return users.stream()
-                .map(this::convertToDTO)
+        return rows.stream()
+                .map(this::toUserDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * One keyset page of users matching the search (name, email or mobile number), role and active filters.
+     *
+     * @param cursor nextCursor of the previous page, or null for the first page
+     */
+    public UsersListResponseDTO listUsers(String search, String role, Boolean isActive,
+                                          String sort, String direction, String cursor, int size) {
+        UserSortField sortField = UserSortField.fromFieldName(sort);
+        boolean descending = isDescending(direction);
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        Object afterValue = null;
+        Long afterUserId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeCursor(cursor, sortField, descending);
+            afterUserId = Long.parseLong(parts[2]);
+            afterValue = parseSortValue(sortField, parts[3]);
+        }
+
+        // One extra row tells whether another page follows
+        List<Object[]> rows = userRepository.findUserRows(search, role, isActive, sortField, descending,
+                afterValue, afterUserId, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        Long totalItems = afterUserId == null ? userRepository.countUsers(search, role, isActive) : null;
+        String nextCursor = hasMore ? encodeCursor(sortField, descending, rows.get(rows.size() - 1)) : null;
+        log.info("listUsers() : Returning {} users (sort={} {}, hasMore={})", rows.size(), sortField, descending ? "desc" : "asc", hasMore);
+
+        return UsersListResponseDTO.builder()
+                .data(rows.stream().map(this::toUserDTO).toList())
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .totalItems(totalItems)
+                .build();
+    }
+
+    /**
+     * Writes every user matching the filters as CSV, reading them in keyset batches so memory use does not
+     * grow with headcount and no transaction stays open while the client downloads.
+     */
+    public long exportUsersCsv(String search, String role, Boolean isActive, String sort, String direction,
+                               OutputStream outputStream) throws IOException {
+        UserSortField sortField = UserSortField.fromFieldName(sort);
+        boolean descending = isDescending(direction);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write("userId,username,email,mobileNumber,role,lastLoginTime,loginAttempts,isAccountLocked,isActive\n");
+
+        long exported = 0;
+        Object afterValue = null;
+        Long afterUserId = null;
+        List<Object[]> rows;
+        do {
+            rows = userRepository.findUserRows(search, role, isActive, sortField, descending,
+                    afterValue, afterUserId, EXPORT_BATCH_SIZE);
+            for (Object[] row : rows) {
+                UserDTO user = toUserDTO(row);
+                writer.write(String.join(",",
+                        String.valueOf(user.getUserId()),
+                        csv(user.getUsername()),
+                        csv(user.getEmail()),
+                        csv(user.getMobileNumber()),
+                        csv(user.getRole()),
+                        user.getLastLoginTime() != null ? user.getLastLoginTime().toString() : "",
+                        String.valueOf(user.getLoginAttempts()),
+                        String.valueOf(user.getIsAccountLocked()),
+                        String.valueOf(user.getIsActive())));
+                writer.write("\n");
+            }
+            if (!rows.isEmpty()) {
+                Object[] last = rows.get(rows.size() - 1);
+                afterUserId = ((Number) last[0]).longValue();
+                afterValue = sortValue(sortField, last[9]);
+            }
+            exported += rows.size();
+            writer.flush();
+        } while (rows.size() == EXPORT_BATCH_SIZE);
+
+        log.info("exportUsersCsv() : Exported {} users", exported);
+        return exported;
+    }
+
     public UserDTO getUserById(Long userId) {
         log.info("Fetching user with ID: {}", userId);
         return userRepository.findById(userId)
@@ -129,6 +233,109 @@ public class UserService {
         log.info("User with ID {} deleted successfully.", userId);
     }
 
+    private boolean isDescending(String direction) {
+        if (direction == null || direction.isBlank() || direction.equalsIgnoreCase("asc")) {
+            return false;
+        }
+        if (direction.equalsIgnoreCase("desc")) {
+            return true;
+        }
+        throw new IllegalArgumentException("Invalid sort direction: " + direction);
+    }
+
+    // Cursor = base64url("sortField|direction|userId|sortValue"); sortValue goes last as it may contain '|'
+    private String encodeCursor(UserSortField sortField, boolean descending, Object[] lastRow) {
+        Object value = sortValue(sortField, lastRow[9]);
+        String raw = sortField.name() + "|" + (descending ? "desc" : "asc") + "|" + lastRow[0] + "|"
+                + (value == null || sortField == UserSortField.USER_ID ? "" : value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor, UserSortField sortField, boolean descending) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8).split("\\|", 4);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (parts.length != 4 || !parts[0].equals(sortField.name())
+                || !parts[1].equals(descending ? "desc" : "asc") || !parts[2].matches("\\d+")) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort");
+        }
+        return parts;
+    }
+
+    private Object parseSortValue(UserSortField sortField, String value) {
+        return switch (sortField) {
+            case NAME, EMAIL -> value;
+            case USER_ID -> null;
+            case LAST_LOGIN_TIME -> {
+                try {
+                    yield OffsetDateTime.parse(value);
+                } catch (DateTimeParseException e) {
+                    throw new IllegalArgumentException("Invalid cursor");
+                }
+            }
+        };
+    }
+
+    // last_login_time is a timestamptz; the cursor keeps the offset so the comparison is exact
+    private Object sortValue(UserSortField sortField, Object value) {
+        if (sortField == UserSortField.LAST_LOGIN_TIME) {
+            return toOffsetDateTime(value);
+        }
+        return value;
+    }
+
+    // Quotes fields containing separators, and defuses values a spreadsheet would run as a formula
+    private String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        String escaped = value;
+        if (!escaped.isEmpty() && "=+-@".indexOf(escaped.charAt(0)) >= 0) {
+            escaped = "'" + escaped;
+        }
+        if (escaped.contains(",") || escaped.contains("\"") || escaped.contains("\n") || escaped.contains("\r")) {
+            escaped = "\"" + escaped.replace("\"", "\"\"") + "\"";
+        }
+        return escaped;
+    }
+
+    private OffsetDateTime toOffsetDateTime(Object value) {
+        return switch (value) {
+            case null -> null;
+            case OffsetDateTime offsetDateTime -> offsetDateTime;
+            case Instant instant -> instant.atOffset(ZoneOffset.UTC);
+            case Timestamp timestamp -> timestamp.toInstant().atOffset(ZoneOffset.UTC);
+            default -> throw new IllegalStateException("Unexpected timestamp type: " + value.getClass().getName());
+        };
+    }
+
+    private LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof LocalDateTime localDateTime) {
+            return localDateTime;
+        }
+        OffsetDateTime offsetDateTime = toOffsetDateTime(value);
+        return offsetDateTime == null ? null
+                : offsetDateTime.atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+    }
+
+    // Row of (user_id, name, email, mobile_number, role, last_login_time, login_attempts, account_locked, is_active, ...)
+    private UserDTO toUserDTO(Object[] row) {
+        return UserDTO.builder()
+                .userId(((Number) row[0]).longValue())
+                .username((String) row[1])
+                .email((String) row[2])
+                .mobileNumber((String) row[3])
+                .role((String) row[4])
+                .lastLoginTime(toLocalDateTime(row[5]))
+                .loginAttempts(row[6] != null ? ((Number) row[6]).intValue() : null)
+                .isAccountLocked((Boolean) row[7])
+                .isActive((Boolean) row[8])
+                .build();
+    }
+
     private UserDTO convertToDTO(User user) {
         // find role name from roleId; if not found, fallback to null or empty string
         String roleName = null;
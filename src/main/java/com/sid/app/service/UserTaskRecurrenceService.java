@@ -0,0 +1,23 @@
+package com.sid.app.service;
+
+import com.sid.app.entity.UserTasks;
+import com.sid.app.enums.TaskStatus;
+import com.sid.app.service.recurrence.TaskOccurrence;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface UserTaskRecurrenceService {
+
+    // Rejects unsupported patterns before a recurring task is stored
+    void validatePattern(Boolean isRecurring, String recurringPattern);
+
+    // Whether the task is a recurring series whose occurrences are expanded at query time
+    boolean isSeries(UserTasks task);
+
+    // Occurrences of the user's recurring series whose task date (or due date) falls within [startDate, endDate]
+    List<TaskOccurrence> expand(Long userId, LocalDate startDate, LocalDate endDate, boolean byDueDate);
+
+    // Records a per-occurrence status without touching the series or other occurrences
+    TaskOccurrence updateOccurrenceStatus(Long userId, Long userTaskId, LocalDate occurrenceDate, TaskStatus status);
+}
@@ -0,0 +1,17 @@
+package com.sid.app.service;
+
+import com.sid.app.model.UserTaskTagDTO;
+
+import java.util.List;
+
+public interface UserTaskTagService {
+
+    // Full tag dictionary of the user, most used first
+    List<UserTaskTagDTO> getTags(Long userId);
+
+    // Case-insensitive prefix match against the user's tag dictionary, most used first
+    List<UserTaskTagDTO> autocomplete(Long userId, String prefix, int limit);
+
+    // Drop the cached dictionary of the user once the current transaction commits
+    void evictAfterCommit(Long userId);
+}
@@ -15,7 +15,7 @@ public interface UserTasksService {
     // Core CRUD operations
     UserTasksDTO createTask(Long userId, UserTasksDTO taskDTO);
     UserTasksDTO getTaskById(Long userId, Long userTaskId);
-    UserTasksListResponseDTO getAllUserTasks(Long userId, Pageable pageable);
+    UserTasksListResponseDTO getAllUserTasks(Long userId, boolean summary, Pageable pageable);
     UserTasksDTO updateTask(Long userId, Long userTaskId, UserTasksDTO taskDTO);
     void deleteTask(Long userId, Long userTaskId);
 
@@ -24,15 +24,23 @@ public interface UserTasksService {
                                                  TaskCategory category, TaskType taskType,
                                                  LocalDate startDate, LocalDate endDate,
                                                  LocalDate dueDateStart, LocalDate dueDateEnd,
-                                                 Boolean isRecurring, String searchTerm,
-                                                 String[] tags, Pageable pageable);
+                                                 Boolean isRecurring, Boolean isOverdue, String searchTerm,
+                                                 String[] tags, boolean includeFacets, boolean includeTagFacets,
+                                                 boolean summary, Pageable pageable);
 
-    UserTasksListResponseDTO getTasksByStatus(Long userId, TaskStatus status, Pageable pageable);
-    UserTasksListResponseDTO getTasksByPriority(Long userId, TaskPriority priority, Pageable pageable);
-    UserTasksListResponseDTO getTasksByCategory(Long userId, TaskCategory category, Pageable pageable);
-    UserTasksListResponseDTO getTasksByType(Long userId, TaskType taskType, Pageable pageable);
-    UserTasksListResponseDTO searchTasks(Long userId, String searchTerm, Pageable pageable);
-    UserTasksListResponseDTO getOverdueTasks(Long userId, Pageable pageable);
+    UserTasksListResponseDTO getTasksByStatus(Long userId, TaskStatus status, boolean summary, Pageable pageable);
+    UserTasksListResponseDTO getTasksByPriority(Long userId, TaskPriority priority, boolean summary, Pageable pageable);
+    UserTasksListResponseDTO getTasksByCategory(Long userId, TaskCategory category, boolean summary, Pageable pageable);
+    UserTasksListResponseDTO getTasksByType(Long userId, TaskType taskType, boolean summary, Pageable pageable);
+    UserTasksListResponseDTO searchTasks(Long userId, String searchTerm, boolean summary, Pageable pageable);
+    UserTasksListResponseDTO getOverdueTasks(Long userId, boolean summary, Pageable pageable);
+
+    // Flag one batch of tasks whose due date has just passed; returns the number flagged
+    int flagOverdueTasks(int lookbackDays, int batchSize);
+
+    // Recurring tasks
+    List<UserTasksDTO> getTasksInRange(Long userId, LocalDate startDate, LocalDate endDate, boolean byDueDate);
+    UserTasksDTO updateOccurrenceStatus(Long userId, Long userTaskId, LocalDate occurrenceDate, TaskStatus status);
 
     // Status and property update operations
     UserTasksDTO updateTaskStatus(Long userId, Long userTaskId, TaskStatus status);
@@ -48,4 +56,5 @@ public interface UserTasksService {
     // Additional features
     UserTasksDTO duplicateTask(Long userId, Long userTaskId);
     List<UserTasksDTO> getSubtasks(Long userId, Long parentTaskId);
+    List<UserTaskTreeNodeDTO> getTaskTree(Long userId, Long rootTaskId);
 }
@@ -0,0 +1,274 @@
+package com.sid.app.service.backup;
+
+import com.sid.app.config.DatabaseBackupProperties;
+import com.sid.app.enums.BackupJobStatus;
+import com.sid.app.enums.BackupJobType;
+import com.sid.app.model.BackupJobDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Runs backups and restores off the request thread. Jobs go to a fixed pool of
+ * {@code app.backup.max-concurrent-jobs} threads behind a queue of {@code app.backup.job-queue-capacity};
+ * submissions beyond that are rejected rather than piling up. Backups run side by side, but a restore runs
+ * alone: it waits for running jobs to finish and holds back the ones behind it. Job state lives in memory on the
+ * instance that took the job, and the latest {@code app.backup.job-history-size} finished jobs are kept for polling.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BackupJobQueue {
+
+    private final DatabaseBackupProperties databaseBackupProperties;
+
+    private final Map<String, BackupJob> jobs = new ConcurrentHashMap<>();
+
+    // Shared by backups, exclusive for restores; fair, so a waiting restore is not overtaken by later backups
+    private final ReadWriteLock restoreLock = new ReentrantReadWriteLock(true);
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void start() {
+        int workers = Math.max(1, databaseBackupProperties.getMaxConcurrentJobs());
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, databaseBackupProperties.getJobQueueCapacity())),
+                Thread.ofPlatform().name("backup-job-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        log.info("start() : Backup job queue started ({} workers, queue of {})", workers,
+                databaseBackupProperties.getJobQueueCapacity());
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queues a job and returns at once.
+     *
+     * @throws RejectedExecutionException when the queue is full
+     */
+    public BackupJobDTO submit(BackupJobType type, String target, BackupTask task) {
+        BackupJob job = new BackupJob(UUID.randomUUID().toString(), type, target);
+        jobs.put(job.jobId, job);
+        // Held while submitting, so the job cannot start or be cancelled before its future is set
+        try {
+            synchronized (job) {
+                job.future = executor.submit(() -> run(job, task));
+            }
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.jobId);
+            throw e;
+        }
+        log.info("submit() : Queued {} job {} for {}", type, job.jobId, target);
+        return job.toDTO();
+    }
+
+    public Optional<BackupJobDTO> find(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(BackupJob::toDTO);
+    }
+
+    /**
+     * All known jobs, newest first.
+     */
+    public List<BackupJobDTO> list() {
+        return jobs.values().stream()
+                .sorted(Comparator.comparing((BackupJob job) -> job.submittedAt).reversed())
+                .map(BackupJob::toDTO)
+                .toList();
+    }
+
+    /**
+     * Cancels a queued job, or interrupts a running one; pg_dump is stopped and the partial output removed.
+     * A logical backup stops once the table copies in flight complete.
+     */
+    public BackupJobDTO cancel(String jobId) {
+        BackupJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new IllegalArgumentException("Backup job not found: " + jobId);
+        }
+        synchronized (job) {
+            if (job.status.isFinished()) {
+                return job.toDTO();
+            }
+            job.cancelRequested = true;
+            if (job.status == BackupJobStatus.QUEUED) {
+                job.finish(BackupJobStatus.CANCELLED, null, "Cancelled before start");
+                // Interrupted too, in case it is already waiting for a restore to finish
+                job.future.cancel(true);
+                executor.purge();
+            } else {
+                job.future.cancel(true);
+            }
+        }
+        log.info("cancel() : Cancellation requested for backup job {}", jobId);
+        return job.toDTO();
+    }
+
+    private void run(BackupJob job, BackupTask task) {
+        Lock lock = job.type == BackupJobType.RESTORE ? restoreLock.writeLock() : restoreLock.readLock();
+        // Still queued while waiting its turn, so it can be cancelled without ever starting
+        try {
+            lock.lockInterruptibly();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            runLocked(job, task);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void runLocked(BackupJob job, BackupTask task) {
+        synchronized (job) {
+            if (job.status != BackupJobStatus.QUEUED) {
+                return;
+            }
+            job.status = BackupJobStatus.RUNNING;
+            job.startedAt = LocalDateTime.now();
+        }
+        try {
+            String result = task.run(job);
+            synchronized (job) {
+                job.finish(BackupJobStatus.SUCCEEDED, result, null);
+            }
+            log.info("run() : Backup job {} succeeded: {}", job.jobId, result);
+        } catch (Exception e) {
+            synchronized (job) {
+                if (job.cancelRequested) {
+                    job.finish(BackupJobStatus.CANCELLED, null, "Cancelled");
+                } else {
+                    job.finish(BackupJobStatus.FAILED, null, e.getMessage());
+                }
+            }
+            if (job.cancelRequested) {
+                log.info("run() : Backup job {} cancelled", job.jobId);
+            } else {
+                log.error("run() : Backup job {} failed", job.jobId, e);
+            }
+        } finally {
+            trimHistory();
+        }
+    }
+
+    private void trimHistory() {
+        List<BackupJob> finished = jobs.values().stream()
+                .filter(job -> job.status.isFinished())
+                .sorted(Comparator.comparing((BackupJob job) -> job.finishedAt).reversed())
+                .toList();
+        int historySize = Math.max(0, databaseBackupProperties.getJobHistorySize());
+        for (int i = historySize; i < finished.size(); i++) {
+            jobs.remove(finished.get(i).jobId);
+        }
+    }
+
+    /**
+     * The work of a job; returns the name of the backup produced or restored.
+     */
+    @FunctionalInterface
+    public interface BackupTask {
+        String run(BackupJob job) throws Exception;
+    }
+
+    /**
+     * A job and its progress. As a {@link BackupProgress} it counts the tables of logical backups;
+     * for pg_dump the size of the output file so far is the progress.
+     */
+    public static final class BackupJob implements BackupProgress {
+
+        private final String jobId;
+        private final BackupJobType type;
+        private final String target;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final AtomicInteger tablesTotal = new AtomicInteger();
+        private final AtomicInteger tablesDone = new AtomicInteger();
+
+        private volatile BackupJobStatus status = BackupJobStatus.QUEUED;
+        private volatile boolean cancelRequested;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile Path output;
+        private volatile String result;
+        private volatile String message;
+        private Future<?> future;
+
+        private BackupJob(String jobId, BackupJobType type, String target) {
+            this.jobId = jobId;
+            this.type = type;
+            this.target = target;
+        }
+
+        /**
+         * File the job is writing, reported as bytes written while it runs
+         */
+        public void setOutput(Path output) {
+            this.output = output;
+        }
+
+        @Override
+        public void tablesPlanned(int tables) {
+            tablesTotal.addAndGet(tables);
+        }
+
+        @Override
+        public void tableDone(String table, long rows) {
+            tablesDone.incrementAndGet();
+        }
+
+        // Status last: a finished status is only ever seen with its finish time and result
+        private void finish(BackupJobStatus finalStatus, String finalResult, String finalMessage) {
+            finishedAt = LocalDateTime.now();
+            result = finalResult;
+            message = finalMessage;
+            status = finalStatus;
+        }
+
+        private BackupJobDTO toDTO() {
+            Long bytesWritten = null;
+            Path file = output;
+            if (file != null) {
+                try {
+                    bytesWritten = Files.exists(file) ? Files.size(file) : 0L;
+                } catch (IOException e) {
+                    log.debug("toDTO() : Could not read size of {}: {}", file, e.getMessage());
+                }
+            }
+            boolean tableProgress = type != BackupJobType.PG_DUMP;
+            return BackupJobDTO.builder()
+                    .jobId(jobId)
+                    .type(type)
+                    .status(status)
+                    .target(target)
+                    .submittedAt(submittedAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .bytesWritten(bytesWritten)
+                    .tablesDone(tableProgress ? tablesDone.get() : null)
+                    .tablesTotal(tableProgress ? tablesTotal.get() : null)
+                    .result(result)
+                    .message(message)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.sid.app.service.backup;
+
+/**
+ * Progress callbacks of {@link LogicalBackupEngine}. Called from the copy threads, so implementations
+ * must be thread-safe.
+ */
+public interface BackupProgress {
+
+    BackupProgress NONE = new BackupProgress() {
+    };
+
+    /**
+     * Number of table copies the backup or restore will run
+     */
+    default void tablesPlanned(int tables) {
+    }
+
+    default void tableDone(String table, long rows) {
+    }
+}
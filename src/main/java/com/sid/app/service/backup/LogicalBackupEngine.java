@@ -0,0 +1,736 @@
+package com.sid.app.service.backup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sid.app.exception.DatabaseOperationException;
+import com.sid.app.model.LogicalBackupManifestDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.*;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Logical backup and restore over plain JDBC: each table of the connection's schema is streamed with COPY
+ * through the PostgreSQL driver's CopyManager into its own gzip file, no pg_dump binary involved.
+ *
+ * <p>Tables are copied in parallel on a bounded pool. A coordinator transaction exports its snapshot and every
+ * worker imports it, so all files describe the database at one instant even while writes continue.
+ * Incremental backups copy the rows modified since their parent's high-water mark plus the tombstones of
+ * hard deletes, and a restore replays the chain from its full backup.
+ * The engine only needs a DataSource, so it runs the same against the application pool, a Testcontainers
+ * database or an embedded Postgres.</p>
+ */
+@Slf4j
+@Component
+public class LogicalBackupEngine {
+
+    public static final String MANIFEST_FILE = "manifest.json";
+
+    private static final int FORMAT_VERSION = 1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String MODIFIED_COLUMN = "modified_date";
+    // Hard deletes recorded by the backup_record_tombstones triggers
+    private static final String TOMBSTONE_TABLE = "backup_tombstones";
+    private static final String DATA_VERSIONS_TABLE = "data_versions";
+    // Liquibase bookkeeping and the ETag data versions belong to the target database and tombstones to its
+    // history, not to the backup
+    private static final Set<String> EXCLUDED_TABLES = Set.of("databasechangelog", "databasechangeloglock", TOMBSTONE_TABLE,
+            DATA_VERSIONS_TABLE);
+
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public LogicalBackupEngine(DataSource dataSource, ObjectMapper objectMapper) {
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Copies every table of the current schema into {@code directory} and writes the manifest last,
+     * so a directory without {@value #MANIFEST_FILE} is an incomplete backup.
+     */
+    public LogicalBackupManifestDTO export(Path directory, CopyFormat format, int parallelism, Duration overlap,
+                                           BackupProgress progress) throws IOException {
+        return exportSnapshot(directory, format, parallelism, overlap, null, progress);
+    }
+
+    /**
+     * Copies only what changed since {@code parent} was taken: rows whose modified_date reaches the parent's
+     * high-water mark, tables without a modified_date column in full, and the tombstones of rows deleted since.
+     * Cost follows the churn rather than the size of the data.
+     */
+    public LogicalBackupManifestDTO exportIncrement(Path directory, LogicalBackupManifestDTO parent, CopyFormat format,
+                                                    int parallelism, Duration overlap, BackupProgress progress)
+            throws IOException {
+        if (parent.getWatermark() == null) {
+            throw new IllegalArgumentException("Backup " + parent.getBackupName() + " has no high-water mark; take a full backup first");
+        }
+        return exportSnapshot(directory, format, parallelism, overlap, parent, progress);
+    }
+
+    private LogicalBackupManifestDTO exportSnapshot(Path directory, CopyFormat format, int parallelism, Duration overlap,
+                                                    LogicalBackupManifestDTO parent, BackupProgress progress)
+            throws IOException {
+        long start = System.currentTimeMillis();
+        Files.createDirectories(directory);
+
+        try (Connection coordinator = dataSource.getConnection()) {
+            beginSnapshotTransaction(coordinator);
+            String snapshotId;
+            String schema;
+            LocalDateTime watermark;
+            // Changes of transactions still open now are not in the snapshot. Their modified_date and deleted_at are
+            // no older than their start, so the next increment starts from the oldest running write transaction.
+            // The overlap covers clock differences between the application and the database.
+            try (Statement stmt = coordinator.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT pg_export_snapshot(), current_schema(), " +
+                         "CAST(LEAST(CURRENT_TIMESTAMP, (SELECT MIN(xact_start) FROM pg_stat_activity " +
+                         "WHERE backend_xid IS NOT NULL)) AS TIMESTAMP)")) {
+                rs.next();
+                snapshotId = rs.getString(1);
+                schema = rs.getString(2);
+                watermark = rs.getTimestamp(3).toLocalDateTime().minus(overlap);
+            }
+            List<String> tables = listTables(coordinator);
+            Set<String> tracked = tablesWithColumn(coordinator, MODIFIED_COLUMN);
+            if (parent != null) {
+                validateParent(parent, schema, tables);
+            }
+            LocalDateTime since = parent != null ? parent.getWatermark() : null;
+            log.info("Logical {} backup of schema {} ({} tables, snapshot {}) into {}", parent != null ? "incremental" : "full",
+                    schema, tables.size(), snapshotId, directory);
+            progress.tablesPlanned(tables.size());
+
+            // The coordinator transaction stays open until every worker is done, keeping the snapshot importable
+            List<LogicalBackupManifestDTO.TableEntry> entries = runParallel(tables, parallelism, table -> {
+                boolean changesOnly = since != null && tracked.contains(table);
+                String source = changesOnly
+                        ? "(SELECT * FROM " + quote(table) + " WHERE " + MODIFIED_COLUMN + " >= " + timestampLiteral(since) + ")"
+                        : quote(table);
+                LogicalBackupManifestDTO.TableEntry entry = exportTable(table, source, snapshotId, directory, format);
+                if (since != null) {
+                    entry.setFullCopy(!changesOnly);
+                }
+                progress.tableDone(table, entry.getRows());
+                return entry;
+            });
+            LogicalBackupManifestDTO.TableEntry tombstones = since == null ? null
+                    : copyOut(coordinator, TOMBSTONE_TABLE, "(SELECT table_name, row_key FROM " + TOMBSTONE_TABLE +
+                            " WHERE deleted_at >= " + timestampLiteral(since) + ")", directory, format);
+            coordinator.commit();
+
+            LogicalBackupManifestDTO manifest = LogicalBackupManifestDTO.builder()
+                    .backupName(directory.getFileName().toString())
+                    .formatVersion(FORMAT_VERSION)
+                    .type(parent != null ? BackupKind.INCREMENTAL.name() : BackupKind.FULL.name())
+                    .parentBackupName(parent != null ? parent.getBackupName() : null)
+                    .since(since)
+                    .watermark(watermark)
+                    .format(format.name())
+                    .schema(schema)
+                    .createdAt(LocalDateTime.now())
+                    .durationMs(System.currentTimeMillis() - start)
+                    .tables(entries.stream()
+                            .sorted(Comparator.comparing(LogicalBackupManifestDTO.TableEntry::getTable))
+                            .toList())
+                    .tombstones(tombstones)
+                    .build();
+            writeManifest(directory, manifest);
+            log.info("Logical backup completed in {} ms", manifest.getDurationMs());
+            return manifest;
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Logical backup failed", e);
+        }
+    }
+
+    /**
+     * Replaces the contents of the backed-up tables with the backup. For an incremental backup this is its
+     * full base followed by every increment of the chain in order. Every file of the chain is checked against
+     * its manifest before any data is touched.
+     *
+     * <p>The base truncates the tables and loads them parent tables first, tables of the same foreign key
+     * level in parallel. Each table loads in its own transaction, so a failure part way leaves the tables
+     * loaded so far in place; run the restore again to finish it. User triggers are disabled while loading,
+     * as the rows already carry the values they would set. Each increment then applies in one transaction.
+     * Finally the data version epoch is bumped, so no ETag handed out before the restore matches again.</p>
+     */
+    public LogicalBackupManifestDTO restore(Path directory, int parallelism, BackupProgress progress) throws IOException {
+        long start = System.currentTimeMillis();
+        LogicalBackupManifestDTO manifest = readManifest(directory);
+        List<Path> chain = backupChain(directory, manifest);
+        Map<Path, LogicalBackupManifestDTO> manifests = new LinkedHashMap<>();
+        for (Path backup : chain) {
+            LogicalBackupManifestDTO chainManifest = backup.equals(directory) ? manifest : readManifest(backup);
+            verifyChecksums(backup, chainManifest);
+            manifests.put(backup, chainManifest);
+        }
+        progress.tablesPlanned(manifests.values().stream().mapToInt(backup -> backup.getTables().size()).sum());
+
+        try (Connection connection = dataSource.getConnection()) {
+            Set<String> existing = new HashSet<>(listTables(connection));
+            List<String> missing = manifest.getTables().stream()
+                    .map(LogicalBackupManifestDTO.TableEntry::getTable)
+                    .filter(table -> !existing.contains(table))
+                    .toList();
+            if (!missing.isEmpty()) {
+                throw new IllegalArgumentException("Tables missing from the target schema: " + missing);
+            }
+
+            for (Map.Entry<Path, LogicalBackupManifestDTO> backup : manifests.entrySet()) {
+                if (BackupKind.of(backup.getValue()) == BackupKind.FULL) {
+                    restoreFull(connection, backup.getKey(), backup.getValue(), parallelism, progress);
+                } else {
+                    applyIncrement(backup.getKey(), backup.getValue(), progress);
+                }
+            }
+            resetSequences(connection, existing);
+            invalidateDataVersions(connection);
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Logical restore failed", e);
+        }
+        log.info("Logical restore from {} ({} backups) completed in {} ms", directory, chain.size(),
+                System.currentTimeMillis() - start);
+        return manifest;
+    }
+
+    /**
+     * Deletes tombstones older than {@code cutoff}; increments cannot be taken from backups older than that.
+     */
+    public int pruneTombstones(LocalDateTime cutoff) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement stmt = connection.prepareStatement("DELETE FROM " + TOMBSTONE_TABLE + " WHERE deleted_at < ?")) {
+            stmt.setTimestamp(1, Timestamp.valueOf(cutoff));
+            return stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Pruning backup tombstones failed", e);
+        }
+    }
+
+    public LogicalBackupManifestDTO readManifest(Path directory) throws IOException {
+        Path manifest = directory.resolve(MANIFEST_FILE);
+        if (!Files.isRegularFile(manifest)) {
+            throw new IllegalArgumentException("Not a complete logical backup: " + directory.getFileName());
+        }
+        return objectMapper.readValue(manifest.toFile(), LogicalBackupManifestDTO.class);
+    }
+
+    private void restoreFull(Connection connection, Path directory, LogicalBackupManifestDTO manifest, int parallelism,
+                             BackupProgress progress) throws SQLException, IOException {
+        CopyFormat format = CopyFormat.valueOf(manifest.getFormat());
+        Map<String, LogicalBackupManifestDTO.TableEntry> entries = new LinkedHashMap<>();
+        manifest.getTables().forEach(entry -> entries.put(entry.getTable(), entry));
+        List<List<String>> levels = dependencyLevels(connection, entries.keySet());
+
+        // One statement, so foreign keys between the truncated tables need no CASCADE. The tombstones describe
+        // the history of the data being replaced, so they go too.
+        List<String> truncated = new ArrayList<>(entries.keySet().stream().map(this::quote).toList());
+        if (tableExists(connection, TOMBSTONE_TABLE)) {
+            truncated.add(TOMBSTONE_TABLE);
+        }
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("TRUNCATE TABLE " + String.join(", ", truncated) + " RESTART IDENTITY");
+        }
+        log.info("Restoring {} tables from {} in {} dependency levels", entries.size(), directory, levels.size());
+
+        for (List<String> level : levels) {
+            runParallel(level, parallelism, table -> {
+                importTable(entries.get(table), directory, format);
+                progress.tableDone(table, entries.get(table).getRows());
+                return table;
+            });
+        }
+    }
+
+    /**
+     * Applies one increment in a single transaction: tombstoned rows are deleted, then the changed rows are
+     * upserted by primary key. User triggers of the increment's tables are disabled for the transaction, as
+     * the rows already carry the values they would set, which needs only table ownership (not the superuser
+     * {@code session_replication_role}). Foreign keys stay enforced, so deletes run children first and upserts
+     * parents first; rows removed by a cascade arrive as tombstones of their own. A fully copied table keeps
+     * exactly the copied rows. Deleting first lets a row deleted and re-inserted under the same key end up present.
+     */
+    private void applyIncrement(Path directory, LogicalBackupManifestDTO manifest, BackupProgress progress)
+            throws SQLException, IOException {
+        CopyFormat format = CopyFormat.valueOf(manifest.getFormat());
+        log.info("Applying increment {} ({} tables)", manifest.getBackupName(), manifest.getTables().size());
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            Map<String, LogicalBackupManifestDTO.TableEntry> entries = new LinkedHashMap<>();
+            manifest.getTables().forEach(entry -> entries.put(entry.getTable(), entry));
+            List<String> parentsFirst = dependencyLevels(connection, entries.keySet()).stream()
+                    .flatMap(List::stream)
+                    .toList();
+
+            try (Statement stmt = connection.createStatement()) {
+                for (String table : parentsFirst) {
+                    stmt.execute("ALTER TABLE " + quote(table) + " DISABLE TRIGGER USER");
+                }
+                stmt.execute("CREATE TEMP TABLE backup_tombstones_load (table_name TEXT, row_key JSONB) ON COMMIT DROP");
+            }
+            copyIn(connection, "backup_tombstones_load", directory, manifest.getTombstones(), format);
+
+            Map<String, String> stages = new HashMap<>();
+            for (String table : parentsFirst) {
+                LogicalBackupManifestDTO.TableEntry entry = entries.get(table);
+                if (entry.getRows() > 0) {
+                    String stage = "backup_stage_" + stages.size();
+                    try (Statement stmt = connection.createStatement()) {
+                        stmt.execute("CREATE TEMP TABLE " + stage + " (LIKE " + quote(table) + ") ON COMMIT DROP");
+                    }
+                    copyIn(connection, stage, directory, entry, format);
+                    stages.put(table, stage);
+                }
+            }
+
+            for (String table : parentsFirst.reversed()) {
+                List<String> keys = primaryKey(connection, table);
+                if (Boolean.TRUE.equals(entries.get(table).getFullCopy())) {
+                    try (Statement stmt = connection.createStatement()) {
+                        stmt.executeUpdate(deleteUncopiedSql(table, keys, stages.get(table)));
+                    }
+                } else {
+                    try (PreparedStatement stmt = connection.prepareStatement(deleteTombstonedSql(table, keys))) {
+                        stmt.setString(1, table);
+                        stmt.executeUpdate();
+                    }
+                }
+            }
+
+            for (String table : parentsFirst) {
+                if (stages.containsKey(table)) {
+                    try (Statement stmt = connection.createStatement()) {
+                        stmt.executeUpdate(upsertSql(connection, table, stages.get(table)));
+                    }
+                }
+                progress.tableDone(table, entries.get(table).getRows());
+            }
+
+            try (Statement stmt = connection.createStatement()) {
+                for (String table : parentsFirst) {
+                    stmt.execute("ALTER TABLE " + quote(table) + " ENABLE TRIGGER USER");
+                }
+            }
+            connection.commit();
+        }
+    }
+
+    // Rows of a fully copied table that are not in its copy; everything when the copy is empty
+    private String deleteUncopiedSql(String table, List<String> keys, String stage) {
+        if (stage == null) {
+            return "DELETE FROM " + quote(table);
+        }
+        String matches = String.join(" AND ", keys.stream().map(key -> "s." + quote(key) + " = t." + quote(key)).toList());
+        return "DELETE FROM " + quote(table) + " t WHERE NOT EXISTS (SELECT 1 FROM " + stage + " s WHERE " + matches + ")";
+    }
+
+    private String deleteTombstonedSql(String table, List<String> keys) {
+        String keyList = String.join(", ", keys.stream().map(this::quote).toList());
+        String keyValues = String.join(", ", keys.stream().map(key -> "r." + quote(key)).toList());
+        return "DELETE FROM " + quote(table) + " WHERE (" + keyList + ") IN (" +
+                "SELECT " + keyValues + " FROM backup_tombstones_load l " +
+                "CROSS JOIN LATERAL jsonb_populate_record(NULL::" + quote(table) + ", l.row_key) r " +
+                "WHERE l.table_name = ?)";
+    }
+
+    private String upsertSql(Connection connection, String table, String stage) throws SQLException {
+        List<String> keys = primaryKey(connection, table);
+        List<String> updates = columns(connection, table).stream()
+                .filter(column -> !keys.contains(column))
+                .map(column -> quote(column) + " = EXCLUDED." + quote(column))
+                .toList();
+        return "INSERT INTO " + quote(table) + " SELECT * FROM " + stage +
+                " ON CONFLICT (" + String.join(", ", keys.stream().map(this::quote).toList()) + ") " +
+                (updates.isEmpty() ? "DO NOTHING" : "DO UPDATE SET " + String.join(", ", updates));
+    }
+
+    /**
+     * The backups to restore, base first. Every increment must start at its parent's high-water mark,
+     * and its parent must sit next to it in the backup directory.
+     */
+    private List<Path> backupChain(Path directory, LogicalBackupManifestDTO manifest) throws IOException {
+        LinkedList<Path> chain = new LinkedList<>();
+        Path current = directory;
+        LogicalBackupManifestDTO currentManifest = manifest;
+        while (BackupKind.of(currentManifest) == BackupKind.INCREMENTAL) {
+            chain.addFirst(current);
+            Path parent = current.resolveSibling(currentManifest.getParentBackupName()).normalize();
+            if (!parent.getParent().equals(current.getParent()) || chain.contains(parent)) {
+                throw new IllegalArgumentException("Invalid parent backup: " + currentManifest.getParentBackupName());
+            }
+            LogicalBackupManifestDTO parentManifest = readManifest(parent);
+            if (!Objects.equals(currentManifest.getSince(), parentManifest.getWatermark())) {
+                throw new IllegalArgumentException("Backup " + currentManifest.getBackupName()
+                        + " does not continue from " + parentManifest.getBackupName());
+            }
+            current = parent;
+            currentManifest = parentManifest;
+        }
+        chain.addFirst(current);
+        return chain;
+    }
+
+    private void validateParent(LogicalBackupManifestDTO parent, String schema, List<String> tables) {
+        Set<String> parentTables = new HashSet<>();
+        parent.getTables().forEach(entry -> parentTables.add(entry.getTable()));
+        if (!schema.equals(parent.getSchema()) || !parentTables.equals(new HashSet<>(tables))) {
+            throw new IllegalArgumentException("Tables changed since backup " + parent.getBackupName()
+                    + "; take a full backup first");
+        }
+    }
+
+    private LogicalBackupManifestDTO.TableEntry exportTable(String table, String source, String snapshotId, Path directory,
+                                                           CopyFormat format) throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            beginSnapshotTransaction(connection);
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("SET TRANSACTION SNAPSHOT '" + snapshotId + "'");
+            }
+            LogicalBackupManifestDTO.TableEntry entry = copyOut(connection, table, source, directory, format);
+            connection.commit();
+            return entry;
+        }
+    }
+
+    // COPY of a table or query into <name>.<ext>.gz, checksummed as written
+    private LogicalBackupManifestDTO.TableEntry copyOut(Connection connection, String name, String source, Path directory,
+                                                       CopyFormat format) throws SQLException, IOException {
+        String fileName = name + "." + format.getExtension() + ".gz";
+        MessageDigest digest = sha256();
+        long rows;
+        CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+        try (OutputStream out = new GZIPOutputStream(new DigestOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(directory.resolve(fileName)), BUFFER_SIZE), digest),
+                BUFFER_SIZE)) {
+            rows = copyManager.copyOut("COPY " + source + " TO STDOUT " + format.getOptions(), out);
+        }
+        long bytes = Files.size(directory.resolve(fileName));
+        log.debug("Exported {} ({} rows, {} bytes)", name, rows, bytes);
+        return LogicalBackupManifestDTO.TableEntry.builder()
+                .table(name)
+                .fileName(fileName)
+                .rows(rows)
+                .bytes(bytes)
+                .sha256(HexFormat.of().formatHex(digest.digest()))
+                .build();
+    }
+
+    private void copyIn(Connection connection, String target, Path directory, LogicalBackupManifestDTO.TableEntry entry,
+                        CopyFormat format) throws SQLException, IOException {
+        long rows;
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(directory.resolve(entry.getFileName())), BUFFER_SIZE)) {
+            rows = connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn("COPY " + target + " FROM STDIN " + format.getOptions(), in);
+        }
+        if (rows != entry.getRows()) {
+            throw new DatabaseOperationException(String.format("Loaded %d rows of %s, manifest says %d",
+                    rows, entry.getFileName(), entry.getRows()));
+        }
+    }
+
+    private void importTable(LogicalBackupManifestDTO.TableEntry entry, Path directory, CopyFormat format)
+            throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("ALTER TABLE " + quote(entry.getTable()) + " DISABLE TRIGGER USER");
+            }
+            copyIn(connection, quote(entry.getTable()), directory, entry, format);
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("ALTER TABLE " + quote(entry.getTable()) + " ENABLE TRIGGER USER");
+            }
+            connection.commit();
+            log.debug("Restored {} ({} rows)", entry.getTable(), entry.getRows());
+        }
+    }
+
+    private void beginSnapshotTransaction(Connection connection) throws SQLException {
+        // The pool restores these settings when the connection is returned
+        connection.setAutoCommit(false);
+        connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+        connection.setReadOnly(true);
+    }
+
+    // Ordinary tables of the current schema, largest first so the long copies start early
+    private List<String> listTables(Connection connection) throws SQLException {
+        List<String> tables = new ArrayList<>();
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT c.relname FROM pg_class c " +
+                     "JOIN pg_namespace n ON n.oid = c.relnamespace " +
+                     "WHERE n.nspname = current_schema() AND c.relkind = 'r' " +
+                     "ORDER BY pg_total_relation_size(c.oid) DESC, c.relname")) {
+            while (rs.next()) {
+                if (!EXCLUDED_TABLES.contains(rs.getString(1))) {
+                    tables.add(rs.getString(1));
+                }
+            }
+        }
+        return tables;
+    }
+
+    private Set<String> tablesWithColumn(Connection connection, String column) throws SQLException {
+        Set<String> tables = new HashSet<>();
+        try (PreparedStatement stmt = connection.prepareStatement("SELECT table_name FROM information_schema.columns " +
+                "WHERE table_schema = current_schema() AND column_name = ?")) {
+            stmt.setString(1, column);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    tables.add(rs.getString(1));
+                }
+            }
+        }
+        return tables;
+    }
+
+    private boolean tableExists(Connection connection, String table) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement("SELECT to_regclass(?) IS NOT NULL")) {
+            stmt.setString(1, quote(table));
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                return rs.getBoolean(1);
+            }
+        }
+    }
+
+    private List<String> primaryKey(Connection connection, String table) throws SQLException {
+        List<String> keys = new ArrayList<>();
+        try (PreparedStatement stmt = connection.prepareStatement("SELECT a.attname FROM pg_index i " +
+                "JOIN pg_attribute a ON a.attrelid = i.indrelid AND a.attnum = ANY(i.indkey) " +
+                "WHERE i.indrelid = CAST(? AS REGCLASS) AND i.indisprimary " +
+                "ORDER BY array_position(CAST(i.indkey AS SMALLINT[]), a.attnum)")) {
+            stmt.setString(1, quote(table));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    keys.add(rs.getString(1));
+                }
+            }
+        }
+        if (keys.isEmpty()) {
+            throw new DatabaseOperationException("Table " + table + " has no primary key");
+        }
+        return keys;
+    }
+
+    private List<String> columns(Connection connection, String table) throws SQLException {
+        List<String> columns = new ArrayList<>();
+        try (PreparedStatement stmt = connection.prepareStatement("SELECT column_name FROM information_schema.columns " +
+                "WHERE table_schema = current_schema() AND table_name = ? ORDER BY ordinal_position")) {
+            stmt.setString(1, table);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    columns.add(rs.getString(1));
+                }
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Groups the tables so every table comes after the tables it references. Self references are
+     * ignored, as a single COPY loads parent and child rows together once triggers are off.
+     */
+    private List<List<String>> dependencyLevels(Connection connection, Set<String> tables) throws SQLException {
+        Map<String, Set<String>> parents = new HashMap<>();
+        tables.forEach(table -> parents.put(table, new HashSet<>()));
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT c.relname, p.relname FROM pg_constraint k " +
+                     "JOIN pg_class c ON c.oid = k.conrelid " +
+                     "JOIN pg_class p ON p.oid = k.confrelid " +
+                     "JOIN pg_namespace n ON n.oid = c.relnamespace " +
+                     "WHERE k.contype = 'f' AND n.nspname = current_schema()")) {
+            while (rs.next()) {
+                String child = rs.getString(1);
+                String parent = rs.getString(2);
+                if (!child.equals(parent) && tables.contains(child) && tables.contains(parent)) {
+                    parents.get(child).add(parent);
+                }
+            }
+        }
+
+        List<List<String>> levels = new ArrayList<>();
+        Set<String> placed = new HashSet<>();
+        while (placed.size() < tables.size()) {
+            List<String> level = tables.stream()
+                    .filter(table -> !placed.contains(table) && placed.containsAll(parents.get(table)))
+                    .toList();
+            if (level.isEmpty()) {
+                throw new DatabaseOperationException("Circular foreign keys between tables: "
+                        + tables.stream().filter(table -> !placed.contains(table)).toList());
+            }
+            levels.add(level);
+            placed.addAll(level);
+        }
+        return levels;
+    }
+
+    // Serial and identity columns continue after the highest restored value
+    private void resetSequences(Connection connection, Set<String> tables) throws SQLException {
+        List<String[]> columns = new ArrayList<>();
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT table_name, column_name FROM information_schema.columns " +
+                     "WHERE table_schema = current_schema() " +
+                     "AND (column_default LIKE 'nextval(%' OR is_identity = 'YES')")) {
+            while (rs.next()) {
+                if (tables.contains(rs.getString(1))) {
+                    columns.add(new String[]{rs.getString(1), rs.getString(2)});
+                }
+            }
+        }
+        for (String[] column : columns) {
+            String table = quote(column[0]);
+            String col = quote(column[1]);
+            try (PreparedStatement stmt = connection.prepareStatement(
+                    "SELECT setval(pg_get_serial_sequence(?, ?), COALESCE(MAX(" + col + "), 1), MAX(" + col + ") IS NOT NULL) " +
+                            "FROM " + table)) {
+                stmt.setString(1, table);
+                stmt.setString(2, column[1]);
+                stmt.executeQuery().close();
+            }
+        }
+    }
+
+    // The rows were loaded with triggers off, so no per-table version moved; the epoch retires every ETag at once
+    private void invalidateDataVersions(Connection connection) throws SQLException {
+        if (!tableExists(connection, DATA_VERSIONS_TABLE)) {
+            return;
+        }
+        try (Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate("UPDATE " + DATA_VERSIONS_TABLE + " SET version = nextval('data_version_seq') WHERE table_name = '*'");
+        }
+    }
+
+    private void verifyChecksums(Path directory, LogicalBackupManifestDTO manifest) throws IOException {
+        List<LogicalBackupManifestDTO.TableEntry> files = new ArrayList<>(manifest.getTables());
+        if (manifest.getTombstones() != null) {
+            files.add(manifest.getTombstones());
+        }
+        for (LogicalBackupManifestDTO.TableEntry entry : files) {
+            Path file = directory.resolve(entry.getFileName()).normalize();
+            if (!directory.equals(file.getParent()) || !Files.isRegularFile(file)) {
+                throw new IllegalArgumentException("Backup file missing: " + entry.getFileName());
+            }
+            MessageDigest digest = sha256();
+            try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            if (!HexFormat.of().formatHex(digest.digest()).equals(entry.getSha256())) {
+                throw new IllegalArgumentException("Checksum mismatch for " + entry.getFileName());
+            }
+        }
+    }
+
+    private void writeManifest(Path directory, LogicalBackupManifestDTO manifest) throws IOException {
+        Path temp = directory.resolve(MANIFEST_FILE + ".tmp");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(), manifest);
+        Files.move(temp, directory.resolve(MANIFEST_FILE), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Runs one task per item on at most {@code parallelism} threads and returns the results in item order.
+     * The first failure cancels the remaining tasks.
+     */
+    private <T, R> List<R> runParallel(List<T> items, int parallelism, TableTask<T, R> task) throws IOException, SQLException {
+        if (items.isEmpty()) {
+            return List.of();
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, items.size())));
+        try {
+            List<Future<R>> futures = new ArrayList<>(items.size());
+            for (T item : items) {
+                futures.add(executor.submit(() -> task.run(item)));
+            }
+            List<R> results = new ArrayList<>(items.size());
+            for (Future<R> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Logical backup interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof SQLException sql) {
+                throw sql;
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new DatabaseOperationException(cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private String quote(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+
+    // COPY takes no bind parameters; the value is a LocalDateTime, so its ISO form is safe to inline
+    private String timestampLiteral(LocalDateTime value) {
+        return "TIMESTAMP '" + value + "'";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface TableTask<T, R> {
+        R run(T item) throws SQLException, IOException;
+    }
+
+    public enum BackupKind {
+        FULL,
+        INCREMENTAL;
+
+        // Manifests written before incremental backups existed carry no type and are full backups
+        static BackupKind of(LogicalBackupManifestDTO manifest) {
+            return manifest.getType() != null ? valueOf(manifest.getType()) : FULL;
+        }
+    }
+
+    public enum CopyFormat {
+        BINARY("bin", "(FORMAT binary)"),
+        CSV("csv", "(FORMAT csv, HEADER false)");
+
+        private final String extension;
+        private final String options;
+
+        CopyFormat(String extension, String options) {
+            this.extension = extension;
+            this.options = options;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public String getOptions() {
+            return options;
+        }
+    }
+}
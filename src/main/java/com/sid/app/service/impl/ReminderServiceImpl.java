@@ -0,0 +1,94 @@
+package com.sid.app.service.impl;
+
+import com.sid.app.config.AppProperties;
+import com.sid.app.model.ReminderMetricsDTO;
+import com.sid.app.model.UserNotificationDTO;
+import com.sid.app.repository.ReminderQueueRepository;
+import com.sid.app.service.ReminderService;
+import com.sid.app.service.reminder.ClaimedReminder;
+import com.sid.app.service.reminder.ReminderMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@Transactional
+public class ReminderServiceImpl implements ReminderService {
+
+    private final ReminderQueueRepository reminderQueueRepository;
+    private final ReminderMetrics reminderMetrics;
+    private final AppProperties appProperties;
+
+    @Override
+    public List<ClaimedReminder> claimDueReminders(String dispatcherId, LocalDateTime now, LocalDateTime horizon,
+                                                   LocalDateTime leaseUntil, int batchSize) {
+        return reminderQueueRepository.claimDue(dispatcherId, now, horizon, leaseUntil, batchSize).stream()
+                .map(row -> new ClaimedReminder(
+                        ((Number) row[0]).longValue(),
+                        (String) row[1],
+                        ((Number) row[2]).longValue(),
+                        ((Number) row[3]).longValue(),
+                        toLocalDateTime(row[4])))
+                .toList();
+    }
+
+    @Override
+    public List<UserNotificationDTO> fireReminders(String dispatcherId, List<Long> reminderQueueIds) {
+        if (reminderQueueIds.isEmpty()) {
+            return List.of();
+        }
+        return reminderQueueRepository.fire(dispatcherId, reminderQueueIds.toArray(Long[]::new), LocalDateTime.now())
+                .stream()
+                .map(row -> UserNotificationDTO.builder()
+                        .userNotificationId(((Number) row[0]).longValue())
+                        .userId(((Number) row[1]).longValue())
+                        .sourceType((String) row[2])
+                        .sourceId(((Number) row[3]).longValue())
+                        .title((String) row[4])
+                        .message((String) row[5])
+                        .reminderDate(toLocalDateTime(row[6]))
+                        .isRead(false)
+                        .createdDate(toLocalDateTime(row[7]))
+                        .build())
+                .toList();
+    }
+
+    @Override
+    public int expireMissedReminders(LocalDateTime cutoff) {
+        int expired = reminderQueueRepository.expireMissed(cutoff, LocalDateTime.now());
+        if (expired > 0) {
+            log.warn("Expired {} reminders that were due before {} and never fired", expired, cutoff);
+        }
+        return expired;
+    }
+
+    @Override
+    public int releaseLeases(String dispatcherId) {
+        return reminderQueueRepository.releaseLeases(dispatcherId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ReminderMetricsDTO getMetrics() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime oldestPending = reminderQueueRepository.findOldestPendingFireAt();
+        long backlogLagMs = oldestPending != null && oldestPending.isBefore(now)
+                ? Duration.between(oldestPending, now).toMillis() : 0;
+        return reminderMetrics.snapshot(appProperties.isRemindersEnabled(), backlogLagMs);
+    }
+
+    private LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+}
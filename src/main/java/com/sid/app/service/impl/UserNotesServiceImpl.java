@@ -1,9 +1,12 @@
 package com.sid.app.service.impl;
 
+import com.sid.app.config.AppProperties;
 import com.sid.app.entity.UserNotes;
 import com.sid.app.enums.*;
 import com.sid.app.model.*;
 import com.sid.app.repository.UserNotesRepository;
+import com.sid.app.repository.projection.UserNoteRow;
+import com.sid.app.repository.specification.UserNotesSpecifications;
 import com.sid.app.service.UserNotesService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -11,6 +14,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,6 +29,7 @@ import java.util.stream.Collectors;
 public class UserNotesServiceImpl implements UserNotesService {
 
     private final UserNotesRepository userNotesRepository;
+    private final AppProperties appProperties;
 
     @Override
     public UserNotesDTO createNote(Long userId, UserNotesDTO noteDTO) {
@@ -67,28 +72,12 @@ public class UserNotesServiceImpl implements UserNotesService {
 
     @Override
     @Transactional(readOnly = true)
-    public UserNotesListResponseDTO getAllUserNotes(Long userId, Pageable pageable) {
+    public UserNotesListResponseDTO getAllUserNotes(Long userId, boolean summary, Pageable pageable) {
         log.info("Fetching all notes for user: {} with pagination: {}", userId, pageable);
 
-        Page<UserNotes> notesPage = userNotesRepository.findByUserIdAndStatusNot(userId, NoteStatus.DELETED, pageable);
-
-        List<UserNotesDTO> noteDTOs = notesPage.getContent().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
-
-        PaginationDTO pagination = PaginationDTO.builder()
-                .currentPage(pageable.getPageNumber() + 1)
-                .itemsPerPage(pageable.getPageSize())
-                .totalItems(notesPage.getTotalElements())
-                .totalPages(notesPage.getTotalPages())
-                .hasPreviousPage(pageable.getPageNumber() > 0)
-                .hasNextPage(pageable.getPageNumber() + 1 < notesPage.getTotalPages())
-                .build();
-
-        return UserNotesListResponseDTO.builder()
-                .data(noteDTOs)
-                .pagination(pagination)
-                .build();
+        Page<UserNoteRow> notesPage = userNotesRepository.findRowsByUserIdAndStatusNot(userId, NoteStatus.DELETED,
+                contentLength(summary), pageable);
+        return buildNoteListResponse(notesPage, summary, pageable);
     }
 
     @Override
@@ -139,64 +128,70 @@ public class UserNotesServiceImpl implements UserNotesService {
                                                   NoteCategory category, NotePriority priority,
                                                   NoteStatus status, Boolean isPinned, Boolean isShared,
                                                   LocalDateTime startDate, LocalDateTime endDate,
-                                                  String searchTerm, Pageable pageable) {
+                                                  String searchTerm, boolean includeFacets, boolean summary,
+                                                  Pageable pageable) {
         log.info("Fetching filtered notes for user: {}", userId);
 
-        Page<UserNotes> notesPage;
+        // The facets count over the same specification, so they always match the list
+        Specification<UserNotes> filter = UserNotesSpecifications.withFilters(userId, noteType, color, category,
+                priority, status, isPinned, isShared, startDate, endDate, searchTerm);
+        Page<UserNoteRow> notesPage = userNotesRepository.findRows(filter, contentLength(summary), pageable);
 
-        if (searchTerm != null && !searchTerm.trim().isEmpty()) {
-            notesPage = userNotesRepository.searchNotes(userId, searchTerm.trim(), NoteStatus.DELETED, pageable);
-        } else {
-            notesPage = userNotesRepository.findNotesWithFilters(userId, noteType, color, category,
-                    priority, status, isPinned, isShared, startDate, endDate, pageable);
+        UserNotesListResponseDTO response = buildNoteListResponse(notesPage, summary, pageable);
+        if (includeFacets) {
+            response.setFacets(toGroupedFacetMap(userNotesRepository.countFacets(filter)));
         }
-
-        return buildNoteListResponse(notesPage, pageable);
+        return response;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public UserNotesListResponseDTO getNotesByType(Long userId, NoteType noteType, Pageable pageable) {
+    public UserNotesListResponseDTO getNotesByType(Long userId, NoteType noteType, boolean summary, Pageable pageable) {
         log.info("Fetching notes by type {} for user: {}", noteType, userId);
 
-        Page<UserNotes> notesPage = userNotesRepository.findByUserIdAndNoteTypeAndStatusNot(userId, noteType, NoteStatus.DELETED, pageable);
-        return buildNoteListResponse(notesPage, pageable);
+        Page<UserNoteRow> notesPage = userNotesRepository.findRowsByUserIdAndNoteTypeAndStatusNot(userId, noteType,
+                NoteStatus.DELETED, contentLength(summary), pageable);
+        return buildNoteListResponse(notesPage, summary, pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public UserNotesListResponseDTO getNotesByCategory(Long userId, NoteCategory category, Pageable pageable) {
+    public UserNotesListResponseDTO getNotesByCategory(Long userId, NoteCategory category, boolean summary, Pageable pageable) {
         log.info("Fetching notes by category {} for user: {}", category, userId);
 
-        Page<UserNotes> notesPage = userNotesRepository.findByUserIdAndCategoryAndStatusNot(userId, category, NoteStatus.DELETED, pageable);
-        return buildNoteListResponse(notesPage, pageable);
+        Page<UserNoteRow> notesPage = userNotesRepository.findRowsByUserIdAndCategoryAndStatusNot(userId, category,
+                NoteStatus.DELETED, contentLength(summary), pageable);
+        return buildNoteListResponse(notesPage, summary, pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public UserNotesListResponseDTO getPinnedNotes(Long userId, Pageable pageable) {
+    public UserNotesListResponseDTO getPinnedNotes(Long userId, boolean summary, Pageable pageable) {
         log.info("Fetching pinned notes for user: {}", userId);
 
-        Page<UserNotes> notesPage = userNotesRepository.findByUserIdAndIsPinnedTrueAndStatusNot(userId, NoteStatus.DELETED, pageable);
-        return buildNoteListResponse(notesPage, pageable);
+        Page<UserNoteRow> notesPage = userNotesRepository.findPinnedRows(userId, NoteStatus.DELETED,
+                contentLength(summary), pageable);
+        return buildNoteListResponse(notesPage, summary, pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public UserNotesListResponseDTO getArchivedNotes(Long userId, Pageable pageable) {
+    public UserNotesListResponseDTO getArchivedNotes(Long userId, boolean summary, Pageable pageable) {
         log.info("Fetching archived notes for user: {}", userId);
 
-        Page<UserNotes> notesPage = userNotesRepository.findByUserIdAndStatus(userId, NoteStatus.ARCHIVED, pageable);
-        return buildNoteListResponse(notesPage, pageable);
+        Page<UserNoteRow> notesPage = userNotesRepository.findRowsByUserIdAndStatus(userId, NoteStatus.ARCHIVED,
+                contentLength(summary), pageable);
+        return buildNoteListResponse(notesPage, summary, pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public UserNotesListResponseDTO searchNotes(Long userId, String searchTerm, Pageable pageable) {
+    public UserNotesListResponseDTO searchNotes(Long userId, String searchTerm, boolean summary, Pageable pageable) {
         log.info("Searching notes for user: {} with term: {}", userId, searchTerm);
 
-        Page<UserNotes> notesPage = userNotesRepository.searchNotes(userId, searchTerm, NoteStatus.DELETED, pageable);
-        return buildNoteListResponse(notesPage, pageable);
+        Page<UserNoteRow> notesPage = userNotesRepository.searchNoteRows(userId, searchTerm, NoteStatus.DELETED,
+                contentLength(summary), pageable);
+        return buildNoteListResponse(notesPage, summary, pageable);
     }
 
     @Override
@@ -258,9 +253,10 @@ public class UserNotesServiceImpl implements UserNotesService {
         Long sharedNotes = userNotesRepository.countSharedNotes(userId, NoteStatus.DELETED);
         Long notesWithReminders = userNotesRepository.countNotesWithReminders(userId, NoteStatus.DELETED);
 
-        List<UserNotes> recentlyModifiedNotes = userNotesRepository.findRecentlyModified(userId, NoteStatus.DELETED, PageRequest.of(0, 5));
+        List<UserNoteRow> recentlyModifiedNotes = userNotesRepository.findRecentlyModifiedRows(userId, NoteStatus.DELETED,
+                contentLength(false), PageRequest.of(0, 5));
         List<UserNotesDTO> recentlyModified = recentlyModifiedNotes.stream()
-                .map(this::convertToDTO)
+                .map(row -> convertToDTO(row, false))
                 .collect(Collectors.toList());
 
         return UserNotesStatsDTO.builder()
@@ -281,23 +277,21 @@ public class UserNotesServiceImpl implements UserNotesService {
     public List<UserNotesDTO> bulkUpdateNotes(Long userId, UserNotesBulkUpdateRequest request) {
         log.info("Bulk updating {} notes for user {}", request.getNoteIds().size(), userId);
 
-        List<UserNotes> notes = userNotesRepository.findByUserNoteIdsAndUserId(request.getNoteIds(), userId);
-
-        if (notes.size() != request.getNoteIds().size()) {
+        // Single UPDATE ... RETURNING; a size mismatch throws and rolls the transaction back
+        List<UserNotes> updatedNotes = userNotesRepository.bulkUpdateNotes(
+                request.getNoteIds().toArray(new Long[0]),
+                userId,
+                request.getColor() != null ? request.getColor().name() : null,
+                request.getCategory() != null ? request.getCategory().name() : null,
+                request.getPriority() != null ? request.getPriority().name() : null,
+                request.getStatus() != null ? request.getStatus().name() : null,
+                request.getIsPinned(),
+                LocalDateTime.now());
+
+        if (updatedNotes.size() != request.getNoteIds().size()) {
             throw new EntityNotFoundException("Some notes not found for the user");
         }
 
-        notes.forEach(note -> {
-            if (request.getColor() != null) note.setColor(request.getColor());
-            if (request.getCategory() != null) note.setCategory(request.getCategory());
-            if (request.getPriority() != null) note.setPriority(request.getPriority());
-            if (request.getStatus() != null) note.setStatus(request.getStatus());
-            if (request.getIsPinned() != null) note.setIsPinned(request.getIsPinned());
-            note.setVersion(note.getVersion() + 1);
-        });
-
-        List<UserNotes> updatedNotes = userNotesRepository.saveAll(notes);
-
         return updatedNotes.stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
@@ -308,17 +302,18 @@ public class UserNotesServiceImpl implements UserNotesService {
         log.info("Bulk deleting {} notes for user {} (permanent: {})",
                 request.getNoteIds().size(), userId, request.getPermanentDelete());
 
-        List<UserNotes> notes = userNotesRepository.findByUserNoteIdsAndUserId(request.getNoteIds(), userId);
-
-        if (notes.size() != request.getNoteIds().size()) {
-            throw new EntityNotFoundException("Some notes not found for the user");
-        }
+        Long[] noteIds = request.getNoteIds().toArray(new Long[0]);
 
+        int affected;
         if (Boolean.TRUE.equals(request.getPermanentDelete())) {
-            userNotesRepository.deleteAll(notes);
+            affected = userNotesRepository.bulkDeleteNotes(noteIds, userId);
         } else {
-            notes.forEach(note -> note.setStatus(NoteStatus.DELETED));
-            userNotesRepository.saveAll(notes);
+            affected = userNotesRepository.bulkUpdateStatus(noteIds, userId, NoteStatus.DELETED.name(), LocalDateTime.now());
+        }
+
+        // Throwing here rolls back the statement above, so a partial match changes nothing
+        if (affected != request.getNoteIds().size()) {
+            throw new EntityNotFoundException("Some notes not found for the user");
         }
     }
 
@@ -371,9 +366,48 @@ public class UserNotesServiceImpl implements UserNotesService {
                 .build();
     }
 
-    private UserNotesListResponseDTO buildNoteListResponse(Page<UserNotes> notesPage, Pageable pageable) {
+    // Summary lists keep the first previewLength code points (SQL SUBSTRING counts code points, not UTF-16 units);
+    // one more is fetched so a cut can be flagged
+    private UserNotesDTO convertToDTO(UserNoteRow row, boolean summary) {
+        String content = row.noteContent();
+        Boolean contentTruncated = null;
+        if (summary) {
+            int previewLength = appProperties.getListSummaryPreviewLength();
+            contentTruncated = content != null && content.length() > previewLength
+                    && content.codePointCount(0, content.length()) > previewLength;
+            if (contentTruncated) {
+                content = content.substring(0, content.offsetByCodePoints(0, previewLength));
+            }
+        }
+        return UserNotesDTO.builder()
+                .userNoteId(row.userNoteId())
+                .userId(row.userId())
+                .noteTitle(row.noteTitle())
+                .noteContent(content)
+                .contentTruncated(contentTruncated)
+                .noteType(row.noteType())
+                .color(row.color())
+                .category(row.category())
+                .priority(row.priority())
+                .status(row.status())
+                .isPinned(row.isPinned())
+                .isShared(row.isShared())
+                .reminderDate(row.reminderDate())
+                .version(row.version())
+                .accessCount(row.accessCount())
+                .lastAccessedDate(row.lastAccessedDate())
+                .createdDate(row.createdDate())
+                .modifiedDate(row.modifiedDate())
+                .build();
+    }
+
+    private int contentLength(boolean summary) {
+        return summary ? appProperties.getListSummaryPreviewLength() + 1 : Integer.MAX_VALUE;
+    }
+
+    private UserNotesListResponseDTO buildNoteListResponse(Page<UserNoteRow> notesPage, boolean summary, Pageable pageable) {
         List<UserNotesDTO> noteDTOs = notesPage.getContent().stream()
-                .map(this::convertToDTO)
+                .map(row -> convertToDTO(row, summary))
                 .collect(Collectors.toList());
 
         PaginationDTO pagination = PaginationDTO.builder()
@@ -391,6 +425,16 @@ public class UserNotesServiceImpl implements UserNotesService {
                 .build();
     }
 
+    // (facet, facet_value, facet_count) rows -> facet -> value -> count, keeping the query order
+    private Map<String, Map<String, Long>> toGroupedFacetMap(List<Object[]> results) {
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        for (Object[] row : results) {
+            facets.computeIfAbsent((String) row[0], facet -> new LinkedHashMap<>())
+                    .put((String) row[1], ((Number) row[2]).longValue());
+        }
+        return facets;
+    }
+
     private Map<String, Long> convertToMap(List<Object[]> results) {
         return results.stream()
                 .collect(Collectors.toMap(
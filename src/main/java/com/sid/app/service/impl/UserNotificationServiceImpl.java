@@ -0,0 +1,173 @@
+package com.sid.app.service.impl;
+
+import com.sid.app.config.AppProperties;
+import com.sid.app.entity.UserNotification;
+import com.sid.app.model.PaginationDTO;
+import com.sid.app.model.UserNotificationDTO;
+import com.sid.app.model.UserNotificationsListResponseDTO;
+import com.sid.app.repository.UserNotificationRepository;
+import com.sid.app.service.UserNotificationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Stores and serves in-app notifications and pushes new ones to the user's open SSE streams.
+ * Streams are held per instance; a stream on another instance picks missed notifications up
+ * when it reconnects with its Last-Event-ID.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@Transactional
+public class UserNotificationServiceImpl implements UserNotificationService {
+
+    private static final String EVENT_REMINDER = "reminder";
+
+    private final UserNotificationRepository userNotificationRepository;
+    private final AppProperties appProperties;
+
+    private final Map<Long, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserNotificationsListResponseDTO getNotifications(Long userId, boolean unreadOnly, Pageable pageable) {
+        Page<UserNotification> page = unreadOnly
+                ? userNotificationRepository.findByUserIdAndIsReadFalseOrderByUserNotificationIdDesc(userId, pageable)
+                : userNotificationRepository.findByUserIdOrderByUserNotificationIdDesc(userId, pageable);
+
+        PaginationDTO pagination = PaginationDTO.builder()
+                .currentPage(page.getNumber())
+                .itemsPerPage(page.getSize())
+                .totalItems(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .hasPreviousPage(page.hasPrevious())
+                .hasNextPage(page.hasNext())
+                .build();
+
+        return UserNotificationsListResponseDTO.builder()
+                .data(page.getContent().stream().map(this::convertToDTO).toList())
+                .pagination(pagination)
+                .unreadCount(userNotificationRepository.countByUserIdAndIsReadFalse(userId))
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getUnreadCount(Long userId) {
+        return userNotificationRepository.countByUserIdAndIsReadFalse(userId);
+    }
+
+    @Override
+    public int markRead(Long userId, List<Long> userNotificationIds) {
+        LocalDateTime now = LocalDateTime.now();
+        if (userNotificationIds == null || userNotificationIds.isEmpty()) {
+            return userNotificationRepository.markAllRead(userId, now);
+        }
+        return userNotificationRepository.markRead(userId, userNotificationIds.toArray(Long[]::new), now);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SseEmitter subscribe(Long userId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(appProperties.getNotificationStreamTimeoutMs());
+        List<SseEmitter> userEmitters = emitters.compute(userId, (id, existing) -> {
+            List<SseEmitter> list = existing != null ? existing : new CopyOnWriteArrayList<>();
+            list.add(emitter);
+            return list;
+        });
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(() -> remove(userId, emitter));
+        emitter.onError(e -> remove(userId, emitter));
+
+        if (lastEventId != null) {
+            for (UserNotification missed : userNotificationRepository
+                    .findTop50ByUserIdAndUserNotificationIdGreaterThanOrderByUserNotificationIdAsc(userId, lastEventId)) {
+                if (!send(userId, emitter, convertToDTO(missed))) {
+                    break;
+                }
+            }
+        }
+        log.debug("Opened notification stream for user {} ({} open)", userId, userEmitters.size());
+        return emitter;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void publish(List<UserNotificationDTO> notifications) {
+        for (UserNotificationDTO notification : notifications) {
+            List<SseEmitter> userEmitters = emitters.get(notification.getUserId());
+            if (userEmitters == null) {
+                continue;
+            }
+            for (SseEmitter emitter : userEmitters) {
+                send(notification.getUserId(), emitter, notification);
+            }
+        }
+    }
+
+    /**
+     * Keep idle streams alive through proxies and drop streams whose client has gone away.
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.stream-heartbeat-ms:25000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void sendHeartbeats() {
+        emitters.forEach((userId, userEmitters) -> {
+            for (SseEmitter emitter : userEmitters) {
+                try {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException e) {
+                    remove(userId, emitter);
+                }
+            }
+        });
+    }
+
+    private boolean send(Long userId, SseEmitter emitter, UserNotificationDTO notification) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(notification.getUserNotificationId()))
+                    .name(EVENT_REMINDER)
+                    .data(notification));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            remove(userId, emitter);
+            return false;
+        }
+    }
+
+    private void remove(Long userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (id, userEmitters) -> {
+            userEmitters.remove(emitter);
+            return userEmitters.isEmpty() ? null : userEmitters;
+        });
+    }
+
+    private UserNotificationDTO convertToDTO(UserNotification notification) {
+        return UserNotificationDTO.builder()
+                .userNotificationId(notification.getUserNotificationId())
+                .userId(notification.getUserId())
+                .sourceType(notification.getSourceType())
+                .sourceId(notification.getSourceId())
+                .title(notification.getTitle())
+                .message(notification.getMessage())
+                .reminderDate(notification.getReminderDate())
+                .isRead(notification.getIsRead())
+                .readDate(notification.getReadDate())
+                .createdDate(notification.getCreatedDate())
+                .build();
+    }
+}
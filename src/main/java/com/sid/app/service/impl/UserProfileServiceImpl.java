@@ -9,12 +9,15 @@ import com.sid.app.repository.UserAddressRepository;
 import com.sid.app.repository.UserProfileRepository;
 import com.sid.app.repository.UserRepository;
 import com.sid.app.service.UserProfileService;
+import com.sid.app.service.specialdays.SpecialDaysCalendar;
 import com.sid.app.service.validation.UserProfileValidator;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Optional;
 
@@ -27,6 +30,7 @@ public class UserProfileServiceImpl implements UserProfileService {
     private final UserRepository userRepository;
     private final UserAddressRepository addressRepository;
     private final UserProfileValidator validator;
+    private final SpecialDaysCalendar specialDaysCalendar;
 
     @Override
     @Transactional(readOnly = true)
@@ -277,10 +281,35 @@ public class UserProfileServiceImpl implements UserProfileService {
                     log.info("upsertProfile() - result includes primaryAddress id={} for userId={}", addr.getUserAddressId(), userId);
                 });
 
+        refreshSpecialDaysAfterCommit(userId);
+
         log.info("upsertProfile() - completed for userId={}, userProfileId={}", userId, savedProfile.getUserProfileId());
         return result;
     }
 
+    // Name, dates, department and primary address all feed the special days calendar
+    private void refreshSpecialDaysAfterCommit(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refreshSpecialDays(userId);
+                }
+            });
+        } else {
+            refreshSpecialDays(userId);
+        }
+    }
+
+    private void refreshSpecialDays(Long userId) {
+        try {
+            specialDaysCalendar.refresh(userId);
+        } catch (Exception e) {
+            // The profile is saved; the calendar catches up at the next nightly rebuild
+            log.warn("upsertProfile() - could not refresh special days calendar for userId={}: {}", userId, e.getMessage());
+        }
+    }
+
     private UserAddressDTO toAddressDto(UserAddress a) {
         if (a == null) return null;
         return UserAddressDTO.builder()
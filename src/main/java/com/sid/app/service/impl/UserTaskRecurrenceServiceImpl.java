@@ -0,0 +1,150 @@
+package com.sid.app.service.impl;
+
+import com.sid.app.entity.UserTaskOccurrence;
+import com.sid.app.entity.UserTasks;
+import com.sid.app.enums.TaskStatus;
+import com.sid.app.repository.UserTaskOccurrenceRepository;
+import com.sid.app.repository.UserTasksRepository;
+import com.sid.app.service.UserTaskRecurrenceService;
+import com.sid.app.service.recurrence.RecurrenceRuleParser;
+import com.sid.app.service.recurrence.TaskOccurrence;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Expands recurring task series into occurrences on demand. Only the series row and per-occurrence
+ * exceptions are stored, so table growth is linear in series rather than in occurrences.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@Transactional
+public class UserTaskRecurrenceServiceImpl implements UserTaskRecurrenceService {
+
+    private final UserTasksRepository userTasksRepository;
+    private final UserTaskOccurrenceRepository userTaskOccurrenceRepository;
+    private final RecurrenceRuleParser recurrenceRuleParser;
+
+    @Override
+    public void validatePattern(Boolean isRecurring, String recurringPattern) {
+        if (Boolean.TRUE.equals(isRecurring) && recurringPattern != null) {
+            recurrenceRuleParser.parse(recurringPattern);
+        }
+    }
+
+    @Override
+    public boolean isSeries(UserTasks task) {
+        return Boolean.TRUE.equals(task.getIsRecurring()) && task.getRecurringPattern() != null;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskOccurrence> expand(Long userId, LocalDate startDate, LocalDate endDate, boolean byDueDate) {
+        // Due dates never precede task dates, so series starting after endDate cannot contribute either way
+        List<UserTasks> seriesList = userTasksRepository.findRecurringSeries(userId, endDate);
+        if (seriesList.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, List<LocalDate>> datesBySeries = new LinkedHashMap<>();
+        LocalDate minDate = null;
+        LocalDate maxDate = null;
+        for (UserTasks series : seriesList) {
+            Long offset = dueDateOffset(series);
+            if (byDueDate && offset == null) {
+                continue;
+            }
+            LocalDate from = byDueDate ? startDate.minusDays(offset) : startDate;
+            LocalDate to = byDueDate ? endDate.minusDays(offset) : endDate;
+
+            List<LocalDate> dates = occurrenceDates(series, from, to);
+            if (!dates.isEmpty()) {
+                datesBySeries.put(series.getUserTaskId(), dates);
+                minDate = minDate == null || dates.get(0).isBefore(minDate) ? dates.get(0) : minDate;
+                LocalDate last = dates.get(dates.size() - 1);
+                maxDate = maxDate == null || last.isAfter(maxDate) ? last : maxDate;
+            }
+        }
+        if (datesBySeries.isEmpty()) {
+            return List.of();
+        }
+
+        // One query for all exceptions in the window
+        Map<String, TaskStatus> exceptions = userTaskOccurrenceRepository
+                .findExceptions(datesBySeries.keySet(), minDate, maxDate).stream()
+                .collect(Collectors.toMap(o -> exceptionKey(o.getUserTaskId(), o.getOccurrenceDate()),
+                        UserTaskOccurrence::getStatus));
+
+        Map<Long, UserTasks> seriesById = seriesList.stream()
+                .collect(Collectors.toMap(UserTasks::getUserTaskId, Function.identity()));
+        List<TaskOccurrence> occurrences = new ArrayList<>();
+        datesBySeries.forEach((seriesId, dates) -> {
+            UserTasks series = seriesById.get(seriesId);
+            Long offset = dueDateOffset(series);
+            for (LocalDate date : dates) {
+                TaskStatus status = exceptions.getOrDefault(exceptionKey(seriesId, date), series.getStatus());
+                occurrences.add(new TaskOccurrence(series, date, offset != null ? date.plusDays(offset) : null, status));
+            }
+        });
+
+        Comparator<TaskOccurrence> order = byDueDate
+                ? Comparator.comparing(TaskOccurrence::dueDate)
+                : Comparator.comparing(TaskOccurrence::occurrenceDate);
+        occurrences.sort(order.thenComparing(o -> o.series().getUserTaskId()));
+        return occurrences;
+    }
+
+    @Override
+    public TaskOccurrence updateOccurrenceStatus(Long userId, Long userTaskId, LocalDate occurrenceDate, TaskStatus status) {
+        log.info("Updating occurrence {} of task {} to {} for user {}", occurrenceDate, userTaskId, status, userId);
+
+        UserTasks series = userTasksRepository.findByUserTaskIdAndUserId(userTaskId, userId)
+                .orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + userTaskId));
+        if (!isSeries(series)) {
+            throw new IllegalArgumentException("Task " + userTaskId + " is not a recurring task");
+        }
+        if (!recurrenceRuleParser.parse(series.getRecurringPattern()).isOccurrence(series.getTaskDate(), occurrenceDate)) {
+            throw new IllegalArgumentException(occurrenceDate + " is not an occurrence of task " + userTaskId);
+        }
+
+        UserTaskOccurrence exception = userTaskOccurrenceRepository.findByUserTaskIdAndOccurrenceDate(userTaskId, occurrenceDate)
+                .orElseGet(() -> UserTaskOccurrence.builder()
+                        .userTaskId(userTaskId)
+                        .occurrenceDate(occurrenceDate)
+                        .build());
+        exception.setStatus(status);
+        userTaskOccurrenceRepository.save(exception);
+
+        Long offset = dueDateOffset(series);
+        return new TaskOccurrence(series, occurrenceDate, offset != null ? occurrenceDate.plusDays(offset) : null, status);
+    }
+
+    private List<LocalDate> occurrenceDates(UserTasks series, LocalDate from, LocalDate to) {
+        try {
+            return recurrenceRuleParser.parse(series.getRecurringPattern())
+                    .occurrencesBetween(series.getTaskDate(), from, to);
+        } catch (IllegalArgumentException e) {
+            // Patterns stored before validation existed: treat the series as a single task on its own date
+            log.warn("occurrenceDates() : Task {} has an unsupported recurring pattern: {}", series.getUserTaskId(), e.getMessage());
+            LocalDate taskDate = series.getTaskDate();
+            return taskDate.isBefore(from) || taskDate.isAfter(to) ? List.of() : List.of(taskDate);
+        }
+    }
+
+    private Long dueDateOffset(UserTasks series) {
+        return series.getDueDate() != null ? ChronoUnit.DAYS.between(series.getTaskDate(), series.getDueDate()) : null;
+    }
+
+    private String exceptionKey(Long userTaskId, LocalDate occurrenceDate) {
+        return userTaskId + "@" + occurrenceDate;
+    }
+}
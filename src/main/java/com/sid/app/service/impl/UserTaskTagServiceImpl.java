@@ -0,0 +1,150 @@
+package com.sid.app.service.impl;
+
+import com.sid.app.config.AppProperties;
+import com.sid.app.entity.UserTaskTag;
+import com.sid.app.model.UserTaskTagDTO;
+import com.sid.app.repository.UserTaskTagRepository;
+import com.sid.app.service.UserTaskTagService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Serves the per-user tag dictionary from an in-memory sorted index.
+ * The index of a user is loaded on first use, dropped after the user's tasks change and
+ * reloaded at the latest after the configured TTL, which also bounds staleness across replicas.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class UserTaskTagServiceImpl implements UserTaskTagService {
+
+    private final UserTaskTagRepository userTaskTagRepository;
+    private final AppProperties appProperties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Long, TagIndex> tagIndexes = new ConcurrentHashMap<>();
+
+    private Counter cacheHits;
+    private Counter cacheMisses;
+
+    @PostConstruct
+    void registerCacheMetrics() {
+        cacheHits = meterRegistry.counter("cache.gets", "cache", "task-tags", "result", "hit");
+        cacheMisses = meterRegistry.counter("cache.gets", "cache", "task-tags", "result", "miss");
+        Gauge.builder("cache.size", tagIndexes, Map::size).tag("cache", "task-tags").register(meterRegistry);
+    }
+
+    @Override
+    public List<UserTaskTagDTO> getTags(Long userId) {
+        return getIndex(userId).match("", Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<UserTaskTagDTO> autocomplete(Long userId, String prefix, int limit) {
+        String normalizedPrefix = prefix == null ? "" : prefix.trim();
+        return getIndex(userId).match(normalizedPrefix, Math.max(limit, 1));
+    }
+
+    @Override
+    public void evictAfterCommit(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    tagIndexes.remove(userId);
+                }
+            });
+        } else {
+            tagIndexes.remove(userId);
+        }
+    }
+
+    private TagIndex getIndex(Long userId) {
+        long now = System.currentTimeMillis();
+        TagIndex index = tagIndexes.get(userId);
+        if (index != null && now - index.loadedAt() < appProperties.getTaskTagsCacheTtlSeconds() * 1000L) {
+            cacheHits.increment();
+            return index;
+        }
+        cacheMisses.increment();
+
+        index = TagIndex.of(userTaskTagRepository.findByUserId(userId), now);
+        if (tagIndexes.size() >= appProperties.getTaskTagsCacheMaxUsers()) {
+            evictOldest();
+        }
+        tagIndexes.put(userId, index);
+        log.debug("getIndex() : Loaded {} tags for user {}", index.tags().length, userId);
+        return index;
+    }
+
+    private void evictOldest() {
+        tagIndexes.entrySet().stream()
+                .min(Comparator.comparingLong(entry -> entry.getValue().loadedAt()))
+                .ifPresent(entry -> tagIndexes.remove(entry.getKey(), entry.getValue()));
+    }
+
+    /**
+     * Immutable snapshot of one user's dictionary, sorted by lower-cased tag so that
+     * every tag sharing a prefix sits in one contiguous range found by binary search.
+     */
+    private record TagIndex(String[] keys, String[] tags, long[] counts, long loadedAt) {
+
+        static TagIndex of(List<UserTaskTag> entries, long loadedAt) {
+            List<UserTaskTag> sorted = new ArrayList<>(entries);
+            sorted.sort(Comparator.comparing((UserTaskTag t) -> t.getTag().toLowerCase(Locale.ROOT))
+                    .thenComparing(UserTaskTag::getTag));
+
+            int size = sorted.size();
+            String[] keys = new String[size];
+            String[] tags = new String[size];
+            long[] counts = new long[size];
+            for (int i = 0; i < size; i++) {
+                UserTaskTag entry = sorted.get(i);
+                keys[i] = entry.getTag().toLowerCase(Locale.ROOT);
+                tags[i] = entry.getTag();
+                counts[i] = entry.getUsageCount();
+            }
+            return new TagIndex(keys, tags, counts, loadedAt);
+        }
+
+        List<UserTaskTagDTO> match(String prefix, int limit) {
+            String key = prefix.toLowerCase(Locale.ROOT);
+            int from = lowerBound(key);
+            int to = lowerBound(key + Character.MAX_VALUE);
+
+            return IntStream.range(from, to).boxed()
+                    .sorted(Comparator.comparingLong((Integer i) -> counts[i]).reversed()
+                            .thenComparing(i -> keys[i]))
+                    .limit(limit)
+                    .map(i -> UserTaskTagDTO.builder().tag(tags[i]).usageCount(counts[i]).build())
+                    .toList();
+        }
+
+        private int lowerBound(String key) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid].compareTo(key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -1,26 +1,41 @@
 package com.sid.app.service.impl;
 
+import com.sid.app.config.AppProperties;
+import com.sid.app.entity.UserSettings;
 import com.sid.app.entity.UserTasks;
 import com.sid.app.enums.TaskCategory;
 import com.sid.app.enums.TaskPriority;
 import com.sid.app.enums.TaskStatus;
 import com.sid.app.enums.TaskType;
 import com.sid.app.model.*;
+import com.sid.app.repository.UserSettingsRepository;
 import com.sid.app.repository.UserTasksRepository;
+import com.sid.app.repository.projection.UserTaskRow;
+import com.sid.app.repository.specification.UserTasksSpecifications;
+import com.sid.app.service.UserTaskRecurrenceService;
+import com.sid.app.service.UserTaskTagService;
 import com.sid.app.service.UserTasksService;
+import com.sid.app.service.recurrence.TaskOccurrence;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -30,11 +45,19 @@ import java.util.stream.Collectors;
 @Transactional
 public class UserTasksServiceImpl implements UserTasksService {
 
+    private static final int TAG_FACET_LIMIT = 50;
+
     private final UserTasksRepository userTasksRepository;
+    private final UserTaskTagService userTaskTagService;
+    private final UserTaskRecurrenceService userTaskRecurrenceService;
+    private final AppProperties appProperties;
+    private final UserSettingsRepository userSettingsRepository;
+    private final Clock clock;
 
     @Override
     public UserTasksDTO createTask(Long userId, UserTasksDTO taskDTO) {
         log.info("Creating task for user: {}", userId);
+        userTaskRecurrenceService.validatePattern(taskDTO.getIsRecurring(), taskDTO.getRecurringPattern());
 
         UserTasks task = UserTasks.builder()
                 .userId(userId)
@@ -58,6 +81,9 @@ public class UserTasksServiceImpl implements UserTasksService {
                 .build();
 
         UserTasks savedTask = userTasksRepository.save(task);
+        if (hasTags(savedTask.getTags())) {
+            userTaskTagService.evictAfterCommit(userId);
+        }
         log.info("Task created successfully with ID: {}", savedTask.getUserTaskId());
         return convertToDTO(savedTask);
     }
@@ -78,11 +104,11 @@ public class UserTasksServiceImpl implements UserTasksService {
 
     @Override
     @Transactional(readOnly = true)
-    public UserTasksListResponseDTO getAllUserTasks(Long userId, Pageable pageable) {
+    public UserTasksListResponseDTO getAllUserTasks(Long userId, boolean summary, Pageable pageable) {
         log.info("Fetching all tasks for user: {} with pagination: {}", userId, pageable);
 
-        Page<UserTasks> tasksPage = userTasksRepository.findByUserIdOrderByCreatedDateDesc(userId, pageable);
-        return buildTaskListResponse(tasksPage, pageable);
+        Page<UserTaskRow> tasksPage = userTasksRepository.findRowsByUserId(userId, descriptionLength(summary), pageable);
+        return buildTaskListResponse(tasksPage, summary, pageable);
     }
 
     @Override
@@ -92,6 +118,21 @@ public class UserTasksServiceImpl implements UserTasksService {
         UserTasks existingTask = userTasksRepository.findByUserTaskIdAndUserId(userTaskId, userId)
                 .orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + userTaskId));
 
+        userTaskRecurrenceService.validatePattern(
+                taskDTO.getIsRecurring() != null ? taskDTO.getIsRecurring() : existingTask.getIsRecurring(),
+                taskDTO.getRecurringPattern());
+
+        // Reject re-parenting under the task itself or one of its descendants
+        Long newParentTaskId = taskDTO.getParentTaskId();
+        if (newParentTaskId != null && !newParentTaskId.equals(existingTask.getParentTaskId())
+                && userTasksRepository.isAncestorOrSelf(userTaskId, newParentTaskId)) {
+            throw new IllegalArgumentException("Task " + userTaskId + " cannot be moved under its own subtask " + newParentTaskId);
+        }
+
+        if (!Arrays.equals(existingTask.getTags(), taskDTO.getTags())) {
+            userTaskTagService.evictAfterCommit(userId);
+        }
+
         // Update fields
         existingTask.setTaskTitle(taskDTO.getTaskTitle());
         existingTask.setTaskDescription(taskDTO.getTaskDescription());
@@ -128,6 +169,9 @@ public class UserTasksServiceImpl implements UserTasksService {
         }
 
         userTasksRepository.delete(task);
+        if (hasTags(task.getTags())) {
+            userTaskTagService.evictAfterCommit(userId);
+        }
         log.info("Task deleted successfully: {}", userTaskId);
     }
 
@@ -137,77 +181,143 @@ public class UserTasksServiceImpl implements UserTasksService {
                                                         TaskCategory category, TaskType taskType,
                                                         LocalDate startDate, LocalDate endDate,
                                                         LocalDate dueDateStart, LocalDate dueDateEnd,
-                                                        Boolean isRecurring, String searchTerm,
-                                                        String[] tags, Pageable pageable) {
+                                                        Boolean isRecurring, Boolean isOverdue, String searchTerm,
+                                                        String[] tags, boolean includeFacets, boolean includeTagFacets,
+                                                        boolean summary, Pageable pageable) {
         log.info("Fetching filtered tasks for user: {}", userId);
 
-        Page<UserTasks> tasksPage;
+        // Search, tag and attribute filters are combined; only the supplied ones reach the SQL.
+        // The facets count over the same specification, so they always match the list
+        Specification<UserTasks> filter = UserTasksSpecifications.withFilters(userId, status, priority, category,
+                taskType, startDate, endDate, dueDateStart, dueDateEnd, isRecurring, isOverdue, searchTerm, tags);
+        Page<UserTaskRow> tasksPage = userTasksRepository.findRows(filter, descriptionLength(summary), pageable);
 
-        if (searchTerm != null && !searchTerm.trim().isEmpty()) {
-            tasksPage = userTasksRepository.searchTasks(userId, searchTerm.trim(), pageable);
-        } else if (tags != null && tags.length > 0) {
-            tasksPage = userTasksRepository.findByUserIdAndTagsContaining(userId, tags, pageable);
-        } else {
-            tasksPage = userTasksRepository.findTasksWithFilters(userId, status, priority, category,
-                    taskType, startDate, endDate, dueDateStart, dueDateEnd, isRecurring, pageable);
+        UserTasksListResponseDTO response = buildTaskListResponse(tasksPage, summary, pageable);
+        if (includeFacets) {
+            response.setFacets(toGroupedFacetMap(userTasksRepository.countFacets(filter)));
         }
-
-        return buildTaskListResponse(tasksPage, pageable);
+        if (includeTagFacets) {
+            response.setTagFacets(toFacetMap(userTasksRepository.countTagFacets(filter, TAG_FACET_LIMIT)));
+        }
+        return response;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public UserTasksListResponseDTO getTasksByStatus(Long userId, TaskStatus status, Pageable pageable) {
+    public UserTasksListResponseDTO getTasksByStatus(Long userId, TaskStatus status, boolean summary, Pageable pageable) {
         log.info("Fetching tasks by status {} for user: {}", status, userId);
 
-        Page<UserTasks> tasksPage = userTasksRepository.findByUserIdAndStatus(userId, status, pageable);
-        return buildTaskListResponse(tasksPage, pageable);
+        Page<UserTaskRow> tasksPage = userTasksRepository.findRowsByUserIdAndStatus(userId, status, descriptionLength(summary), pageable);
+        return buildTaskListResponse(tasksPage, summary, pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public UserTasksListResponseDTO getTasksByPriority(Long userId, TaskPriority priority, Pageable pageable) {
+    public UserTasksListResponseDTO getTasksByPriority(Long userId, TaskPriority priority, boolean summary, Pageable pageable) {
         log.info("Fetching tasks by priority {} for user: {}", priority, userId);
 
-        Page<UserTasks> tasksPage = userTasksRepository.findByUserIdAndPriority(userId, priority, pageable);
-        return buildTaskListResponse(tasksPage, pageable);
+        Page<UserTaskRow> tasksPage = userTasksRepository.findRowsByUserIdAndPriority(userId, priority, descriptionLength(summary), pageable);
+        return buildTaskListResponse(tasksPage, summary, pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public UserTasksListResponseDTO getTasksByCategory(Long userId, TaskCategory category, Pageable pageable) {
+    public UserTasksListResponseDTO getTasksByCategory(Long userId, TaskCategory category, boolean summary, Pageable pageable) {
         log.info("Fetching tasks by category {} for user: {}", category, userId);
 
-        Page<UserTasks> tasksPage = userTasksRepository.findByUserIdAndCategory(userId, category, pageable);
-        return buildTaskListResponse(tasksPage, pageable);
+        Page<UserTaskRow> tasksPage = userTasksRepository.findRowsByUserIdAndCategory(userId, category, descriptionLength(summary), pageable);
+        return buildTaskListResponse(tasksPage, summary, pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public UserTasksListResponseDTO getTasksByType(Long userId, TaskType taskType, Pageable pageable) {
+    public UserTasksListResponseDTO getTasksByType(Long userId, TaskType taskType, boolean summary, Pageable pageable) {
         log.info("Fetching tasks by type {} for user: {}", taskType, userId);
 
-        Page<UserTasks> tasksPage = userTasksRepository.findByUserIdAndTaskType(userId, taskType, pageable);
-        return buildTaskListResponse(tasksPage, pageable);
+        Page<UserTaskRow> tasksPage = userTasksRepository.findRowsByUserIdAndTaskType(userId, taskType, descriptionLength(summary), pageable);
+        return buildTaskListResponse(tasksPage, summary, pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public UserTasksListResponseDTO searchTasks(Long userId, String searchTerm, Pageable pageable) {
+    public UserTasksListResponseDTO searchTasks(Long userId, String searchTerm, boolean summary, Pageable pageable) {
         log.info("Searching tasks for user: {} with term: {}", userId, searchTerm);
 
-        Page<UserTasks> tasksPage = userTasksRepository.searchTasks(userId, searchTerm, pageable);
-        return buildTaskListResponse(tasksPage, pageable);
+        Page<UserTaskRow> tasksPage = userTasksRepository.searchTaskRows(userId, searchTerm, descriptionLength(summary), pageable);
+        return buildTaskListResponse(tasksPage, summary, pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public UserTasksListResponseDTO getOverdueTasks(Long userId, Pageable pageable) {
+    public UserTasksListResponseDTO getOverdueTasks(Long userId, boolean summary, Pageable pageable) {
         log.info("Fetching overdue tasks for user: {}", userId);
 
         List<TaskStatus> excludeStatuses = Arrays.asList(TaskStatus.COMPLETED, TaskStatus.CANCELLED);
-        Page<UserTasks> tasksPage = userTasksRepository.findOverdueTasks(userId, LocalDate.now(), excludeStatuses, pageable);
-        return buildTaskListResponse(tasksPage, pageable);
+        if (!userTasksRepository.existsRecurringSeries(userId)) {
+            Page<UserTaskRow> tasksPage = userTasksRepository.findOverdueRows(userId, descriptionLength(summary), pageable);
+            return buildTaskListResponse(tasksPage, summary, pageable);
+        }
+
+        // Merge one-off tasks and expanded occurrences by due date; only the first offset + size one-off rows are needed
+        int window = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), Integer.MAX_VALUE);
+        Page<UserTaskRow> oneOffPage = userTasksRepository.findOverdueRows(userId, descriptionLength(summary),
+                PageRequest.of(0, window, Sort.by("dueDate", "userTaskId")));
+        LocalDate today = userToday(userId);
+        List<UserTasksDTO> occurrences = findOpenOccurrences(userId,
+                today.minusDays(appProperties.getTaskRecurrenceOverdueLookbackDays()), today.minusDays(1), excludeStatuses, today);
+
+        List<UserTasksDTO> merged = new ArrayList<>(oneOffPage.getContent().stream()
+                .map(row -> convertToDTO(row, summary))
+                .toList());
+        occurrences.forEach(occurrence -> merged.add(summary ? summarize(occurrence) : occurrence));
+        merged.sort(Comparator.comparing(UserTasksDTO::getDueDate).thenComparing(UserTasksDTO::getUserTaskId));
+
+        List<UserTasksDTO> pageContent = merged.stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .collect(Collectors.toList());
+        return buildTaskListResponse(pageContent, oneOffPage.getTotalElements() + occurrences.size(), pageable);
+    }
+
+    @Override
+    public int flagOverdueTasks(int lookbackDays, int batchSize) {
+        return userTasksRepository.flagOverdueTasks(lookbackDays, batchSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserTasksDTO> getTasksInRange(Long userId, LocalDate startDate, LocalDate endDate, boolean byDueDate) {
+        log.info("Fetching tasks between {} and {} (by {}) for user: {}", startDate, endDate,
+                byDueDate ? "due date" : "task date", userId);
+
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("endDate must not be before startDate");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) + 1 > appProperties.getTaskRecurrenceMaxRangeDays()) {
+            throw new IllegalArgumentException("Date range must not exceed " + appProperties.getTaskRecurrenceMaxRangeDays() + " days");
+        }
+
+        List<UserTaskRow> oneOffTasks = byDueDate
+                ? userTasksRepository.findOneOffRowsByDueDateBetween(userId, startDate, endDate, descriptionLength(false))
+                : userTasksRepository.findOneOffRowsByTaskDateBetween(userId, startDate, endDate, descriptionLength(false));
+
+        List<UserTasksDTO> tasks = new ArrayList<>(oneOffTasks.stream().map(row -> convertToDTO(row, false)).toList());
+        LocalDate today = userToday(userId);
+        userTaskRecurrenceService.expand(userId, startDate, endDate, byDueDate).stream()
+                .map(occurrence -> convertToDTO(occurrence, today))
+                .forEach(tasks::add);
+
+        Comparator<UserTasksDTO> order = byDueDate
+                ? Comparator.comparing(UserTasksDTO::getDueDate)
+                : Comparator.comparing(UserTasksDTO::getTaskDate);
+        tasks.sort(order.thenComparing(UserTasksDTO::getUserTaskId));
+        return tasks;
+    }
+
+    @Override
+    public UserTasksDTO updateOccurrenceStatus(Long userId, Long userTaskId, LocalDate occurrenceDate, TaskStatus status) {
+        TaskOccurrence occurrence = userTaskRecurrenceService.updateOccurrenceStatus(userId, userTaskId, occurrenceDate, status);
+        return convertToDTO(occurrence, userToday(userId));
     }
 
     @Override
@@ -251,8 +361,9 @@ public class UserTasksServiceImpl implements UserTasksService {
         Long cancelledTasks = userTasksRepository.countByUserIdAndStatus(userId, TaskStatus.CANCELLED);
 
         List<TaskStatus> excludeStatuses = Arrays.asList(TaskStatus.COMPLETED, TaskStatus.CANCELLED);
-        List<UserTasks> overdueTasks = userTasksRepository.findOverdueTasks(userId, LocalDate.now(), excludeStatuses);
-        Long overdueTasksCount = (long) overdueTasks.size();
+        LocalDate today = userToday(userId);
+        Long overdueTasksCount = userTasksRepository.countOverdueTasks(userId) + findOpenOccurrences(userId,
+                today.minusDays(appProperties.getTaskRecurrenceOverdueLookbackDays()), today.minusDays(1), excludeStatuses, today).size();
 
         Double completionRateDouble = userTasksRepository.calculateCompletionRate(userId);
         BigDecimal completionRate = completionRateDouble != null ?
@@ -267,17 +378,22 @@ public class UserTasksServiceImpl implements UserTasksService {
         Map<String, Long> tasksByCategory = convertToMap(userTasksRepository.countByCategory(userId));
         Map<String, Long> tasksByType = convertToMap(userTasksRepository.countByTaskType(userId));
 
-        List<UserTasks> recentlyModifiedTasks = userTasksRepository.findRecentlyModified(userId, PageRequest.of(0, 5));
+        List<UserTaskRow> recentlyModifiedTasks = userTasksRepository.findRecentlyModifiedRows(userId,
+                descriptionLength(false), PageRequest.of(0, 5));
         List<UserTasksDTO> recentlyModified = recentlyModifiedTasks.stream()
-                .map(this::convertToDTO)
+                .map(row -> convertToDTO(row, false))
                 .collect(Collectors.toList());
 
-        LocalDate today = LocalDate.now();
         LocalDate nextWeek = today.plusDays(7);
-        List<UserTasks> upcomingDeadlinesTasks = userTasksRepository.findUpcomingDeadlines(userId, today, nextWeek,
-                excludeStatuses, PageRequest.of(0, 5));
+        List<UserTaskRow> upcomingDeadlinesTasks = userTasksRepository.findUpcomingDeadlineRows(userId, today, nextWeek,
+                excludeStatuses, descriptionLength(false), PageRequest.of(0, 5));
         List<UserTasksDTO> upcomingDeadlines = upcomingDeadlinesTasks.stream()
-                .map(this::convertToDTO)
+                .map(row -> convertToDTO(row, false))
+                .collect(Collectors.toList());
+        upcomingDeadlines.addAll(findOpenOccurrences(userId, today, nextWeek, excludeStatuses, today));
+        upcomingDeadlines = upcomingDeadlines.stream()
+                .sorted(Comparator.comparing(UserTasksDTO::getDueDate).thenComparing(UserTasksDTO::getUserTaskId))
+                .limit(5)
                 .collect(Collectors.toList());
 
         return UserTasksStatsDTO.builder()
@@ -303,23 +419,21 @@ public class UserTasksServiceImpl implements UserTasksService {
     public List<UserTasksDTO> bulkUpdateTasks(Long userId, UserTasksBulkUpdateRequest request) {
         log.info("Bulk updating {} tasks for user {}", request.getUserTaskIds().size(), userId);
 
-        List<UserTasks> tasks = userTasksRepository.findByUserTaskIdsAndUserId(request.getUserTaskIds(), userId);
-
-        if (tasks.size() != request.getUserTaskIds().size()) {
+        // Single UPDATE ... RETURNING; a size mismatch throws and rolls the transaction back
+        List<UserTasks> updatedTasks = userTasksRepository.bulkUpdateTasks(
+                request.getUserTaskIds().toArray(new Long[0]),
+                userId,
+                request.getStatus() != null ? request.getStatus().name() : null,
+                request.getPriority() != null ? request.getPriority().name() : null,
+                request.getCategory() != null ? request.getCategory().name() : null,
+                request.getTaskType() != null ? request.getTaskType().name() : null,
+                request.getRemarks(),
+                LocalDateTime.now());
+
+        if (updatedTasks.size() != request.getUserTaskIds().size()) {
             throw new EntityNotFoundException("Some tasks not found for the user");
         }
 
-        tasks.forEach(task -> {
-            if (request.getStatus() != null) task.setStatus(request.getStatus());
-            if (request.getPriority() != null) task.setPriority(request.getPriority());
-            if (request.getCategory() != null) task.setCategory(request.getCategory());
-            if (request.getTaskType() != null) task.setTaskType(request.getTaskType());
-            if (request.getRemarks() != null) task.setRemarks(request.getRemarks());
-            task.setVersion(task.getVersion() + 1);
-        });
-
-        List<UserTasks> updatedTasks = userTasksRepository.saveAll(tasks);
-
         return updatedTasks.stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
@@ -329,23 +443,24 @@ public class UserTasksServiceImpl implements UserTasksService {
     public void bulkDeleteTasks(Long userId, UserTasksBulkDeleteRequest request) {
         log.info("Bulk deleting {} tasks for user {}", request.getUserTaskIds().size(), userId);
 
-        List<UserTasks> tasks = userTasksRepository.findByUserTaskIdsAndUserId(request.getUserTaskIds(), userId);
+        Long[] userTaskIds = request.getUserTaskIds().toArray(new Long[0]);
 
-        if (tasks.size() != request.getUserTaskIds().size()) {
+        long ownedCount = userTasksRepository.countByUserTaskIdsAndUserId(userTaskIds, userId);
+        if (ownedCount != request.getUserTaskIds().size()) {
             throw new EntityNotFoundException("Some tasks not found for the user");
         }
 
-        // Check for subtasks if cascadeDelete is false
+        // Check for subtasks if cascadeDelete is false (one grouped query instead of one count per task)
         if (!Boolean.TRUE.equals(request.getCascadeDelete())) {
-            for (UserTasks task : tasks) {
-                Long subtaskCount = userTasksRepository.countSubtasks(task.getUserTaskId());
-                if (subtaskCount > 0) {
-                    throw new IllegalStateException("Cannot delete task " + task.getUserTaskId() + " with active subtasks. Enable cascade delete or remove subtasks first.");
-                }
+            List<Long> parentsWithSubtasks = userTasksRepository.findParentIdsWithSubtasks(request.getUserTaskIds());
+            if (!parentsWithSubtasks.isEmpty()) {
+                throw new IllegalStateException("Cannot delete task " + parentsWithSubtasks.get(0) + " with active subtasks. Enable cascade delete or remove subtasks first.");
             }
         }
 
-        userTasksRepository.deleteAll(tasks);
+        // Subtasks of deleted parents are removed by the fk_user_tasks_parent ON DELETE CASCADE constraint
+        userTasksRepository.bulkDeleteTasks(userTaskIds, userId);
+        userTaskTagService.evictAfterCommit(userId);
     }
 
     @Override
@@ -359,7 +474,7 @@ public class UserTasksServiceImpl implements UserTasksService {
                 .userId(userId)
                 .taskTitle("[Copy] " + originalTask.getTaskTitle())
                 .taskDescription(originalTask.getTaskDescription())
-                .taskDate(LocalDate.now())
+                .taskDate(userToday(userId))
                 .status(TaskStatus.NOT_STARTED)
                 .priority(originalTask.getPriority())
                 .category(originalTask.getCategory())
@@ -377,6 +492,9 @@ public class UserTasksServiceImpl implements UserTasksService {
                 .build();
 
         UserTasks savedTask = userTasksRepository.save(duplicatedTask);
+        if (hasTags(savedTask.getTags())) {
+            userTaskTagService.evictAfterCommit(userId);
+        }
         return convertToDTO(savedTask);
     }
 
@@ -385,12 +503,68 @@ public class UserTasksServiceImpl implements UserTasksService {
     public List<UserTasksDTO> getSubtasks(Long userId, Long parentTaskId) {
         log.info("Fetching subtasks for parent task {} and user {}", parentTaskId, userId);
 
-        List<UserTasks> subtasks = userTasksRepository.findByUserIdAndParentTaskId(userId, parentTaskId);
+        List<UserTaskRow> subtasks = userTasksRepository.findSubtaskRows(userId, parentTaskId, descriptionLength(false));
         return subtasks.stream()
-                .map(this::convertToDTO)
+                .map(row -> convertToDTO(row, false))
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserTaskTreeNodeDTO> getTaskTree(Long userId, Long rootTaskId) {
+        log.info("Fetching task tree for user {} (root: {})", userId, rootTaskId);
+
+        List<Object[]> rows = userTasksRepository.findTaskTree(userId, rootTaskId);
+        if (rootTaskId != null && rows.isEmpty()) {
+            throw new EntityNotFoundException("Task not found with id: " + rootTaskId);
+        }
+
+        // Rows arrive ordered by depth, so every parent is registered before its children
+        Map<Long, UserTaskTreeNodeDTO> nodesById = new HashMap<>();
+        List<UserTaskTreeNodeDTO> roots = new ArrayList<>();
+        for (Object[] row : rows) {
+            UserTaskTreeNodeDTO node = convertToTreeNode(row);
+            nodesById.put(node.getUserTaskId(), node);
+
+            UserTaskTreeNodeDTO parent = node.getParentTaskId() != null ? nodesById.get(node.getParentTaskId()) : null;
+            if (parent != null) {
+                parent.getChildren().add(node);
+            } else {
+                roots.add(node);
+            }
+        }
+
+        return roots;
+    }
+
+    private UserTaskTreeNodeDTO convertToTreeNode(Object[] row) {
+        long completedCount = ((Number) row[9]).longValue();
+        long countableCount = ((Number) row[10]).longValue();
+        BigDecimal completionRate = countableCount == 0 ? BigDecimal.ZERO :
+            BigDecimal.valueOf(completedCount * 100.0 / countableCount).setScale(2, RoundingMode.HALF_UP);
+
+        return UserTaskTreeNodeDTO.builder()
+                .userTaskId(((Number) row[0]).longValue())
+                .parentTaskId(row[1] != null ? ((Number) row[1]).longValue() : null)
+                .taskTitle((String) row[2])
+                .status(row[3] != null ? TaskStatus.valueOf(row[3].toString()) : null)
+                .priority(row[4] != null ? TaskPriority.valueOf(row[4].toString()) : null)
+                .taskType(row[5] != null ? TaskType.valueOf(row[5].toString()) : null)
+                .dueDate(toLocalDate(row[6]))
+                .depth(((Number) row[7]).intValue())
+                .descendantCount(((Number) row[8]).longValue())
+                .completedCount(completedCount)
+                .completionRate(completionRate)
+                .build();
+    }
+
+    private LocalDate toLocalDate(Object value) {
+        if (value instanceof java.sql.Date sqlDate) {
+            return sqlDate.toLocalDate();
+        }
+        return (LocalDate) value;
+    }
+
     private UserTasksDTO convertToDTO(UserTasks task) {
         return UserTasksDTO.builder()
                 .userTaskId(task.getUserTaskId())
@@ -410,6 +584,7 @@ public class UserTasksServiceImpl implements UserTasksService {
                 .remarks(task.getRemarks())
                 .isRecurring(task.getIsRecurring())
                 .recurringPattern(task.getRecurringPattern())
+                .isOverdue(task.getIsOverdue())
                 .version(task.getVersion())
                 .accessCount(task.getAccessCount())
                 .lastAccessedDate(task.getLastAccessedDate())
@@ -418,32 +593,151 @@ public class UserTasksServiceImpl implements UserTasksService {
                 .build();
     }
 
-    private UserTasksListResponseDTO buildTaskListResponse(Page<UserTasks> tasksPage, Pageable pageable) {
+    // Occurrences of recurring tasks due within [startDate, endDate] whose status is not excluded
+    private List<UserTasksDTO> findOpenOccurrences(Long userId, LocalDate startDate, LocalDate endDate,
+                                                   List<TaskStatus> excludeStatuses, LocalDate today) {
+        return userTaskRecurrenceService.expand(userId, startDate, endDate, true).stream()
+                .filter(occurrence -> !excludeStatuses.contains(occurrence.status()))
+                .map(occurrence -> convertToDTO(occurrence, today))
+                .collect(Collectors.toList());
+    }
+
+    // Today in the user's timezone, matching user_local_date() behind the is_overdue flag: unknown or invalid zones
+    // fall back to UTC
+    private LocalDate userToday(Long userId) {
+        ZoneId zone = userSettingsRepository.findByUserId(userId)
+                .map(UserSettings::getTimezone)
+                .map(timezone -> {
+                    try {
+                        return ZoneId.of(timezone);
+                    } catch (DateTimeException e) {
+                        return null;
+                    }
+                })
+                .orElse(ZoneOffset.UTC);
+        return LocalDate.now(clock.withZone(zone));
+    }
+
+    private UserTasksDTO convertToDTO(TaskOccurrence occurrence, LocalDate today) {
+        UserTasks series = occurrence.series();
+        long shift = ChronoUnit.DAYS.between(series.getTaskDate(), occurrence.occurrenceDate());
+
+        UserTasksDTO dto = convertToDTO(series);
+        dto.setOccurrenceDate(occurrence.occurrenceDate());
+        dto.setTaskDate(occurrence.occurrenceDate());
+        dto.setDueDate(occurrence.dueDate());
+        dto.setReminderDate(series.getReminderDate() != null ? series.getReminderDate().plusDays(shift) : null);
+        dto.setStatus(occurrence.status());
+        dto.setIsOverdue(occurrence.dueDate() != null && occurrence.dueDate().isBefore(today)
+                && occurrence.status() != TaskStatus.COMPLETED && occurrence.status() != TaskStatus.CANCELLED);
+        return dto;
+    }
+
+    private UserTasksDTO convertToDTO(UserTaskRow row, boolean summary) {
+        UserTasksDTO dto = UserTasksDTO.builder()
+                .userTaskId(row.userTaskId())
+                .userId(row.userId())
+                .taskTitle(row.taskTitle())
+                .taskDescription(row.taskDescription())
+                .taskDate(row.taskDate())
+                .status(row.status())
+                .priority(row.priority())
+                .category(row.category())
+                .taskType(row.taskType())
+                .dueDate(row.dueDate())
+                .reminderDate(row.reminderDate())
+                .tags(row.tags())
+                .parentTaskId(row.parentTaskId())
+                .createdBy(row.createdBy())
+                .remarks(row.remarks())
+                .isRecurring(row.isRecurring())
+                .recurringPattern(row.recurringPattern())
+                .isOverdue(row.isOverdue())
+                .version(row.version())
+                .accessCount(row.accessCount())
+                .lastAccessedDate(row.lastAccessedDate())
+                .createdDate(row.createdDate())
+                .modifiedDate(row.modifiedDate())
+                .build();
+        return summary ? summarize(dto) : dto;
+    }
+
+    // Summary lists keep the first previewLength code points of the description, as SQL SUBSTRING counts them;
+    // rows fetch one more so a cut can be flagged
+    private UserTasksDTO summarize(UserTasksDTO dto) {
+        int previewLength = appProperties.getListSummaryPreviewLength();
+        String description = dto.getTaskDescription();
+        boolean truncated = description != null && description.length() > previewLength
+                && description.codePointCount(0, description.length()) > previewLength;
+        if (truncated) {
+            dto.setTaskDescription(description.substring(0, description.offsetByCodePoints(0, previewLength)));
+        }
+        dto.setDescriptionTruncated(truncated);
+        return dto;
+    }
+
+    private int descriptionLength(boolean summary) {
+        return summary ? appProperties.getListSummaryPreviewLength() + 1 : Integer.MAX_VALUE;
+    }
+
+    private UserTasksListResponseDTO buildTaskListResponse(Page<UserTaskRow> tasksPage, boolean summary, Pageable pageable) {
         List<UserTasksDTO> taskDTOs = tasksPage.getContent().stream()
-                .map(this::convertToDTO)
+                .map(row -> convertToDTO(row, summary))
                 .collect(Collectors.toList());
+        return buildTaskListResponse(taskDTOs, tasksPage.getTotalElements(), pageable);
+    }
+
+    private UserTasksListResponseDTO buildTaskListResponse(List<UserTasksDTO> taskDTOs, long totalElements, Pageable pageable) {
+        int totalPages = (int) ((totalElements + pageable.getPageSize() - 1) / pageable.getPageSize());
+        boolean hasNext = pageable.getPageNumber() + 1 < totalPages;
+        boolean hasPrevious = pageable.getPageNumber() > 0;
 
         PaginationDTO pagination = PaginationDTO.builder()
                 .currentPage(pageable.getPageNumber())
                 .itemsPerPage(pageable.getPageSize())
-                .totalItems(tasksPage.getTotalElements())
-                .totalPages(tasksPage.getTotalPages())
-                .hasPreviousPage(pageable.getPageNumber() > 0)
-                .hasNextPage(pageable.getPageNumber() + 1 < tasksPage.getTotalPages())
+                .totalItems(totalElements)
+                .totalPages(totalPages)
+                .hasPreviousPage(hasPrevious)
+                .hasNextPage(hasNext)
                 .build();
 
         return UserTasksListResponseDTO.builder()
                 .data(taskDTOs)
                 .pagination(pagination)
-                .totalElements(tasksPage.getTotalElements())
-                .totalPages(tasksPage.getTotalPages())
+                .totalElements(totalElements)
+                .totalPages(totalPages)
                 .currentPage(pageable.getPageNumber())
                 .pageSize(pageable.getPageSize())
-                .hasNext(tasksPage.hasNext())
-                .hasPrevious(tasksPage.hasPrevious())
+                .hasNext(hasNext)
+                .hasPrevious(hasPrevious)
                 .build();
     }
 
+    // Keeps the query order (most used first)
+    private Map<String, Long> toFacetMap(List<Object[]> results) {
+        Map<String, Long> facets = new LinkedHashMap<>();
+        for (Object[] row : results) {
+            facets.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        return facets;
+    }
+
+    // (facet, facet_value, facet_count) rows -> facet -> value -> count, keeping the query order
+    private Map<String, Map<String, Long>> toGroupedFacetMap(List<Object[]> results) {
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        for (Object[] row : results) {
+            if (row[1] != null) {
+                facets.computeIfAbsent((String) row[0], facet -> new LinkedHashMap<>())
+                        .put((String) row[1], ((Number) row[2]).longValue());
+            }
+        }
+        return facets;
+    }
+
+    private boolean hasTags(String[] tags) {
+        return tags != null && tags.length > 0;
+    }
+
     private Map<String, Long> convertToMap(List<Object[]> results) {
         return results.stream()
                 .collect(Collectors.toMap(
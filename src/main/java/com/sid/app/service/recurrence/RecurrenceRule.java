@@ -0,0 +1,134 @@
+package com.sid.app.service.recurrence;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Compiled, immutable form of a task's recurringPattern (a subset of iCalendar RRULE).
+ * Occurrences are computed for a requested window only; nothing is materialised.
+ * Monthly and yearly dates that do not exist in a given month (e.g. the 31st, Feb 29) fall on the last day of that month.
+ */
+public final class RecurrenceRule {
+
+    public enum Frequency {
+        DAILY(ChronoUnit.DAYS), WEEKLY(ChronoUnit.WEEKS), MONTHLY(ChronoUnit.MONTHS), YEARLY(ChronoUnit.YEARS);
+
+        private final ChronoUnit unit;
+
+        Frequency(ChronoUnit unit) {
+            this.unit = unit;
+        }
+    }
+
+    private final Frequency frequency;
+    private final int interval;
+    private final Set<DayOfWeek> byDay;
+    private final Integer byMonthDay;
+    private final Integer count;
+    private final LocalDate until;
+
+    RecurrenceRule(Frequency frequency, int interval, Set<DayOfWeek> byDay, Integer byMonthDay,
+                   Integer count, LocalDate until) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.byDay = byDay == null ? Set.of() : new TreeSet<>(byDay);
+        this.byMonthDay = byMonthDay;
+        this.count = count;
+        this.until = until;
+    }
+
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    /**
+     * Occurrence dates of a series starting on {@code seriesStart} that fall within [from, to], in ascending order.
+     * Expansion seeks straight to the period containing {@code from}, so the cost depends on the window, not the series age.
+     */
+    public List<LocalDate> occurrencesBetween(LocalDate seriesStart, LocalDate from, LocalDate to) {
+        List<LocalDate> result = new ArrayList<>();
+        LocalDate windowStart = from.isBefore(seriesStart) ? seriesStart : from;
+        LocalDate windowEnd = until != null && until.isBefore(to) ? until : to;
+        if (windowEnd.isBefore(windowStart)) {
+            return result;
+        }
+
+        LocalDate anchor = anchor(seriesStart);
+        int perPeriod = frequency == Frequency.WEEKLY && !byDay.isEmpty() ? byDay.size() : 1;
+        // Dates of the first period that precede the series start are not occurrences and do not count towards COUNT
+        long skippedInFirstPeriod = datesInPeriod(anchor, seriesStart, 0).stream()
+                .filter(date -> date.isBefore(seriesStart))
+                .count();
+
+        long firstStep = Math.max(0, frequency.unit.between(anchor, windowStart) / interval - 1);
+        for (long step = firstStep; ; step++) {
+            List<LocalDate> dates = datesInPeriod(anchor, seriesStart, step * interval);
+            if (dates.get(0).isAfter(windowEnd)) {
+                return result;
+            }
+            for (int i = 0; i < dates.size(); i++) {
+                LocalDate date = dates.get(i);
+                if (date.isBefore(seriesStart)) {
+                    continue;
+                }
+                long ordinal = step * perPeriod + i - skippedInFirstPeriod;
+                if (count != null && ordinal >= count) {
+                    return result;
+                }
+                if (!date.isBefore(windowStart) && !date.isAfter(windowEnd)) {
+                    result.add(date);
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether {@code date} is an occurrence of a series starting on {@code seriesStart}.
+     */
+    public boolean isOccurrence(LocalDate seriesStart, LocalDate date) {
+        return !occurrencesBetween(seriesStart, date, date).isEmpty();
+    }
+
+    private LocalDate anchor(LocalDate seriesStart) {
+        return switch (frequency) {
+            case DAILY -> seriesStart;
+            case WEEKLY -> seriesStart.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTHLY -> seriesStart.withDayOfMonth(1);
+            case YEARLY -> seriesStart.withDayOfYear(1);
+        };
+    }
+
+    private List<LocalDate> datesInPeriod(LocalDate anchor, LocalDate seriesStart, long units) {
+        switch (frequency) {
+            case DAILY:
+                return List.of(anchor.plusDays(units));
+            case WEEKLY: {
+                LocalDate weekStart = anchor.plusWeeks(units);
+                if (byDay.isEmpty()) {
+                    return List.of(weekStart.plusDays(seriesStart.getDayOfWeek().getValue() - 1L));
+                }
+                List<LocalDate> dates = new ArrayList<>(byDay.size());
+                for (DayOfWeek day : byDay) {
+                    dates.add(weekStart.plusDays(day.getValue() - 1L));
+                }
+                return dates;
+            }
+            case MONTHLY: {
+                YearMonth month = YearMonth.from(anchor).plusMonths(units);
+                int day = byMonthDay != null ? byMonthDay : seriesStart.getDayOfMonth();
+                return List.of(month.atDay(Math.min(day, month.lengthOfMonth())));
+            }
+            default: {
+                YearMonth month = YearMonth.of(seriesStart.getYear(), seriesStart.getMonth()).plusYears(units);
+                return List.of(month.atDay(Math.min(seriesStart.getDayOfMonth(), month.lengthOfMonth())));
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.sid.app.service.recurrence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Parses task recurringPattern values into {@link RecurrenceRule}s. Each distinct pattern is parsed once and cached.
+ *
+ * <p>Supported forms (case-insensitive):</p>
+ * <ul>
+ *     <li>Shorthands: DAILY, WEEKLY, MONTHLY, YEARLY, WEEKDAYS</li>
+ *     <li>RRULE subset: FREQ=DAILY|WEEKLY|MONTHLY|YEARLY;INTERVAL=n;BYDAY=MO,WE (weekly);BYMONTHDAY=d (monthly);
+ *     COUNT=n;UNTIL=yyyy-MM-dd, with an optional "RRULE:" prefix</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class RecurrenceRuleParser {
+
+    private static final int MAX_CACHED_RULES = 1024;
+
+    private static final Map<String, String> SHORTHANDS = Map.of(
+            "DAILY", "FREQ=DAILY",
+            "WEEKLY", "FREQ=WEEKLY",
+            "MONTHLY", "FREQ=MONTHLY",
+            "YEARLY", "FREQ=YEARLY",
+            "WEEKDAYS", "FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR");
+
+    private static final Map<String, DayOfWeek> DAYS = Map.of(
+            "MO", DayOfWeek.MONDAY, "TU", DayOfWeek.TUESDAY, "WE", DayOfWeek.WEDNESDAY, "TH", DayOfWeek.THURSDAY,
+            "FR", DayOfWeek.FRIDAY, "SA", DayOfWeek.SATURDAY, "SU", DayOfWeek.SUNDAY);
+
+    private final Map<String, RecurrenceRule> cache = new ConcurrentHashMap<>();
+
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    public RecurrenceRuleParser(MeterRegistry meterRegistry) {
+        cacheHits = meterRegistry.counter("cache.gets", "cache", "recurrence-rules", "result", "hit");
+        cacheMisses = meterRegistry.counter("cache.gets", "cache", "recurrence-rules", "result", "miss");
+        Gauge.builder("cache.size", cache, Map::size).tag("cache", "recurrence-rules").register(meterRegistry);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the pattern is blank or not supported
+     */
+    public RecurrenceRule parse(String pattern) {
+        if (pattern == null || pattern.isBlank()) {
+            throw new IllegalArgumentException("Recurring pattern is required for recurring tasks");
+        }
+        String key = pattern.trim().toUpperCase(Locale.ROOT);
+        RecurrenceRule rule = cache.get(key);
+        if (rule != null) {
+            cacheHits.increment();
+        } else {
+            cacheMisses.increment();
+            rule = compile(key);
+            if (cache.size() >= MAX_CACHED_RULES) {
+                cache.clear();
+            }
+            cache.put(key, rule);
+        }
+        return rule;
+    }
+
+    private RecurrenceRule compile(String pattern) {
+        String spec = SHORTHANDS.getOrDefault(pattern, pattern);
+        if (spec.startsWith("RRULE:")) {
+            spec = spec.substring("RRULE:".length());
+        }
+
+        RecurrenceRule.Frequency frequency = null;
+        int interval = 1;
+        Set<DayOfWeek> byDay = EnumSet.noneOf(DayOfWeek.class);
+        Integer byMonthDay = null;
+        Integer count = null;
+        LocalDate until = null;
+
+        for (String part : spec.split(";")) {
+            if (part.isBlank()) {
+                continue;
+            }
+            String[] keyValue = part.split("=", 2);
+            if (keyValue.length != 2) {
+                throw invalid(pattern, "expected KEY=VALUE but found '" + part + "'");
+            }
+            String value = keyValue[1].trim();
+            switch (keyValue[0].trim()) {
+                case "FREQ" -> {
+                    try {
+                        frequency = RecurrenceRule.Frequency.valueOf(value);
+                    } catch (IllegalArgumentException e) {
+                        throw invalid(pattern, "unsupported FREQ " + value);
+                    }
+                }
+                case "INTERVAL" -> interval = parsePositive(pattern, "INTERVAL", value);
+                case "COUNT" -> count = parsePositive(pattern, "COUNT", value);
+                case "BYMONTHDAY" -> {
+                    byMonthDay = parsePositive(pattern, "BYMONTHDAY", value);
+                    if (byMonthDay > 31) {
+                        throw invalid(pattern, "BYMONTHDAY must be between 1 and 31");
+                    }
+                }
+                case "BYDAY" -> {
+                    for (String day : value.split(",")) {
+                        DayOfWeek dayOfWeek = DAYS.get(day.trim());
+                        if (dayOfWeek == null) {
+                            throw invalid(pattern, "unsupported BYDAY value " + day);
+                        }
+                        byDay.add(dayOfWeek);
+                    }
+                }
+                case "UNTIL" -> until = parseDate(pattern, value);
+                default -> throw invalid(pattern, "unsupported key " + keyValue[0]);
+            }
+        }
+
+        if (frequency == null) {
+            throw invalid(pattern, "FREQ is required");
+        }
+        if (!byDay.isEmpty() && frequency != RecurrenceRule.Frequency.WEEKLY) {
+            throw invalid(pattern, "BYDAY is only supported with FREQ=WEEKLY");
+        }
+        if (byMonthDay != null && frequency != RecurrenceRule.Frequency.MONTHLY) {
+            throw invalid(pattern, "BYMONTHDAY is only supported with FREQ=MONTHLY");
+        }
+
+        log.debug("compile() : Compiled recurring pattern {}", pattern);
+        return new RecurrenceRule(frequency, interval, byDay, byMonthDay, count, until);
+    }
+
+    private int parsePositive(String pattern, String key, String value) {
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed < 1) {
+                throw invalid(pattern, key + " must be positive");
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw invalid(pattern, key + " must be a number");
+        }
+    }
+
+    private LocalDate parseDate(String pattern, String value) {
+        try {
+            return value.contains("-")
+                    ? LocalDate.parse(value)
+                    : LocalDate.parse(value.length() > 8 ? value.substring(0, 8) : value, DateTimeFormatter.BASIC_ISO_DATE);
+        } catch (DateTimeParseException e) {
+            throw invalid(pattern, "UNTIL must be yyyy-MM-dd or yyyyMMdd");
+        }
+    }
+
+    private IllegalArgumentException invalid(String pattern, String reason) {
+        return new IllegalArgumentException("Invalid recurring pattern '" + pattern + "': " + reason);
+    }
+}
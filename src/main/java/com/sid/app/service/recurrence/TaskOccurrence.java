@@ -0,0 +1,13 @@
+package com.sid.app.service.recurrence;
+
+import com.sid.app.entity.UserTasks;
+import com.sid.app.enums.TaskStatus;
+
+import java.time.LocalDate;
+
+/**
+ * One expanded occurrence of a recurring task series. {@code status} is the per-occurrence override when one
+ * was recorded, otherwise the series status; {@code dueDate} keeps the series' offset between task and due date.
+ */
+public record TaskOccurrence(UserTasks series, LocalDate occurrenceDate, LocalDate dueDate, TaskStatus status) {
+}
@@ -0,0 +1,10 @@
+package com.sid.app.service.reminder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reminder leased by this instance and waiting in its timing wheel.
+ */
+public record ClaimedReminder(Long reminderQueueId, String sourceType, Long sourceId, Long userId,
+                              LocalDateTime fireAt) {
+}
@@ -0,0 +1,196 @@
+package com.sid.app.service.reminder;
+
+import com.sid.app.config.AppProperties;
+import com.sid.app.model.UserNotificationDTO;
+import com.sid.app.service.ReminderService;
+import com.sid.app.service.UserNotificationService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fires note and task reminders.
+ *
+ * <p>Every poll leases the pending reminders due within the horizon (indexed, in batches, skipping rows another
+ * instance holds) and schedules them in a hierarchical timing wheel. A ticker thread advances the wheel and hands
+ * due reminders to a single firing thread, which marks them fired and stores their notifications in one statement
+ * before pushing them to open notification streams. Firing is fenced on the lease, so each reminder fires once
+ * across instances; a lease left behind by a stopped instance is taken over once it expires.</p>
+ *
+ * <p>Firing lag is bounded by the tick for reminders leased ahead of time, and by the poll interval for reminders
+ * created or moved to within the current horizon.</p>
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.reminders.enabled", havingValue = "true", matchIfMissing = true)
+public class ReminderDispatcher {
+
+    private static final int WHEEL_SIZE = 64;
+    private static final int WHEEL_LEVELS = 3;
+
+    private final ReminderService reminderService;
+    private final UserNotificationService userNotificationService;
+    private final ReminderMetrics reminderMetrics;
+    private final AppProperties appProperties;
+
+    private final ReentrantLock wheelLock = new ReentrantLock();
+    private final Set<ClaimedReminder> scheduled = ConcurrentHashMap.newKeySet();
+    private final long originNanos = System.nanoTime();
+
+    private TimingWheel<ClaimedReminder> wheel;
+    private ScheduledExecutorService ticker;
+    private ExecutorService firer;
+
+    @PostConstruct
+    public void start() {
+        long tickMs = appProperties.getReminderTickMs();
+        if (appProperties.getReminderHorizonSeconds() * 1000 <= appProperties.getReminderPollIntervalMs()) {
+            log.warn("start() : Reminder horizon ({}s) does not exceed the poll interval ({}ms); reminders may fire late",
+                    appProperties.getReminderHorizonSeconds(), appProperties.getReminderPollIntervalMs());
+        }
+        wheel = new TimingWheel<>(tickMs, WHEEL_SIZE, WHEEL_LEVELS, monotonicMs());
+        reminderMetrics.bindScheduledCount(scheduled::size);
+
+        ticker = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("reminder-wheel").daemon().factory());
+        firer = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("reminder-fire").daemon().factory());
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+        log.info("start() : Reminder dispatcher {} started (tick {}ms, horizon {}s)",
+                reminderMetrics.getDispatcherId(), tickMs, appProperties.getReminderHorizonSeconds());
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+        firer.shutdown();
+        try {
+            if (!firer.awaitTermination(5, TimeUnit.SECONDS)) {
+                firer.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            int released = reminderService.releaseLeases(reminderMetrics.getDispatcherId());
+            log.info("stop() : Released {} reminder leases of {}", released, reminderMetrics.getDispatcherId());
+        } catch (Exception e) {
+            log.warn("stop() : Could not release reminder leases, they expire on their own: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Lease reminders due within the horizon and schedule them in the wheel.
+     */
+    @Scheduled(fixedDelayString = "${app.reminders.poll-interval-ms:10000}")
+    public void poll() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            reminderMetrics.recordExpired(reminderService.expireMissedReminders(
+                    now.minusMinutes(appProperties.getReminderMisfireGraceMinutes())));
+
+            LocalDateTime horizon = now.plusSeconds(appProperties.getReminderHorizonSeconds());
+            LocalDateTime leaseUntil = horizon.plusSeconds(appProperties.getReminderLeaseGraceSeconds());
+            int batchSize = appProperties.getReminderBatchSize();
+
+            int claimed = 0;
+            List<ClaimedReminder> batch;
+            do {
+                batch = reminderService.claimDueReminders(reminderMetrics.getDispatcherId(), now, horizon, leaseUntil, batchSize);
+                schedule(batch);
+                claimed += batch.size();
+            } while (batch.size() == batchSize);
+
+            reminderMetrics.recordPoll(now, claimed);
+            if (claimed > 0) {
+                log.debug("poll() : Leased {} reminders due before {}", claimed, horizon);
+            }
+        } catch (Exception e) {
+            log.error("poll() : Error polling reminder queue: {}", e.getMessage(), e);
+        }
+    }
+
+    private void schedule(List<ClaimedReminder> reminders) {
+        List<ClaimedReminder> dueNow = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        long nowMs = monotonicMs();
+        wheelLock.lock();
+        try {
+            for (ClaimedReminder reminder : reminders) {
+                // Already waiting here from an earlier lease of ours; a rescheduled reminder differs in fireAt
+                if (!scheduled.add(reminder)) {
+                    continue;
+                }
+                long deadlineMs = nowMs + Duration.between(now, reminder.fireAt()).toMillis();
+                if (!wheel.add(reminder, deadlineMs)) {
+                    dueNow.add(reminder);
+                }
+            }
+        } finally {
+            wheelLock.unlock();
+        }
+        submit(dueNow);
+    }
+
+    private void tick() {
+        try {
+            List<ClaimedReminder> due;
+            wheelLock.lock();
+            try {
+                due = wheel.advance(monotonicMs());
+            } finally {
+                wheelLock.unlock();
+            }
+            submit(due);
+        } catch (Exception e) {
+            // An exception escaping a fixed-rate task would cancel all further ticks
+            log.error("tick() : Error advancing reminder wheel: {}", e.getMessage(), e);
+        }
+    }
+
+    private void submit(List<ClaimedReminder> due) {
+        int batchSize = appProperties.getReminderBatchSize();
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<ClaimedReminder> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            firer.execute(() -> fire(batch));
+        }
+    }
+
+    private void fire(List<ClaimedReminder> batch) {
+        List<Long> ids = batch.stream().map(ClaimedReminder::reminderQueueId).toList();
+        try {
+            List<UserNotificationDTO> notifications = reminderService.fireReminders(reminderMetrics.getDispatcherId(), ids);
+            LocalDateTime firedAt = LocalDateTime.now();
+            for (UserNotificationDTO notification : notifications) {
+                reminderMetrics.recordFired(Duration.between(notification.getReminderDate(), firedAt).toMillis());
+            }
+            reminderMetrics.recordStale(batch.size() - notifications.size());
+            userNotificationService.publish(notifications);
+        } catch (Exception e) {
+            // Leases stay in place and expire, after which the reminders are leased and fired again
+            reminderMetrics.recordFailedBatch();
+            log.error("fire() : Error firing {} reminders: {}", batch.size(), e.getMessage(), e);
+        } finally {
+            batch.forEach(scheduled::remove);
+        }
+    }
+
+    private long monotonicMs() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - originNanos);
+    }
+}
@@ -0,0 +1,109 @@
+package com.sid.app.service.reminder;
+
+import com.sid.app.model.ReminderMetricsDTO;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Dispatch counters and firing-lag distribution of this instance, plus its dispatcher (lease owner) id.
+ */
+@Component
+public class ReminderMetrics {
+
+    private static final long[] LAG_BUCKETS_MS = {100, 500, 1_000, 5_000, 30_000, 60_000};
+
+    // pid@host plus a random suffix, so a restarted container never reuses a live lease
+    private final String dispatcherId = ManagementFactory.getRuntimeMXBean().getName() + ":"
+            + UUID.randomUUID().toString().substring(0, 8);
+
+    private final LongAdder fired = new LongAdder();
+    private final LongAdder stale = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private final LongAdder lagTotalMs = new LongAdder();
+    private final AtomicLong lastLagMs = new AtomicLong();
+    private final AtomicLong maxLagMs = new AtomicLong();
+    private final LongAdder[] lagBuckets = new LongAdder[LAG_BUCKETS_MS.length + 1];
+
+    private volatile IntSupplier scheduledCount = () -> 0;
+    private volatile LocalDateTime lastPollDate;
+    private volatile int lastPollClaimed;
+
+    public ReminderMetrics() {
+        for (int i = 0; i < lagBuckets.length; i++) {
+            lagBuckets[i] = new LongAdder();
+        }
+    }
+
+    public String getDispatcherId() {
+        return dispatcherId;
+    }
+
+    public void bindScheduledCount(IntSupplier scheduledCount) {
+        this.scheduledCount = scheduledCount;
+    }
+
+    public void recordFired(long lagMs) {
+        long lag = Math.max(lagMs, 0);
+        fired.increment();
+        lagTotalMs.add(lag);
+        lastLagMs.set(lag);
+        maxLagMs.accumulateAndGet(lag, Math::max);
+        int bucket = 0;
+        while (bucket < LAG_BUCKETS_MS.length && lag > LAG_BUCKETS_MS[bucket]) {
+            bucket++;
+        }
+        lagBuckets[bucket].increment();
+    }
+
+    public void recordStale(int count) {
+        stale.add(count);
+    }
+
+    public void recordExpired(int count) {
+        expired.add(count);
+    }
+
+    public void recordFailedBatch() {
+        failedBatches.increment();
+    }
+
+    public void recordPoll(LocalDateTime pollDate, int claimed) {
+        this.lastPollDate = pollDate;
+        this.lastPollClaimed = claimed;
+    }
+
+    public ReminderMetricsDTO snapshot(boolean enabled, long backlogLagMs) {
+        long firedCount = fired.sum();
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < LAG_BUCKETS_MS.length; i++) {
+            histogram.put("le_" + LAG_BUCKETS_MS[i] + "ms", lagBuckets[i].sum());
+        }
+        histogram.put("gt_" + LAG_BUCKETS_MS[LAG_BUCKETS_MS.length - 1] + "ms", lagBuckets[LAG_BUCKETS_MS.length].sum());
+
+        return ReminderMetricsDTO.builder()
+                .dispatcherId(dispatcherId)
+                .enabled(enabled)
+                .scheduledCount(scheduledCount.getAsInt())
+                .firedCount(firedCount)
+                .staleCount(stale.sum())
+                .expiredCount(expired.sum())
+                .failedBatchCount(failedBatches.sum())
+                .lastLagMs(lastLagMs.get())
+                .maxLagMs(maxLagMs.get())
+                .averageLagMs(firedCount == 0 ? 0 : lagTotalMs.sum() / firedCount)
+                .lagHistogram(histogram)
+                .backlogLagMs(backlogLagMs)
+                .lastPollDate(lastPollDate)
+                .lastPollClaimed(lastPollClaimed)
+                .build();
+    }
+}
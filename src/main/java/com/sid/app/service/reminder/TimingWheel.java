@@ -0,0 +1,146 @@
+package com.sid.app.service.reminder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel. Level 0 has {@code wheelSize} buckets of one tick; each higher level has
+ * {@code wheelSize} buckets spanning a whole lower level, so adding and expiring are O(1) however many
+ * entries are scheduled. Entries in higher levels cascade down as time reaches their bucket.
+ * Deadlines are rounded up to the next tick, so an entry never expires before its deadline.
+ *
+ * <p>Not thread-safe; callers serialise access.</p>
+ *
+ * @param <T> scheduled item
+ */
+public class TimingWheel<T> {
+
+    private record Entry<T>(T item, long dueTick) {
+    }
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final List<Entry<T>>[][] levels;
+    // Entries beyond the top level's span; re-placed whenever the top level turns over
+    private final List<Entry<T>> overflow = new ArrayList<>();
+    private final long[] levelTicks;
+    private long currentTick;
+    private int size;
+
+    public TimingWheel(long tickMs, int wheelSize, int levelCount, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2 || levelCount < 1) {
+            throw new IllegalArgumentException("Invalid timing wheel configuration");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        @SuppressWarnings("unchecked")
+        List<Entry<T>>[][] buckets = (List<Entry<T>>[][]) new List<?>[levelCount][wheelSize];
+        this.levels = buckets;
+        this.levelTicks = new long[levelCount];
+        long ticks = 1;
+        for (int level = 0; level < levelCount; level++) {
+            levelTicks[level] = ticks;
+            ticks *= wheelSize;
+        }
+        this.currentTick = Math.floorDiv(startMs, tickMs);
+    }
+
+    /**
+     * Schedules an item.
+     *
+     * @return false if the deadline has already been reached; the item is then not scheduled
+     */
+    public boolean add(T item, long deadlineMs) {
+        long dueTick = Math.ceilDiv(deadlineMs, tickMs);
+        if (dueTick <= currentTick) {
+            return false;
+        }
+        place(new Entry<>(item, dueTick));
+        size++;
+        return true;
+    }
+
+    /**
+     * Moves the wheel forward to the given time.
+     *
+     * @return items whose deadline has been reached, in expiry order
+     */
+    public List<T> advance(long nowMs) {
+        long targetTick = Math.floorDiv(nowMs, tickMs);
+        List<T> expired = new ArrayList<>();
+        while (currentTick < targetTick && size > 0) {
+            currentTick++;
+            // Higher levels first so cascaded entries can still expire in this tick
+            for (int level = levels.length - 1; level >= 1; level--) {
+                if (currentTick % levelTicks[level] == 0) {
+                    if (level == levels.length - 1 && currentTick % (levelTicks[level] * wheelSize) == 0) {
+                        cascade(drainOverflow(), expired);
+                    }
+                    cascade(drain(level, bucketIndex(currentTick, level)), expired);
+                }
+            }
+            List<Entry<T>> due = drain(0, bucketIndex(currentTick, 0));
+            for (Entry<T> entry : due) {
+                expired.add(entry.item());
+            }
+            size -= due.size();
+        }
+        // Nothing scheduled: jump straight to the present
+        if (currentTick < targetTick) {
+            currentTick = targetTick;
+        }
+        return expired;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void place(Entry<T> entry) {
+        for (int level = 0; level < levels.length; level++) {
+            long distance = entry.dueTick() / levelTicks[level] - currentTick / levelTicks[level];
+            if (distance < wheelSize) {
+                int index = bucketIndex(entry.dueTick(), level);
+                if (levels[level][index] == null) {
+                    levels[level][index] = new ArrayList<>();
+                }
+                levels[level][index].add(entry);
+                return;
+            }
+        }
+        overflow.add(entry);
+    }
+
+    private void cascade(List<Entry<T>> entries, List<T> expired) {
+        for (Entry<T> entry : entries) {
+            if (entry.dueTick() <= currentTick) {
+                expired.add(entry.item());
+                size--;
+            } else {
+                place(entry);
+            }
+        }
+    }
+
+    private int bucketIndex(long tick, int level) {
+        return (int) Math.floorMod(tick / levelTicks[level], (long) wheelSize);
+    }
+
+    private List<Entry<T>> drain(int level, int index) {
+        List<Entry<T>> bucket = levels[level][index];
+        if (bucket == null || bucket.isEmpty()) {
+            return List.of();
+        }
+        levels[level][index] = null;
+        return bucket;
+    }
+
+    private List<Entry<T>> drainOverflow() {
+        if (overflow.isEmpty()) {
+            return List.of();
+        }
+        List<Entry<T>> entries = new ArrayList<>(overflow);
+        overflow.clear();
+        return entries;
+    }
+}
@@ -0,0 +1,50 @@
+package com.sid.app.service.scheduler;
+
+import com.sid.app.config.AppProperties;
+import com.sid.app.service.UserTasksService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Flags tasks as overdue once their due date has passed in their owner's timezone.
+ *
+ * <p>Writes keep the flag current on their own; this only catches tasks that became overdue through the passing
+ * of time. Local midnight arrives hourly somewhere, so the sweep runs every hour (and once on startup to catch
+ * up after downtime). Each batch commits separately and skips locked rows, so several instances may sweep
+ * at the same time.</p>
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class OverdueTaskSweeper {
+
+    private final UserTasksService userTasksService;
+    private final AppProperties appProperties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void sweepOnStartup() {
+        sweep();
+    }
+
+    @Scheduled(cron = "${app.tasks.overdue.sweep-cron:0 1 * * * *}")
+    public void sweep() {
+        int batchSize = appProperties.getTaskOverdueSweepBatchSize();
+        int lookbackDays = appProperties.getTaskOverdueSweepLookbackDays();
+        long startNanos = System.nanoTime();
+        int flagged = 0;
+        try {
+            int batch;
+            do {
+                batch = userTasksService.flagOverdueTasks(lookbackDays, batchSize);
+                flagged += batch;
+            } while (batch == batchSize);
+            log.info("sweep() : Flagged {} overdue tasks in {} ms", flagged, (System.nanoTime() - startNanos) / 1_000_000);
+        } catch (Exception e) {
+            log.error("sweep() : Error flagging overdue tasks after {} flagged: {}", flagged, e.getMessage(), e);
+        }
+    }
+}
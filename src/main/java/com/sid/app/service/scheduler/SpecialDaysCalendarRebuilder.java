@@ -0,0 +1,36 @@
+package com.sid.app.service.scheduler;
+
+import com.sid.app.service.specialdays.SpecialDaysCalendar;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the special days calendar on startup and every midnight, picking up changes the per-profile
+ * patches do not see (deactivated users, role changes, direct database edits).
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class SpecialDaysCalendarRebuilder {
+
+    private final SpecialDaysCalendar specialDaysCalendar;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(cron = "${app.special-days.calendar.rebuild-cron:0 0 0 * * *}")
+    public void rebuild() {
+        try {
+            specialDaysCalendar.rebuild();
+        } catch (Exception e) {
+            // The previous calendar, if any, keeps serving until the next rebuild
+            log.error("rebuild() : Error rebuilding special days calendar: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.sid.app.service.specialdays;
+
+import java.time.LocalDate;
+
+/**
+ * One employee in the special days calendar. Display strings are shared between members through the
+ * calendar's dictionary; the filter dimensions are kept as dictionary codes of their lower-cased values.
+ */
+public record SpecialDayMember(long userId, String name, String email, String designation,
+                               String city, String country, LocalDate dateOfBirth, LocalDate dateOfJoining,
+                               int departmentCode, int cityCode, int stateCode, int countryCode) {
+}
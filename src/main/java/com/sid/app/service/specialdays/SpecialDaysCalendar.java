@@ -0,0 +1,444 @@
+package com.sid.app.service.specialdays;
+
+import com.sid.app.config.AppProperties;
+import com.sid.app.repository.UserProfileRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory calendar of birthdays and work anniversaries of active USER-role employees.
+ *
+ * <p>Each of the 366 days of a leap year maps to the ids of the employees born or hired on it, sorted by name,
+ * so month, week and upcoming-days lookups merge a few short sorted lists and stop as soon as a page is full.
+ * Department and location are kept per employee as dictionary codes and filtered during the merge.
+ * Feb 29 dates fall on Feb 28 in other years.</p>
+ *
+ * <p>The calendar is rebuilt from the database every night and patched per user after a profile update;
+ * changes made elsewhere (deactivation, role changes) show up after the next rebuild. It holds at most
+ * {@code app.special-days.calendar.max-members} employees; beyond that it stays empty and callers query the database.</p>
+ *
+ * <p>Readers take no lock. Writers replace whole day lists, and readers check every employee against the day
+ * they are listed under, so a lookup racing a patch can miss that employee but never returns a wrong one.</p>
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class SpecialDaysCalendar {
+
+    private static final int DAYS = 366;
+    private static final int FEB_28 = dayOfLeapYear(2, 28);
+    private static final int FEB_29 = dayOfLeapYear(2, 29);
+    private static final long[] NONE = new long[0];
+    // No filter; codes of known values start at 1, so an unknown value (-1) matches nobody
+    private static final int ANY = 0;
+    private static final int UNKNOWN = -1;
+
+    private static final Comparator<SpecialDayMember> BY_NAME = Comparator
+            .comparing(SpecialDayMember::name, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+            .thenComparingLong(SpecialDayMember::userId);
+
+    private final UserProfileRepository userProfileRepository;
+    private final AppProperties appProperties;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // Null until first built, when disabled, or when over the member budget
+    private volatile Index index;
+
+    /**
+     * A page of employees in name order, with the number of matches across all pages.
+     */
+    public record Page(List<SpecialDayMember> members, long total) {
+    }
+
+    /**
+     * A birthday or work anniversary falling on a given date.
+     */
+    public record Occurrence(SpecialDayMember member, boolean anniversary, LocalDate date) {
+    }
+
+    public boolean isReady() {
+        return index != null;
+    }
+
+    /**
+     * Reloads the whole calendar from the database.
+     */
+    public void rebuild() {
+        if (!appProperties.isSpecialDaysCalendarEnabled()) {
+            index = null;
+            return;
+        }
+        long startNanos = System.nanoTime();
+        int maxMembers = appProperties.getSpecialDaysCalendarMaxMembers();
+        writeLock.lock();
+        try {
+            List<Object[]> rows = userProfileRepository.findSpecialDayMembers(null, maxMembers + 1);
+            if (rows.size() > maxMembers) {
+                index = null;
+                log.warn("rebuild() : More than {} employees with special days; serving special days from the database",
+                        maxMembers);
+                return;
+            }
+            Index built = new Index();
+            List<SpecialDayMember> members = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                members.add(built.toMember(row));
+            }
+            built.load(members);
+            index = built;
+            log.info("rebuild() : Special days calendar built with {} employees in {} ms",
+                    members.size(), (System.nanoTime() - startNanos) / 1_000_000);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Re-reads one employee after their profile changed. Call after the change has committed.
+     */
+    public void refresh(Long userId) {
+        if (index == null || userId == null) {
+            return;
+        }
+        List<Object[]> rows = userProfileRepository.findSpecialDayMembers(userId, 1);
+        writeLock.lock();
+        try {
+            Index current = index;
+            if (current == null) {
+                return;
+            }
+            SpecialDayMember previous = current.members.get(userId);
+            if (previous == null && !rows.isEmpty()
+                    && current.members.size() >= appProperties.getSpecialDaysCalendarMaxMembers()) {
+                index = null;
+                log.warn("refresh() : Special days calendar is full; serving special days from the database until the next rebuild");
+                return;
+            }
+            if (previous != null) {
+                current.unlist(previous);
+            }
+            if (rows.isEmpty()) {
+                current.members.remove(userId);
+            } else {
+                SpecialDayMember updated = current.toMember(rows.get(0));
+                current.members.put(userId, updated);
+                current.list(updated);
+            }
+            log.debug("refresh() : Special days calendar updated for user {}", userId);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Employees with a birthday and/or work anniversary in the given month (every month when null), in name order.
+     * Someone matching both appears once. Anniversaries need a joining year before {@code year}.
+     */
+    public Page find(boolean birthdays, boolean anniversaries, Integer month, int year,
+                     String department, String location, int offset, int limit) {
+        Index current = requireIndex();
+        Filter filter = current.filter(department, location);
+
+        int fromDay = month == null ? 0 : dayOfLeapYear(month, 1);
+        int toDay = month == null ? DAYS - 1 : dayOfLeapYear(month, Month.of(month).length(true));
+        List<Cursor> cursors = new ArrayList<>();
+        for (int day = fromDay; day <= toDay; day++) {
+            if (birthdays) {
+                cursors.add(new Cursor(current, current.birthdays.get(day), day, false, year, filter));
+            }
+            if (anniversaries) {
+                cursors.add(new Cursor(current, current.anniversaries.get(day), day, true, year, filter));
+            }
+        }
+
+        List<SpecialDayMember> page = new ArrayList<>(Math.min(limit, 256));
+        long[] matched = {0};
+        long[] lastUserId = {Long.MIN_VALUE};
+        merge(cursors, cursor -> {
+            SpecialDayMember member = cursor.current;
+            // A birthday and an anniversary of the same person come out next to each other
+            if (member.userId() == lastUserId[0]) {
+                return;
+            }
+            lastUserId[0] = member.userId();
+            if (matched[0] >= offset && page.size() < limit) {
+                page.add(member);
+            }
+            matched[0]++;
+        });
+        return new Page(page, matched[0]);
+    }
+
+    /**
+     * Birthdays and work anniversaries falling within {@code days} days from {@code from}, by date then name.
+     */
+    public List<Occurrence> upcoming(LocalDate from, int days, boolean birthdays, boolean anniversaries,
+                                     String department, String location) {
+        Index current = requireIndex();
+        Filter filter = current.filter(department, location);
+
+        List<Occurrence> occurrences = new ArrayList<>();
+        for (int i = 0; i < days; i++) {
+            LocalDate date = from.plusDays(i);
+            int day = dayOfLeapYear(date.getMonthValue(), date.getDayOfMonth());
+            boolean withLeapDay = day == FEB_28 && !date.isLeapYear();
+
+            List<Cursor> cursors = new ArrayList<>();
+            if (birthdays) {
+                cursors.add(new Cursor(current, current.birthdays.get(day), day, false, date.getYear(), filter));
+                if (withLeapDay) {
+                    cursors.add(new Cursor(current, current.birthdays.get(FEB_29), FEB_29, false, date.getYear(), filter));
+                }
+            }
+            if (anniversaries) {
+                cursors.add(new Cursor(current, current.anniversaries.get(day), day, true, date.getYear(), filter));
+                if (withLeapDay) {
+                    cursors.add(new Cursor(current, current.anniversaries.get(FEB_29), FEB_29, true, date.getYear(), filter));
+                }
+            }
+            merge(cursors, cursor -> occurrences.add(new Occurrence(cursor.current, cursor.anniversary, date)));
+        }
+        return occurrences;
+    }
+
+    private Index requireIndex() {
+        Index current = index;
+        if (current == null) {
+            throw new IllegalStateException("Special days calendar is not loaded");
+        }
+        return current;
+    }
+
+    private static void merge(List<Cursor> cursors, Consumer<Cursor> consumer) {
+        PriorityQueue<Cursor> queue = new PriorityQueue<>(Math.max(cursors.size(), 1),
+                (a, b) -> BY_NAME.compare(a.current, b.current));
+        for (Cursor cursor : cursors) {
+            if (cursor.advance()) {
+                queue.add(cursor);
+            }
+        }
+        while (!queue.isEmpty()) {
+            Cursor cursor = queue.poll();
+            consumer.accept(cursor);
+            if (cursor.advance()) {
+                queue.add(cursor);
+            }
+        }
+    }
+
+    private static int dayOfLeapYear(int month, int dayOfMonth) {
+        return LocalDate.of(2000, month, dayOfMonth).getDayOfYear() - 1;
+    }
+
+    private static int dayOfLeapYear(LocalDate date) {
+        return dayOfLeapYear(date.getMonthValue(), date.getDayOfMonth());
+    }
+
+    private record Filter(int department, int location) {
+
+        boolean matches(SpecialDayMember member) {
+            return (department == ANY || member.departmentCode() == department)
+                    && (location == ANY || member.cityCode() == location
+                    || member.stateCode() == location || member.countryCode() == location);
+        }
+    }
+
+    /**
+     * Walks one day list, skipping employees that no longer belong to it or do not pass the filter.
+     */
+    private static final class Cursor {
+
+        private final Index index;
+        private final long[] userIds;
+        private final int day;
+        private final boolean anniversary;
+        private final int year;
+        private final Filter filter;
+        private int position;
+        private SpecialDayMember current;
+
+        Cursor(Index index, long[] userIds, int day, boolean anniversary, int year, Filter filter) {
+            this.index = index;
+            this.userIds = userIds;
+            this.day = day;
+            this.anniversary = anniversary;
+            this.year = year;
+            this.filter = filter;
+        }
+
+        boolean advance() {
+            while (position < userIds.length) {
+                SpecialDayMember member = index.members.get(userIds[position++]);
+                if (member != null && belongs(member) && filter.matches(member)) {
+                    current = member;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean belongs(SpecialDayMember member) {
+            LocalDate date = anniversary ? member.dateOfJoining() : member.dateOfBirth();
+            return date != null && dayOfLeapYear(date) == day && (!anniversary || date.getYear() < year);
+        }
+    }
+
+    private static final class Index {
+
+        private final Map<Long, SpecialDayMember> members = new ConcurrentHashMap<>();
+        private final AtomicReferenceArray<long[]> birthdays = new AtomicReferenceArray<>(DAYS);
+        private final AtomicReferenceArray<long[]> anniversaries = new AtomicReferenceArray<>(DAYS);
+        // Lower-cased department / location value -> code; display strings shared between members
+        private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+        private final Map<String, String> strings = new ConcurrentHashMap<>();
+
+        Index() {
+            for (int day = 0; day < DAYS; day++) {
+                birthdays.set(day, NONE);
+                anniversaries.set(day, NONE);
+            }
+        }
+
+        // Row of (user_id, name, email, position, city, country, date_of_birth, date_of_joining, department, state)
+        SpecialDayMember toMember(Object[] row) {
+            String city = (String) row[4];
+            String country = (String) row[5];
+            return new SpecialDayMember(((Number) row[0]).longValue(), (String) row[1], (String) row[2],
+                    share((String) row[3]), share(city), share(country),
+                    toLocalDate(row[6]), toLocalDate(row[7]),
+                    code((String) row[8]), code(city), code((String) row[9]), code(country));
+        }
+
+        // Members sorted once, then split into day lists that come out already sorted
+        void load(List<SpecialDayMember> sorted) {
+            sorted.sort(BY_NAME);
+            int[] birthdayCounts = new int[DAYS];
+            int[] anniversaryCounts = new int[DAYS];
+            for (SpecialDayMember member : sorted) {
+                members.put(member.userId(), member);
+                if (member.dateOfBirth() != null) {
+                    birthdayCounts[dayOfLeapYear(member.dateOfBirth())]++;
+                }
+                if (member.dateOfJoining() != null) {
+                    anniversaryCounts[dayOfLeapYear(member.dateOfJoining())]++;
+                }
+            }
+            long[][] birthdayLists = new long[DAYS][];
+            long[][] anniversaryLists = new long[DAYS][];
+            for (int day = 0; day < DAYS; day++) {
+                birthdayLists[day] = new long[birthdayCounts[day]];
+                anniversaryLists[day] = new long[anniversaryCounts[day]];
+                birthdayCounts[day] = 0;
+                anniversaryCounts[day] = 0;
+            }
+            for (SpecialDayMember member : sorted) {
+                if (member.dateOfBirth() != null) {
+                    int day = dayOfLeapYear(member.dateOfBirth());
+                    birthdayLists[day][birthdayCounts[day]++] = member.userId();
+                }
+                if (member.dateOfJoining() != null) {
+                    int day = dayOfLeapYear(member.dateOfJoining());
+                    anniversaryLists[day][anniversaryCounts[day]++] = member.userId();
+                }
+            }
+            for (int day = 0; day < DAYS; day++) {
+                birthdays.set(day, birthdayLists[day]);
+                anniversaries.set(day, anniversaryLists[day]);
+            }
+        }
+
+        // Writers only, under the write lock; the member must already be in the map
+        void list(SpecialDayMember member) {
+            if (member.dateOfBirth() != null) {
+                insert(birthdays, dayOfLeapYear(member.dateOfBirth()), member);
+            }
+            if (member.dateOfJoining() != null) {
+                insert(anniversaries, dayOfLeapYear(member.dateOfJoining()), member);
+            }
+        }
+
+        void unlist(SpecialDayMember member) {
+            if (member.dateOfBirth() != null) {
+                remove(birthdays, dayOfLeapYear(member.dateOfBirth()), member.userId());
+            }
+            if (member.dateOfJoining() != null) {
+                remove(anniversaries, dayOfLeapYear(member.dateOfJoining()), member.userId());
+            }
+        }
+
+        Filter filter(String department, String location) {
+            return new Filter(lookup(department), lookup(location));
+        }
+
+        private void insert(AtomicReferenceArray<long[]> days, int day, SpecialDayMember member) {
+            long[] userIds = days.get(day);
+            int low = 0;
+            int high = userIds.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (BY_NAME.compare(members.get(userIds[mid]), member) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            long[] updated = new long[userIds.length + 1];
+            System.arraycopy(userIds, 0, updated, 0, low);
+            updated[low] = member.userId();
+            System.arraycopy(userIds, low, updated, low + 1, userIds.length - low);
+            days.set(day, updated);
+        }
+
+        private void remove(AtomicReferenceArray<long[]> days, int day, long userId) {
+            long[] userIds = days.get(day);
+            for (int i = 0; i < userIds.length; i++) {
+                if (userIds[i] == userId) {
+                    long[] updated = new long[userIds.length - 1];
+                    System.arraycopy(userIds, 0, updated, 0, i);
+                    System.arraycopy(userIds, i + 1, updated, i, userIds.length - i - 1);
+                    days.set(day, updated);
+                    return;
+                }
+            }
+        }
+
+        private int code(String value) {
+            if (value == null || value.isBlank()) {
+                return ANY;
+            }
+            return codes.computeIfAbsent(value.trim().toLowerCase(Locale.ROOT), key -> codes.size() + 1);
+        }
+
+        private int lookup(String value) {
+            if (value == null || value.isBlank()) {
+                return ANY;
+            }
+            return codes.getOrDefault(value.trim().toLowerCase(Locale.ROOT), UNKNOWN);
+        }
+
+        private String share(String value) {
+            return value == null ? null : strings.computeIfAbsent(value, key -> key);
+        }
+
+        private static LocalDate toLocalDate(Object value) {
+            if (value instanceof java.sql.Date date) {
+                return date.toLocalDate();
+            }
+            return (LocalDate) value;
+        }
+    }
+}
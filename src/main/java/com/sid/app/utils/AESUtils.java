@@ -27,25 +27,32 @@ public class AESUtils {
     @Autowired
     private AESProperties aesProperties;
 
-    private SecretKeySpec latestKeySpec;
+    // Key spec of the latest key with its version, replaced as a whole so readers never see a mismatched pair
+    private volatile VersionedKeySpec latestKeySpec;
 
     @PostConstruct
     private void init() {
-        updateKeySpec();
+        latestKeySpec();
     }
 
     /**
-     * Updates the latest encryption key specification.
+     * Returns the key spec of the latest encryption key, rebuilding it only when the key version changed.
+     * Lock-free, so concurrent (virtual) threads neither serialise nor pin on it; racing rebuilds produce equal specs.
      */
-    private synchronized void updateKeySpec() {
+    private SecretKeySpec latestKeySpec() {
         EncryptionKey latestKey = keyService.getLatestKey();
-        if (latestKey != null) {
-            latestKeySpec = new SecretKeySpec(latestKey.getSecretKey().getBytes(), aesProperties.getAlgorithm());
-            log.info("Latest encryption key updated (version: {}).", latestKey.getKeyVersion());
-        } else {
+        if (latestKey == null) {
             log.error("No encryption key found in the database.");
             throw new InvalidEncryptionKeyException("No encryption key available in the system.", null);
         }
+        VersionedKeySpec current = latestKeySpec;
+        if (current == null || current.keyVersion() != latestKey.getKeyVersion()) {
+            current = new VersionedKeySpec(latestKey.getKeyVersion(),
+                    new SecretKeySpec(latestKey.getSecretKey().getBytes(), aesProperties.getAlgorithm()));
+            latestKeySpec = current;
+            log.info("Latest encryption key updated (version: {}).", latestKey.getKeyVersion());
+        }
+        return current.keySpec();
     }
 
     /**
@@ -56,9 +63,9 @@ public class AESUtils {
      */
     public String encrypt(String data) {
         try {
-            updateKeySpec(); // Ensure latest key is used
+            SecretKeySpec keySpec = latestKeySpec(); // Ensure latest key is used
             Cipher cipher = Cipher.getInstance(aesProperties.getAlgorithm());
-            cipher.init(Cipher.ENCRYPT_MODE, latestKeySpec);
+            cipher.init(Cipher.ENCRYPT_MODE, keySpec);
             byte[] encryptedBytes = cipher.doFinal(data.getBytes());
             return Base64.getEncoder().encodeToString(encryptedBytes);
         } catch (Exception e) {
@@ -96,4 +103,7 @@ public class AESUtils {
         }
     }
 
-}
\ No newline at end of file
+    private record VersionedKeySpec(int keyVersion, SecretKeySpec keySpec) {
+    }
+
+}
@@ -0,0 +1,103 @@
+-- =========================
+-- Start of changeset : add-backup-change-tracking.sql
+-- =========================
+
+-- =========================
+-- Change tracking for incremental logical backups. Inserts and updates are found through modified_date;
+-- hard deletes leave a tombstone with the deleted row's primary key, including rows removed by
+-- ON DELETE CASCADE. Tombstones older than the backup retention are pruned after each backup.
+-- =========================
+CREATE TABLE IF NOT EXISTS backup_tombstones (
+    backup_tombstone_id BIGSERIAL PRIMARY KEY,
+    table_name TEXT NOT NULL,
+    row_key JSONB NOT NULL,
+    -- Transaction start, so a delete still running when a backup starts is never older than its high-water mark
+    deleted_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_backup_tombstones_deleted_at ON backup_tombstones(deleted_at);
+
+-- Statement level, so bulk deletes and cascades write one INSERT per statement.
+-- Trigger arguments are the table's primary key columns.
+CREATE OR REPLACE FUNCTION backup_record_tombstones() RETURNS TRIGGER AS $$
+DECLARE
+    key_pairs TEXT := '';
+    i INTEGER;
+BEGIN
+    FOR i IN 0 .. TG_NARGS - 1 LOOP
+        key_pairs := key_pairs || CASE WHEN i > 0 THEN ', ' ELSE '' END
+                     || quote_literal(TG_ARGV[i]) || ', ' || quote_ident(TG_ARGV[i]);
+    END LOOP;
+    EXECUTE format('INSERT INTO backup_tombstones (table_name, row_key) '
+                   'SELECT %L, jsonb_build_object(%s) FROM deleted_rows', TG_TABLE_NAME, key_pairs);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Attaches the tombstone trigger to a table; tables added by later changesets call it too
+CREATE OR REPLACE FUNCTION backup_track_deletes(p_table TEXT) RETURNS VOID AS $$
+DECLARE
+    key_columns TEXT;
+BEGIN
+    SELECT string_agg(quote_literal(a.attname), ', ' ORDER BY array_position(i.indkey::SMALLINT[], a.attnum))
+    INTO key_columns
+    FROM pg_index i
+    JOIN pg_attribute a ON a.attrelid = i.indrelid AND a.attnum = ANY(i.indkey)
+    WHERE i.indrelid = p_table::REGCLASS AND i.indisprimary;
+
+    IF key_columns IS NULL THEN
+        RAISE EXCEPTION 'Table % has no primary key', p_table;
+    END IF;
+
+    EXECUTE format('DROP TRIGGER IF EXISTS %I ON %I', 'trg_' || p_table || '_backup_tombstones', p_table);
+    EXECUTE format('CREATE TRIGGER %I AFTER DELETE ON %I REFERENCING OLD TABLE AS deleted_rows '
+                   'FOR EACH STATEMENT EXECUTE FUNCTION backup_record_tombstones(%s)',
+                   'trg_' || p_table || '_backup_tombstones', p_table, key_columns);
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+DECLARE
+    t RECORD;
+BEGIN
+    FOR t IN SELECT c.relname FROM pg_class c
+             JOIN pg_namespace n ON n.oid = c.relnamespace
+             WHERE n.nspname = current_schema() AND c.relkind = 'r'
+               AND c.relname NOT IN ('backup_tombstones', 'databasechangelog', 'databasechangeloglock')
+    LOOP
+        PERFORM backup_track_deletes(t.relname);
+    END LOOP;
+END;
+$$;
+
+-- fk_user_tasks_created_by ON DELETE SET NULL rewrites tasks without touching modified_date;
+-- bump it so incremental backups pick the change up
+CREATE OR REPLACE FUNCTION user_tasks_touch_on_creator_removed() RETURNS TRIGGER AS $$
+BEGIN
+    IF NEW.created_by IS NULL AND OLD.created_by IS NOT NULL THEN
+        NEW.modified_date := CURRENT_TIMESTAMP;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_user_tasks_touch_on_creator_removed ON user_tasks;
+CREATE TRIGGER trg_user_tasks_touch_on_creator_removed
+BEFORE UPDATE OF created_by ON user_tasks
+FOR EACH ROW
+EXECUTE FUNCTION user_tasks_touch_on_creator_removed();
+
+-- =========================
+-- Range scans for incremental backups on the high-volume tables
+-- (user_tasks and user_notes already have idx_*_modified_date)
+-- =========================
+CREATE INDEX IF NOT EXISTS idx_daily_tasks_modified_date ON daily_tasks(modified_date);
+CREATE INDEX IF NOT EXISTS idx_user_task_occurrences_modified_date ON user_task_occurrences(modified_date);
+CREATE INDEX IF NOT EXISTS idx_reminder_queue_modified_date ON reminder_queue(modified_date);
+CREATE INDEX IF NOT EXISTS idx_user_notifications_modified_date ON user_notifications(modified_date);
+CREATE INDEX IF NOT EXISTS idx_office_visit_modified_date ON office_visit(modified_date);
+CREATE INDEX IF NOT EXISTS idx_user_leave_modified_date ON user_leave(modified_date);
+
+-- =========================
+-- End of changeset : add-backup-change-tracking.sql
+-- =========================
@@ -0,0 +1,101 @@
+-- =========================
+-- Start of changeset : add-data-versions.sql
+-- =========================
+
+-- =========================
+-- Data versions behind the ETags of read endpoints. Every write statement on a tracked table bumps the
+-- version of the table (shared tables) or of each user whose rows it wrote (per-user tables). Versions
+-- come from one sequence, so a version is never handed out twice. The ('*', 0) row is the epoch: it is
+-- bumped after truncates and logical restores, which load with triggers disabled, and is part of every ETag.
+-- =========================
+CREATE SEQUENCE IF NOT EXISTS data_version_seq;
+
+CREATE TABLE IF NOT EXISTS data_versions (
+    table_name TEXT NOT NULL,
+    user_id BIGINT NOT NULL DEFAULT 0, -- 0 for shared tables and the epoch
+    version BIGINT NOT NULL,
+    CONSTRAINT pk_data_versions PRIMARY KEY (table_name, user_id)
+);
+
+INSERT INTO data_versions (table_name, user_id, version)
+VALUES ('*', 0, nextval('data_version_seq'))
+ON CONFLICT (table_name, user_id) DO NOTHING;
+
+-- Trigger argument: the version's table name
+CREATE OR REPLACE FUNCTION data_versions_bump_table() RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO data_versions (table_name, user_id, version)
+    VALUES (TG_ARGV[0], 0, nextval('data_version_seq'))
+    ON CONFLICT (table_name, user_id) DO UPDATE SET version = EXCLUDED.version;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Statement level over the transition table changed_rows, so bulk writes bump each user once.
+-- Trigger arguments: the version's table name and a query over changed_rows returning user_id.
+-- Users are locked in id order, so concurrent multi-user statements cannot deadlock on version rows.
+CREATE OR REPLACE FUNCTION data_versions_bump_users() RETURNS TRIGGER AS $$
+BEGIN
+    EXECUTE format('INSERT INTO data_versions (table_name, user_id, version) '
+                   'SELECT %L, changed.user_id, nextval(''data_version_seq'') '
+                   'FROM (SELECT DISTINCT user_id FROM (%s) u WHERE user_id IS NOT NULL ORDER BY user_id) changed '
+                   'ON CONFLICT (table_name, user_id) DO UPDATE SET version = EXCLUDED.version',
+                   TG_ARGV[0], TG_ARGV[1]);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION data_versions_bump_epoch() RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE data_versions SET version = nextval('data_version_seq') WHERE table_name = '*' AND user_id = 0;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Attaches the version triggers to a table. p_user_ids is a query over changed_rows returning the
+-- owning user_id, or NULL for a table shared by all users.
+CREATE OR REPLACE FUNCTION data_versions_track(p_table TEXT, p_version_table TEXT, p_user_ids TEXT) RETURNS VOID AS $$
+DECLARE
+    op TEXT;
+BEGIN
+    FOREACH op IN ARRAY ARRAY['insert', 'update', 'delete', 'truncate', 'write'] LOOP
+        EXECUTE format('DROP TRIGGER IF EXISTS %I ON %I', 'trg_' || p_table || '_version_' || op, p_table);
+    END LOOP;
+
+    IF p_user_ids IS NULL THEN
+        EXECUTE format('CREATE TRIGGER %I AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON %I '
+                       'FOR EACH STATEMENT EXECUTE FUNCTION data_versions_bump_table(%L)',
+                       'trg_' || p_table || '_version_write', p_table, p_version_table);
+        RETURN;
+    END IF;
+
+    EXECUTE format('CREATE TRIGGER %I AFTER INSERT ON %I REFERENCING NEW TABLE AS changed_rows '
+                   'FOR EACH STATEMENT EXECUTE FUNCTION data_versions_bump_users(%L, %L)',
+                   'trg_' || p_table || '_version_insert', p_table, p_version_table, p_user_ids);
+    EXECUTE format('CREATE TRIGGER %I AFTER UPDATE ON %I REFERENCING NEW TABLE AS changed_rows '
+                   'FOR EACH STATEMENT EXECUTE FUNCTION data_versions_bump_users(%L, %L)',
+                   'trg_' || p_table || '_version_update', p_table, p_version_table, p_user_ids);
+    EXECUTE format('CREATE TRIGGER %I AFTER DELETE ON %I REFERENCING OLD TABLE AS changed_rows '
+                   'FOR EACH STATEMENT EXECUTE FUNCTION data_versions_bump_users(%L, %L)',
+                   'trg_' || p_table || '_version_delete', p_table, p_version_table, p_user_ids);
+    EXECUTE format('CREATE TRIGGER %I AFTER TRUNCATE ON %I '
+                   'FOR EACH STATEMENT EXECUTE FUNCTION data_versions_bump_epoch()',
+                   'trg_' || p_table || '_version_truncate', p_table);
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT data_versions_track('holiday', 'holiday', NULL);
+SELECT data_versions_track('leave_policy', 'leave_policy', NULL);
+SELECT data_versions_track('office_visit', 'office_visit', 'SELECT user_id FROM changed_rows');
+SELECT data_versions_track('user_leave', 'user_leave', 'SELECT user_id FROM changed_rows');
+SELECT data_versions_track('user_leave_balance', 'user_leave_balance', 'SELECT user_id FROM changed_rows');
+SELECT data_versions_track('user_notes', 'user_notes', 'SELECT user_id FROM changed_rows');
+SELECT data_versions_track('user_tasks', 'user_tasks', 'SELECT user_id FROM changed_rows');
+SELECT data_versions_track('user_notifications', 'user_notifications', 'SELECT user_id FROM changed_rows');
+-- Occurrence exceptions are part of the task views; a task deleted in the same statement already bumped user_tasks
+SELECT data_versions_track('user_task_occurrences', 'user_tasks',
+                           'SELECT t.user_id FROM changed_rows c JOIN user_tasks t ON t.user_task_id = c.user_task_id');
+
+-- =========================
+-- End of changeset : add-data-versions.sql
+-- =========================
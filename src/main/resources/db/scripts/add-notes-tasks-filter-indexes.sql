@@ -0,0 +1,32 @@
+-- =========================
+-- Start of changeset : add-notes-tasks-filter-indexes.sql
+-- =========================
+
+-- =========================
+-- Composite indexes for the filter combinations used by the notes and tasks list screens.
+-- Every list query is scoped by user_id, so it always leads; the trailing column serves the default sort.
+-- =========================
+
+-- user_tasks: status / priority chips are usually combined with due-date ordering or ranges
+CREATE INDEX IF NOT EXISTS idx_user_tasks_user_status_due_date ON user_tasks(user_id, status, due_date);
+CREATE INDEX IF NOT EXISTS idx_user_tasks_user_priority_due_date ON user_tasks(user_id, priority, due_date);
+CREATE INDEX IF NOT EXISTS idx_user_tasks_user_category_created ON user_tasks(user_id, category, created_date);
+CREATE INDEX IF NOT EXISTS idx_user_tasks_user_type_created ON user_tasks(user_id, task_type, created_date);
+CREATE INDEX IF NOT EXISTS idx_user_tasks_user_task_date ON user_tasks(user_id, task_date);
+
+-- Superseded by the wider indexes above (same leading columns)
+DROP INDEX IF EXISTS idx_user_tasks_user_status;
+DROP INDEX IF EXISTS idx_user_tasks_user_priority;
+
+-- user_notes: the list excludes DELETED and is sorted by modified_date by default
+CREATE INDEX IF NOT EXISTS idx_user_notes_user_status_modified ON user_notes(user_id, status, modified_date);
+CREATE INDEX IF NOT EXISTS idx_user_notes_user_type_modified ON user_notes(user_id, note_type, modified_date);
+CREATE INDEX IF NOT EXISTS idx_user_notes_user_category_modified ON user_notes(user_id, category, modified_date);
+CREATE INDEX IF NOT EXISTS idx_user_notes_user_color_modified ON user_notes(user_id, color, modified_date);
+CREATE INDEX IF NOT EXISTS idx_user_notes_user_created ON user_notes(user_id, created_date);
+CREATE INDEX IF NOT EXISTS idx_user_notes_user_pinned_modified ON user_notes(user_id, modified_date)
+    WHERE is_pinned = TRUE;
+
+-- =========================
+-- End of changeset : add-notes-tasks-filter-indexes.sql
+-- =========================
@@ -0,0 +1,142 @@
+-- =========================
+-- Start of changeset : add-reminders-notifications.sql
+-- =========================
+
+-- =========================
+-- Create table: reminder_queue
+-- One row per note/task reminder, kept in sync with reminder_date by triggers.
+-- Dispatchers lease due rows (lease_owner/lease_until) with FOR UPDATE SKIP LOCKED so each reminder fires once.
+-- =========================
+CREATE TABLE IF NOT EXISTS reminder_queue (
+    reminder_queue_id BIGSERIAL PRIMARY KEY,
+    source_type VARCHAR(10) NOT NULL,
+    source_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    fire_at TIMESTAMP NOT NULL,
+    status VARCHAR(10) DEFAULT 'PENDING' NOT NULL,
+    lease_owner VARCHAR(100),
+    lease_until TIMESTAMP,
+    fired_at TIMESTAMP,
+    created_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    modified_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT uk_reminder_queue_source UNIQUE (source_type, source_id),
+    CONSTRAINT chk_reminder_queue_source_type CHECK (source_type IN ('NOTE', 'TASK')),
+    CONSTRAINT chk_reminder_queue_status CHECK (status IN ('PENDING', 'FIRED', 'EXPIRED'))
+);
+
+-- Due-window scans only ever look at pending rows in fire_at order
+CREATE INDEX IF NOT EXISTS idx_reminder_queue_pending_fire_at ON reminder_queue(fire_at)
+    WHERE status = 'PENDING';
+
+-- =========================
+-- Create table: user_notifications
+-- In-app notifications produced by fired reminders
+-- =========================
+CREATE TABLE IF NOT EXISTS user_notifications (
+    user_notification_id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    source_type VARCHAR(10) NOT NULL,
+    source_id BIGINT NOT NULL,
+    title VARCHAR(500) NOT NULL,
+    message TEXT,
+    reminder_date TIMESTAMP NOT NULL,
+    is_read BOOLEAN DEFAULT FALSE NOT NULL,
+    read_date TIMESTAMP,
+    created_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    modified_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT fk_user_notifications_user FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_user_notifications_user_id ON user_notifications(user_id, user_notification_id DESC);
+CREATE INDEX IF NOT EXISTS idx_user_notifications_user_unread ON user_notifications(user_id)
+    WHERE is_read = FALSE;
+
+-- =========================
+-- Queue maintenance
+-- A (re)scheduled reminder goes back to PENDING and loses any lease; stale timing-wheel
+-- entries are then rejected when they try to fire. Closed tasks and deleted notes drop their reminder.
+-- =========================
+CREATE OR REPLACE FUNCTION reminder_queue_sync(p_source_type TEXT, p_source_id BIGINT, p_user_id BIGINT,
+                                               p_fire_at TIMESTAMP, p_active BOOLEAN) RETURNS VOID AS $$
+BEGIN
+    IF p_fire_at IS NULL OR NOT p_active THEN
+        DELETE FROM reminder_queue
+        WHERE source_type = p_source_type AND source_id = p_source_id AND status <> 'FIRED';
+        RETURN;
+    END IF;
+
+    INSERT INTO reminder_queue (source_type, source_id, user_id, fire_at)
+    VALUES (p_source_type, p_source_id, p_user_id, p_fire_at)
+    ON CONFLICT (source_type, source_id) DO UPDATE
+        SET fire_at = EXCLUDED.fire_at,
+            user_id = EXCLUDED.user_id,
+            status = 'PENDING',
+            lease_owner = NULL,
+            lease_until = NULL,
+            fired_at = NULL,
+            modified_date = CURRENT_TIMESTAMP
+        WHERE reminder_queue.fire_at IS DISTINCT FROM EXCLUDED.fire_at
+           OR reminder_queue.user_id IS DISTINCT FROM EXCLUDED.user_id;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION user_tasks_sync_reminder() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        DELETE FROM reminder_queue WHERE source_type = 'TASK' AND source_id = OLD.user_task_id;
+        RETURN NULL;
+    END IF;
+    IF TG_OP = 'UPDATE' AND NEW.reminder_date IS NOT DISTINCT FROM OLD.reminder_date
+            AND NEW.status IS NOT DISTINCT FROM OLD.status THEN
+        RETURN NULL;
+    END IF;
+    PERFORM reminder_queue_sync('TASK', NEW.user_task_id, NEW.user_id, NEW.reminder_date,
+                                NEW.status NOT IN ('COMPLETED', 'CANCELLED'));
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION user_notes_sync_reminder() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        DELETE FROM reminder_queue WHERE source_type = 'NOTE' AND source_id = OLD.user_note_id;
+        RETURN NULL;
+    END IF;
+    IF TG_OP = 'UPDATE' AND NEW.reminder_date IS NOT DISTINCT FROM OLD.reminder_date
+            AND NEW.status IS NOT DISTINCT FROM OLD.status THEN
+        RETURN NULL;
+    END IF;
+    PERFORM reminder_queue_sync('NOTE', NEW.user_note_id, NEW.user_id, NEW.reminder_date,
+                                NEW.status <> 'DELETED');
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_user_tasks_sync_reminder ON user_tasks;
+CREATE TRIGGER trg_user_tasks_sync_reminder
+AFTER INSERT OR DELETE OR UPDATE OF reminder_date, status ON user_tasks
+FOR EACH ROW
+EXECUTE FUNCTION user_tasks_sync_reminder();
+
+DROP TRIGGER IF EXISTS trg_user_notes_sync_reminder ON user_notes;
+CREATE TRIGGER trg_user_notes_sync_reminder
+AFTER INSERT OR DELETE OR UPDATE OF reminder_date, status ON user_notes
+FOR EACH ROW
+EXECUTE FUNCTION user_notes_sync_reminder();
+
+-- Backfill reminders that are still ahead; past ones are not replayed
+INSERT INTO reminder_queue (source_type, source_id, user_id, fire_at)
+SELECT 'TASK', user_task_id, user_id, reminder_date
+FROM user_tasks
+WHERE reminder_date > CURRENT_TIMESTAMP AND status NOT IN ('COMPLETED', 'CANCELLED')
+ON CONFLICT (source_type, source_id) DO NOTHING;
+
+INSERT INTO reminder_queue (source_type, source_id, user_id, fire_at)
+SELECT 'NOTE', user_note_id, user_id, reminder_date
+FROM user_notes
+WHERE reminder_date > CURRENT_TIMESTAMP AND status <> 'DELETED'
+ON CONFLICT (source_type, source_id) DO NOTHING;
+
+-- =========================
+-- End of changeset : add-reminders-notifications.sql
+-- =========================
@@ -0,0 +1,17 @@
+-- =========================
+-- Start of changeset : add-user-profile-special-days-indexes.sql
+-- =========================
+
+-- =========================
+-- Expression indexes for the special days queries, which match birthdays and work anniversaries by month.
+-- The queries must use the same EXTRACT(MONTH FROM ...) expression for these to apply.
+-- =========================
+CREATE INDEX IF NOT EXISTS idx_user_profile_birth_month
+    ON user_profile ((EXTRACT(MONTH FROM date_of_birth)));
+
+CREATE INDEX IF NOT EXISTS idx_user_profile_joining_month
+    ON user_profile ((EXTRACT(MONTH FROM date_of_joining)));
+
+-- =========================
+-- End of changeset : add-user-profile-special-days-indexes.sql
+-- =========================
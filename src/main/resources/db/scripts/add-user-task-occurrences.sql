@@ -0,0 +1,29 @@
+-- =========================
+-- Start of changeset : add-user-task-occurrences.sql
+-- =========================
+
+-- =========================
+-- Create table: user_task_occurrences
+-- Per-occurrence exceptions of recurring tasks (completions, cancellations, ...).
+-- Occurrences themselves are expanded from recurring_pattern at query time and never stored.
+-- =========================
+CREATE TABLE IF NOT EXISTS user_task_occurrences (
+    user_task_occurrence_id BIGSERIAL PRIMARY KEY,
+    user_task_id BIGINT NOT NULL,
+    occurrence_date DATE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    remarks TEXT,
+    created_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    modified_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT fk_user_task_occurrences_task FOREIGN KEY (user_task_id) REFERENCES user_tasks(user_task_id) ON DELETE CASCADE,
+    CONSTRAINT uk_user_task_occurrences_task_date UNIQUE (user_task_id, occurrence_date),
+    CONSTRAINT chk_task_occurrence_status CHECK (status IN ('NOT_STARTED', 'IN_PROGRESS', 'COMPLETED', 'ON_HOLD', 'CANCELLED'))
+);
+
+-- Series lookups for the expansion window
+CREATE INDEX IF NOT EXISTS idx_user_tasks_recurring_series ON user_tasks(user_id, task_date)
+    WHERE is_recurring = TRUE AND recurring_pattern IS NOT NULL;
+
+-- =========================
+-- End of changeset : add-user-task-occurrences.sql
+-- =========================
@@ -0,0 +1,70 @@
+-- =========================
+-- Start of changeset : add-user-task-tags.sql
+-- =========================
+
+-- =========================
+-- Create table: user_task_tags
+-- Per-user tag dictionary; usage_count is the number of tasks carrying the tag
+-- =========================
+CREATE TABLE IF NOT EXISTS user_task_tags (
+    user_task_tag_id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    tag TEXT NOT NULL,
+    usage_count INTEGER NOT NULL DEFAULT 0,
+    created_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    modified_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT fk_user_task_tags_user FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE,
+    CONSTRAINT uk_user_task_tags_user_tag UNIQUE (user_id, tag)
+);
+
+-- Backfill the dictionary from existing tasks
+INSERT INTO user_task_tags (user_id, tag, usage_count)
+SELECT t.user_id, tg.tag, COUNT(*)
+FROM user_tasks t
+CROSS JOIN LATERAL (SELECT DISTINCT unnest(t.tags) AS tag) tg
+WHERE btrim(tg.tag) <> ''
+GROUP BY t.user_id, tg.tag
+ON CONFLICT (user_id, tag) DO UPDATE SET usage_count = EXCLUDED.usage_count;
+
+-- Keep usage counts in step with every insert, tag change and delete on user_tasks,
+-- including subtasks removed through fk_user_tasks_parent ON DELETE CASCADE
+CREATE OR REPLACE FUNCTION user_tasks_sync_tags() RETURNS TRIGGER AS $$
+BEGIN
+    -- Hibernate writes every column on update, so skip rows whose tags did not actually change
+    IF TG_OP = 'UPDATE' AND NEW.tags IS NOT DISTINCT FROM OLD.tags AND NEW.user_id = OLD.user_id THEN
+        RETURN NULL;
+    END IF;
+
+    IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.tags IS NOT NULL THEN
+        UPDATE user_task_tags d
+        SET usage_count = d.usage_count - 1,
+            modified_date = CURRENT_TIMESTAMP
+        FROM (SELECT DISTINCT unnest(OLD.tags) AS tag) o
+        WHERE d.user_id = OLD.user_id AND d.tag = o.tag;
+
+        DELETE FROM user_task_tags WHERE user_id = OLD.user_id AND usage_count <= 0;
+    END IF;
+
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.tags IS NOT NULL THEN
+        INSERT INTO user_task_tags (user_id, tag, usage_count)
+        SELECT NEW.user_id, n.tag, 1
+        FROM (SELECT DISTINCT unnest(NEW.tags) AS tag) n
+        WHERE btrim(n.tag) <> ''
+        ON CONFLICT (user_id, tag) DO UPDATE
+        SET usage_count = user_task_tags.usage_count + 1,
+            modified_date = CURRENT_TIMESTAMP;
+    END IF;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_user_tasks_sync_tags ON user_tasks;
+CREATE TRIGGER trg_user_tasks_sync_tags
+AFTER INSERT OR DELETE OR UPDATE OF tags, user_id ON user_tasks
+FOR EACH ROW
+EXECUTE FUNCTION user_tasks_sync_tags();
+
+-- =========================
+-- End of changeset : add-user-task-tags.sql
+-- =========================
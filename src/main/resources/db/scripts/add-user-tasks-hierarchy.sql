@@ -0,0 +1,73 @@
+-- =========================
+-- Start of changeset : add-user-tasks-hierarchy.sql
+-- =========================
+
+-- =========================
+-- Materialised path for user_tasks (e.g. '/12/57/103/')
+-- Lets ancestor/descendant checks run as a single indexed lookup
+-- =========================
+ALTER TABLE user_tasks ADD COLUMN IF NOT EXISTS task_path TEXT;
+
+-- Backfill paths for existing rows
+WITH RECURSIVE task_paths AS (
+    SELECT user_task_id, '/' || user_task_id || '/' AS path
+    FROM user_tasks
+    WHERE parent_task_id IS NULL
+    UNION ALL
+    SELECT c.user_task_id, p.path || c.user_task_id || '/'
+    FROM user_tasks c
+    JOIN task_paths p ON c.parent_task_id = p.user_task_id
+)
+UPDATE user_tasks t
+SET task_path = tp.path
+FROM task_paths tp
+WHERE t.user_task_id = tp.user_task_id;
+
+CREATE INDEX IF NOT EXISTS idx_user_tasks_task_path ON user_tasks(task_path text_pattern_ops);
+
+-- Compute the path of a row from its parent and reject moves under its own subtree
+CREATE OR REPLACE FUNCTION user_tasks_set_path() RETURNS TRIGGER AS $$
+DECLARE
+    parent_path TEXT;
+BEGIN
+    IF NEW.parent_task_id IS NULL THEN
+        NEW.task_path := '/' || NEW.user_task_id || '/';
+    ELSE
+        SELECT task_path INTO parent_path FROM user_tasks WHERE user_task_id = NEW.parent_task_id;
+        IF parent_path LIKE '%/' || NEW.user_task_id || '/%' THEN
+            RAISE EXCEPTION 'Task % cannot be moved under its own subtask %', NEW.user_task_id, NEW.parent_task_id;
+        END IF;
+        NEW.task_path := COALESCE(parent_path, '/') || NEW.user_task_id || '/';
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Re-root the subtree of a task whose parent changed
+CREATE OR REPLACE FUNCTION user_tasks_cascade_path() RETURNS TRIGGER AS $$
+BEGIN
+    IF OLD.task_path IS NOT NULL AND NEW.task_path IS DISTINCT FROM OLD.task_path THEN
+        UPDATE user_tasks
+        SET task_path = NEW.task_path || substr(task_path, length(OLD.task_path) + 1)
+        WHERE task_path LIKE OLD.task_path || '%'
+          AND user_task_id <> NEW.user_task_id;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_user_tasks_set_path ON user_tasks;
+CREATE TRIGGER trg_user_tasks_set_path
+BEFORE INSERT OR UPDATE OF parent_task_id ON user_tasks
+FOR EACH ROW
+EXECUTE FUNCTION user_tasks_set_path();
+
+DROP TRIGGER IF EXISTS trg_user_tasks_cascade_path ON user_tasks;
+CREATE TRIGGER trg_user_tasks_cascade_path
+AFTER UPDATE OF parent_task_id ON user_tasks
+FOR EACH ROW
+EXECUTE FUNCTION user_tasks_cascade_path();
+
+-- =========================
+-- End of changeset : add-user-tasks-hierarchy.sql
+-- =========================
@@ -0,0 +1,95 @@
+-- =========================
+-- Start of changeset : add-user-tasks-overdue-flag.sql
+-- =========================
+
+-- =========================
+-- Precomputed overdue state of one-off tasks: due before "today" in the owner's timezone and still open.
+-- Writes keep it current (trg_user_tasks_set_overdue); the scheduled sweeper flags tasks whose due date
+-- has just passed. Recurring series are never flagged, their occurrences are expanded at query time.
+-- =========================
+ALTER TABLE user_tasks ADD COLUMN IF NOT EXISTS is_overdue BOOLEAN DEFAULT FALSE NOT NULL;
+
+-- Today in the user's timezone (user_settings.timezone); unknown or invalid zones fall back to UTC
+CREATE OR REPLACE FUNCTION user_local_date(p_user_id BIGINT) RETURNS DATE AS $$
+DECLARE
+    user_timezone TEXT;
+BEGIN
+    SELECT timezone INTO user_timezone FROM user_settings WHERE user_id = p_user_id;
+    RETURN (CURRENT_TIMESTAMP AT TIME ZONE COALESCE(user_timezone, 'UTC'))::DATE;
+EXCEPTION WHEN invalid_parameter_value THEN
+    RETURN (CURRENT_TIMESTAMP AT TIME ZONE 'UTC')::DATE;
+END;
+$$ LANGUAGE plpgsql STABLE;
+
+-- Every local date lies within one day of the UTC date, so the timezone is only looked up near the boundary
+CREATE OR REPLACE FUNCTION user_tasks_is_overdue(p_user_id BIGINT, p_due_date DATE, p_status TEXT,
+                                                 p_is_recurring BOOLEAN, p_recurring_pattern TEXT) RETURNS BOOLEAN AS $$
+DECLARE
+    utc_date DATE := (CURRENT_TIMESTAMP AT TIME ZONE 'UTC')::DATE;
+BEGIN
+    IF p_due_date IS NULL OR p_status IN ('COMPLETED', 'CANCELLED')
+            OR (COALESCE(p_is_recurring, FALSE) AND p_recurring_pattern IS NOT NULL) THEN
+        RETURN FALSE;
+    END IF;
+    IF p_due_date < utc_date - 1 THEN
+        RETURN TRUE;
+    END IF;
+    IF p_due_date > utc_date THEN
+        RETURN FALSE;
+    END IF;
+    RETURN p_due_date < user_local_date(p_user_id);
+END;
+$$ LANGUAGE plpgsql STABLE;
+
+CREATE OR REPLACE FUNCTION user_tasks_set_overdue() RETURNS TRIGGER AS $$
+BEGIN
+    NEW.is_overdue := user_tasks_is_overdue(NEW.user_id, NEW.due_date, NEW.status,
+                                            NEW.is_recurring, NEW.recurring_pattern);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_user_tasks_set_overdue ON user_tasks;
+CREATE TRIGGER trg_user_tasks_set_overdue
+BEFORE INSERT OR UPDATE OF due_date, status, is_recurring, recurring_pattern, user_id ON user_tasks
+FOR EACH ROW
+EXECUTE FUNCTION user_tasks_set_overdue();
+
+-- A timezone change only moves "today" by at most a day, so only tasks due around now are re-evaluated
+CREATE OR REPLACE FUNCTION user_settings_refresh_overdue() RETURNS TRIGGER AS $$
+DECLARE
+    utc_date DATE := (CURRENT_TIMESTAMP AT TIME ZONE 'UTC')::DATE;
+BEGIN
+    IF TG_OP = 'UPDATE' AND NEW.timezone IS NOT DISTINCT FROM OLD.timezone THEN
+        RETURN NULL;
+    END IF;
+    UPDATE user_tasks t
+    SET is_overdue = user_tasks_is_overdue(t.user_id, t.due_date, t.status, t.is_recurring, t.recurring_pattern)
+    WHERE t.user_id = NEW.user_id
+      AND t.due_date BETWEEN utc_date - 1 AND utc_date
+      AND t.is_overdue IS DISTINCT FROM user_tasks_is_overdue(t.user_id, t.due_date, t.status,
+                                                              t.is_recurring, t.recurring_pattern);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_user_settings_refresh_overdue ON user_settings;
+CREATE TRIGGER trg_user_settings_refresh_overdue
+AFTER INSERT OR UPDATE OF timezone ON user_settings
+FOR EACH ROW
+EXECUTE FUNCTION user_settings_refresh_overdue();
+
+-- Backfill
+UPDATE user_tasks
+SET is_overdue = TRUE
+WHERE due_date IS NOT NULL
+  AND status NOT IN ('COMPLETED', 'CANCELLED')
+  AND user_tasks_is_overdue(user_id, due_date, status, is_recurring, recurring_pattern);
+
+-- Overdue lists and counts per user
+CREATE INDEX IF NOT EXISTS idx_user_tasks_user_overdue ON user_tasks(user_id, due_date)
+    WHERE is_overdue = TRUE;
+
+-- =========================
+-- End of changeset : add-user-tasks-overdue-flag.sql
+-- =========================
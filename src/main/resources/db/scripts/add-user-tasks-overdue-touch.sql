@@ -0,0 +1,26 @@
+-- =========================
+-- Start of changeset : add-user-tasks-overdue-touch.sql
+-- =========================
+
+-- =========================
+-- The overdue sweeper and timezone changes flip is_overdue without touching the row otherwise.
+-- Bump modified_date with it, so incremental backups pick the flag up.
+-- =========================
+CREATE OR REPLACE FUNCTION user_tasks_touch_on_overdue_change() RETURNS TRIGGER AS $$
+BEGIN
+    IF NEW.is_overdue IS DISTINCT FROM OLD.is_overdue THEN
+        NEW.modified_date := CURRENT_TIMESTAMP;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_user_tasks_touch_on_overdue_change ON user_tasks;
+CREATE TRIGGER trg_user_tasks_touch_on_overdue_change
+BEFORE UPDATE OF is_overdue ON user_tasks
+FOR EACH ROW
+EXECUTE FUNCTION user_tasks_touch_on_overdue_change();
+
+-- =========================
+-- End of changeset : add-user-tasks-overdue-touch.sql
+-- =========================
@@ -0,0 +1,24 @@
+-- =========================
+-- Start of changeset : add-user-tasks-path-touch.sql
+-- =========================
+
+-- =========================
+-- Moving a task rewrites task_path on its whole subtree. Bump modified_date on the rewritten
+-- descendants too, so incremental backups pick them up.
+-- =========================
+CREATE OR REPLACE FUNCTION user_tasks_cascade_path() RETURNS TRIGGER AS $$
+BEGIN
+    IF OLD.task_path IS NOT NULL AND NEW.task_path IS DISTINCT FROM OLD.task_path THEN
+        UPDATE user_tasks
+        SET task_path = NEW.task_path || substr(task_path, length(OLD.task_path) + 1),
+            modified_date = CURRENT_TIMESTAMP
+        WHERE task_path LIKE OLD.task_path || '%'
+          AND user_task_id <> NEW.user_task_id;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- =========================
+-- End of changeset : add-user-tasks-path-touch.sql
+-- =========================
@@ -0,0 +1,20 @@
+-- =========================
+-- Start of changeset : add-users-listing-indexes.sql
+-- =========================
+
+-- =========================
+-- Keyset indexes for the admin user listing: one per sort key, with user_id as tie-breaker,
+-- so every page is a seek on (sort key, user_id) whatever the headcount.
+-- The expressions must match the listing query's ORDER BY.
+-- =========================
+CREATE INDEX IF NOT EXISTS idx_users_name_user_id ON users(name, user_id);
+CREATE INDEX IF NOT EXISTS idx_users_email_user_id ON users(email, user_id);
+CREATE INDEX IF NOT EXISTS idx_users_last_login_user_id
+    ON users((COALESCE(last_login_time, TIMESTAMPTZ '1970-01-01 00:00:00+00')), user_id);
+
+-- Superseded by idx_users_email_user_id (same leading column)
+DROP INDEX IF EXISTS idx_users_email;
+
+-- =========================
+-- End of changeset : add-users-listing-indexes.sql
+-- =========================
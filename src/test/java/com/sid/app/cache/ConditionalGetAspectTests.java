@@ -0,0 +1,71 @@
+package com.sid.app.cache;
+
+import com.sid.app.auth.JwtUtil;
+import com.sid.app.constants.AppConstants;
+import com.sid.app.support.PostgresIntegrationTest;
+import com.sid.app.support.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ETags of a {@link ConditionalGet} endpoint, whose versions and body are read in the aspect's transaction.
+ */
+class ConditionalGetAspectTests extends PostgresIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestData data;
+    private long userId;
+    private String token;
+
+    @BeforeEach
+    void seed() {
+        data = new TestData(jdbcTemplate);
+        userId = data.user("USER");
+        data.task(userId, "First", null);
+        String email = jdbcTemplate.queryForObject("SELECT email FROM users WHERE user_id = ?", String.class, userId);
+        token = jwtUtil.generateTokenWithUserDetails(email, userId, "Test User", "USER");
+    }
+
+    @Test
+    void revalidatesUntilTheEndpointsDataChanges() throws Exception {
+        String eTag = mockMvc.perform(tasks())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.data.length()").value(1))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).startsWith("W/\"");
+
+        mockMvc.perform(tasks().header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+
+        data.task(userId, "Second", null);
+        String changedETag = mockMvc.perform(tasks().header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.data.length()").value(2))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(changedETag).isNotEqualTo(eTag);
+    }
+
+    private MockHttpServletRequestBuilder tasks() {
+        return get(AppConstants.TASKS_USER_ENDPOINT).header("Authorization", "Bearer " + token);
+    }
+}
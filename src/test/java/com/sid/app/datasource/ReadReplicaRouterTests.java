@@ -0,0 +1,110 @@
+package com.sid.app.datasource;
+
+import com.sid.app.auth.JwtUtil;
+import com.sid.app.constants.AppConstants;
+import com.sid.app.support.PostgresIntegrationTest;
+import com.sid.app.support.TestData;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Read-your-writes across instances, with the replica pointed at the primary itself. The lag check is only run
+ * by hand, so the replica's replayed position stays where the test leaves it.
+ */
+@TestPropertySource(properties = {
+        "app.read-replica.enabled=true",
+        "app.read-replica.lag-check-interval-ms=3600000"
+})
+class ReadReplicaRouterTests extends PostgresIntegrationTest {
+
+    @DynamicPropertySource
+    static void replicaProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.read-replica.url", PostgresIntegrationTest::jdbcUrl);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReadReplicaRouter router;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private long taskId;
+    private String token;
+
+    @BeforeEach
+    void seed() {
+        TestData data = new TestData(jdbcTemplate);
+        long userId = data.user("USER");
+        taskId = data.task(userId, "Replicated", null);
+        String email = jdbcTemplate.queryForObject("SELECT email FROM users WHERE user_id = ?", String.class, userId);
+        token = jwtUtil.generateTokenWithUserDetails(email, userId, "Test User", "USER");
+        router.checkLag();
+    }
+
+    @Test
+    void cookieKeepsReadsOnThePrimaryUntilTheReplicaCaughtUp() throws Exception {
+        Cookie readAfter = mockMvc.perform(patch(AppConstants.TASKS_STATUS_UPDATE_ENDPOINT)
+                        .param("userTaskId", Long.toString(taskId))
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"COMPLETED\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getCookie(ReadReplicaRouter.READ_AFTER_COOKIE);
+        assertThat(readAfter).isNotNull();
+        assertThat(readAfter.isHttpOnly()).isTrue();
+
+        // As seen by an instance that did not serve the write
+        forgetLocalPositions();
+        assertThat(stickyReadsDuring(readAfter)).isPositive();
+
+        Cookie forged = new Cookie(ReadReplicaRouter.READ_AFTER_COOKIE,
+                readAfter.getValue().substring(0, readAfter.getValue().lastIndexOf('.') + 1) + "AAAA");
+        assertThat(stickyReadsDuring(forged)).isZero();
+
+        router.checkLag();
+        assertThat(stickyReadsDuring(readAfter)).isZero();
+    }
+
+    private double stickyReadsDuring(Cookie cookie) throws Exception {
+        double before = stickyReads();
+        mockMvc.perform(get(AppConstants.TASKS_USER_ENDPOINT)
+                        .header("Authorization", "Bearer " + token)
+                        .cookie(cookie))
+                .andExpect(status().isOk());
+        return stickyReads() - before;
+    }
+
+    private double stickyReads() {
+        return meterRegistry.get("datasource.reads").tag("reason", "read-your-writes").counter().count();
+    }
+
+    private void forgetLocalPositions() {
+        ((Map<?, ?>) ReflectionTestUtils.getField(router, "readAfter")).clear();
+    }
+}
@@ -0,0 +1,109 @@
+package com.sid.app.metrics;
+
+import com.sid.app.auth.JwtUtil;
+import com.sid.app.constants.AppConstants;
+import com.sid.app.support.PostgresIntegrationTest;
+import com.sid.app.support.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budgets of endpoints that used to issue a query per row. Each call runs in a
+ * {@link SqlStatementTracker} scope nested inside the request's {@link SqlBudgetFilter} scope, and counts
+ * everything the request executes, including the two statements of the JWT user lookup. Enough rows are
+ * seeded that a query per row would blow the budget.
+ */
+class SqlStatementBudgetTests extends PostgresIntegrationTest {
+
+    private static final int ROWS = 12;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestData data;
+    private long userId;
+    private String userToken;
+    private String adminToken;
+
+    @BeforeEach
+    void seed() {
+        data = new TestData(jdbcTemplate);
+        for (int i = 0; i < ROWS; i++) {
+            data.profile(data.user("USER"));
+        }
+        userId = data.user("USER");
+        userToken = token(userId, "USER");
+        adminToken = token(data.user("ADMIN"), "ADMIN");
+    }
+
+    // Served from the in-memory calendar once it is loaded, otherwise by one joined query
+    @Test
+    void specialDaysEndpointsStayWithinBudget() throws Exception {
+        assertWithinBudget(get(AppConstants.SPECIAL_DAYS_ENDPOINT).param("month", "5"), userToken, 3);
+        assertWithinBudget(get(AppConstants.SPECIAL_DAYS_CURRENT_MONTH_ENDPOINT).param("month", "1"), userToken, 3);
+        assertWithinBudget(get(AppConstants.SPECIAL_DAYS_BIRTHDAYS_ENDPOINT).param("month", "5"), userToken, 3);
+        assertWithinBudget(get(AppConstants.SPECIAL_DAYS_ANNIVERSARIES_ENDPOINT).param("month", "1"), userToken, 3);
+        assertWithinBudget(get(AppConstants.SPECIAL_DAYS_UPCOMING_ENDPOINT).param("days", "31"), userToken, 3);
+    }
+
+    // Users with their roles in one query, whatever the number of users
+    @Test
+    void getAllUsersStaysWithinBudget() throws Exception {
+        SqlStatementStats stats = assertWithinBudget(get(AppConstants.FETCH_ALL_USERS_ENDPOINT), adminToken, 3);
+        // Rows read are counted with app.sql-budget.count-rows, which the tests turn on
+        assertThat(stats.getRows()).isGreaterThanOrEqualTo(ROWS);
+    }
+
+    // Set-based ownership check and delete, not a load and delete per task
+    @Test
+    void bulkDeleteTasksStaysWithinBudget() throws Exception {
+        List<Long> taskIds = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            long parent = data.task(userId, "Bulk " + i, null);
+            data.task(userId, "Bulk child " + i, parent);
+            taskIds.add(parent);
+        }
+        assertWithinBudget(delete(AppConstants.TASKS_BULK_DELETE_ENDPOINT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"userTaskIds\": " + taskIds + ", \"cascadeDelete\": true}"), userToken, 4);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_tasks WHERE user_id = ?", Long.class, userId))
+                .isZero();
+    }
+
+    private SqlStatementStats assertWithinBudget(MockHttpServletRequestBuilder request, String token, int maxStatements)
+            throws Exception {
+        RequestBuilder authorized = request.header("Authorization", "Bearer " + token);
+        SqlStatementStats stats = SqlStatementTracker.track(() ->
+                mockMvc.perform(authorized).andExpect(status().isOk()));
+        // Nested under the filter's scope, the test still sees the request's statements
+        assertThat(stats.getStatements()).isPositive();
+        stats.assertAtMost(maxStatements);
+        return stats;
+    }
+
+    private String token(long id, String role) {
+        String email = jdbcTemplate.queryForObject("SELECT email FROM users WHERE user_id = ?", String.class, id);
+        return jwtUtil.generateTokenWithUserDetails(email, id, "Test User", role);
+    }
+}
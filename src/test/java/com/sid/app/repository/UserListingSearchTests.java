@@ -0,0 +1,46 @@
+package com.sid.app.repository;
+
+import com.sid.app.support.PostgresIntegrationTest;
+import com.sid.app.support.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The users search term matches literally: LIKE wildcards and the escape character in it match only themselves.
+ */
+class UserListingSearchTests extends PostgresIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String tag;
+
+    @BeforeEach
+    void seed() {
+        TestData data = new TestData(jdbcTemplate);
+        long userId = data.user("USER");
+        tag = "s" + userId;
+        rename(userId, tag + " a_b 50% c\\d");
+        rename(data.user("USER"), tag + " axb 50x cd");
+    }
+
+    @Test
+    void wildcardsInTheSearchTermMatchLiterally() {
+        assertThat(userRepository.countUsers(tag + " a_b", null, null)).isEqualTo(1);
+        assertThat(userRepository.countUsers("50%", null, null)).isPositive();
+        assertThat(userRepository.countUsers(tag + " a_b 50% c\\d", null, null)).isEqualTo(1);
+        assertThat(userRepository.countUsers(tag + " a%", null, null)).isZero();
+        assertThat(userRepository.countUsers(tag, null, null)).isEqualTo(2);
+    }
+
+    private void rename(long userId, String name) {
+        jdbcTemplate.update("UPDATE users SET name = ? WHERE user_id = ?", name, userId);
+    }
+}
@@ -0,0 +1,104 @@
+package com.sid.app.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sid.app.support.PostgresIntegrationTest;
+import com.sid.app.support.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+/**
+ * With open-in-view off, what the read services return is rendered after their transaction has ended. Every result
+ * is serialised here outside a transaction, as the controllers' responses are, so a lazy association left in a
+ * result fails with a LazyInitializationException.
+ */
+class DetachedReadTests extends PostgresIntegrationTest {
+
+    @Autowired
+    private UserNotesService userNotesService;
+
+    @Autowired
+    private UserTasksService userTasksService;
+
+    @Autowired
+    private DailyTaskService dailyTaskService;
+
+    @Autowired
+    private UserProfileService userProfileService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.jpa.open-in-view}")
+    private boolean openInView;
+
+    private long userId;
+    private long noteId;
+    private long parentTaskId;
+    private long dailyTaskId;
+
+    @BeforeEach
+    void seed() {
+        TestData data = new TestData(jdbcTemplate);
+        userId = data.user("USER");
+        data.profile(userId);
+        // A second address once made the profile's eager one-to-one fail with a duplicate row
+        data.address(userId, "Mysuru", false);
+        noteId = data.note(userId, "Detached", "Read outside the transaction");
+        parentTaskId = data.task(userId, "Parent", null);
+        data.task(userId, "Child", parentTaskId);
+        dailyTaskId = data.dailyTask(userId, LocalDate.now());
+    }
+
+    @Test
+    void noteReadsRenderOutsideTheTransaction() {
+        render(() -> userNotesService.getNoteById(userId, noteId));
+        render(() -> userNotesService.getAllUserNotes(userId, false, PageRequest.of(0, 20)));
+        render(() -> userNotesService.getAllUserNotes(userId, true, PageRequest.of(0, 20)));
+        render(() -> userNotesService.searchNotes(userId, "Detached", false, PageRequest.of(0, 20)));
+        render(() -> userNotesService.getNoteStats(userId));
+    }
+
+    @Test
+    void taskReadsRenderOutsideTheTransaction() {
+        render(() -> userTasksService.getTaskById(userId, parentTaskId));
+        render(() -> userTasksService.getAllUserTasks(userId, false, PageRequest.of(0, 20)));
+        render(() -> userTasksService.getSubtasks(userId, parentTaskId));
+        render(() -> userTasksService.getTaskTree(userId, parentTaskId));
+        render(() -> userTasksService.getTasksInRange(userId, LocalDate.now(), LocalDate.now().plusDays(7), true));
+        render(() -> userTasksService.getTaskStats(userId));
+    }
+
+    @Test
+    void dailyTaskReadsRenderOutsideTheTransaction() {
+        render(() -> dailyTaskService.getDailyTaskById(dailyTaskId));
+        render(() -> dailyTaskService.getUserDailyTasks(userId));
+        render(() -> dailyTaskService.getDailyTasksByUserIdAndDateRange(userId, LocalDate.now().minusDays(7), LocalDate.now()));
+    }
+
+    @Test
+    void profileReadRendersOutsideTheTransaction() {
+        render(() -> userProfileService.getProfile(userId));
+    }
+
+    private void render(Supplier<?> read) {
+        assertThat(openInView).isFalse();
+        assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+        Object result = read.get();
+        assertThat(result).isNotNull();
+        assertThatCode(() -> objectMapper.writeValueAsString(result)).doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,126 @@
+package com.sid.app.service;
+
+import com.sid.app.enums.NoteCategory;
+import com.sid.app.enums.NoteColor;
+import com.sid.app.enums.NotePriority;
+import com.sid.app.enums.NoteStatus;
+import com.sid.app.enums.NoteType;
+import com.sid.app.enums.TaskCategory;
+import com.sid.app.enums.TaskPriority;
+import com.sid.app.enums.TaskStatus;
+import com.sid.app.enums.TaskType;
+import com.sid.app.model.UserNotesListResponseDTO;
+import com.sid.app.model.UserTasksListResponseDTO;
+import com.sid.app.support.PostgresIntegrationTest;
+import com.sid.app.support.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Facet counts describe the list they come with: for any filter, every facet adds up to the list's total,
+ * and no tag is on more tasks than the list has.
+ */
+class FacetCountsTests extends PostgresIntegrationTest {
+
+    private static final int TASKS = 12;
+    private static final int NOTES = 10;
+
+    @Autowired
+    private UserTasksService userTasksService;
+
+    @Autowired
+    private UserNotesService userNotesService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long userId;
+
+    @BeforeEach
+    void seed() {
+        TestData data = new TestData(jdbcTemplate);
+        userId = data.user("USER");
+        TaskStatus[] statuses = TaskStatus.values();
+        TaskPriority[] priorities = TaskPriority.values();
+        TaskCategory[] categories = TaskCategory.values();
+        for (int i = 0; i < TASKS; i++) {
+            long task = data.task(userId, (i % 3 == 0 ? "Alpha " : "Beta ") + i, null);
+            jdbcTemplate.update("UPDATE user_tasks SET status = ?, priority = ?, category = ?, tags = CAST(? AS TEXT[]) "
+                            + "WHERE user_task_id = ?", statuses[i % statuses.length].name(),
+                    priorities[i % priorities.length].name(), categories[i % categories.length].name(),
+                    i % 2 == 0 ? "{test,even,even}" : "{odd}", task);
+            if (i % 4 == 0) {
+                jdbcTemplate.update("UPDATE user_tasks SET task_date = CURRENT_DATE - 10, due_date = CURRENT_DATE - 5 "
+                        + "WHERE user_task_id = ?", task);
+            }
+        }
+        NoteColor[] colors = NoteColor.values();
+        NoteCategory[] noteCategories = NoteCategory.values();
+        NoteType[] noteTypes = NoteType.values();
+        NotePriority[] notePriorities = NotePriority.values();
+        for (int i = 0; i < NOTES; i++) {
+            long note = data.note(userId, (i % 3 == 0 ? "Alpha " : "Beta ") + i, "Body " + i);
+            jdbcTemplate.update("UPDATE user_notes SET note_type = ?, color = ?, category = ?, priority = ?, status = ? "
+                            + "WHERE user_note_id = ?", noteTypes[i % noteTypes.length].name(),
+                    colors[i % colors.length].name(), noteCategories[i % noteCategories.length].name(),
+                    notePriorities[i % notePriorities.length].name(),
+                    (i == 1 ? NoteStatus.DELETED : NoteStatus.ACTIVE).name(), note);
+        }
+    }
+
+    @Test
+    void taskFacetsAddUpToTheListTotal() {
+        assertTaskFacetsMatch(null, null, null, null, null);
+        assertTaskFacetsMatch(TaskStatus.NOT_STARTED, null, null, null, null);
+        assertTaskFacetsMatch(null, null, true, null, null);
+        assertTaskFacetsMatch(null, TaskCategory.WORK, null, null, null);
+        assertTaskFacetsMatch(null, null, null, "alpha", null);
+        assertTaskFacetsMatch(null, null, null, null, new String[]{"even"});
+        assertTaskFacetsMatch(null, null, false, "beta", new String[]{"odd", "test"});
+    }
+
+    @Test
+    void noteFacetsAddUpToTheListTotal() {
+        assertNoteFacetsMatch(null, null, null);
+        assertNoteFacetsMatch(NoteStatus.DELETED, null, null);
+        assertNoteFacetsMatch(null, NoteColor.DEFAULT, null);
+        assertNoteFacetsMatch(null, null, "alpha");
+    }
+
+    private void assertTaskFacetsMatch(TaskStatus status, TaskCategory category, Boolean isOverdue, String searchTerm,
+                                       String[] tags) {
+        UserTasksListResponseDTO response = userTasksService.getTasksWithFilters(userId, status, null, category,
+                (TaskType) null, null, null, null, null, null, isOverdue, searchTerm, tags, true, true, false,
+                PageRequest.of(0, 5));
+        long total = response.getPagination().getTotalItems();
+        assertThat(response.getFacets().keySet()).as("facets when %d tasks match", total)
+                .containsExactlyInAnyOrderElementsOf(total > 0
+                        ? List.of("status", "priority", "category", "taskType") : List.of());
+        response.getFacets().forEach((facet, counts) ->
+                assertThat(sum(counts)).as("%s of %d tasks", facet, total).isEqualTo(total));
+        response.getTagFacets().forEach((tag, count) ->
+                assertThat(count).as("tasks tagged %s", tag).isBetween(1L, total));
+    }
+
+    private void assertNoteFacetsMatch(NoteStatus status, NoteColor color, String searchTerm) {
+        UserNotesListResponseDTO response = userNotesService.getNotesWithFilters(userId, null, color, null, null,
+                status, null, null, null, null, searchTerm, true, false, PageRequest.of(0, 5));
+        long total = response.getPagination().getTotalItems();
+        assertThat(total).isPositive();
+        assertThat(response.getFacets()).hasSize(4);
+        response.getFacets().forEach((facet, counts) ->
+                assertThat(sum(counts)).as("%s of %d notes", facet, total).isEqualTo(total));
+    }
+
+    private long sum(Map<String, Long> counts) {
+        return counts.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
@@ -0,0 +1,55 @@
+package com.sid.app.service;
+
+import com.sid.app.entity.UserTasks;
+import com.sid.app.repository.UserTasksRepository;
+import com.sid.app.support.PostgresIntegrationTest;
+import com.sid.app.support.TestData;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The task path is written by a trigger; the entity picks it up on the write that changed it.
+ */
+class TaskPathTests extends PostgresIntegrationTest {
+
+    @Autowired
+    private UserTasksRepository userTasksRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long parentId;
+    private long taskId;
+
+    @BeforeEach
+    void seed() {
+        TestData data = new TestData(jdbcTemplate);
+        long userId = data.user("USER");
+        parentId = data.task(userId, "Parent", null);
+        taskId = data.task(userId, "Moved", null);
+    }
+
+    @Test
+    void movedTaskCarriesItsNewPath() {
+        transactionTemplate.executeWithoutResult(status -> {
+            UserTasks task = userTasksRepository.findById(taskId).orElseThrow();
+            assertThat(task.getTaskPath()).isEqualTo("/" + taskId + "/");
+
+            task.setParentTaskId(parentId);
+            entityManager.flush();
+            assertThat(task.getTaskPath()).isEqualTo("/" + parentId + "/" + taskId + "/");
+        });
+    }
+}
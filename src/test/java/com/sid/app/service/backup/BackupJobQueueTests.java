@@ -0,0 +1,97 @@
+package com.sid.app.service.backup;
+
+import com.sid.app.config.DatabaseBackupProperties;
+import com.sid.app.enums.BackupJobStatus;
+import com.sid.app.enums.BackupJobType;
+import com.sid.app.model.BackupJobDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * With more than one worker, backups run side by side while a restore waits for them and holds back later jobs.
+ */
+class BackupJobQueueTests {
+
+    private BackupJobQueue queue;
+
+    @BeforeEach
+    void start() {
+        DatabaseBackupProperties properties = new DatabaseBackupProperties();
+        properties.setMaxConcurrentJobs(3);
+        queue = new BackupJobQueue(properties);
+        queue.start();
+    }
+
+    @AfterEach
+    void stop() {
+        queue.stop();
+    }
+
+    @Test
+    void restoreRunsAlone() throws Exception {
+        CountDownLatch backupsRunning = new CountDownLatch(2);
+        CountDownLatch releaseBackups = new CountDownLatch(1);
+        BackupJobQueue.BackupTask backup = job -> {
+            backupsRunning.countDown();
+            releaseBackups.await();
+            return "backup";
+        };
+        BackupJobDTO first = queue.submit(BackupJobType.LOGICAL, "db", backup);
+        BackupJobDTO second = queue.submit(BackupJobType.LOGICAL, "db", backup);
+        assertThat(backupsRunning.await(5, TimeUnit.SECONDS)).as("backups side by side").isTrue();
+
+        CountDownLatch releaseRestore = new CountDownLatch(1);
+        BackupJobDTO restore = queue.submit(BackupJobType.RESTORE, "backup", job -> {
+            releaseRestore.await();
+            return "restore";
+        });
+        BackupJobDTO later = queue.submit(BackupJobType.LOGICAL, "db", job -> "later");
+        Thread.sleep(200);
+        assertThat(status(restore)).isEqualTo(BackupJobStatus.QUEUED);
+
+        releaseBackups.countDown();
+        awaitStatus(restore, BackupJobStatus.RUNNING);
+        assertThat(status(first)).isEqualTo(BackupJobStatus.SUCCEEDED);
+        assertThat(status(second)).isEqualTo(BackupJobStatus.SUCCEEDED);
+        Thread.sleep(200);
+        assertThat(status(later)).isEqualTo(BackupJobStatus.QUEUED);
+
+        releaseRestore.countDown();
+        awaitStatus(later, BackupJobStatus.SUCCEEDED);
+        assertThat(status(restore)).isEqualTo(BackupJobStatus.SUCCEEDED);
+    }
+
+    @Test
+    void jobWaitingForARestoreCanBeCancelled() throws Exception {
+        CountDownLatch releaseRestore = new CountDownLatch(1);
+        BackupJobDTO restore = queue.submit(BackupJobType.RESTORE, "backup", job -> {
+            releaseRestore.await();
+            return "restore";
+        });
+        awaitStatus(restore, BackupJobStatus.RUNNING);
+        BackupJobDTO waiting = queue.submit(BackupJobType.LOGICAL, "db", job -> "backup");
+
+        assertThat(queue.cancel(waiting.getJobId()).getStatus()).isEqualTo(BackupJobStatus.CANCELLED);
+        releaseRestore.countDown();
+        awaitStatus(restore, BackupJobStatus.SUCCEEDED);
+        assertThat(status(waiting)).isEqualTo(BackupJobStatus.CANCELLED);
+    }
+
+    private BackupJobStatus status(BackupJobDTO job) {
+        return queue.find(job.getJobId()).orElseThrow().getStatus();
+    }
+
+    private void awaitStatus(BackupJobDTO job, BackupJobStatus expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (status(job) != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(status(job)).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,200 @@
+package com.sid.app.service.backup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sid.app.model.LogicalBackupManifestDTO;
+import com.sid.app.service.scheduler.OverdueTaskSweeper;
+import com.sid.app.support.PostgresIntegrationTest;
+import com.sid.app.support.TestData;
+import com.zaxxer.hikari.HikariDataSource;
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Round trip of {@link LogicalBackupEngine}: export {@code dev}, restore into a freshly migrated schema and compare
+ * every backed-up table row for row.
+ */
+class LogicalBackupEngineTests extends PostgresIntegrationTest {
+
+    private static final String TARGET_SCHEMA = "restore_target";
+
+    @Autowired
+    private LogicalBackupEngine engine;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OverdueTaskSweeper overdueTaskSweeper;
+
+    @TempDir
+    private Path backups;
+
+    private HikariDataSource targetDataSource;
+    private LogicalBackupEngine targetEngine;
+
+    @BeforeEach
+    void createTargetSchema() throws Exception {
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + TARGET_SCHEMA + " CASCADE");
+        jdbcTemplate.execute("CREATE SCHEMA " + TARGET_SCHEMA);
+
+        targetDataSource = new HikariDataSource();
+        targetDataSource.setJdbcUrl(jdbcUrl());
+        targetDataSource.setUsername(username());
+        targetDataSource.setPassword(password());
+        targetDataSource.setSchema(TARGET_SCHEMA);
+        targetDataSource.setMaximumPoolSize(4);
+
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(targetDataSource);
+        liquibase.setChangeLog("classpath:db/changelog/db.changelog-master.xml");
+        liquibase.setDefaultSchema(TARGET_SCHEMA);
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+
+        targetEngine = new LogicalBackupEngine(targetDataSource, objectMapper);
+
+        TestData data = new TestData(jdbcTemplate);
+        for (int i = 0; i < 3; i++) {
+            long userId = data.user("USER");
+            data.profile(userId);
+            data.note(userId, "Note " + i, "Body of note " + i);
+            long parent = data.task(userId, "Parent " + i, null);
+            data.task(userId, "Child " + i, parent);
+            data.dailyTask(userId, LocalDate.of(2025, 3, 3).plusDays(i));
+        }
+    }
+
+    @AfterEach
+    void dropTargetSchema() {
+        targetDataSource.close();
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + TARGET_SCHEMA + " CASCADE");
+    }
+
+    @Test
+    void restoresEveryTableOfAFullBackup() throws Exception {
+        for (LogicalBackupEngine.CopyFormat format : LogicalBackupEngine.CopyFormat.values()) {
+            Path directory = backups.resolve("full-" + format.name().toLowerCase());
+            LogicalBackupManifestDTO manifest = engine.export(directory, format, 4, Duration.ZERO, BackupProgress.NONE);
+
+            targetEngine.restore(directory, 4, BackupProgress.NONE);
+
+            assertSameRows(manifest);
+            assertSequencesPastMaxId(manifest);
+        }
+    }
+
+    @Test
+    void appliesAnIncrementOnTopOfItsBase() throws Exception {
+        TestData data = new TestData(jdbcTemplate);
+        long userId = data.user("USER");
+        long leaving = data.user("USER");
+        long root = data.task(userId, "Root", null);
+        long moved = data.task(userId, "Moved", root);
+        data.task(userId, "Moved grandchild", moved);
+        long newParent = data.task(userId, "New parent", null);
+        long note = data.note(userId, "Edited", "Before");
+        data.note(leaving, "Gone", "Deleted with its owner");
+        data.task(leaving, "Gone", null);
+
+        LogicalBackupManifestDTO base = engine.export(backups.resolve("base"), LogicalBackupEngine.CopyFormat.BINARY,
+                4, Duration.ZERO, BackupProgress.NONE);
+
+        // Moving a task rewrites the path of its whole subtree; only the moved row is touched by the caller
+        jdbcTemplate.update("UPDATE user_tasks SET parent_task_id = ?, modified_date = CURRENT_TIMESTAMP WHERE user_task_id = ?",
+                newParent, moved);
+        jdbcTemplate.update("UPDATE user_notes SET note_content = 'After', modified_date = CURRENT_TIMESTAMP WHERE user_note_id = ?",
+                note);
+        jdbcTemplate.update("DELETE FROM users WHERE user_id = ?", leaving);
+        data.note(userId, "Added", "After the base");
+
+        Path increment = backups.resolve("increment");
+        LogicalBackupManifestDTO manifest = engine.exportIncrement(increment, base, LogicalBackupEngine.CopyFormat.BINARY,
+                4, Duration.ZERO, BackupProgress.NONE);
+
+        targetEngine.restore(increment, 4, BackupProgress.NONE);
+
+        assertSameRows(manifest);
+        assertSequencesPastMaxId(manifest);
+    }
+
+    @Test
+    void incrementCarriesOverdueFlagsOfTheSweeper() throws Exception {
+        TestData data = new TestData(jdbcTemplate);
+        long userId = data.user("USER");
+        long task = data.task(userId, "Due three days ago", null);
+        // As if its due date passed since it was written and no sweep ran yet
+        jdbcTemplate.update("UPDATE user_tasks SET task_date = CURRENT_DATE - 5, due_date = CURRENT_DATE - 3 WHERE user_task_id = ?", task);
+        jdbcTemplate.update("UPDATE user_tasks SET is_overdue = FALSE WHERE user_task_id = ?", task);
+
+        LogicalBackupManifestDTO base = engine.export(backups.resolve("base"), LogicalBackupEngine.CopyFormat.BINARY,
+                4, Duration.ZERO, BackupProgress.NONE);
+
+        overdueTaskSweeper.sweep();
+        assertThat(isOverdue("dev", task)).isTrue();
+
+        Path increment = backups.resolve("increment");
+        LogicalBackupManifestDTO manifest = engine.exportIncrement(increment, base, LogicalBackupEngine.CopyFormat.BINARY,
+                4, Duration.ZERO, BackupProgress.NONE);
+
+        targetEngine.restore(increment, 4, BackupProgress.NONE);
+
+        assertThat(isOverdue(TARGET_SCHEMA, task)).isTrue();
+        assertSameRows(manifest);
+    }
+
+    private boolean isOverdue(String schema, long taskId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT is_overdue FROM " + schema + ".user_tasks WHERE user_task_id = ?", Boolean.class, taskId));
+    }
+
+    private void assertSameRows(LogicalBackupManifestDTO manifest) {
+        for (LogicalBackupManifestDTO.TableEntry entry : manifest.getTables()) {
+            Map<String, Object> source = tableDigest("dev", entry.getTable());
+            Map<String, Object> restored = tableDigest(TARGET_SCHEMA, entry.getTable());
+            assertThat(restored).as(entry.getTable()).isEqualTo(source);
+        }
+    }
+
+    // Row count and an order-independent checksum over every column
+    private Map<String, Object> tableDigest(String schema, String table) {
+        return jdbcTemplate.queryForMap("SELECT COUNT(*) AS row_count, " +
+                "md5(COALESCE(string_agg(t::text, E'\\n' ORDER BY t::text), '')) AS checksum " +
+                "FROM " + schema + "." + table + " t");
+    }
+
+    private void assertSequencesPastMaxId(LogicalBackupManifestDTO manifest) {
+        List<String> tables = manifest.getTables().stream().map(LogicalBackupManifestDTO.TableEntry::getTable).toList();
+        List<Map<String, Object>> columns = jdbcTemplate.queryForList(
+                "SELECT table_name, column_name FROM information_schema.columns " +
+                        "WHERE table_schema = ? AND column_default LIKE 'nextval(%'", TARGET_SCHEMA);
+        assertThat(columns).isNotEmpty();
+        for (Map<String, Object> column : columns) {
+            String table = (String) column.get("table_name");
+            if (!tables.contains(table)) {
+                continue;
+            }
+            String qualified = TARGET_SCHEMA + "." + table;
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(" + column.get("column_name") + ") FROM " + qualified, Long.class);
+            Long next = jdbcTemplate.queryForObject("SELECT nextval(pg_get_serial_sequence(?, ?))", Long.class,
+                    qualified, column.get("column_name"));
+            assertThat(next).as(qualified).isGreaterThan(maxId == null ? 0 : maxId);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.sid.app.support;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Boots the application against a PostgreSQL Testcontainer, migrated by Liquibase into the {@code dev} schema.
+ * One container serves every test class and lives until the JVM exits. Without Docker the tests are skipped,
+ * unless {@code -Ptest.jdbc-url=...} (with {@code test.jdbc-username} and {@code test.jdbc-password}) points
+ * them at an existing database. MockMvc is configured for every subclass, so they all share one context.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public abstract class PostgresIntegrationTest {
+
+    private static final String JDBC_URL = System.getProperty("test.jdbc-url");
+    private static final String IMAGE = "postgres:16-alpine";
+
+    private static PostgreSQLContainer<?> postgres;
+
+    @BeforeAll
+    static void requirePostgres() {
+        assumeTrue(JDBC_URL != null || DockerClientFactory.instance().isDockerAvailable(),
+                "Needs Docker or -Ptest.jdbc-url");
+    }
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) throws SQLException {
+        registry.add("spring.datasource.url", PostgresIntegrationTest::jdbcUrl);
+        registry.add("spring.datasource.username", PostgresIntegrationTest::username);
+        registry.add("spring.datasource.password", PostgresIntegrationTest::password);
+        createSchema("dev");
+    }
+
+    /**
+     * Creates a schema unless it exists, for tests that need one next to {@code dev}.
+     */
+    protected static void createSchema(String schema) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(jdbcUrl(), username(), password());
+             Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE SCHEMA IF NOT EXISTS " + schema);
+        }
+    }
+
+    protected static synchronized String jdbcUrl() {
+        if (JDBC_URL != null) {
+            return JDBC_URL;
+        }
+        if (postgres == null) {
+            postgres = new PostgreSQLContainer<>(IMAGE);
+            postgres.start();
+        }
+        return postgres.getJdbcUrl();
+    }
+
+    protected static String username() {
+        return JDBC_URL != null ? System.getProperty("test.jdbc-username", "postgres") : postgres.getUsername();
+    }
+
+    protected static String password() {
+        return JDBC_URL != null ? System.getProperty("test.jdbc-password", "") : postgres.getPassword();
+    }
+}
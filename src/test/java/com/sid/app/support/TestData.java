@@ -0,0 +1,70 @@
+package com.sid.app.support;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Inserts rows straight into the {@code dev} schema, so a test only sets up what it reads.
+ * Users get unique emails and mobile numbers across test classes sharing the database.
+ */
+public class TestData {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger((int) (System.currentTimeMillis() % 1_000_000) * 100);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TestData(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public long user(String role) {
+        int n = SEQUENCE.incrementAndGet();
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO users (name, email, mobile_number, password, password_encryption_key_version, role_id)
+                VALUES (?, ?, ?, 'not-a-password', 1, (SELECT role_id FROM user_role WHERE role = ?))
+                RETURNING user_id
+                """, Long.class, "Test User " + n, "t" + n + "@test.local", "9" + String.format("%09d", n), role);
+    }
+
+    public void profile(long userId) {
+        jdbcTemplate.update("""
+                INSERT INTO user_profile (user_id, date_of_birth, gender, department, position, employee_id, date_of_joining)
+                VALUES (?, DATE '1990-05-17', 'FEMALE', 'Engineering', 'Engineer', ?, DATE '2020-01-06')
+                """, userId, "T-" + userId);
+        address(userId, "Bengaluru", true);
+    }
+
+    public void address(long userId, String city, boolean primary) {
+        jdbcTemplate.update("""
+                INSERT INTO user_address (user_id, address, city, state, country, postal_code, is_primary)
+                VALUES (?, '1 Test Street', ?, 'Karnataka', 'India', '560001', ?)
+                """, userId, city, primary);
+    }
+
+    public long note(long userId, String title, String content) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO user_notes (user_id, note_title, note_content, category, is_pinned)
+                VALUES (?, ?, ?, 'WORK', FALSE)
+                RETURNING user_note_id
+                """, Long.class, userId, title, content);
+    }
+
+    public long task(long userId, String title, Long parentTaskId) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO user_tasks (user_id, task_title, task_description, task_date, due_date, tags, parent_task_id, created_by)
+                VALUES (?, ?, 'Task for the integration tests', CURRENT_DATE, CURRENT_DATE + 7, ARRAY['test'], ?, ?)
+                RETURNING user_task_id
+                """, Long.class, userId, title, parentTaskId, userId);
+    }
+
+    public long dailyTask(long userId, LocalDate date) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO daily_tasks (user_id, daily_task_date, daily_task_day, task_number, project_code, project_name,
+                                         story_task_bug_number, task_details)
+                VALUES (?, ?, ?, 'TSK-001', 'WPT', 'Workplace Tracker', 'WPT-101', 'Integration test work')
+                RETURNING daily_task_id
+                """, Long.class, userId, date, date.getDayOfWeek().toString());
+    }
+}